@@ -0,0 +1,42 @@
+package com.multiclinicas.api.config.tenant;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Leitura do X-Clinic-ID, executada pelo TenantInterceptor em toda requisição
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TenantHeaderBenchmark {
+
+    @Param({ "7", "1234567890" })
+    private String header;
+
+    @Benchmark
+    public Long parseClinicId() {
+        return TenantInterceptor.parseClinicId(header);
+    }
+
+    // Header inválido: custo do caminho de erro (exceção) que um cliente mal configurado provoca
+    @Benchmark
+    public Object parseClinicIdInvalido() {
+        try {
+            return TenantInterceptor.parseClinicId("clinica-" + header);
+        } catch (IllegalArgumentException e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.multiclinicas.api.mappers;
+
+import com.multiclinicas.api.dtos.MedicoDTO;
+import com.multiclinicas.api.dtos.PacienteDTO;
+import com.multiclinicas.api.models.Clinica;
+import com.multiclinicas.api.models.Endereco;
+import com.multiclinicas.api.models.Especialidade;
+import com.multiclinicas.api.models.Medico;
+import com.multiclinicas.api.models.Paciente;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// Conversão entidade -> DTO feita em toda resposta de listagem (uma vez por linha)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    @Param({ "1", "5" })
+    private int especialidades;
+
+    private final MedicoMapper medicoMapper = new MedicoMapper();
+    private final PacienteMapper pacienteMapper = new PacienteMapper(new EnderecoMapper());
+
+    private Medico medico;
+    private Paciente paciente;
+
+    @Setup
+    public void setup() {
+        Clinica clinica = new Clinica();
+        clinica.setId(1L);
+        clinica.setNomeFantasia("Clínica Benchmark");
+
+        Set<Especialidade> lista = new HashSet<>();
+        for (long i = 1; i <= especialidades; i++) {
+            lista.add(new Especialidade(i, null, "Especialidade " + i));
+        }
+        medico = new Medico();
+        medico.setId(10L);
+        medico.setClinica(clinica);
+        medico.setNome("Dra. Benchmark");
+        medico.setCrm("CRM-12345");
+        medico.setTelefone("(11) 99999-0000");
+        medico.setEspecialidades(lista);
+
+        Endereco endereco = new Endereco();
+        endereco.setId(5L);
+        endereco.setCep("01001-000");
+        endereco.setLogradouro("Praça da Sé");
+        endereco.setNumero("100");
+        endereco.setBairro("Sé");
+        endereco.setCidade("São Paulo");
+        endereco.setEstado("SP");
+        paciente = new Paciente();
+        paciente.setId(20L);
+        paciente.setClinica(clinica);
+        paciente.setNome("Paciente Benchmark");
+        paciente.setEmail("paciente@email.com");
+        paciente.setCpf("123.456.789-09");
+        paciente.setEndereco(endereco);
+    }
+
+    @Benchmark
+    public MedicoDTO medicoToDto() {
+        return medicoMapper.toDTO(medico);
+    }
+
+    @Benchmark
+    public PacienteDTO pacienteToDto() {
+        return pacienteMapper.toDto(paciente);
+    }
+}
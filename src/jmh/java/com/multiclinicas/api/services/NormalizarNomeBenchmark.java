@@ -0,0 +1,32 @@
+package com.multiclinicas.api.services;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Normalização do nome da especialidade, aplicada em todo cadastro e atualização
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NormalizarNomeBenchmark {
+
+    @Param({ "cardiologia", "  CIRURGIA   plástica  e   reparadora ", "Ortopedia E Traumatologia" })
+    private String nome;
+
+    @Benchmark
+    public String normalizarNome() {
+        return EspecialidadeServiceImpl.normalizarNome(nome);
+    }
+}
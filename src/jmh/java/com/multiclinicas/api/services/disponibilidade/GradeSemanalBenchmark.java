@@ -0,0 +1,71 @@
+package com.multiclinicas.api.services.disponibilidade;
+
+import com.multiclinicas.api.repositories.projections.HorarioOcupado;
+import com.multiclinicas.api.repositories.projections.IntervaloGrade;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Geração de slots a partir da grade (GradeHorario) e cálculo dos horários livres de um dia
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GradeSemanalBenchmark {
+
+    @Param({ "15", "30" })
+    private int duracaoConsulta;
+
+    private final LocalDate segunda = LocalDate.of(2030, 1, 1).with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+    private List<IntervaloGrade> intervalos;
+    private GradeSemanal grade;
+    private List<HorarioOcupado> ocupados;
+
+    @Setup
+    public void setup() {
+        // Seg a sex, manhã e tarde
+        intervalos = new ArrayList<>();
+        for (int dia = 1; dia <= 5; dia++) {
+            intervalos.add(new IntervaloGrade(dia, LocalTime.of(8, 0), LocalTime.of(12, 0)));
+            intervalos.add(new IntervaloGrade(dia, LocalTime.of(13, 0), LocalTime.of(18, 0)));
+        }
+        grade = GradeSemanal.compilar(intervalos, duracaoConsulta);
+
+        // Metade dos slots da segunda ocupados
+        ocupados = new ArrayList<>();
+        BitSet todos = grade.modelo(segunda);
+        for (int i = todos.nextSetBit(0); i >= 0; i = todos.nextSetBit(i + 2)) {
+            LocalTime inicio = grade.horario(segunda, i);
+            ocupados.add(new HorarioOcupado(1L, segunda, inicio, inicio.plusMinutes(duracaoConsulta)));
+        }
+    }
+
+    @Benchmark
+    public GradeSemanal compilar() {
+        return GradeSemanal.compilar(intervalos, duracaoConsulta);
+    }
+
+    @Benchmark
+    public LocalTime[] horariosLivres() {
+        return grade.horarios(segunda, grade.livres(segunda, ocupados));
+    }
+}
@@ -0,0 +1,55 @@
+package com.multiclinicas.api.busca;
+
+import java.text.Normalizer;
+
+/**
+ * Forma normalizada dos textos usados em busca: sem acentos, em minúsculas, só com letras,
+ * dígitos e espaços simples ({@code "  José D'Ávila "} vira {@code "jose d avila"}). Os dois
+ * lados da comparação (coluna gravada e termo digitado) passam por aqui, então a busca não
+ * depende de {@code unaccent} nem da collation do banco.
+ */
+public final class TextoBusca {
+
+    private TextoBusca() {
+    }
+
+    public static String normalizar(String texto) {
+        if (texto == null) {
+            return null;
+        }
+        String semAcentos = Normalizer.normalize(texto, Normalizer.Form.NFD);
+        StringBuilder normalizado = new StringBuilder(semAcentos.length());
+        boolean espaco = false;
+        for (int i = 0; i < semAcentos.length(); i++) {
+            char c = semAcentos.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                if (espaco && !normalizado.isEmpty()) {
+                    normalizado.append(' ');
+                }
+                normalizado.append(Character.toLowerCase(c));
+                espaco = false;
+            } else {
+                espaco = true;
+            }
+        }
+        return normalizado.toString();
+    }
+
+    /** Só os dígitos de um CPF ou telefone formatado ({@code "(11) 98765-4321"} vira {@code "11987654321"}). */
+    public static String somenteDigitos(String texto) {
+        if (texto == null) {
+            return null;
+        }
+        StringBuilder digitos = new StringBuilder(texto.length());
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digitos.append(c);
+            }
+        }
+        return digitos.toString();
+    }
+}
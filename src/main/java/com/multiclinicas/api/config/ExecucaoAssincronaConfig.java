@@ -0,0 +1,25 @@
+package com.multiclinicas.api.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+import io.micrometer.context.ContextSnapshotFactory;
+
+@Configuration
+@EnableAsync
+public class ExecucaoAssincronaConfig {
+
+    // O Spring Boot aplica este decorator ao applicationTaskExecutor (@Async e MVC assíncrono)
+    // e ao taskScheduler, com threads de plataforma ou virtuais. Cada tarefa roda com o
+    // contexto (clínica incluída) de quem a submeteu; clearMissing limpa na thread de destino
+    // o que não foi capturado, para que nada de uma tarefa anterior vaze para a próxima.
+    // No taskScheduler de threads virtuais o contexto é capturado no disparo, não no
+    // agendamento: quem agenda a partir de uma requisição envolve com TenantContext.propagar.
+    @Bean
+    public TaskDecorator taskDecorator() {
+        return new ContextPropagatingTaskDecorator(ContextSnapshotFactory.builder().clearMissing(true).build());
+    }
+}
@@ -0,0 +1,18 @@
+package com.multiclinicas.api.config;
+
+import com.multiclinicas.api.services.notificacao.LogNotificacaoSender;
+import com.multiclinicas.api.services.notificacao.NotificacaoSender;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class NotificacaoConfig {
+
+    // Um bean NotificacaoSender definido pela aplicação (ex.: SMTP) substitui este
+    @Bean
+    @ConditionalOnMissingBean(NotificacaoSender.class)
+    public NotificacaoSender notificacaoSender() {
+        return new LogNotificacaoSender();
+    }
+}
@@ -0,0 +1,32 @@
+package com.multiclinicas.api.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Modo de threads virtuais ({@code spring.threads.virtual.enabled}). Quem troca os executores
+ * é o próprio Spring Boot (Tomcat, {@code applicationTaskExecutor} e {@code taskScheduler});
+ * esta classe só impede que o modo seja ligado num runtime sem suporte, caso em que o Boot
+ * ignoraria a propriedade em silêncio e a aplicação subiria com threads de plataforma.
+ * <p>
+ * O {@code TenantContext} continua valendo: cada requisição roda do início ao fim numa única
+ * thread virtual, criada para ela, e o {@code TenantInterceptor} limpa o contexto ao final.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class ThreadsVirtuaisConfig {
+
+    static final int VERSAO_MINIMA = 21;
+
+    public ThreadsVirtuaisConfig() {
+        int versao = Runtime.version().feature();
+        if (versao < VERSAO_MINIMA) {
+            throw new IllegalStateException("spring.threads.virtual.enabled exige Java " + VERSAO_MINIMA
+                    + " ou superior (build com -Pjava21); runtime atual: Java " + versao);
+        }
+        log.info("Threads virtuais habilitadas para requisições, tarefas assíncronas e agendadas");
+    }
+}
@@ -0,0 +1,50 @@
+package com.multiclinicas.api.config.cache;
+
+import java.util.stream.Stream;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Taxa de acerto de cada região de {@link RegioesCache}, calculada das estatísticas do
+ * Hibernate ({@code hibernate.generate_statistics}). Os contadores brutos de acertos e falhas
+ * por região já vêm do {@code hibernate-micrometer}; esta métrica é a razão pronta para painel.
+ */
+@Component
+public class CacheHibernateMetricas implements MeterBinder {
+
+    static final String TAXA_ACERTO = "hibernate.cache.taxa.acerto";
+
+    private final Statistics statistics;
+
+    public CacheHibernateMetricas(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Stream.concat(RegioesCache.ENTIDADES.stream(), RegioesCache.CONSULTAS.stream())
+                .forEach(regiao -> Gauge.builder(TAXA_ACERTO, this, metricas -> metricas.taxaAcerto(regiao))
+                        .description("Acertos / (acertos + falhas) na região do cache de segundo nível")
+                        .tag("regiao", regiao)
+                        .tag("tipo", RegioesCache.CONSULTAS.contains(regiao) ? "consulta" : "entidade")
+                        .register(registry));
+    }
+
+    double taxaAcerto(String regiao) {
+        // A região de consultas só passa a existir na primeira consulta que a usa
+        CacheRegionStatistics estatisticas = statistics.getCacheRegionStatistics(regiao);
+        if (estatisticas == null) {
+            return Double.NaN;
+        }
+        long total = estatisticas.getHitCount() + estatisticas.getMissCount();
+        return total == 0 ? Double.NaN : (double) estatisticas.getHitCount() / total;
+    }
+}
@@ -0,0 +1,29 @@
+package com.multiclinicas.api.config.cache;
+
+import java.util.List;
+
+/**
+ * Regiões do cache de segundo nível do Hibernate. Cada nome precisa de uma entrada em
+ * {@code cache-hibernate.conf} (tamanho e expiração): regiões não configuradas derrubam a
+ * inicialização.
+ * <p>
+ * O cache é local a cada instância. Escritas feitas por esta instância invalidam na hora as
+ * entidades e as consultas afetadas; as demais instâncias só enxergam a mudança quando a
+ * entrada expira, como no {@code TenantRegistry}.
+ */
+public final class RegioesCache {
+
+    public static final String CLINICAS = "clinicas";
+    public static final String ESPECIALIDADES = "especialidades";
+    public static final String PLANOS_SAUDE = "planos-saude";
+
+    // Resultados de consultas (só os ids; as entidades vêm das regiões acima)
+    public static final String CONSULTAS_ESPECIALIDADES = "especialidades-consultas";
+    public static final String CONSULTAS_PLANOS_SAUDE = "planos-saude-consultas";
+
+    static final List<String> ENTIDADES = List.of(CLINICAS, ESPECIALIDADES, PLANOS_SAUDE);
+    static final List<String> CONSULTAS = List.of(CONSULTAS_ESPECIALIDADES, CONSULTAS_PLANOS_SAUDE);
+
+    private RegioesCache() {
+    }
+}
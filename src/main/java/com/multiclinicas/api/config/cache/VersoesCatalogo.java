@@ -0,0 +1,107 @@
+package com.multiclinicas.api.config.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.multiclinicas.api.config.tenant.TenantInterceptor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Versão de cada catálogo público (especialidades, planos de saúde, médicos ativos) por clínica,
+ * usada como ETag nas leituras desses catálogos.
+ * <p>
+ * Toda escrita pelo service correspondente chama {@link #alterado(Long, Catalogo...)} e a leitura
+ * seguinte recebe uma versão nova. Enquanto a versão não muda, o controller responde 304 ao
+ * {@code If-None-Match} sem ir ao banco nem serializar JSON.
+ * <p>
+ * As versões ficam na memória de cada instância e expiram por TTL, como o cache de consultas do
+ * Hibernate: com mais de um nó, uma escrita feita em outro nó passa a valer aqui em no máximo
+ * {@code catalogo.versoes.ttl}. O prefixo sorteado na subida evita que duas instâncias (ou a
+ * mesma instância depois de reiniciada) gerem a mesma ETag para conteúdos diferentes.
+ */
+@Component
+public class VersoesCatalogo {
+
+    public enum Catalogo {
+        ESPECIALIDADES, PLANOS_SAUDE, MEDICOS
+    }
+
+    private record Chave(Catalogo catalogo, Long clinicId) {
+    }
+
+    private final String prefixo = Long.toString(ThreadLocalRandom.current().nextLong() >>> 1, 36);
+    private final AtomicLong sequencia = new AtomicLong();
+    private final LoadingCache<Chave, ETag> versoes;
+    private final CacheControl cacheControl;
+
+    public VersoesCatalogo(@Value("${catalogo.versoes.max-size:30000}") long maxSize,
+            @Value("${catalogo.versoes.ttl:4m}") Duration ttl,
+            @Value("${catalogo.http.max-age:30s}") Duration maxAge) {
+        this.versoes = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build(chave -> new ETag(prefixo + "-" + sequencia.incrementAndGet(), true));
+        this.cacheControl = CacheControl.maxAge(maxAge).cachePublic().mustRevalidate();
+    }
+
+    public ETag versao(Catalogo catalogo, Long clinicId) {
+        return versoes.get(new Chave(catalogo, clinicId));
+    }
+
+    public void alterado(Long clinicId, Catalogo... catalogos) {
+        if (clinicId == null) {
+            return;
+        }
+        descartar(clinicId, catalogos);
+
+        // Descarta novamente após o commit: uma leitura feita antes do commit pode ter gerado
+        // uma versão nova para o conteúdo antigo
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    descartar(clinicId, catalogos);
+                }
+            });
+        }
+    }
+
+    /** Se o cliente já tem a versão atual ({@code If-None-Match}, comparação fraca). */
+    public boolean naoModificado(String ifNoneMatch, ETag versao) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        return ETag.parse(ifNoneMatch).stream()
+                .anyMatch(etag -> etag.isWildcard() || etag.compare(versao, false));
+    }
+
+    public ResponseEntity.BodyBuilder ok(ETag versao) {
+        return cabecalhos(ResponseEntity.ok(), versao);
+    }
+
+    public <T> ResponseEntity<T> respostaNaoModificada(ETag versao) {
+        return cabecalhos(ResponseEntity.status(HttpStatus.NOT_MODIFIED), versao).build();
+    }
+
+    // A clínica vem do cabeçalho, então caches compartilhados precisam separar as respostas por ele
+    private ResponseEntity.BodyBuilder cabecalhos(ResponseEntity.BodyBuilder resposta, ETag versao) {
+        return resposta.eTag(versao.formattedTag())
+                .cacheControl(cacheControl)
+                .varyBy(TenantInterceptor.HEADER_CLINIC_ID);
+    }
+
+    private void descartar(Long clinicId, Catalogo[] catalogos) {
+        versoes.invalidateAll(Arrays.stream(catalogos).map(catalogo -> new Chave(catalogo, clinicId)).toList());
+    }
+}
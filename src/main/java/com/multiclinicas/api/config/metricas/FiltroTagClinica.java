@@ -0,0 +1,42 @@
+package com.multiclinicas.api.config.metricas;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.config.MeterFilter;
+
+/**
+ * Rede de segurança das métricas por clínica: nas séries {@code tenant.*}, um valor de
+ * {@code clinicId} que o {@link LimitadorTenants} não monitora vira {@value LimitadorTenants#OUTROS}.
+ * <p>
+ * A lista acompanha o rodízio do limitador: são aceitas as clínicas monitoradas agora e as da
+ * janela anterior, porque a tag de uma requisição pode ter sido decidida antes de um
+ * recálculo que terminou enquanto ela era registrada.
+ */
+class FiltroTagClinica implements MeterFilter {
+
+    private volatile Set<String> permitidos = Set.of(LimitadorTenants.OUTROS, LimitadorTenants.NENHUM);
+
+    void permitir(Set<Long> monitorados, Set<Long> anteriores) {
+        Set<String> novos = new HashSet<>();
+        novos.add(LimitadorTenants.OUTROS);
+        novos.add(LimitadorTenants.NENHUM);
+        monitorados.forEach(id -> novos.add(id.toString()));
+        anteriores.forEach(id -> novos.add(id.toString()));
+        permitidos = Set.copyOf(novos);
+    }
+
+    @Override
+    public Meter.Id map(Meter.Id id) {
+        if (!id.getName().startsWith(LimitadorTenants.PREFIXO_METRICAS)) {
+            return id;
+        }
+        String valor = id.getTag(LimitadorTenants.TAG);
+        if (valor == null || permitidos.contains(valor)) {
+            return id;
+        }
+        return id.replaceTags(Tags.of(id.getTagsAsIterable()).and(LimitadorTenants.TAG, LimitadorTenants.OUTROS));
+    }
+}
@@ -0,0 +1,33 @@
+package com.multiclinicas.api.config.metricas;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Listener de sessão do Hibernate (uma instância por sessão, registrado em
+ * {@code hibernate.session.events.auto}) que mede cada comando JDBC executado, inclusive
+ * os lotes, e soma na {@link MetricasRequisicao} do thread.
+ */
+public class HibernateMetricasListener implements SessionEventListener {
+
+    private long inicio;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        inicio = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        MetricasRequisicao.registrarComando(System.nanoTime() - inicio);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        inicio = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        MetricasRequisicao.registrarComando(System.nanoTime() - inicio);
+    }
+}
@@ -0,0 +1,134 @@
+package com.multiclinicas.api.config.metricas;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Decide qual valor da tag {@code clinicId} cada requisição recebe, para que o número de
+ * séries por métrica fique limitado a {@code maximo} clínicas mais {@value #OUTROS}.
+ * <p>
+ * Enquanto há vaga, toda clínica nova ganha a própria série. A cada {@code janela} as
+ * clínicas são reordenadas pelo volume de requisições (com decaimento pela metade a cada
+ * janela, para que um pico antigo não segure a vaga para sempre) e só as {@code maximo}
+ * primeiras continuam monitoradas; as séries das que saíram são removidas do registro e o
+ * tráfego delas passa a contar em {@value #OUTROS}. A cada mudança, a lista de clínicas
+ * aceitas pelo {@link FiltroTagClinica} é atualizada junto.
+ */
+@Component
+public class LimitadorTenants {
+
+    static final String PREFIXO_METRICAS = "tenant.";
+    static final String TAG = "clinicId";
+    static final String OUTROS = "outros";
+    static final String NENHUM = "nenhum";
+
+    private static final double DECAIMENTO = 0.5;
+    private static final double PONTUACAO_MINIMA = 0.01;
+
+    private final MeterRegistry meterRegistry;
+    private final FiltroTagClinica filtroTagClinica;
+    private final int maximo;
+
+    private final Map<Long, LongAdder> contagemJanela = new ConcurrentHashMap<>();
+    // Só lido e escrito sob a trava do objeto
+    private final Map<Long, Double> pontuacao = new HashMap<>();
+    private volatile Set<Long> monitorados = Set.of();
+    // Monitoradas na janela anterior; só lido e escrito sob a trava do objeto
+    private Set<Long> anteriores = Set.of();
+
+    public LimitadorTenants(MeterRegistry meterRegistry, FiltroTagClinica filtroTagClinica,
+            @Value("${metricas.tenants.maximo:50}") int maximo) {
+        this.meterRegistry = meterRegistry;
+        this.filtroTagClinica = filtroTagClinica;
+        this.maximo = maximo;
+    }
+
+    public String tag(Long clinicId) {
+        if (clinicId == null) {
+            return NENHUM;
+        }
+        contagemJanela.computeIfAbsent(clinicId, id -> new LongAdder()).increment();
+        Set<Long> atuais = monitorados;
+        if (atuais.contains(clinicId) || (atuais.size() < maximo && admitir(clinicId))) {
+            return clinicId.toString();
+        }
+        return OUTROS;
+    }
+
+    private synchronized boolean admitir(Long clinicId) {
+        if (monitorados.contains(clinicId)) {
+            return true;
+        }
+        if (monitorados.size() >= maximo) {
+            return false;
+        }
+        Set<Long> novos = new HashSet<>(monitorados);
+        novos.add(clinicId);
+        // O filtro precisa aceitar a clínica antes de a série dela ser registrada
+        filtroTagClinica.permitir(novos, anteriores);
+        monitorados = Set.copyOf(novos);
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "${metricas.tenants.janela:1m}")
+    public synchronized void recalcular() {
+        Set<Long> clinicas = new HashSet<>(pontuacao.keySet());
+        clinicas.addAll(contagemJanela.keySet());
+        for (Long clinicId : clinicas) {
+            LongAdder contagem = contagemJanela.remove(clinicId);
+            double nova = DECAIMENTO * pontuacao.getOrDefault(clinicId, 0.0)
+                    + (contagem == null ? 0 : contagem.sum());
+            if (nova < PONTUACAO_MINIMA) {
+                pontuacao.remove(clinicId);
+            } else {
+                pontuacao.put(clinicId, nova);
+            }
+        }
+
+        Set<Long> novos = Set.copyOf(pontuacao.entrySet().stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(maximo)
+                .map(Map.Entry::getKey)
+                .toList());
+        anteriores = monitorados;
+        filtroTagClinica.permitir(novos, anteriores);
+        monitorados = novos;
+
+        // Remove as séries de toda clínica fora do top, inclusive as registradas na folga que o
+        // filtro dá à janela anterior
+        List<Meter> series = meterRegistry.getMeters().stream()
+                .filter(meter -> meter.getId().getName().startsWith(PREFIXO_METRICAS))
+                .filter(meter -> foraDoTop(meter.getId().getTag(TAG), novos))
+                .toList();
+        series.forEach(meterRegistry::remove);
+    }
+
+    private static boolean foraDoTop(String tag, Set<Long> novos) {
+        if (tag == null || OUTROS.equals(tag) || NENHUM.equals(tag)) {
+            return false;
+        }
+        try {
+            return !novos.contains(Long.valueOf(tag));
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    Set<Long> monitorados() {
+        return monitorados;
+    }
+}
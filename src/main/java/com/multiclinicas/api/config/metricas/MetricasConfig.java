@@ -0,0 +1,26 @@
+package com.multiclinicas.api.config.metricas;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.handler.MappedInterceptor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class MetricasConfig {
+
+    // Interceptors declarados como bean entram na cadeia antes dos registrados no WebConfig,
+    // então o tempo gasto no TenantInterceptor fica dentro da medição
+    @Bean
+    public MappedInterceptor metricasInterceptor(MeterRegistry meterRegistry, LimitadorTenants limitadorTenants) {
+        return new MappedInterceptor(new String[] { "/**" }, new String[] { "/actuator/**" },
+                new MetricasInterceptor(meterRegistry, limitadorTenants));
+    }
+
+    // Rede de segurança caso alguma série por clínica escape do LimitadorTenants, que mantém a
+    // lista do filtro. Estático porque os filtros são lidos durante a criação do próprio MeterRegistry.
+    @Bean
+    static FiltroTagClinica filtroTagClinica() {
+        return new FiltroTagClinica();
+    }
+}
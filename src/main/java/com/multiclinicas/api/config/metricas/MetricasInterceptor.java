@@ -0,0 +1,115 @@
+package com.multiclinicas.api.config.metricas;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import com.multiclinicas.api.config.tenant.TenantInterceptor;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.http.Outcome;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Mede cada requisição por clínica, controller e método do controller: latência total,
+ * comandos JDBC e tempo de banco do Hibernate, e o tempo gasto no {@link TenantInterceptor}.
+ * <p>
+ * Registrado antes dos demais interceptors, então o {@code afterCompletion} dele roda por
+ * último e já encontra a clínica validada nos atributos da requisição. Em requisições
+ * assíncronas o cronômetro começa no primeiro dispatch e fecha no último.
+ */
+class MetricasInterceptor implements AsyncHandlerInterceptor {
+
+    static final String REQUISICOES = "tenant.http.requisicoes";
+    static final String CONSULTAS_JDBC = "tenant.http.jdbc.consultas";
+    static final String HIBERNATE = "tenant.http.hibernate";
+    static final String INTERCEPTOR = "tenant.http.interceptor";
+
+    private static final String ATRIBUTO_INICIO = MetricasInterceptor.class.getName() + ".inicio";
+    private static final String ATRIBUTO_ACUMULADOR = MetricasInterceptor.class.getName() + ".acumulador";
+
+    private final MeterRegistry meterRegistry;
+    private final LimitadorTenants limitadorTenants;
+
+    MetricasInterceptor(MeterRegistry meterRegistry, LimitadorTenants limitadorTenants) {
+        this.meterRegistry = meterRegistry;
+        this.limitadorTenants = limitadorTenants;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() != DispatcherType.ASYNC) {
+            request.setAttribute(ATRIBUTO_INICIO, System.nanoTime());
+            MetricasRequisicao.iniciar();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+            Object handler) {
+        // O restante roda em outro thread: guarda o que o thread do servlet já acumulou
+        request.setAttribute(ATRIBUTO_ACUMULADOR, MetricasRequisicao.encerrar());
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        MetricasRequisicao.Acumulador acumulador = MetricasRequisicao.encerrar();
+        if (acumulador == null) {
+            acumulador = (MetricasRequisicao.Acumulador) request.getAttribute(ATRIBUTO_ACUMULADOR);
+        }
+        Long inicio = (Long) request.getAttribute(ATRIBUTO_INICIO);
+        if (inicio == null) {
+            return;
+        }
+
+        Tags tags = Tags.of(
+                LimitadorTenants.TAG, limitadorTenants.tag((Long) request.getAttribute(TenantInterceptor.ATRIBUTO_CLINIC_ID)),
+                "controller", controller(handler),
+                "metodo", metodo(handler),
+                "resultado", (ex != null ? Outcome.SERVER_ERROR : Outcome.forStatus(response.getStatus())).name());
+
+        Timer.builder(REQUISICOES)
+                .description("Latência das requisições por clínica")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+
+        if (acumulador != null) {
+            DistributionSummary.builder(CONSULTAS_JDBC)
+                    .description("Comandos JDBC executados pelo Hibernate por requisição")
+                    .tags(tags)
+                    .register(meterRegistry)
+                    .record(acumulador.comandos());
+            Timer.builder(HIBERNATE)
+                    .description("Tempo em comandos JDBC do Hibernate por requisição")
+                    .tags(tags)
+                    .register(meterRegistry)
+                    .record(acumulador.nanosJdbc(), TimeUnit.NANOSECONDS);
+        }
+
+        Long duracaoTenant = (Long) request.getAttribute(TenantInterceptor.ATRIBUTO_DURACAO);
+        if (duracaoTenant != null) {
+            Timer.builder(INTERCEPTOR)
+                    .description("Tempo de resolução e validação da clínica no TenantInterceptor")
+                    .tags(tags)
+                    .register(meterRegistry)
+                    .record(duracaoTenant, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static String controller(Object handler) {
+        return handler instanceof HandlerMethod metodo ? metodo.getBeanType().getSimpleName() : "nenhum";
+    }
+
+    private static String metodo(Object handler) {
+        return handler instanceof HandlerMethod metodo ? metodo.getMethod().getName() : "nenhum";
+    }
+}
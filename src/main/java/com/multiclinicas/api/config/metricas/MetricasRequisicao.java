@@ -0,0 +1,47 @@
+package com.multiclinicas.api.config.metricas;
+
+/**
+ * Acumula, no thread da requisição, o trabalho de banco feito pelo Hibernate: quantos
+ * comandos JDBC foram executados e quanto tempo levaram. Aberto e fechado pelo
+ * {@link MetricasInterceptor}; alimentado pelo {@link HibernateMetricasListener}.
+ * Fora de uma requisição (jobs, threads próprios) nada é acumulado.
+ */
+public final class MetricasRequisicao {
+
+    private static final ThreadLocal<Acumulador> atual = new ThreadLocal<>();
+
+    private MetricasRequisicao() {
+    }
+
+    static void iniciar() {
+        atual.set(new Acumulador());
+    }
+
+    static Acumulador encerrar() {
+        Acumulador acumulador = atual.get();
+        atual.remove();
+        return acumulador;
+    }
+
+    static void registrarComando(long nanos) {
+        Acumulador acumulador = atual.get();
+        if (acumulador != null) {
+            acumulador.comandos++;
+            acumulador.nanosJdbc += nanos;
+        }
+    }
+
+    static final class Acumulador {
+
+        private int comandos;
+        private long nanosJdbc;
+
+        int comandos() {
+            return comandos;
+        }
+
+        long nanosJdbc() {
+            return nanosJdbc;
+        }
+    }
+}
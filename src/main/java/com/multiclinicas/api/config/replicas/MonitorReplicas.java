@@ -0,0 +1,154 @@
+package com.multiclinicas.api.config.replicas;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Verifica periodicamente cada réplica de leitura: se aceita conexão e, no PostgreSQL, quanto
+ * está atrasada na aplicação do WAL. Só entram no rodízio as réplicas que respondem e estão no
+ * máximo {@code banco.replicas.atraso-maximo} atrás do primário; até a primeira verificação,
+ * nenhuma entra.
+ */
+@Slf4j
+class MonitorReplicas implements MeterBinder, DisposableBean {
+
+    static final String ATRASO = "banco.replica.atraso";
+    static final String DISPONIVEL = "banco.replica.disponivel";
+
+    // Fora de recuperação (instância independente) ou com todo o WAL recebido já aplicado, não há
+    // atraso; -1 quando a réplica recebeu WAL mas ainda não aplicou nenhuma transação
+    private static final String SQL_ATRASO = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() THEN 0
+                WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), -1)
+            END""";
+
+    private final List<Replica> replicas;
+    private final double atrasoMaximoSegundos;
+    private final AtomicInteger rodizio = new AtomicInteger();
+    private volatile List<Replica> disponiveis = List.of();
+
+    MonitorReplicas(List<Replica> replicas, Duration atrasoMaximo) {
+        this.replicas = List.copyOf(replicas);
+        this.atrasoMaximoSegundos = atrasoMaximo.toMillis() / 1000.0;
+    }
+
+    @Scheduled(fixedDelayString = "${banco.replicas.verificacao:5s}")
+    public void verificar() {
+        for (Replica replica : replicas) {
+            boolean antes = replica.disponivel;
+            replica.verificar(atrasoMaximoSegundos);
+            if (antes != replica.disponivel) {
+                log.warn("Réplica {} {}", replica.nome, replica.disponivel ? "voltou ao rodízio"
+                        : "saiu do rodízio: " + replica.erro);
+            }
+        }
+        disponiveis = replicas.stream().filter(replica -> replica.disponivel).toList();
+    }
+
+    Optional<Replica> proxima() {
+        List<Replica> atuais = disponiveis;
+        if (atuais.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(atuais.get(Math.floorMod(rodizio.getAndIncrement(), atuais.size())));
+    }
+
+    // Falha ao conectar entre duas verificações: sai do rodízio até a próxima verificação
+    void indisponivel(Replica replica, SQLException erro) {
+        log.warn("Réplica {} saiu do rodízio: {}", replica.nome, erro.getMessage());
+        replica.disponivel = false;
+        replica.erro = erro.getMessage();
+        disponiveis = disponiveis.stream().filter(outra -> outra != replica).toList();
+    }
+
+    // Réplicas fora do ar não derrubam a aplicação: as leituras seguem no primário
+    Health saude() {
+        Map<String, Object> detalhes = new LinkedHashMap<>();
+        for (Replica replica : replicas) {
+            Map<String, Object> estado = new LinkedHashMap<>();
+            estado.put("disponivel", replica.disponivel);
+            estado.put("atrasoSegundos", replica.atrasoSegundos);
+            if (replica.erro != null) {
+                estado.put("erro", replica.erro);
+            }
+            detalhes.put(replica.nome, estado);
+        }
+        return Health.up().withDetails(detalhes).build();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Replica replica : replicas) {
+            Gauge.builder(ATRASO, replica, r -> r.atrasoSegundos)
+                    .description("Atraso da réplica na aplicação do WAL")
+                    .baseUnit("seconds")
+                    .tag("replica", replica.nome)
+                    .register(registry);
+            Gauge.builder(DISPONIVEL, replica, r -> r.disponivel ? 1 : 0)
+                    .description("1 se a réplica está no rodízio de leituras")
+                    .tag("replica", replica.nome)
+                    .register(registry);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+    static final class Replica {
+
+        final String nome;
+        final HikariDataSource dataSource;
+        volatile boolean disponivel;
+        volatile double atrasoSegundos = Double.NaN;
+        volatile String erro;
+
+        Replica(String nome, HikariDataSource dataSource) {
+            this.nome = nome;
+            this.dataSource = dataSource;
+        }
+
+        void verificar(double atrasoMaximoSegundos) {
+            try (Connection conexao = dataSource.getConnection()) {
+                double atraso = "PostgreSQL".equals(conexao.getMetaData().getDatabaseProductName())
+                        ? consultarAtraso(conexao)
+                        : 0;
+                atrasoSegundos = atraso < 0 ? Double.NaN : atraso;
+                disponivel = atraso >= 0 && atraso <= atrasoMaximoSegundos;
+                erro = disponivel ? null : "atraso de replicação acima de " + atrasoMaximoSegundos + "s";
+            } catch (SQLException e) {
+                disponivel = false;
+                atrasoSegundos = Double.NaN;
+                erro = e.getMessage();
+            }
+        }
+
+        private static double consultarAtraso(Connection conexao) throws SQLException {
+            try (Statement comando = conexao.createStatement();
+                    ResultSet resultado = comando.executeQuery(SQL_ATRASO)) {
+                resultado.next();
+                return resultado.getDouble(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.multiclinicas.api.config.replicas;
+
+import com.multiclinicas.api.config.replicas.MonitorReplicas.Replica;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Réplicas de leitura, ligadas com {@code banco.replicas.habilitado=true}. O {@code DataSource}
+ * da aplicação passa a ser o {@link RoteadorDataSource} (atrás de um proxy preguiçoso), com o
+ * pool do primário configurado por {@code spring.datasource.*} como antes e um pool por réplica.
+ */
+@Configuration
+@ConditionalOnProperty(name = "banco.replicas.habilitado", havingValue = "true")
+public class ReplicasConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSourcePrimario(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(RoteadorDataSource.PRIMARIO);
+        return dataSource;
+    }
+
+    @Bean
+    MonitorReplicas monitorReplicas(DataSourceProperties properties, MeterRegistry registry,
+            @Value("${banco.replicas.urls:}") List<String> urls,
+            @Value("${banco.replicas.usuario:}") String usuario,
+            @Value("${banco.replicas.senha:}") String senha,
+            @Value("${banco.replicas.pool:10}") int pool,
+            @Value("${banco.replicas.timeout:2s}") Duration timeout,
+            @Value("${banco.replicas.atraso-maximo:5s}") Duration atrasoMaximo) {
+        List<Replica> replicas = new ArrayList<>();
+        for (String url : urls) {
+            HikariConfig config = new HikariConfig();
+            config.setPoolName("replica-" + (replicas.size() + 1));
+            config.setJdbcUrl(url.trim());
+            config.setUsername(usuario.isBlank() ? properties.determineUsername() : usuario);
+            config.setPassword(senha.isBlank() ? properties.determinePassword() : senha);
+            config.setMaximumPoolSize(pool);
+            config.setConnectionTimeout(timeout.toMillis());
+            // Só leituras chegam aqui; uma escrita por engano falha na própria réplica
+            config.setReadOnly(true);
+            // Réplica fora do ar na subida não impede a aplicação de subir
+            config.setInitializationFailTimeout(-1);
+            config.setMetricRegistry(registry);
+            replicas.add(new Replica(config.getPoolName(), new HikariDataSource(config)));
+        }
+        return new MonitorReplicas(replicas, atrasoMaximo);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource dataSourcePrimario, MonitorReplicas monitorReplicas,
+            MeterRegistry registry, @Value("${banco.replicas.atraso-maximo:5s}") Duration atrasoMaximo) {
+        return new LazyConnectionDataSourceProxy(
+                new RoteadorDataSource(dataSourcePrimario, monitorReplicas, registry, atrasoMaximo));
+    }
+
+    @Bean
+    HealthIndicator replicasHealthIndicator(MonitorReplicas monitorReplicas) {
+        return monitorReplicas::saude;
+    }
+
+    // Por padrão a sessão do Hibernate mantém a conexão até fechar, e com o open-in-view a
+    // requisição inteira ficaria na primeira conexão obtida; liberando ao fim de cada
+    // transação, cada transação é roteada de novo
+    @Bean
+    HibernatePropertiesCustomizer liberarConexaoAposTransacao() {
+        return propriedades -> propriedades.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+}
@@ -0,0 +1,136 @@
+package com.multiclinicas.api.config.replicas;
+
+import com.multiclinicas.api.config.replicas.MonitorReplicas.Replica;
+import com.multiclinicas.api.config.tenant.TenantContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Escolhe o pool de cada conexão: transações {@code readOnly} vão para uma réplica disponível,
+ * em rodízio; escritas e acessos fora de transação vão para o primário.
+ * <p>
+ * Depois do commit de uma transação que não é {@code readOnly}, a mesma requisição e a mesma
+ * clínica continuam lendo do primário por {@code banco.replicas.atraso-maximo}, o maior atraso
+ * tolerado numa réplica, para que a leitura seguinte já veja o que acabou de ser gravado. A
+ * marca da requisição fica num atributo dela, então não passa para a próxima requisição
+ * atendida pela mesma thread do pool.
+ * <p>
+ * Precisa ficar atrás de um {@link LazyConnectionDataSourceProxy}: a conexão só é pedida no
+ * primeiro comando, quando o flag readOnly da transação já está definido.
+ */
+class RoteadorDataSource extends AbstractDataSource {
+
+    static final String CONEXOES = "banco.roteamento.conexoes";
+    static final String PRIMARIO = "primario";
+    static final String ULTIMA_ESCRITA = RoteadorDataSource.class.getName() + ".ultimaEscrita";
+
+    private final DataSource primario;
+    private final MonitorReplicas monitor;
+    private final MeterRegistry registry;
+    private final long janelaNanos;
+    private final Map<Long, Long> ultimaEscritaClinica = new ConcurrentHashMap<>();
+
+    RoteadorDataSource(DataSource primario, MonitorReplicas monitor, MeterRegistry registry,
+            Duration janelaAposEscrita) {
+        this.primario = primario;
+        this.monitor = monitor;
+        this.registry = registry;
+        this.janelaNanos = janelaAposEscrita.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return conectar(primario, PRIMARIO, "sem-transacao");
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            registrarEscrita();
+            return conectar(primario, PRIMARIO, "escrita");
+        }
+        if (escreveuRecentemente()) {
+            return conectar(primario, PRIMARIO, "escrita-recente");
+        }
+
+        Optional<Replica> replica = monitor.proxima();
+        if (replica.isEmpty()) {
+            return conectar(primario, PRIMARIO, "sem-replica");
+        }
+        try {
+            return conectar(replica.get().dataSource, replica.get().nome, "leitura");
+        } catch (SQLException e) {
+            // A réplica caiu depois da última verificação: a leitura segue no primário
+            monitor.indisponivel(replica.get(), e);
+            return conectar(primario, PRIMARIO, "sem-replica");
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Usuário e senha são definidos em cada pool");
+    }
+
+    private Connection conectar(DataSource dataSource, String rota, String motivo) throws SQLException {
+        Connection conexao = dataSource.getConnection();
+        Counter.builder(CONEXOES)
+                .description("Conexões entregues por rota (primário ou réplica) e motivo da escolha")
+                .tag("rota", rota)
+                .tag("motivo", motivo)
+                .register(registry)
+                .increment();
+        return conexao;
+    }
+
+    // A janela conta a partir do commit, quando a escrita passa a ser replicada; sem commit
+    // (rollback) nada foi gravado e as leituras seguem nas réplicas
+    private void registrarEscrita() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        Long clinicId = TenantContext.getClinicId();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                marcarEscrita(clinicId);
+            }
+        });
+    }
+
+    private void marcarEscrita(Long clinicId) {
+        long agora = System.nanoTime();
+        RequestAttributes requisicao = RequestContextHolder.getRequestAttributes();
+        if (requisicao != null) {
+            requisicao.setAttribute(ULTIMA_ESCRITA, agora, RequestAttributes.SCOPE_REQUEST);
+        }
+        if (clinicId != null) {
+            ultimaEscritaClinica.put(clinicId, agora);
+        }
+    }
+
+    private boolean escreveuRecentemente() {
+        long agora = System.nanoTime();
+        RequestAttributes requisicao = RequestContextHolder.getRequestAttributes();
+        Long daRequisicao = requisicao == null ? null
+                : (Long) requisicao.getAttribute(ULTIMA_ESCRITA, RequestAttributes.SCOPE_REQUEST);
+        if (daRequisicao != null && agora - daRequisicao < janelaNanos) {
+            return true;
+        }
+        Long clinicId = TenantContext.getClinicId();
+        Long daClinica = clinicId == null ? null : ultimaEscritaClinica.get(clinicId);
+        return daClinica != null && agora - daClinica < janelaNanos;
+    }
+}
@@ -1,5 +1,13 @@
 package com.multiclinicas.api.config.tenant;
 
+import java.util.function.Supplier;
+
+/**
+ * Clínica da requisição atual, por thread. Executores do Spring (tarefas {@code @Async},
+ * {@code @Scheduled} e respostas assíncronas do MVC) recebem a clínica de quem submeteu a
+ * tarefa pelo {@link TenantThreadLocalAccessor}; para {@code CompletableFuture}, parallel
+ * streams e executores próprios, use {@link #propagar(Runnable)} / {@link #propagar(Supplier)}.
+ */
 public class TenantContext {
     private static final ThreadLocal<Long> currentTenant = new ThreadLocal<>();
 
@@ -14,4 +22,41 @@ public class TenantContext {
     public static void clear() {
         currentTenant.remove();
     }
+
+    /**
+     * Captura a clínica da thread atual para que {@code tarefa} rode com ela em outra thread.
+     * Ao final a thread que executou volta ao valor que tinha antes (nenhum, numa thread de
+     * pool), então a clínica não vaza para a próxima tarefa.
+     */
+    public static Runnable propagar(Runnable tarefa) {
+        Long clinicId = getClinicId();
+        return () -> executarComo(clinicId, () -> {
+            tarefa.run();
+            return null;
+        });
+    }
+
+    public static <T> Supplier<T> propagar(Supplier<T> tarefa) {
+        Long clinicId = getClinicId();
+        return () -> executarComo(clinicId, tarefa);
+    }
+
+    /** Executa {@code tarefa} com {@code clinicId} (ou sem clínica) e restaura o valor anterior. */
+    public static <T> T executarComo(Long clinicId, Supplier<T> tarefa) {
+        Long anterior = getClinicId();
+        definir(clinicId);
+        try {
+            return tarefa.get();
+        } finally {
+            definir(anterior);
+        }
+    }
+
+    private static void definir(Long clinicId) {
+        if (clinicId == null) {
+            clear();
+        } else {
+            setClinicId(clinicId);
+        }
+    }
 }
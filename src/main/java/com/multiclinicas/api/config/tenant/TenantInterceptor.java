@@ -1,41 +1,99 @@
 package com.multiclinicas.api.config.tenant;
 
 import com.multiclinicas.api.exceptions.ResourceNotFoundException;
-import com.multiclinicas.api.repositories.ClinicaRepository;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.ModelAndView;
 
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 @Component
-@RequiredArgsConstructor
 public class TenantInterceptor implements HandlerInterceptor {
 
-    private final ClinicaRepository clinicaRepository;
+    public static final String HEADER_CLINIC_ID = "X-Clinic-ID";
 
-    @Override
-    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
-        String clinicIdHeader = request.getHeader("X-Clinic-ID");
+    // Lidos pelo MetricasInterceptor ao final da requisição
+    public static final String ATRIBUTO_CLINIC_ID = TenantInterceptor.class.getName() + ".clinicId";
+    public static final String ATRIBUTO_DURACAO = TenantInterceptor.class.getName() + ".duracao";
 
-        // 1. Valida se o header está presente
-        if (clinicIdHeader == null || clinicIdHeader.isBlank()) {
-            throw new IllegalArgumentException("Header X-Clinic-ID é obrigatório");
-        }
+    private final TenantRegistry tenantRegistry;
+    // ".sistema.com"; null desliga a resolução pelo subdomínio
+    private final String sufixoDominio;
+    private final Set<String> subdominiosReservados;
+
+    public TenantInterceptor(TenantRegistry tenantRegistry,
+            @Value("${tenant.dominio:}") String dominio,
+            @Value("${tenant.subdominio.reservados:www,api}") Set<String> subdominiosReservados) {
+        this.tenantRegistry = tenantRegistry;
+        this.sufixoDominio = dominio == null || dominio.isBlank() ? null : "." + dominio.toLowerCase(Locale.ROOT);
+        this.subdominiosReservados = subdominiosReservados == null ? Set.of()
+                : subdominiosReservados.stream().map(s -> s.toLowerCase(Locale.ROOT)).collect(Collectors.toSet());
+    }
 
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        long inicio = System.nanoTime();
         try {
-            Long clinicId = Long.parseLong(clinicIdHeader);
+            Long clinicId = resolverClinicId(request);
 
-            // 2. Valida se a clínica realmente existe no Banco de Dados
-            if (!clinicaRepository.existsById(clinicId)) {
+            // 2. Valida se a clínica realmente existe (consulta o cache antes do banco)
+            if (!tenantRegistry.exists(clinicId)) {
                 throw new ResourceNotFoundException("Clínica informada no cabeçalho não encontrada: " + clinicId);
             }
 
             // 3. Define no contexto para uso global
             TenantContext.setClinicId(clinicId);
+            request.setAttribute(ATRIBUTO_CLINIC_ID, clinicId);
 
             return true;
+        } finally {
+            request.setAttribute(ATRIBUTO_DURACAO, System.nanoTime() - inicio);
+        }
+    }
+
+    // 1. Clínica pelo subdomínio do Host (clinica-vida.sistema.com), sem ir ao banco; fora do
+    // domínio ou em subdomínio reservado, pelo header X-Clinic-ID (clientes da API)
+    Long resolverClinicId(HttpServletRequest request) {
+        String subdominio = extrairSubdominio(request.getServerName());
+        if (subdominio == null) {
+            return parseClinicId(request.getHeader(HEADER_CLINIC_ID));
+        }
+
+        Long clinicId = tenantRegistry.clinicIdPorSubdominio(subdominio)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Clínica não encontrada para o subdomínio: " + subdominio));
+
+        String header = request.getHeader(HEADER_CLINIC_ID);
+        if (header != null && !header.isBlank() && !parseClinicId(header).equals(clinicId)) {
+            throw new IllegalArgumentException("Header X-Clinic-ID não corresponde ao subdomínio da requisição");
+        }
+        return clinicId;
+    }
+
+    String extrairSubdominio(String host) {
+        if (sufixoDominio == null || host == null) {
+            return null;
+        }
+        String nome = host.toLowerCase(Locale.ROOT);
+        if (!nome.endsWith(sufixoDominio) || nome.length() == sufixoDominio.length()) {
+            return null;
+        }
+        String subdominio = nome.substring(0, nome.length() - sufixoDominio.length());
+        return subdominiosReservados.contains(subdominio) ? null : subdominio;
+    }
+
+    // Valida se o header está presente e é numérico
+    static Long parseClinicId(String clinicIdHeader) {
+        if (clinicIdHeader == null || clinicIdHeader.isBlank()) {
+            throw new IllegalArgumentException("Header X-Clinic-ID é obrigatório");
+        }
+        try {
+            return Long.parseLong(clinicIdHeader);
         } catch (NumberFormatException e) {
             throw new IllegalArgumentException("Header X-Clinic-ID deve ser um número válido");
         }
@@ -0,0 +1,112 @@
+package com.multiclinicas.api.config.tenant;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.multiclinicas.api.repositories.ClinicaRepository;
+import com.multiclinicas.api.repositories.projections.SubdominioClinica;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Cache em memória das clínicas (tenants) conhecidas e do seu flag {@code ativo}.
+ * <p>
+ * Evita que o {@link TenantInterceptor} vá ao banco a cada requisição. O cache é
+ * limitado em tamanho e expira por TTL; escritas em clínicas devem chamar
+ * {@link #invalidate(Long)} para que a mudança seja vista imediatamente.
+ * <p>
+ * Também mantém o mapa subdomínio → clínica usado para resolver o tenant pelo Host. O mapa
+ * é imutável e trocado por inteiro: a leitura por requisição não tem lock nem vai ao banco.
+ * Ele é recarregado após o commit de cada escrita em clínicas e, a cada
+ * {@code tenant.subdominio.recarga}, para acompanhar escritas feitas em outros nós.
+ */
+@Component
+public class TenantRegistry implements MeterBinder {
+
+    static final String CACHE_NAME = "tenant-registry";
+
+    private final ClinicaRepository clinicaRepository;
+    private final LoadingCache<Long, Optional<Boolean>> cache;
+    private volatile Map<String, Long> subdominios;
+
+    public TenantRegistry(ClinicaRepository clinicaRepository,
+            @Value("${tenant.registry.max-size:10000}") long maxSize,
+            @Value("${tenant.registry.ttl:5m}") Duration ttl) {
+        this.clinicaRepository = clinicaRepository;
+        // Optional.empty() também é cacheado: IDs inexistentes não voltam ao banco até expirar
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build(clinicaRepository::findAtivoById);
+    }
+
+    public boolean exists(Long clinicId) {
+        return cache.get(clinicId).isPresent();
+    }
+
+    public boolean isAtivo(Long clinicId) {
+        return cache.get(clinicId).orElse(false);
+    }
+
+    public Optional<Long> clinicIdPorSubdominio(String subdominio) {
+        Map<String, Long> atual = subdominios;
+        if (atual == null) {
+            atual = recarregarSubdominios();
+        }
+        return Optional.ofNullable(atual.get(subdominio.toLowerCase(Locale.ROOT)));
+    }
+
+    public void invalidate(Long clinicId) {
+        if (clinicId == null) {
+            return;
+        }
+        cache.invalidate(clinicId);
+
+        // Invalida novamente após o commit para não manter um valor carregado por
+        // outra requisição enquanto a transação ainda não havia sido confirmada;
+        // o mapa de subdomínios só é relido quando a escrita já está visível
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(clinicId);
+                    recarregarSubdominios();
+                }
+            });
+        } else {
+            recarregarSubdominios();
+        }
+    }
+
+    // Sincronizado para que uma leitura mais antiga do banco não substitua uma mais nova
+    @Scheduled(fixedDelayString = "${tenant.subdominio.recarga:1m}",
+            initialDelayString = "${tenant.subdominio.recarga:1m}")
+    public synchronized Map<String, Long> recarregarSubdominios() {
+        Map<String, Long> novos = clinicaRepository.findSubdominios().stream()
+                .collect(Collectors.toUnmodifiableMap(
+                        clinica -> clinica.subdominio().toLowerCase(Locale.ROOT), SubdominioClinica::clinicId));
+        subdominios = novos;
+        return novos;
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+}
@@ -0,0 +1,34 @@
+package com.multiclinicas.api.config.tenant;
+
+import io.micrometer.context.ThreadLocalAccessor;
+
+/**
+ * Expõe o {@link TenantContext} à biblioteca context-propagation, registrado por
+ * {@code META-INF/services}. Com isso a clínica entra nos snapshots usados pelo
+ * {@code TaskDecorator} dos executores e por qualquer integração que capture o contexto
+ * (Reactor, Micrometer Observation).
+ */
+public class TenantThreadLocalAccessor implements ThreadLocalAccessor<Long> {
+
+    public static final String KEY = "multiclinicas.clinicId";
+
+    @Override
+    public Object key() {
+        return KEY;
+    }
+
+    @Override
+    public Long getValue() {
+        return TenantContext.getClinicId();
+    }
+
+    @Override
+    public void setValue(Long clinicId) {
+        TenantContext.setClinicId(clinicId);
+    }
+
+    @Override
+    public void setValue() {
+        TenantContext.clear();
+    }
+}
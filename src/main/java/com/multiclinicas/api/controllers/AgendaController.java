@@ -0,0 +1,36 @@
+package com.multiclinicas.api.controllers;
+
+import java.time.LocalDate;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.multiclinicas.api.config.tenant.TenantContext;
+import com.multiclinicas.api.dtos.AgendaDTO;
+import com.multiclinicas.api.mappers.AgendaMapper;
+import com.multiclinicas.api.services.AgendaService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/agenda")
+@RequiredArgsConstructor
+public class AgendaController {
+
+    private final AgendaService agendaService;
+    private final AgendaMapper agendaMapper;
+
+    @GetMapping
+    public ResponseEntity<AgendaDTO> findAgenda(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate data,
+            @RequestParam(required = false) Long medicoId) {
+
+        Long clinicId = TenantContext.getClinicId();
+
+        return ResponseEntity.ok(agendaMapper.toDTO(data, agendaService.findAgenda(clinicId, data, medicoId)));
+    }
+}
@@ -0,0 +1,50 @@
+package com.multiclinicas.api.controllers;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.multiclinicas.api.config.tenant.TenantContext;
+import com.multiclinicas.api.dtos.AgendamentoCreateDTO;
+import com.multiclinicas.api.dtos.AgendamentoDTO;
+import com.multiclinicas.api.mappers.AgendamentoMapper;
+import com.multiclinicas.api.models.Agendamento;
+import com.multiclinicas.api.services.AgendamentoService;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/agendamentos")
+@RequiredArgsConstructor
+public class AgendamentoController {
+
+    private final AgendamentoService agendamentoService;
+    private final AgendamentoMapper agendamentoMapper;
+
+    @GetMapping("/{id}")
+    public ResponseEntity<AgendamentoDTO> findById(@PathVariable Long id) {
+        Long clinicId = TenantContext.getClinicId();
+
+        Agendamento agendamento = agendamentoService.findByIdAndClinicId(id, clinicId);
+
+        return ResponseEntity.ok(agendamentoMapper.toDTO(agendamento));
+    }
+
+    @PostMapping
+    public ResponseEntity<AgendamentoDTO> create(@RequestBody @Valid AgendamentoCreateDTO dto) {
+        Long clinicId = TenantContext.getClinicId();
+
+        Agendamento agendamento = agendamentoMapper.toEntity(dto);
+
+        Agendamento criado = agendamentoService.create(clinicId, dto.pacienteId(), dto.medicoId(),
+                dto.planoSaudeId(), agendamento);
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(agendamentoMapper.toDTO(criado));
+    }
+}
@@ -0,0 +1,38 @@
+package com.multiclinicas.api.controllers;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.multiclinicas.api.config.tenant.TenantContext;
+import com.multiclinicas.api.dtos.SugestaoDTO;
+import com.multiclinicas.api.mappers.AutocompleteMapper;
+import com.multiclinicas.api.services.AutocompleteService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/autocomplete")
+@RequiredArgsConstructor
+public class AutocompleteController {
+
+    private final AutocompleteService autocompleteService;
+    private final AutocompleteMapper autocompleteMapper;
+
+    // Chamado a cada tecla no portal: responde da memória, sem consulta ao banco
+    @GetMapping
+    public ResponseEntity<List<SugestaoDTO>> sugerir(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer limit) {
+
+        Long clinicId = TenantContext.getClinicId();
+
+        return ResponseEntity.ok(autocompleteService.sugerir(clinicId, q, limit).stream()
+                .map(autocompleteMapper::toDTO)
+                .toList());
+    }
+}
@@ -1,5 +1,7 @@
 package com.multiclinicas.api.controllers;
 
+import com.multiclinicas.api.config.cache.VersoesCatalogo;
+import com.multiclinicas.api.config.cache.VersoesCatalogo.Catalogo;
 import com.multiclinicas.api.config.tenant.TenantContext;
 import com.multiclinicas.api.dtos.EspecialidadeCreateDTO;
 import com.multiclinicas.api.dtos.EspecialidadeDTO;
@@ -8,6 +10,8 @@ import com.multiclinicas.api.models.Especialidade;
 import com.multiclinicas.api.services.EspecialidadeService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -21,26 +25,39 @@ public class EspecialidadeController {
 
     private final EspecialidadeService especialidadeService;
     private final EspecialidadeMapper especialidadeMapper;
+    private final VersoesCatalogo versoesCatalogo;
 
     @GetMapping
-    public ResponseEntity<List<EspecialidadeDTO>> findAll() {
+    public ResponseEntity<List<EspecialidadeDTO>> findAll(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         Long clinicId = TenantContext.getClinicId();
 
+        ETag versao = versoesCatalogo.versao(Catalogo.ESPECIALIDADES, clinicId);
+        if (versoesCatalogo.naoModificado(ifNoneMatch, versao)) {
+            return versoesCatalogo.respostaNaoModificada(versao);
+        }
+
         List<Especialidade> especialidades = especialidadeService.findAllByClinicId(clinicId);
 
-        return ResponseEntity.ok(
+        return versoesCatalogo.ok(versao).body(
                 especialidades.stream()
                         .map(especialidadeMapper::toDTO)
                         .toList());
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<EspecialidadeDTO> findById(@PathVariable Long id) {
+    public ResponseEntity<EspecialidadeDTO> findById(@PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         Long clinicId = TenantContext.getClinicId();
 
+        ETag versao = versoesCatalogo.versao(Catalogo.ESPECIALIDADES, clinicId);
+        if (versoesCatalogo.naoModificado(ifNoneMatch, versao)) {
+            return versoesCatalogo.respostaNaoModificada(versao);
+        }
+
         Especialidade especialidade = especialidadeService.findByIdAndClinicId(id, clinicId);
 
-        return ResponseEntity.ok(especialidadeMapper.toDTO(especialidade));
+        return versoesCatalogo.ok(versao).body(especialidadeMapper.toDTO(especialidade));
     }
 
     @PostMapping
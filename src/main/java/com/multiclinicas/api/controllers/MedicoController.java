@@ -1,8 +1,12 @@
 package com.multiclinicas.api.controllers;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Set;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -11,14 +15,23 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.multiclinicas.api.config.cache.VersoesCatalogo;
+import com.multiclinicas.api.config.cache.VersoesCatalogo.Catalogo;
 import com.multiclinicas.api.config.tenant.TenantContext;
+import com.multiclinicas.api.dtos.DisponibilidadeDTO;
 import com.multiclinicas.api.dtos.MedicoCreateDTO;
 import com.multiclinicas.api.dtos.MedicoDTO;
+import com.multiclinicas.api.mappers.DisponibilidadeMapper;
 import com.multiclinicas.api.mappers.MedicoMapper;
 import com.multiclinicas.api.models.Medico;
+import com.multiclinicas.api.paginacao.Pagina;
+import com.multiclinicas.api.paginacao.PaginaRequest;
+import com.multiclinicas.api.services.DisponibilidadeService;
 import com.multiclinicas.api.services.MedicoService;
 
 import jakarta.validation.Valid;
@@ -30,34 +43,45 @@ import lombok.RequiredArgsConstructor;
 public class MedicoController {
 
     private final MedicoService medicoService;
+    private final VersoesCatalogo versoesCatalogo;
     private final MedicoMapper medicoMapper;
+    private final DisponibilidadeService disponibilidadeService;
+    private final DisponibilidadeMapper disponibilidadeMapper;
 
     @GetMapping
-    public ResponseEntity<List<MedicoDTO>> findAll() {
+    public ResponseEntity<List<MedicoDTO>> findAll(@RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String after) {
 
         Long clinicId = TenantContext.getClinicId();
 
-        List<Medico> medicos = medicoService.findAllByClinicId(clinicId);
+        Pagina<Medico> medicos = medicoService.findAllByClinicId(clinicId, PaginaRequest.of(limit, after));
 
-        List<MedicoDTO> dtos = medicos.stream()
+        List<MedicoDTO> dtos = medicos.itens().stream()
                 .map(medicoMapper::toDTO)
                 .toList();
 
-        return ResponseEntity.ok(dtos);
+        return ResponseEntity.ok().headers(medicos.headers()).body(dtos);
     }
 
     @GetMapping("/ativos")
-    public ResponseEntity<List<MedicoDTO>> findAllActive() {
+    public ResponseEntity<List<MedicoDTO>> findAllActive(@RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String after,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
 
         Long clinicId = TenantContext.getClinicId();
 
-        List<Medico> medicos = medicoService.findAllActiveByClinicId(clinicId);
+        ETag versao = versoesCatalogo.versao(Catalogo.MEDICOS, clinicId);
+        if (versoesCatalogo.naoModificado(ifNoneMatch, versao)) {
+            return versoesCatalogo.respostaNaoModificada(versao);
+        }
 
-        List<MedicoDTO> dtos = medicos.stream()
+        Pagina<Medico> medicos = medicoService.findAllActiveByClinicId(clinicId, PaginaRequest.of(limit, after));
+
+        List<MedicoDTO> dtos = medicos.itens().stream()
                 .map(medicoMapper::toDTO)
                 .toList();
 
-        return ResponseEntity.ok(dtos);
+        return versoesCatalogo.ok(versao).headers(medicos.headers()).body(dtos);
     }
 
     @GetMapping("/{id}")
@@ -70,6 +94,20 @@ public class MedicoController {
         return ResponseEntity.ok(medicoMapper.toDTO(medico));
     }
 
+    @GetMapping("/{id}/disponibilidade")
+    public ResponseEntity<List<DisponibilidadeDTO>> findDisponibilidade(@PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate de,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate ate) {
+
+        Long clinicId = TenantContext.getClinicId();
+
+        List<DisponibilidadeDTO> dias = disponibilidadeService.findDisponibilidade(id, clinicId, de, ate).stream()
+                .map(disponibilidadeMapper::toDTO)
+                .toList();
+
+        return ResponseEntity.ok(dias);
+    }
+
     @PostMapping
     public ResponseEntity<MedicoDTO> create(@RequestBody @Valid MedicoCreateDTO dto) {
 
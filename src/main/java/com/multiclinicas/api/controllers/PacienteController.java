@@ -5,7 +5,13 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.multiclinicas.api.mappers.PacienteMapper;
 import com.multiclinicas.api.models.Paciente;
+import com.multiclinicas.api.paginacao.Pagina;
+import com.multiclinicas.api.paginacao.PaginaRequest;
+import com.multiclinicas.api.services.PacienteExportService;
+import com.multiclinicas.api.services.PacienteImportService;
 import com.multiclinicas.api.services.PacienteService;
+import com.multiclinicas.api.services.exportacao.FormatoExportacao;
+import com.multiclinicas.api.services.importacao.FormatoImportacao;
 import com.multiclinicas.api.config.tenant.TenantContext;
 
 import jakarta.validation.Valid;
@@ -15,13 +21,22 @@ import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 
+import com.multiclinicas.api.dtos.PacienteBuscaDTO;
 import com.multiclinicas.api.dtos.PacienteCreateDTO;
 import com.multiclinicas.api.dtos.PacienteDTO;
+import com.multiclinicas.api.dtos.RelatorioImportacaoDTO;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.http.HttpStatus;
 
 @RestController
@@ -31,13 +46,55 @@ public class PacienteController {
 
     private final PacienteService pacienteService;
     private final PacienteMapper pacienteMapper;
+    private final PacienteExportService pacienteExportService;
+    private final PacienteImportService pacienteImportService;
 
     @GetMapping
-    public ResponseEntity<List<PacienteDTO>> getAllPacientes() {
+    public ResponseEntity<List<PacienteDTO>> getAllPacientes(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String after) {
         Long clinicId = TenantContext.getClinicId();
-        List<Paciente> pacientes = pacienteService.findAll(clinicId);
-        return ResponseEntity.ok(
-                pacientes.stream().map(pacienteMapper::toDto).toList());
+        Pagina<Paciente> pacientes = pacienteService.findAll(clinicId, PaginaRequest.of(limit, after));
+        return ResponseEntity.ok()
+                .headers(pacientes.headers())
+                .body(pacientes.itens().stream().map(pacienteMapper::toDto).toList());
+    }
+
+    // Busca da recepção por trecho do nome, CPF ou telefone, já ordenada por relevância
+    @GetMapping("/search")
+    public ResponseEntity<List<PacienteBuscaDTO>> searchPacientes(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer limit) {
+        Long clinicId = TenantContext.getClinicId();
+        return ResponseEntity.ok(pacienteService.buscar(clinicId, q, limit).stream()
+                .map(pacienteMapper::toBuscaDto)
+                .toList());
+    }
+
+    // Exportação completa em streaming: os pacientes são escritos à medida que saem do banco
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportPacientes(
+            @RequestParam(defaultValue = "ndjson") String formato) {
+        Long clinicId = TenantContext.getClinicId();
+        FormatoExportacao formatoExportacao = FormatoExportacao.of(formato);
+
+        StreamingResponseBody corpo = out -> pacienteExportService.exportar(clinicId, formatoExportacao, out);
+
+        return ResponseEntity.ok()
+                .contentType(formatoExportacao.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"pacientes." + formatoExportacao.getExtensao() + "\"")
+                .body(corpo);
+    }
+
+    // Importação em massa: o corpo é lido em streaming e a resposta traz os erros por linha
+    @PostMapping(value = "/import", consumes = { FormatoImportacao.TEXT_CSV, FormatoImportacao.APPLICATION_NDJSON })
+    public ResponseEntity<RelatorioImportacaoDTO> importPacientes(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream corpo) throws IOException {
+        Long clinicId = TenantContext.getClinicId();
+        FormatoImportacao formato = FormatoImportacao.of(MediaType.parseMediaType(contentType));
+        return ResponseEntity.ok(pacienteImportService.importar(clinicId, formato, corpo));
     }
 
     @PostMapping
@@ -1,12 +1,18 @@
 package com.multiclinicas.api.controllers;
 
+import com.multiclinicas.api.config.cache.VersoesCatalogo;
+import com.multiclinicas.api.config.cache.VersoesCatalogo.Catalogo;
 import com.multiclinicas.api.config.tenant.TenantContext;
 import com.multiclinicas.api.dtos.PlanoSaudeCreateDTO;
 import com.multiclinicas.api.dtos.PlanoSaudeDTO;
 import com.multiclinicas.api.mappers.PlanoSaudeMapper;
 import com.multiclinicas.api.models.PlanoSaude;
+import com.multiclinicas.api.paginacao.Pagina;
+import com.multiclinicas.api.paginacao.PaginaRequest;
 import com.multiclinicas.api.services.PlanoSaudeService;
 import jakarta.validation.Valid;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -19,26 +25,42 @@ public class PlanoSaudeController {
 
     private final PlanoSaudeService planoSaudeService;
     private final PlanoSaudeMapper planoSaudeMapper;
+    private final VersoesCatalogo versoesCatalogo;
 
-    public PlanoSaudeController(PlanoSaudeService planoSaudeService, PlanoSaudeMapper planoSaudeMapper) {
+    public PlanoSaudeController(PlanoSaudeService planoSaudeService, PlanoSaudeMapper planoSaudeMapper,
+            VersoesCatalogo versoesCatalogo) {
         this.planoSaudeService = planoSaudeService;
         this.planoSaudeMapper = planoSaudeMapper;
+        this.versoesCatalogo = versoesCatalogo;
     }
 
     @GetMapping
-    public ResponseEntity<List<PlanoSaudeDTO>> findAll() {
+    public ResponseEntity<List<PlanoSaudeDTO>> findAll(@RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String after,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         Long clinicId = TenantContext.getClinicId();
-        List<PlanoSaude> planos = planoSaudeService.findAllByClinicId(clinicId);
-        return ResponseEntity.ok(planos.stream()
-                .map(planoSaudeMapper::toDTO)
-                .toList());
+        ETag versao = versoesCatalogo.versao(Catalogo.PLANOS_SAUDE, clinicId);
+        if (versoesCatalogo.naoModificado(ifNoneMatch, versao)) {
+            return versoesCatalogo.respostaNaoModificada(versao);
+        }
+        Pagina<PlanoSaude> planos = planoSaudeService.findAllByClinicId(clinicId, PaginaRequest.of(limit, after));
+        return versoesCatalogo.ok(versao)
+                .headers(planos.headers())
+                .body(planos.itens().stream()
+                        .map(planoSaudeMapper::toDTO)
+                        .toList());
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<PlanoSaudeDTO> findById(@PathVariable Long id) {
+    public ResponseEntity<PlanoSaudeDTO> findById(@PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         Long clinicId = TenantContext.getClinicId();
+        ETag versao = versoesCatalogo.versao(Catalogo.PLANOS_SAUDE, clinicId);
+        if (versoesCatalogo.naoModificado(ifNoneMatch, versao)) {
+            return versoesCatalogo.respostaNaoModificada(versao);
+        }
         PlanoSaude plano = planoSaudeService.findByIdAndClinicId(id, clinicId);
-        return ResponseEntity.ok(planoSaudeMapper.toDTO(plano));
+        return versoesCatalogo.ok(versao).body(planoSaudeMapper.toDTO(plano));
     }
 
     @PostMapping
@@ -11,6 +11,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.multiclinicas.api.config.tenant.TenantContext;
@@ -18,6 +19,8 @@ import com.multiclinicas.api.dtos.UsuarioAdminCreateDTO;
 import com.multiclinicas.api.dtos.UsuarioAdminDTO;
 import com.multiclinicas.api.mappers.UsuarioAdminMapper;
 import com.multiclinicas.api.models.UsuarioAdmin;
+import com.multiclinicas.api.paginacao.Pagina;
+import com.multiclinicas.api.paginacao.PaginaRequest;
 import com.multiclinicas.api.services.UsuarioAdminService;
 
 import jakarta.validation.Valid;
@@ -33,10 +36,13 @@ public class UsuarioAdminController {
     private final UsuarioAdminMapper usuarioAdminMapper;
 
     @GetMapping()
-    public ResponseEntity<List<UsuarioAdminDTO>> findAll(){
+    public ResponseEntity<List<UsuarioAdminDTO>> findAll(@RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String after){
         Long clinicId = TenantContext.getClinicId();
-        List<UsuarioAdmin> usuarios = usuarioAdminService.findAllByClinicId(clinicId);
-        return ResponseEntity.ok(usuarios.stream().map(usuarioAdminMapper::toDTO).toList());
+        Pagina<UsuarioAdmin> usuarios = usuarioAdminService.findAllByClinicId(clinicId, PaginaRequest.of(limit, after));
+        return ResponseEntity.ok()
+                .headers(usuarios.headers())
+                .body(usuarios.itens().stream().map(usuarioAdminMapper::toDTO).toList());
     }
 
     @GetMapping("/{id}")
@@ -0,0 +1,17 @@
+package com.multiclinicas.api.dtos;
+
+import java.time.LocalTime;
+
+import com.multiclinicas.api.models.enums.StatusAgendamento;
+import com.multiclinicas.api.models.enums.TipoPagamento;
+
+public record AgendaConsultaDTO(
+        Long id,
+        LocalTime horaInicio,
+        LocalTime horaFim,
+        StatusAgendamento status,
+        Long pacienteId,
+        String pacienteNome,
+        TipoPagamento tipoPagamento,
+        String planoSaudeNome) {
+}
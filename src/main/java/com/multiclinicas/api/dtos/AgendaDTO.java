@@ -0,0 +1,9 @@
+package com.multiclinicas.api.dtos;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record AgendaDTO(
+        LocalDate data,
+        List<AgendaMedicoDTO> medicos) {
+}
@@ -0,0 +1,11 @@
+package com.multiclinicas.api.dtos;
+
+import java.time.LocalTime;
+import java.util.List;
+
+public record AgendaMedicoDTO(
+        Long medicoId,
+        String medicoNome,
+        List<AgendaConsultaDTO> consultas,
+        List<LocalTime> horariosLivres) {
+}
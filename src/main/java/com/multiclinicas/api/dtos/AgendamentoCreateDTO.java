@@ -0,0 +1,18 @@
+package com.multiclinicas.api.dtos;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import com.multiclinicas.api.models.enums.TipoPagamento;
+
+import jakarta.validation.constraints.NotNull;
+
+public record AgendamentoCreateDTO(
+        @NotNull(message = "O paciente é obrigatório") Long pacienteId,
+        @NotNull(message = "O médico é obrigatório") Long medicoId,
+        @NotNull(message = "A data da consulta é obrigatória") LocalDate dataConsulta,
+        @NotNull(message = "O horário de início é obrigatório") LocalTime horaInicio,
+        TipoPagamento tipoPagamento,
+        Long planoSaudeId,
+        String observacoes) {
+}
@@ -0,0 +1,23 @@
+package com.multiclinicas.api.dtos;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import com.multiclinicas.api.models.enums.StatusAgendamento;
+import com.multiclinicas.api.models.enums.TipoPagamento;
+
+public record AgendamentoDTO(
+        Long id,
+        Long clinicaId,
+        Long pacienteId,
+        Long medicoId,
+        LocalDate dataConsulta,
+        LocalTime horaInicio,
+        LocalTime horaFim,
+        StatusAgendamento status,
+        TipoPagamento tipoPagamento,
+        Long planoSaudeId,
+        String observacoes,
+        LocalDateTime createdAt) {
+}
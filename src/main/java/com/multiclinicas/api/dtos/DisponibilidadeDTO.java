@@ -0,0 +1,10 @@
+package com.multiclinicas.api.dtos;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+public record DisponibilidadeDTO(
+        LocalDate data,
+        List<LocalTime> horarios) {
+}
@@ -0,0 +1,7 @@
+package com.multiclinicas.api.dtos;
+
+public record ErroImportacaoDTO(
+        long linha,
+        String cpf,
+        String mensagem) {
+}
@@ -0,0 +1,8 @@
+package com.multiclinicas.api.dtos;
+
+public record PacienteBuscaDTO(
+                Long id,
+                String nome,
+                String cpf,
+                String telefone) {
+}
@@ -0,0 +1,11 @@
+package com.multiclinicas.api.dtos;
+
+import java.util.List;
+
+public record RelatorioImportacaoDTO(
+        long linhasLidas,
+        long importados,
+        long rejeitados,
+        List<ErroImportacaoDTO> erros,
+        boolean errosTruncados) { // true quando há mais rejeições do que as listadas em erros
+}
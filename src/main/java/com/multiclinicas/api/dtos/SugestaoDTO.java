@@ -0,0 +1,9 @@
+package com.multiclinicas.api.dtos;
+
+import com.multiclinicas.api.services.autocomplete.TipoSugestao;
+
+public record SugestaoDTO(
+        TipoSugestao tipo,
+        Long id,
+        String nome) {
+}
@@ -0,0 +1,18 @@
+package com.multiclinicas.api.exceptions;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class HorarioIndisponivelException extends ResourceConflictException {
+
+    private final List<LocalDateTime> proximosHorariosLivres;
+
+    public HorarioIndisponivelException(String message, List<LocalDateTime> proximosHorariosLivres) {
+        super(message);
+        this.proximosHorariosLivres = List.copyOf(proximosHorariosLivres);
+    }
+
+    public List<LocalDateTime> getProximosHorariosLivres() {
+        return proximosHorariosLivres;
+    }
+}
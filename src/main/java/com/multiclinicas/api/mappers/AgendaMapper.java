@@ -0,0 +1,36 @@
+package com.multiclinicas.api.mappers;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import com.multiclinicas.api.dtos.AgendaConsultaDTO;
+import com.multiclinicas.api.dtos.AgendaDTO;
+import com.multiclinicas.api.dtos.AgendaMedicoDTO;
+import com.multiclinicas.api.repositories.projections.ConsultaAgenda;
+import com.multiclinicas.api.services.agenda.AgendaMedico;
+
+@Component
+public class AgendaMapper {
+
+    public AgendaDTO toDTO(LocalDate data, List<AgendaMedico> medicos) {
+        return new AgendaDTO(data, medicos.stream().map(this::toDTO).toList());
+    }
+
+    public AgendaMedicoDTO toDTO(AgendaMedico medico) {
+        if (medico == null) {
+            return null;
+        }
+        return new AgendaMedicoDTO(medico.medicoId(), medico.medicoNome(),
+                medico.consultas().stream().map(this::toDTO).toList(), medico.horariosLivres());
+    }
+
+    public AgendaConsultaDTO toDTO(ConsultaAgenda consulta) {
+        if (consulta == null) {
+            return null;
+        }
+        return new AgendaConsultaDTO(consulta.id(), consulta.horaInicio(), consulta.horaFim(), consulta.status(),
+                consulta.pacienteId(), consulta.pacienteNome(), consulta.tipoPagamento(), consulta.planoSaudeNome());
+    }
+}
@@ -0,0 +1,44 @@
+package com.multiclinicas.api.mappers;
+
+import org.springframework.stereotype.Component;
+
+import com.multiclinicas.api.dtos.AgendamentoCreateDTO;
+import com.multiclinicas.api.dtos.AgendamentoDTO;
+import com.multiclinicas.api.models.Agendamento;
+import com.multiclinicas.api.models.enums.TipoPagamento;
+
+@Component
+public class AgendamentoMapper {
+
+    public AgendamentoDTO toDTO(Agendamento agendamento) {
+        if (agendamento == null) {
+            return null;
+        }
+        return new AgendamentoDTO(
+                agendamento.getId(),
+                agendamento.getClinica() != null ? agendamento.getClinica().getId() : null,
+                agendamento.getPaciente() != null ? agendamento.getPaciente().getId() : null,
+                agendamento.getMedico() != null ? agendamento.getMedico().getId() : null,
+                agendamento.getDataConsulta(),
+                agendamento.getHoraInicio(),
+                agendamento.getHoraFim(),
+                agendamento.getStatus(),
+                agendamento.getTipoPagamento(),
+                agendamento.getPlanoSaude() != null ? agendamento.getPlanoSaude().getId() : null,
+                agendamento.getObservacoes(),
+                agendamento.getCreatedAt());
+    }
+
+    // Paciente, médico e plano são resolvidos pelo serviço a partir dos IDs do DTO
+    public Agendamento toEntity(AgendamentoCreateDTO dto) {
+        if (dto == null) {
+            return null;
+        }
+        Agendamento agendamento = new Agendamento();
+        agendamento.setDataConsulta(dto.dataConsulta());
+        agendamento.setHoraInicio(dto.horaInicio());
+        agendamento.setTipoPagamento(dto.tipoPagamento() != null ? dto.tipoPagamento() : TipoPagamento.PARTICULAR);
+        agendamento.setObservacoes(dto.observacoes());
+        return agendamento;
+    }
+}
@@ -0,0 +1,17 @@
+package com.multiclinicas.api.mappers;
+
+import org.springframework.stereotype.Component;
+
+import com.multiclinicas.api.dtos.SugestaoDTO;
+import com.multiclinicas.api.services.autocomplete.Sugestao;
+
+@Component
+public class AutocompleteMapper {
+
+    public SugestaoDTO toDTO(Sugestao sugestao) {
+        if (sugestao == null) {
+            return null;
+        }
+        return new SugestaoDTO(sugestao.tipo(), sugestao.id(), sugestao.nome());
+    }
+}
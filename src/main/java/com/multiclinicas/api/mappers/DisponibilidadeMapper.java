@@ -0,0 +1,17 @@
+package com.multiclinicas.api.mappers;
+
+import org.springframework.stereotype.Component;
+
+import com.multiclinicas.api.dtos.DisponibilidadeDTO;
+import com.multiclinicas.api.services.disponibilidade.DisponibilidadeDia;
+
+@Component
+public class DisponibilidadeMapper {
+
+    public DisponibilidadeDTO toDTO(DisponibilidadeDia dia) {
+        if (dia == null) {
+            return null;
+        }
+        return new DisponibilidadeDTO(dia.data(), dia.horariosLivres());
+    }
+}
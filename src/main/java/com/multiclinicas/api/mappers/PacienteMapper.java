@@ -2,9 +2,11 @@ package com.multiclinicas.api.mappers;
 
 import org.springframework.stereotype.Component;
 
+import com.multiclinicas.api.dtos.PacienteBuscaDTO;
 import com.multiclinicas.api.dtos.PacienteDTO;
 import com.multiclinicas.api.dtos.PacienteCreateDTO;
 import com.multiclinicas.api.models.Paciente;
+import com.multiclinicas.api.repositories.projections.PacienteBusca;
 
 @Component
 public class PacienteMapper {
@@ -30,6 +32,10 @@ public class PacienteMapper {
                 enderecoMapper.toDto(paciente.getEndereco()));
     }
 
+    public PacienteBuscaDTO toBuscaDto(PacienteBusca paciente) {
+        return new PacienteBuscaDTO(paciente.id(), paciente.nome(), paciente.cpf(), paciente.telefone());
+    }
+
     public Paciente toEntity(PacienteCreateDTO dto) {
         if (dto == null)
             return null;
@@ -7,6 +7,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.PartitionKey;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -16,13 +17,14 @@ import java.time.LocalTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-// Garante que não haja agendamentos com o mesmo médico, data e hora de início
-@Table(name = "agendamentos", uniqueConstraints = @UniqueConstraint(columnNames = { "clinic_id", "medico_id",
-        "data_consulta", "hora_inicio" }))
+// Um médico não tem dois agendamentos não cancelados com a mesma data e hora de início; a
+// unicidade ignora os cancelados (índice parcial, V12), que continuam no histórico
+@Table(name = "agendamentos")
 public class Agendamento {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "agendamentos_seq")
+    @SequenceGenerator(name = "agendamentos_seq", sequenceName = "agendamentos_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -48,6 +50,9 @@ public class Agendamento {
     private String tokenAutorizacao; // Preenchido pela recepcionista
     // -------------------------------------------------
 
+    // Coluna de partição no PostgreSQL (V7): entra no WHERE de UPDATE e DELETE, que assim
+    // vão direto à partição do mês em vez de procurar o id em todas
+    @PartitionKey
     private LocalDate dataConsulta;
 
     private LocalTime horaInicio;
@@ -12,7 +12,8 @@ import lombok.NoArgsConstructor;
 public abstract class BaseUsuario {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // "usuario_seq" é declarado em cada subclasse, apontando para a sequência da sua tabela
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "usuario_seq")
     private Long id;
 
     @ManyToOne
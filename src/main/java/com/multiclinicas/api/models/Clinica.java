@@ -1,9 +1,12 @@
 package com.multiclinicas.api.models;
 
+import com.multiclinicas.api.config.cache.RegioesCache;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
@@ -13,10 +16,13 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Entity
 @Table(name = "clinicas")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = RegioesCache.CLINICAS)
 public class Clinica {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "clinicas_seq")
+    @SequenceGenerator(name = "clinicas_seq", sequenceName = "clinicas_seq", allocationSize = 50)
     private Long id;
 
     private String nomeFantasia;
@@ -1,9 +1,12 @@
 package com.multiclinicas.api.models;
 
+import com.multiclinicas.api.config.cache.RegioesCache;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Data
 @NoArgsConstructor
@@ -11,10 +14,13 @@ import lombok.NoArgsConstructor;
 @Entity
 // Garante que não haja especialidades com o mesmo nome na mesma clínica
 @Table(name = "especialidades", uniqueConstraints = @UniqueConstraint(columnNames = { "clinic_id", "nome" }))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = RegioesCache.ESPECIALIDADES)
 public class Especialidade {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "especialidades_seq")
+    @SequenceGenerator(name = "especialidades_seq", sequenceName = "especialidades_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
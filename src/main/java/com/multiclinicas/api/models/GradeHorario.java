@@ -15,7 +15,8 @@ import java.time.LocalTime;
 public class GradeHorario {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "grades_horario_seq")
+    @SequenceGenerator(name = "grades_horario_seq", sequenceName = "grades_horario_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -14,6 +14,7 @@ import java.util.Set;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@SequenceGenerator(name = "usuario_seq", sequenceName = "medicos_seq", allocationSize = 50)
 // Garante que não haja médicos com CRM duplicado na mesma clínica
 @Table(name = "medicos", uniqueConstraints = @UniqueConstraint(columnNames = { "clinic_id", "crm" }))
 public class Medico extends BaseUsuario {
@@ -0,0 +1,54 @@
+package com.multiclinicas.api.models;
+
+import com.multiclinicas.api.models.enums.StatusOutbox;
+import com.multiclinicas.api.models.enums.TipoNotificacao;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "outbox_eventos")
+public class OutboxEvento {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_eventos_seq")
+    @SequenceGenerator(name = "outbox_eventos_seq", sequenceName = "outbox_eventos_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "clinic_id", nullable = false)
+    private Long clinicId;
+
+    @Column(nullable = false)
+    private Long agendamentoId;
+
+    // Chave de idempotência (única); nula para eventos que podem se repetir
+    private String chave;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TipoNotificacao tipo;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private StatusOutbox status = StatusOutbox.PENDENTE;
+
+    private int tentativas;
+
+    @Column(nullable = false)
+    private LocalDateTime proximaTentativa;
+
+    private String ultimoErro;
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime enviadoEm;
+}
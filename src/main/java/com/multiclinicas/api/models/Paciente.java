@@ -1,5 +1,7 @@
 package com.multiclinicas.api.models;
 
+import com.multiclinicas.api.busca.TextoBusca;
+
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -11,6 +13,7 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@SequenceGenerator(name = "usuario_seq", sequenceName = "pacientes_seq", allocationSize = 50)
 // Garante que não haja pacientes com CPF duplicado na mesma clínica
 @Table(name = "pacientes", uniqueConstraints = @UniqueConstraint(columnNames = { "clinic_id", "cpf" }))
 public class Paciente extends BaseUsuario {
@@ -18,4 +21,21 @@ public class Paciente extends BaseUsuario {
     private String email;
 
     private String senhaHash;
-}
\ No newline at end of file
+
+    // Colunas da busca da recepção (GET /pacientes/search), derivadas de nome, CPF e telefone
+    private String nomeBusca;
+
+    @Column(length = 14)
+    private String cpfDigitos;
+
+    @Column(length = 20)
+    private String telefoneDigitos;
+
+    @PrePersist
+    @PreUpdate
+    void atualizarBusca() {
+        nomeBusca = TextoBusca.normalizar(getNome());
+        cpfDigitos = TextoBusca.somenteDigitos(getCpf());
+        telefoneDigitos = TextoBusca.somenteDigitos(getTelefone());
+    }
+}
@@ -1,9 +1,12 @@
 package com.multiclinicas.api.models;
 
+import com.multiclinicas.api.config.cache.RegioesCache;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
@@ -13,10 +16,13 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Entity
 @Table(name = "planos_saude", uniqueConstraints = @UniqueConstraint(columnNames = { "clinic_id", "nome" }))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = RegioesCache.PLANOS_SAUDE)
 public class PlanoSaude {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "planos_saude_seq")
+    @SequenceGenerator(name = "planos_saude_seq", sequenceName = "planos_saude_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -12,6 +12,7 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@SequenceGenerator(name = "usuario_seq", sequenceName = "usuarios_admin_seq", allocationSize = 50)
 @Table(name = "usuarios_admin", uniqueConstraints = @UniqueConstraint(columnNames = { "clinic_id", "email" }))
 public class UsuarioAdmin extends BaseUsuario {
 
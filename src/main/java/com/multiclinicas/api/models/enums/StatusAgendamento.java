@@ -1,8 +1,14 @@
 package com.multiclinicas.api.models.enums;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 public enum StatusAgendamento {
     AGENDADO,
     CANCELADO_PACIENTE,
     CANCELADO_CLINICA,
-    REALIZADO
-}
\ No newline at end of file
+    REALIZADO;
+
+    // Agendamentos cancelados não ocupam o horário na agenda do médico
+    public static final Set<StatusAgendamento> CANCELADOS = EnumSet.of(CANCELADO_PACIENTE, CANCELADO_CLINICA);
+}
@@ -0,0 +1,8 @@
+package com.multiclinicas.api.models.enums;
+
+public enum StatusOutbox {
+    PENDENTE,
+    ENVIADO,
+    FALHOU, // esgotou as tentativas
+    DESCARTADO // agendamento cancelado ou removido antes do envio
+}
@@ -0,0 +1,6 @@
+package com.multiclinicas.api.models.enums;
+
+public enum TipoNotificacao {
+    CONFIRMACAO,
+    LEMBRETE
+}
@@ -0,0 +1,45 @@
+package com.multiclinicas.api.paginacao;
+
+import org.springframework.http.HttpHeaders;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Página de resultados de uma listagem por cursor. {@code proximoCursor} é {@code null}
+ * na última página.
+ */
+public record Pagina<T>(List<T> itens, String proximoCursor) {
+
+    public static final String HEADER_PROXIMO_CURSOR = "X-Next-Cursor";
+
+    /**
+     * Monta a página a partir do resultado de uma consulta feita com
+     * {@link PaginaRequest#limiteConsulta()}: o registro excedente é descartado e só
+     * serve para indicar que há próxima página.
+     */
+    public static <T> Pagina<T> de(List<T> registros, PaginaRequest request, Function<T, Long> id) {
+        if (registros.size() <= request.limite()) {
+            return new Pagina<>(registros, null);
+        }
+        List<T> itens = registros.subList(0, request.limite());
+        return new Pagina<>(itens, PaginaRequest.codificar(id.apply(itens.get(itens.size() - 1))));
+    }
+
+    public <R> Pagina<R> map(Function<? super T, ? extends R> mapper) {
+        return new Pagina<>(itens.stream().<R>map(mapper).toList(), proximoCursor);
+    }
+
+    public boolean temProxima() {
+        return proximoCursor != null;
+    }
+
+    /** Cabeçalhos da resposta HTTP: {@value #HEADER_PROXIMO_CURSOR} quando há próxima página. */
+    public HttpHeaders headers() {
+        HttpHeaders headers = new HttpHeaders();
+        if (temProxima()) {
+            headers.set(HEADER_PROXIMO_CURSOR, proximoCursor);
+        }
+        return headers;
+    }
+}
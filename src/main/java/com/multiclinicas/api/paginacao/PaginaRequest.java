@@ -0,0 +1,62 @@
+package com.multiclinicas.api.paginacao;
+
+import com.multiclinicas.api.exceptions.BusinessException;
+import org.springframework.data.domain.Limit;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Parâmetros de uma página por cursor (keyset) sobre {@code (clinic_id, id)}: registros
+ * da clínica com {@code id} maior que {@code aposId}, em ordem crescente de id, no
+ * máximo {@code limite} por página.
+ * <p>
+ * O cursor trafega opaco para o cliente ({@code after}/{@code X-Next-Cursor}); apenas
+ * esta classe sabe codificá-lo e decodificá-lo.
+ */
+public record PaginaRequest(Long aposId, int limite) {
+
+    public static final int LIMITE_PADRAO = 50;
+    public static final int LIMITE_MAXIMO = 500;
+
+    private static final String PREFIXO_CURSOR = "id:";
+
+    public static PaginaRequest primeira() {
+        return new PaginaRequest(0L, LIMITE_PADRAO);
+    }
+
+    /** Monta a requisição a partir dos parâmetros {@code limit} e {@code after} da URL (ambos opcionais). */
+    public static PaginaRequest of(Integer limit, String after) {
+        int limite = limit != null ? limit : LIMITE_PADRAO;
+        if (limite < 1 || limite > LIMITE_MAXIMO) {
+            throw new BusinessException("O parâmetro limit deve estar entre 1 e " + LIMITE_MAXIMO);
+        }
+        Long aposId = after == null || after.isBlank() ? 0L : decodificar(after);
+        return new PaginaRequest(aposId, limite);
+    }
+
+    /** Limite usado na consulta: um registro a mais indica que existe próxima página. */
+    public Limit limiteConsulta() {
+        return Limit.of(limite + 1);
+    }
+
+    static String codificar(Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIXO_CURSOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Long decodificar(String cursor) {
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (valor.startsWith(PREFIXO_CURSOR)) {
+                long id = Long.parseLong(valor.substring(PREFIXO_CURSOR.length()));
+                if (id >= 0) {
+                    return id;
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            // Base64 ou número inválido: tratado abaixo como cursor inválido
+        }
+        throw new BusinessException("Cursor de paginação inválido");
+    }
+}
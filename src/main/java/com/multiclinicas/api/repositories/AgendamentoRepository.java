@@ -0,0 +1,91 @@
+package com.multiclinicas.api.repositories;
+
+import com.multiclinicas.api.models.Agendamento;
+import com.multiclinicas.api.models.enums.StatusAgendamento;
+import com.multiclinicas.api.repositories.projections.ConsultaAgenda;
+import com.multiclinicas.api.repositories.projections.ConsultaAgendada;
+import com.multiclinicas.api.repositories.projections.HorarioOcupado;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AgendamentoRepository extends JpaRepository<Agendamento, Long> {
+
+    // Horários que ocupam a agenda do médico no período (cancelados não ocupam)
+    @Query("SELECT new com.multiclinicas.api.repositories.projections.HorarioOcupado("
+            + "a.medico.id, a.dataConsulta, a.horaInicio, a.horaFim) "
+            + "FROM Agendamento a "
+            + "WHERE a.clinica.id = :clinicId AND a.medico.id = :medicoId "
+            + "AND a.dataConsulta BETWEEN :de AND :ate "
+            + "AND a.status NOT IN :statusLivres")
+    List<HorarioOcupado> findHorariosOcupados(@Param("clinicId") Long clinicId,
+            @Param("medicoId") Long medicoId,
+            @Param("de") LocalDate de,
+            @Param("ate") LocalDate ate,
+            @Param("statusLivres") Collection<StatusAgendamento> statusLivres);
+
+    // Próximas consultas com o status informado depois do cursor (data, hora, id) e até o limite
+    // (data, hora), em ordem: percorre o índice (status, data_consulta, hora_inicio). O BETWEEN
+    // repete o intervalo de forma simples para o PostgreSQL descartar as partições fora dele
+    @Query("SELECT new com.multiclinicas.api.repositories.projections.ConsultaAgendada("
+            + "a.id, a.clinica.id, a.paciente.id, a.dataConsulta, a.horaInicio) "
+            + "FROM Agendamento a "
+            + "WHERE a.status = :status "
+            + "AND a.dataConsulta BETWEEN :data AND :ateData "
+            + "AND (a.dataConsulta > :data OR (a.dataConsulta = :data "
+            + "AND (a.horaInicio > :hora OR (a.horaInicio = :hora AND a.id > :id)))) "
+            + "AND (a.dataConsulta < :ateData OR (a.dataConsulta = :ateData AND a.horaInicio <= :ateHora)) "
+            + "ORDER BY a.dataConsulta, a.horaInicio, a.id")
+    List<ConsultaAgendada> findConsultasApos(@Param("status") StatusAgendamento status,
+            @Param("data") LocalDate data,
+            @Param("hora") LocalTime hora,
+            @Param("id") Long id,
+            @Param("ateData") LocalDate ateData,
+            @Param("ateHora") LocalTime ateHora,
+            Limit limite);
+
+    // Agenda do dia da clínica em um único select: médico, paciente e plano entram por join e
+    // voltam só os campos exibidos, sem carregar entidades
+    @Query("SELECT new com.multiclinicas.api.repositories.projections.ConsultaAgenda("
+            + "a.id, m.id, m.nome, a.horaInicio, a.horaFim, a.status, p.id, p.nome, a.tipoPagamento, pl.nome) "
+            + "FROM Agendamento a JOIN a.medico m JOIN a.paciente p LEFT JOIN a.planoSaude pl "
+            + "WHERE a.clinica.id = :clinicId AND a.dataConsulta = :data "
+            + "ORDER BY m.nome, m.id, a.horaInicio")
+    List<ConsultaAgenda> findAgendaDia(@Param("clinicId") Long clinicId, @Param("data") LocalDate data);
+
+    @Query("SELECT new com.multiclinicas.api.repositories.projections.ConsultaAgenda("
+            + "a.id, m.id, m.nome, a.horaInicio, a.horaFim, a.status, p.id, p.nome, a.tipoPagamento, pl.nome) "
+            + "FROM Agendamento a JOIN a.medico m JOIN a.paciente p LEFT JOIN a.planoSaude pl "
+            + "WHERE a.clinica.id = :clinicId AND m.id = :medicoId AND a.dataConsulta = :data "
+            + "ORDER BY a.horaInicio")
+    List<ConsultaAgenda> findAgendaDiaDoMedico(@Param("clinicId") Long clinicId, @Param("medicoId") Long medicoId,
+            @Param("data") LocalDate data);
+
+    Optional<Agendamento> findByIdAndClinicaId(Long id, Long clinicId);
+
+    // Carrega clínica, paciente e médico junto para montar as notificações do lote
+    @Query("SELECT a FROM Agendamento a JOIN FETCH a.clinica JOIN FETCH a.paciente JOIN FETCH a.medico "
+            + "WHERE a.id IN :ids")
+    List<Agendamento> findAllComParticipantesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Verifica se algum agendamento ativo do médico se sobrepõe ao intervalo [inicio, fim)
+    @Query("SELECT CASE WHEN COUNT(a) > 0 THEN true ELSE false END FROM Agendamento a "
+            + "WHERE a.clinica.id = :clinicId AND a.medico.id = :medicoId AND a.dataConsulta = :data "
+            + "AND a.horaInicio < :fim AND a.horaFim > :inicio "
+            + "AND a.status NOT IN :statusLivres")
+    boolean existsConflito(@Param("clinicId") Long clinicId,
+            @Param("medicoId") Long medicoId,
+            @Param("data") LocalDate data,
+            @Param("inicio") LocalTime inicio,
+            @Param("fim") LocalTime fim,
+            @Param("statusLivres") Collection<StatusAgendamento> statusLivres);
+}
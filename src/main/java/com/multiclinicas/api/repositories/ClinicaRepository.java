@@ -1,10 +1,24 @@
 package com.multiclinicas.api.repositories;
 
 import com.multiclinicas.api.models.Clinica;
+import com.multiclinicas.api.repositories.projections.SubdominioClinica;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface ClinicaRepository extends JpaRepository<Clinica, Long> {
     boolean existsBySubdominio(String subdominio);
+
+    // Projeção leve usada pelo TenantRegistry: não carrega a entidade inteira
+    @Query("SELECT c.ativo FROM Clinica c WHERE c.id = :id")
+    Optional<Boolean> findAtivoById(@Param("id") Long id);
+
+    @Query("SELECT new com.multiclinicas.api.repositories.projections.SubdominioClinica(c.subdominio, c.id) "
+            + "FROM Clinica c")
+    List<SubdominioClinica> findSubdominios();
 }
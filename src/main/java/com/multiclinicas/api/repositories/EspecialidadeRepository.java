@@ -1,11 +1,16 @@
 package com.multiclinicas.api.repositories;
 
+import com.multiclinicas.api.config.cache.RegioesCache;
 import com.multiclinicas.api.models.Especialidade;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,11 +18,20 @@ import java.util.Optional;
 public interface EspecialidadeRepository extends JpaRepository <Especialidade, Long> {
 
     //Buscar as especialidades presentes em determinada clinica
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = RegioesCache.CONSULTAS_ESPECIALIDADES) })
     List<Especialidade> findByClinicaId(Long clinicaId);
 
     //Buscar a especialidade por id e id da clínica
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = RegioesCache.CONSULTAS_ESPECIALIDADES) })
     Optional<Especialidade> findByIdAndClinicaId(Long id, Long clinicaId);
 
+    //Buscar várias especialidades da clínica de uma vez (ids de outra clínica ficam de fora)
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = RegioesCache.CONSULTAS_ESPECIALIDADES) })
+    List<Especialidade> findByClinicaIdAndIdIn(Long clinicaId, Collection<Long> ids);
+
     //Tratamento para Case sensitive (dentista == DENTISTA)
     @Query("SELECT CASE WHEN COUNT(e) > 0 THEN true ELSE false END FROM Especialidade e WHERE e.clinica.id = :clinicaId AND LOWER(e.nome) = LOWER(:nome)")
     boolean existsByNomeIgnoreCaseAndClinicaId(@Param("nome") String nome, @Param("clinicaId") Long clinicaId);
@@ -0,0 +1,18 @@
+package com.multiclinicas.api.repositories;
+
+import com.multiclinicas.api.models.GradeHorario;
+import com.multiclinicas.api.repositories.projections.IntervaloGrade;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface GradeHorarioRepository extends JpaRepository<GradeHorario, Long> {
+
+    @Query("SELECT new com.multiclinicas.api.repositories.projections.IntervaloGrade(g.diaSemana, g.horaInicio, g.horaFim) "
+            + "FROM GradeHorario g WHERE g.medico.id = :medicoId")
+    List<IntervaloGrade> findIntervalosByMedicoId(@Param("medicoId") Long medicoId);
+}
@@ -1,20 +1,63 @@
 package com.multiclinicas.api.repositories;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import com.multiclinicas.api.models.Medico;
+import com.multiclinicas.api.repositories.projections.GradeMedicoDia;
+import com.multiclinicas.api.repositories.projections.NomeCatalogo;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface MedicoRepository extends JpaRepository<Medico, Long> {
 	
-	List<Medico> findAllByClinicaId(Long clinicId);
+	// Páginas por cursor sobre (clinic_id, id). Só os ids são paginados no banco: aplicar o
+	// limite junto com o fetch da coleção de especialidades faria o Hibernate paginar em memória
+	@Query("SELECT m.id FROM Medico m WHERE m.clinica.id = :clinicId AND m.id > :aposId ORDER BY m.id")
+	List<Long> findIdsPaginaByClinicaId(@Param("clinicId") Long clinicId, @Param("aposId") Long aposId, Limit limit);
 	
-	List<Medico> findAllByClinicaIdAndAtivoTrue(Long clinicId);
+	@Query("SELECT m.id FROM Medico m WHERE m.clinica.id = :clinicId AND m.ativo = true AND m.id > :aposId ORDER BY m.id")
+	List<Long> findIdsAtivosPaginaByClinicaId(@Param("clinicId") Long clinicId, @Param("aposId") Long aposId,
+			Limit limit);
+	
+	// Carrega clínica, endereço e especialidades na mesma consulta (evita N+1 no MedicoMapper)
+	@EntityGraph(attributePaths = { "clinica", "endereco", "especialidades" })
+	@Query("SELECT m FROM Medico m WHERE m.id IN :ids ORDER BY m.id")
+	List<Medico> findAllComRelacionamentosByIdIn(@Param("ids") Collection<Long> ids);
+	
+	// Nomes dos médicos ativos para o índice do autocompletar
+	@Query("SELECT new com.multiclinicas.api.repositories.projections.NomeCatalogo(m.id, m.nome) "
+			+ "FROM Medico m WHERE m.clinica.id = :clinicId AND m.ativo = true")
+	List<NomeCatalogo> findNomesAtivosByClinicaId(@Param("clinicId") Long clinicId);
 	
 	Medico findByIdAndClinicaId(Long id, Long clinicId);
 	
 	boolean existsByCrmAndClinicaId(String crm, Long clinicId);
 	
+	@Query("SELECT m.duracaoConsulta FROM Medico m WHERE m.id = :id AND m.clinica.id = :clinicId")
+	Optional<Integer> findDuracaoConsultaByIdAndClinicaId(@Param("id") Long id, @Param("clinicId") Long clinicId);
+	
+	// Grade de todos os médicos da clínica no dia da semana, em um único select para a agenda;
+	// quem não atende no dia vem em uma linha com horários nulos
+	@Query("SELECT new com.multiclinicas.api.repositories.projections.GradeMedicoDia("
+			+ "m.id, m.nome, m.ativo, m.duracaoConsulta, g.horaInicio, g.horaFim) "
+			+ "FROM Medico m LEFT JOIN GradeHorario g ON g.medico = m AND g.diaSemana = :diaSemana "
+			+ "WHERE m.clinica.id = :clinicId ORDER BY m.nome, m.id")
+	List<GradeMedicoDia> findGradesDoDiaByClinicaId(@Param("clinicId") Long clinicId,
+			@Param("diaSemana") Integer diaSemana);
+	
+	// Vazio se o médico não for da clínica
+	@Query("SELECT new com.multiclinicas.api.repositories.projections.GradeMedicoDia("
+			+ "m.id, m.nome, m.ativo, m.duracaoConsulta, g.horaInicio, g.horaFim) "
+			+ "FROM Medico m LEFT JOIN GradeHorario g ON g.medico = m AND g.diaSemana = :diaSemana "
+			+ "WHERE m.id = :id AND m.clinica.id = :clinicId")
+	List<GradeMedicoDia> findGradeDoDiaByIdAndClinicaId(@Param("id") Long id, @Param("clinicId") Long clinicId,
+			@Param("diaSemana") Integer diaSemana);
+	
 }
\ No newline at end of file
@@ -0,0 +1,50 @@
+package com.multiclinicas.api.repositories;
+
+import com.multiclinicas.api.models.OutboxEvento;
+import com.multiclinicas.api.models.enums.StatusOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventoRepository extends JpaRepository<OutboxEvento, Long> {
+
+    // Linhas já travadas por outro worker são puladas em vez de esperadas
+    @Query(value = "SELECT * FROM outbox_eventos "
+            + "WHERE status = 'PENDENTE' AND proxima_tentativa <= :agora "
+            + "ORDER BY proxima_tentativa, id "
+            + "LIMIT :limite FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxEvento> findPendentesParaReservar(@Param("agora") LocalDateTime agora, @Param("limite") int limite);
+
+    @Modifying
+    @Query("UPDATE OutboxEvento e SET e.proximaTentativa = :ate WHERE e.id IN :ids")
+    int reservarAte(@Param("ids") Collection<Long> ids, @Param("ate") LocalDateTime ate);
+
+    @Modifying
+    @Query("UPDATE OutboxEvento e SET e.status = :status, e.enviadoEm = :quando, e.ultimoErro = NULL "
+            + "WHERE e.id IN :ids")
+    int finalizar(@Param("ids") Collection<Long> ids, @Param("status") StatusOutbox status,
+            @Param("quando") LocalDateTime quando);
+
+    @Modifying
+    @Query("UPDATE OutboxEvento e SET e.status = :status, e.tentativas = :tentativas, "
+            + "e.proximaTentativa = :proximaTentativa, e.ultimoErro = :erro WHERE e.id = :id")
+    int registrarFalha(@Param("id") Long id, @Param("status") StatusOutbox status,
+            @Param("tentativas") int tentativas, @Param("proximaTentativa") LocalDateTime proximaTentativa,
+            @Param("erro") String erro);
+
+    @Query("SELECT e.chave FROM OutboxEvento e WHERE e.chave IN :chaves")
+    List<String> findChavesExistentes(@Param("chaves") Collection<String> chaves);
+
+    boolean existsByChave(String chave);
+
+    long countByStatus(StatusOutbox status);
+
+    List<OutboxEvento> findByAgendamentoId(Long agendamentoId);
+}
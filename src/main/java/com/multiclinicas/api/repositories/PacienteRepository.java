@@ -3,19 +3,66 @@ package com.multiclinicas.api.repositories;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.multiclinicas.api.models.Paciente;
+import com.multiclinicas.api.repositories.projections.PacienteBusca;
 
 @Repository
 public interface PacienteRepository extends JpaRepository<Paciente, Long> {
 
-    List<Paciente> findAllByClinicaId(Long clinicaId);
+    // Página por cursor sobre (clinic_id, id); o endereço vem no mesmo select
+    @EntityGraph(attributePaths = { "clinica", "endereco" })
+    @Query("SELECT p FROM Paciente p WHERE p.clinica.id = :clinicaId AND p.id > :aposId ORDER BY p.id")
+    List<Paciente> findPaginaByClinicaId(@Param("clinicaId") Long clinicaId, @Param("aposId") Long aposId,
+            Limit limit);
+
+    // Busca da recepção, com os termos já normalizados. O prefixo vira intervalo [inicio, fim) para
+    // o btree atender mesmo quando o plano é genérico (LIKE com parâmetro não usa o btree)
+    @Query("SELECT new com.multiclinicas.api.repositories.projections.PacienteBusca(p.id, p.nome, p.cpf, p.telefone) "
+            + "FROM Paciente p WHERE p.clinica.id = :clinicaId AND p.nomeBusca >= :inicio AND p.nomeBusca < :fim "
+            + "AND p.nomeBusca LIKE :prefixo ORDER BY p.nomeBusca, p.id")
+    List<PacienteBusca> findBuscaPorNomePrefixo(@Param("clinicaId") Long clinicaId, @Param("inicio") String inicio,
+            @Param("fim") String fim, @Param("prefixo") String prefixo, Limit limit);
+
+    // O índice GIN de trigramas só é lido por bitmap: todos os que casam, de todas as clínicas, são
+    // marcados antes do LIMIT. Sem ORDER BY, ao menos a leitura das linhas para no limite em vez de
+    // buscar e ordenar todos os encontrados
+    @Query("SELECT new com.multiclinicas.api.repositories.projections.PacienteBusca(p.id, p.nome, p.cpf, p.telefone) "
+            + "FROM Paciente p WHERE p.clinica.id = :clinicaId AND p.nomeBusca LIKE :contem "
+            + "AND p.nomeBusca NOT LIKE :prefixo")
+    List<PacienteBusca> findBuscaPorNomeContendo(@Param("clinicaId") Long clinicaId, @Param("contem") String contem,
+            @Param("prefixo") String prefixo, Limit limit);
+
+    @Query("SELECT new com.multiclinicas.api.repositories.projections.PacienteBusca(p.id, p.nome, p.cpf, p.telefone) "
+            + "FROM Paciente p WHERE p.clinica.id = :clinicaId AND p.cpfDigitos >= :inicio AND p.cpfDigitos < :fim "
+            + "ORDER BY p.cpfDigitos, p.id")
+    List<PacienteBusca> findBuscaPorCpfPrefixo(@Param("clinicaId") Long clinicaId, @Param("inicio") String inicio,
+            @Param("fim") String fim, Limit limit);
+
+    @Query("SELECT new com.multiclinicas.api.repositories.projections.PacienteBusca(p.id, p.nome, p.cpf, p.telefone) "
+            + "FROM Paciente p WHERE p.clinica.id = :clinicaId "
+            + "AND (p.cpfDigitos LIKE :contem OR p.telefoneDigitos LIKE :contem) "
+            + "AND COALESCE(p.cpfDigitos, '') NOT LIKE :prefixo")
+    List<PacienteBusca> findBuscaPorDigitosContendo(@Param("clinicaId") Long clinicaId,
+            @Param("contem") String contem, @Param("prefixo") String prefixo, Limit limit);
 
     Optional<Paciente> findByIdAndClinicaId(Long id, Long clinicaId);
 
     boolean existsByIdAndClinicaId(Long id, Long clinicaId);
 
     void deleteByIdAndClinicaId(Long id, Long clinicaId);
+
+    // Só troca o hash se ele ainda for o que foi verificado (a senha pode ter mudado no meio)
+    @Modifying
+    @Query("UPDATE Paciente p SET p.senhaHash = :novoHash "
+            + "WHERE p.id = :id AND p.clinica.id = :clinicaId AND p.senhaHash = :hashAtual")
+    int updateSenhaHash(@Param("id") Long id, @Param("clinicaId") Long clinicaId,
+            @Param("hashAtual") String hashAtual, @Param("novoHash") String novoHash);
 }
@@ -1,14 +1,28 @@
 package com.multiclinicas.api.repositories;
 
+import com.multiclinicas.api.config.cache.RegioesCache;
 import com.multiclinicas.api.models.PlanoSaude;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
 public interface PlanoSaudeRepository extends JpaRepository<PlanoSaude, Long> {
-    List<PlanoSaude> findByClinicaId(Long clinicId);
+    // Página por cursor sobre (clinic_id, id)
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = RegioesCache.CONSULTAS_PLANOS_SAUDE) })
+    @Query("SELECT p FROM PlanoSaude p WHERE p.clinica.id = :clinicId AND p.id > :aposId ORDER BY p.id")
+    List<PlanoSaude> findPaginaByClinicaId(@Param("clinicId") Long clinicId, @Param("aposId") Long aposId,
+            Limit limit);
 
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = RegioesCache.CONSULTAS_PLANOS_SAUDE) })
     List<PlanoSaude> findByClinicaIdAndAtivoTrue(Long clinicId);
 }
@@ -3,14 +3,22 @@ package com.multiclinicas.api.repositories;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.multiclinicas.api.models.UsuarioAdmin;
 
 @Repository
 public interface UsuarioAdminRepository extends JpaRepository<UsuarioAdmin, Long> {
-    List<UsuarioAdmin> findAllByClinicaId(Long clinicId);
+    // Página por cursor sobre (clinic_id, id); o endereço vem no mesmo select
+    @EntityGraph(attributePaths = { "clinica", "endereco" })
+    @Query("SELECT u FROM UsuarioAdmin u WHERE u.clinica.id = :clinicId AND u.id > :aposId ORDER BY u.id")
+    List<UsuarioAdmin> findPaginaByClinicaId(@Param("clinicId") Long clinicId, @Param("aposId") Long aposId,
+            Limit limit);
 
     Optional<UsuarioAdmin> findByIdAndClinicaId(Long id, Long clinicId);
 }
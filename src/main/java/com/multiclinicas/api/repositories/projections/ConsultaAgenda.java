@@ -0,0 +1,20 @@
+package com.multiclinicas.api.repositories.projections;
+
+import java.time.LocalTime;
+
+import com.multiclinicas.api.models.enums.StatusAgendamento;
+import com.multiclinicas.api.models.enums.TipoPagamento;
+
+// Linha da agenda do dia: agendamento com os nomes de médico, paciente e plano, sem carregar entidades
+public record ConsultaAgenda(
+        Long id,
+        Long medicoId,
+        String medicoNome,
+        LocalTime horaInicio,
+        LocalTime horaFim,
+        StatusAgendamento status,
+        Long pacienteId,
+        String pacienteNome,
+        TipoPagamento tipoPagamento,
+        String planoSaudeNome) {
+}
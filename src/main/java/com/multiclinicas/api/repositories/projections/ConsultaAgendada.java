@@ -0,0 +1,13 @@
+package com.multiclinicas.api.repositories.projections;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+// Projeção de Agendamento com o necessário para agendar o lembrete da consulta
+public record ConsultaAgendada(
+        Long id,
+        Long clinicId,
+        Long pacienteId,
+        LocalDate dataConsulta,
+        LocalTime horaInicio) {
+}
@@ -0,0 +1,13 @@
+package com.multiclinicas.api.repositories.projections;
+
+import java.time.LocalTime;
+
+// Médico com um intervalo da grade em um dia da semana; horários nulos se ele não atende no dia
+public record GradeMedicoDia(
+        Long medicoId,
+        String medicoNome,
+        Boolean ativo,
+        Integer duracaoConsulta,
+        LocalTime horaInicio,
+        LocalTime horaFim) {
+}
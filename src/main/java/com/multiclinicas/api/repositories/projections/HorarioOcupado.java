@@ -0,0 +1,12 @@
+package com.multiclinicas.api.repositories.projections;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+// Projeção de Agendamento com apenas o necessário para calcular disponibilidade
+public record HorarioOcupado(
+        Long medicoId,
+        LocalDate dataConsulta,
+        LocalTime horaInicio,
+        LocalTime horaFim) {
+}
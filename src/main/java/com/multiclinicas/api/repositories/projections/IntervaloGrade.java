@@ -0,0 +1,10 @@
+package com.multiclinicas.api.repositories.projections;
+
+import java.time.LocalTime;
+
+// Projeção de GradeHorario sem carregar o médico associado
+public record IntervaloGrade(
+        Integer diaSemana,
+        LocalTime horaInicio,
+        LocalTime horaFim) {
+}
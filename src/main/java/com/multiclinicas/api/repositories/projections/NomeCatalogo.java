@@ -0,0 +1,7 @@
+package com.multiclinicas.api.repositories.projections;
+
+// Projeção com id e nome, usada para montar o autocompletar sem carregar as entidades
+public record NomeCatalogo(
+        Long id,
+        String nome) {
+}
@@ -0,0 +1,9 @@
+package com.multiclinicas.api.repositories.projections;
+
+// Projeção de Paciente com o que a recepção precisa para identificar o paciente na busca
+public record PacienteBusca(
+        Long id,
+        String nome,
+        String cpf,
+        String telefone) {
+}
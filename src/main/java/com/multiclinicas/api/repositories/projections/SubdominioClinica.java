@@ -0,0 +1,7 @@
+package com.multiclinicas.api.repositories.projections;
+
+// Par subdomínio → clínica para o mapa em memória do TenantRegistry
+public record SubdominioClinica(
+        String subdominio,
+        Long clinicId) {
+}
@@ -0,0 +1,12 @@
+package com.multiclinicas.api.services;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.multiclinicas.api.services.agenda.AgendaMedico;
+
+public interface AgendaService {
+
+    // Agenda de um dia: consultas e horários livres de cada médico (ou só de medicoId, se informado)
+    List<AgendaMedico> findAgenda(Long clinicId, LocalDate data, Long medicoId);
+}
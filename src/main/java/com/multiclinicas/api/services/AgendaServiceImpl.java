@@ -0,0 +1,100 @@
+package com.multiclinicas.api.services;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.multiclinicas.api.exceptions.BusinessException;
+import com.multiclinicas.api.exceptions.ResourceNotFoundException;
+import com.multiclinicas.api.models.enums.StatusAgendamento;
+import com.multiclinicas.api.repositories.AgendamentoRepository;
+import com.multiclinicas.api.repositories.MedicoRepository;
+import com.multiclinicas.api.repositories.projections.ConsultaAgenda;
+import com.multiclinicas.api.repositories.projections.GradeMedicoDia;
+import com.multiclinicas.api.repositories.projections.HorarioOcupado;
+import com.multiclinicas.api.repositories.projections.IntervaloGrade;
+import com.multiclinicas.api.services.agenda.AgendaMedico;
+import com.multiclinicas.api.services.disponibilidade.GradeSemanal;
+
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class AgendaServiceImpl implements AgendaService {
+
+    private final AgendamentoRepository agendamentoRepository;
+    private final MedicoRepository medicoRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AgendaMedico> findAgenda(Long clinicId, LocalDate data, Long medicoId) {
+        if (data == null) {
+            throw new BusinessException("É necessário informar a data da agenda");
+        }
+        int diaSemana = GradeSemanal.diaSemana(data);
+
+        // Duas consultas no total, independente de quantos médicos e agendamentos houver no dia
+        List<GradeMedicoDia> grades;
+        List<ConsultaAgenda> consultas;
+        if (medicoId == null) {
+            grades = medicoRepository.findGradesDoDiaByClinicaId(clinicId, diaSemana);
+            consultas = agendamentoRepository.findAgendaDia(clinicId, data);
+        } else {
+            grades = medicoRepository.findGradeDoDiaByIdAndClinicaId(medicoId, clinicId, diaSemana);
+            if (grades.isEmpty()) {
+                throw new ResourceNotFoundException("Médico não encontrado para esta clínica.");
+            }
+            consultas = agendamentoRepository.findAgendaDiaDoMedico(clinicId, medicoId, data);
+        }
+
+        Map<Long, List<GradeMedicoDia>> gradesPorMedico = grades.stream()
+                .collect(Collectors.groupingBy(GradeMedicoDia::medicoId, LinkedHashMap::new, Collectors.toList()));
+        Map<Long, List<ConsultaAgenda>> consultasPorMedico = consultas.stream()
+                .collect(Collectors.groupingBy(ConsultaAgenda::medicoId));
+
+        List<AgendaMedico> agenda = new ArrayList<>(gradesPorMedico.size());
+        for (Map.Entry<Long, List<GradeMedicoDia>> medico : gradesPorMedico.entrySet()) {
+            List<ConsultaAgenda> doMedico = consultasPorMedico.getOrDefault(medico.getKey(), List.of());
+            List<LocalTime> livres = horariosLivres(data, medico.getValue(), doMedico);
+            // Na agenda da clínica, médico que não atende nem tem consultas no dia fica de fora
+            if (medicoId == null && doMedico.isEmpty() && livres.isEmpty()) {
+                continue;
+            }
+            agenda.add(new AgendaMedico(medico.getKey(), medico.getValue().get(0).medicoNome(), doMedico, livres));
+        }
+        return agenda;
+    }
+
+    // Slots da grade do dia menos os ocupados por consultas não canceladas; médico inativo não
+    // recebe agendamentos, então não tem horários livres
+    private static List<LocalTime> horariosLivres(LocalDate data, List<GradeMedicoDia> intervalos,
+            List<ConsultaAgenda> consultas) {
+        GradeMedicoDia medico = intervalos.get(0);
+        if (!Boolean.TRUE.equals(medico.ativo())) {
+            return List.of();
+        }
+        List<IntervaloGrade> doDia = intervalos.stream()
+                .filter(intervalo -> intervalo.horaInicio() != null)
+                .map(intervalo -> new IntervaloGrade(GradeSemanal.diaSemana(data), intervalo.horaInicio(),
+                        intervalo.horaFim()))
+                .toList();
+        if (doDia.isEmpty()) {
+            return List.of();
+        }
+        GradeSemanal grade = GradeSemanal.compilar(doDia, medico.duracaoConsulta());
+        List<HorarioOcupado> ocupados = consultas.stream()
+                .filter(consulta -> !StatusAgendamento.CANCELADOS.contains(consulta.status()))
+                .map(consulta -> new HorarioOcupado(consulta.medicoId(), data, consulta.horaInicio(),
+                        consulta.horaFim()))
+                .toList();
+        return Arrays.asList(grade.horarios(data, grade.livres(data, ocupados)));
+    }
+}
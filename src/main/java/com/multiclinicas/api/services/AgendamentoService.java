@@ -0,0 +1,11 @@
+package com.multiclinicas.api.services;
+
+import com.multiclinicas.api.models.Agendamento;
+
+public interface AgendamentoService {
+
+    Agendamento findByIdAndClinicId(Long id, Long clinicId);
+
+    // Reserva o horário do médico; lança HorarioIndisponivelException se já estiver ocupado
+    Agendamento create(Long clinicId, Long pacienteId, Long medicoId, Long planoSaudeId, Agendamento agendamento);
+}
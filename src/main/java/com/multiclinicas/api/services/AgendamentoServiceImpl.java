@@ -0,0 +1,158 @@
+package com.multiclinicas.api.services;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.multiclinicas.api.exceptions.BusinessException;
+import com.multiclinicas.api.exceptions.HorarioIndisponivelException;
+import com.multiclinicas.api.exceptions.ResourceNotFoundException;
+import com.multiclinicas.api.models.Agendamento;
+import com.multiclinicas.api.models.Medico;
+import com.multiclinicas.api.models.PlanoSaude;
+import com.multiclinicas.api.models.enums.StatusAgendamento;
+import com.multiclinicas.api.models.enums.TipoNotificacao;
+import com.multiclinicas.api.models.enums.TipoPagamento;
+import com.multiclinicas.api.repositories.AgendamentoRepository;
+import com.multiclinicas.api.repositories.ClinicaRepository;
+import com.multiclinicas.api.repositories.MedicoRepository;
+import com.multiclinicas.api.repositories.PacienteRepository;
+import com.multiclinicas.api.repositories.PlanoSaudeRepository;
+import com.multiclinicas.api.services.agendamento.AgendaLocks;
+import com.multiclinicas.api.services.disponibilidade.GradeSemanal;
+import com.multiclinicas.api.services.lembretes.JanelaLembretes;
+
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class AgendamentoServiceImpl implements AgendamentoService {
+
+    static final int QUANTIDADE_SUGESTOES = 3;
+
+    private static final String HORARIO_INDISPONIVEL_MSG = "Horário indisponível para este médico.";
+
+    private final AgendamentoRepository agendamentoRepository;
+    private final ClinicaRepository clinicaRepository;
+    private final PacienteRepository pacienteRepository;
+    private final MedicoRepository medicoRepository;
+    private final PlanoSaudeRepository planoSaudeRepository;
+    private final DisponibilidadeService disponibilidadeService;
+    private final AgendaLocks agendaLocks;
+    private final OutboxService outboxService;
+    private final JanelaLembretes janelaLembretes;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Agendamento findByIdAndClinicId(Long id, Long clinicId) {
+        return agendamentoRepository.findByIdAndClinicaId(id, clinicId)
+                .orElseThrow(() -> new ResourceNotFoundException("Agendamento não encontrado nesta clínica"));
+    }
+
+    @Override
+    public Agendamento create(Long clinicId, Long pacienteId, Long medicoId, Long planoSaudeId,
+            Agendamento agendamento) {
+        LocalDate data = agendamento.getDataConsulta();
+        LocalTime inicio = agendamento.getHoraInicio();
+
+        // Validações somente leitura ficam fora do lock para não alongar a fila
+        validarParticipantes(clinicId, pacienteId, medicoId);
+        TipoPagamento tipoPagamento = agendamento.getTipoPagamento() != null
+                ? agendamento.getTipoPagamento()
+                : TipoPagamento.PARTICULAR;
+        validarPlano(clinicId, tipoPagamento, planoSaudeId);
+        LocalTime fim = validarHorario(clinicId, medicoId, data, inicio);
+
+        try {
+            // Checagem otimista: quem já perdeu a disputa não entra na fila do lock
+            if (agendamentoRepository.existsConflito(clinicId, medicoId, data, inicio, fim,
+                    StatusAgendamento.CANCELADOS)) {
+                throw new HorarioIndisponivelException(HORARIO_INDISPONIVEL_MSG, List.of());
+            }
+
+            return agendaLocks.comLock(medicoId, data, () -> transactionTemplate.execute(status -> {
+                agendaLocks.bloquearNoBanco(medicoId, data);
+
+                if (agendamentoRepository.existsConflito(clinicId, medicoId, data, inicio, fim,
+                        StatusAgendamento.CANCELADOS)) {
+                    throw new HorarioIndisponivelException(HORARIO_INDISPONIVEL_MSG, List.of());
+                }
+
+                // Sempre um registro novo: um agendamento cancelado no mesmo horário fica no histórico
+                Agendamento registro = new Agendamento();
+                registro.setClinica(clinicaRepository.getReferenceById(clinicId));
+                registro.setPaciente(pacienteRepository.getReferenceById(pacienteId));
+                registro.setMedico(medicoRepository.getReferenceById(medicoId));
+                registro.setPlanoSaude(tipoPagamento == TipoPagamento.CONVENIO
+                        ? planoSaudeRepository.getReferenceById(planoSaudeId)
+                        : null);
+                registro.setTipoPagamento(tipoPagamento);
+                registro.setDataConsulta(data);
+                registro.setHoraInicio(inicio);
+                registro.setHoraFim(fim);
+                registro.setStatus(StatusAgendamento.AGENDADO);
+                registro.setObservacoes(agendamento.getObservacoes());
+
+                Agendamento salvo = agendamentoRepository.saveAndFlush(registro);
+                // Mesma transação: a confirmação só existe se o agendamento for confirmado
+                outboxService.registrar(salvo, TipoNotificacao.CONFIRMACAO);
+                // Lembrete dentro do trecho que o agendador de lembretes já percorreu
+                janelaLembretes.lembreteNaCriacao(data, inicio, LocalDateTime.now())
+                        .ifPresent(enviarEm -> outboxService.registrarLembrete(salvo, enviarEm));
+                return salvo;
+            }));
+        } catch (HorarioIndisponivelException | DataIntegrityViolationException e) {
+            // Rede de segurança: a constraint do banco continua sendo a garantia final
+            throw new HorarioIndisponivelException(HORARIO_INDISPONIVEL_MSG,
+                    disponibilidadeService.findProximosHorariosLivres(medicoId, clinicId, data.atTime(inicio),
+                            QUANTIDADE_SUGESTOES));
+        }
+    }
+
+    private void validarParticipantes(Long clinicId, Long pacienteId, Long medicoId) {
+        if (!pacienteRepository.existsByIdAndClinicaId(pacienteId, clinicId)) {
+            throw new ResourceNotFoundException("Paciente não encontrado nesta clínica");
+        }
+        Medico medico = medicoRepository.findByIdAndClinicaId(medicoId, clinicId);
+        if (medico == null) {
+            throw new ResourceNotFoundException("Médico não encontrado para esta clínica.");
+        }
+        if (!Boolean.TRUE.equals(medico.getAtivo())) {
+            throw new BusinessException("Médico inativo não pode receber agendamentos");
+        }
+    }
+
+    private void validarPlano(Long clinicId, TipoPagamento tipoPagamento, Long planoSaudeId) {
+        if (tipoPagamento != TipoPagamento.CONVENIO) {
+            return;
+        }
+        if (planoSaudeId == null) {
+            throw new BusinessException("Plano de saúde é obrigatório para agendamentos por convênio");
+        }
+        PlanoSaude plano = planoSaudeRepository.findById(planoSaudeId)
+                .filter(p -> p.getClinica().getId().equals(clinicId))
+                .orElseThrow(() -> new ResourceNotFoundException("Plano de saúde não encontrado"));
+        if (!Boolean.TRUE.equals(plano.getAtivo())) {
+            throw new BusinessException("Plano de saúde inativo");
+        }
+    }
+
+    // Garante que o horário é o início de um slot da grade e devolve o horário de término
+    private LocalTime validarHorario(Long clinicId, Long medicoId, LocalDate data, LocalTime inicio) {
+        if (data.atTime(inicio).isBefore(LocalDateTime.now())) {
+            throw new BusinessException("Não é possível agendar em uma data ou horário passado");
+        }
+        GradeSemanal grade = disponibilidadeService.findGrade(medicoId, clinicId);
+        if (grade.indiceDoSlot(data, inicio) < 0) {
+            throw new BusinessException("Horário fora da grade de atendimento do médico");
+        }
+        return inicio.plusMinutes(grade.getDuracaoConsulta());
+    }
+}
@@ -0,0 +1,20 @@
+package com.multiclinicas.api.services;
+
+import java.util.List;
+
+import com.multiclinicas.api.models.Especialidade;
+import com.multiclinicas.api.models.Medico;
+import com.multiclinicas.api.services.autocomplete.Sugestao;
+
+public interface AutocompleteService {
+
+    List<Sugestao> sugerir(Long clinicId, String termo, Integer limit);
+
+    void medicoAlterado(Long clinicId, Medico medico);
+
+    void medicoRemovido(Long clinicId, Long medicoId);
+
+    void especialidadeAlterada(Long clinicId, Especialidade especialidade);
+
+    void especialidadeRemovida(Long clinicId, Long especialidadeId);
+}
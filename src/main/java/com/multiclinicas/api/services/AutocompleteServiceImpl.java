@@ -0,0 +1,122 @@
+package com.multiclinicas.api.services;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.multiclinicas.api.busca.TextoBusca;
+import com.multiclinicas.api.exceptions.BusinessException;
+import com.multiclinicas.api.models.Especialidade;
+import com.multiclinicas.api.models.Medico;
+import com.multiclinicas.api.repositories.EspecialidadeRepository;
+import com.multiclinicas.api.repositories.MedicoRepository;
+import com.multiclinicas.api.services.autocomplete.IndicePrefixos;
+import com.multiclinicas.api.services.autocomplete.Sugestao;
+import com.multiclinicas.api.services.autocomplete.TipoSugestao;
+
+/**
+ * Autocompletar do portal público: médicos ativos e especialidades da clínica, respondido só com
+ * o índice de prefixos em memória. O índice de cada clínica é montado na primeira busca, com duas
+ * consultas, e depois acompanha as escritas feitas pelos services de médicos e especialidades.
+ * Cada escrita atualiza só a sugestão alterada, após o commit.
+ * <p>
+ * Como as versões do catálogo, os índices ficam na memória de cada instância. Com mais de um nó,
+ * uma escrita feita em outro nó aparece aqui quando o índice expira ({@code autocomplete.ttl},
+ * contado da montagem; as atualizações locais não adiam a expiração).
+ */
+@Service
+public class AutocompleteServiceImpl implements AutocompleteService {
+
+    static final int LIMITE_PADRAO = 10;
+    static final int LIMITE_MAXIMO = 50;
+
+    private final MedicoRepository medicoRepository;
+    private final EspecialidadeRepository especialidadeRepository;
+    private final LoadingCache<Long, IndicePrefixos> indices;
+
+    public AutocompleteServiceImpl(MedicoRepository medicoRepository, EspecialidadeRepository especialidadeRepository,
+            @Value("${autocomplete.max-clinicas:10000}") long maxClinicas,
+            @Value("${autocomplete.ttl:10m}") Duration ttl) {
+        this.medicoRepository = medicoRepository;
+        this.especialidadeRepository = especialidadeRepository;
+        this.indices = Caffeine.newBuilder()
+                .maximumSize(maxClinicas)
+                .expireAfter(Expiry.creating((Long clinicId, IndicePrefixos indice) -> ttl))
+                .build(this::montar);
+    }
+
+    @Override
+    public List<Sugestao> sugerir(Long clinicId, String termo, Integer limit) {
+        int limite = limit != null ? limit : LIMITE_PADRAO;
+        if (limite < 1 || limite > LIMITE_MAXIMO) {
+            throw new BusinessException("O parâmetro limit deve estar entre 1 e " + LIMITE_MAXIMO);
+        }
+        String normalizado = TextoBusca.normalizar(termo);
+        if (normalizado == null || normalizado.isEmpty()) {
+            return List.of();
+        }
+        return indices.get(clinicId).buscar(normalizado, limite);
+    }
+
+    @Override
+    public void medicoAlterado(Long clinicId, Medico medico) {
+        // Médico inativo não recebe agendamentos, então sai das sugestões
+        if (Boolean.TRUE.equals(medico.getAtivo())) {
+            aposCommit(clinicId, indice -> indice.com(new Sugestao(TipoSugestao.MEDICO, medico.getId(),
+                    medico.getNome())));
+        } else {
+            medicoRemovido(clinicId, medico.getId());
+        }
+    }
+
+    @Override
+    public void medicoRemovido(Long clinicId, Long medicoId) {
+        aposCommit(clinicId, indice -> indice.sem(TipoSugestao.MEDICO, medicoId));
+    }
+
+    @Override
+    public void especialidadeAlterada(Long clinicId, Especialidade especialidade) {
+        aposCommit(clinicId, indice -> indice.com(new Sugestao(TipoSugestao.ESPECIALIDADE, especialidade.getId(),
+                especialidade.getNome())));
+    }
+
+    @Override
+    public void especialidadeRemovida(Long clinicId, Long especialidadeId) {
+        aposCommit(clinicId, indice -> indice.sem(TipoSugestao.ESPECIALIDADE, especialidadeId));
+    }
+
+    private IndicePrefixos montar(Long clinicId) {
+        List<Sugestao> sugestoes = new ArrayList<>();
+        medicoRepository.findNomesAtivosByClinicaId(clinicId).forEach(medico ->
+                sugestoes.add(new Sugestao(TipoSugestao.MEDICO, medico.id(), medico.nome())));
+        especialidadeRepository.findByClinicaId(clinicId).forEach(especialidade ->
+                sugestoes.add(new Sugestao(TipoSugestao.ESPECIALIDADE, especialidade.getId(),
+                        especialidade.getNome())));
+        return IndicePrefixos.de(sugestoes);
+    }
+
+    // Só altera índices já montados: os demais serão montados com o estado do banco. Se a clínica
+    // estiver sendo montada, a alteração espera a montagem terminar e é aplicada sobre ela.
+    private void aposCommit(Long clinicId, UnaryOperator<IndicePrefixos> alteracao) {
+        Runnable aplicar = () -> indices.asMap().computeIfPresent(clinicId, (id, indice) -> alteracao.apply(indice));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    aplicar.run();
+                }
+            });
+        } else {
+            aplicar.run();
+        }
+    }
+}
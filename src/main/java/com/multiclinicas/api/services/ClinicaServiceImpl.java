@@ -1,5 +1,8 @@
 package com.multiclinicas.api.services;
 
+import com.multiclinicas.api.config.cache.VersoesCatalogo;
+import com.multiclinicas.api.config.cache.VersoesCatalogo.Catalogo;
+import com.multiclinicas.api.config.tenant.TenantRegistry;
 import com.multiclinicas.api.exceptions.ResourceNotFoundException;
 import com.multiclinicas.api.models.Clinica;
 import com.multiclinicas.api.repositories.ClinicaRepository;
@@ -17,6 +20,8 @@ import com.multiclinicas.api.exceptions.ResourceConflictException;
 public class ClinicaServiceImpl implements ClinicaService {
 
     private final ClinicaRepository clinicaRepository;
+    private final TenantRegistry tenantRegistry;
+    private final VersoesCatalogo versoesCatalogo;
 
     @Override
     public List<Clinica> findAll() {
@@ -35,7 +40,9 @@ public class ClinicaServiceImpl implements ClinicaService {
         if (clinicaRepository.existsBySubdominio(clinica.getSubdominio())) {
             throw new ResourceConflictException("Subdomínio já está em uso: " + clinica.getSubdominio());
         }
-        return clinicaRepository.save(clinica);
+        Clinica salva = clinicaRepository.save(clinica);
+        tenantRegistry.invalidate(salva.getId());
+        return salva;
     }
 
     @Override
@@ -52,7 +59,11 @@ public class ClinicaServiceImpl implements ClinicaService {
         clinicaExistente.setSubdominio(clinicaAtualizada.getSubdominio());
         clinicaExistente.setAtivo(clinicaAtualizada.getAtivo());
 
-        return clinicaRepository.save(clinicaExistente);
+        Clinica salva = clinicaRepository.save(clinicaExistente);
+        tenantRegistry.invalidate(id);
+        // O nome da clínica faz parte da listagem de médicos
+        versoesCatalogo.alterado(id, Catalogo.values());
+        return salva;
     }
 
     @Override
@@ -62,5 +73,7 @@ public class ClinicaServiceImpl implements ClinicaService {
             throw new ResourceNotFoundException("Clínica não encontrada para exclusão com ID: " + id);
         }
         clinicaRepository.deleteById(id);
+        tenantRegistry.invalidate(id);
+        versoesCatalogo.alterado(id, Catalogo.values());
     }
 }
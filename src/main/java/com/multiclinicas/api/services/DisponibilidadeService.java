@@ -0,0 +1,20 @@
+package com.multiclinicas.api.services;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.multiclinicas.api.services.disponibilidade.DisponibilidadeDia;
+import com.multiclinicas.api.services.disponibilidade.GradeSemanal;
+
+public interface DisponibilidadeService {
+
+    // Horários livres do médico em cada dia de atendimento do período [de, ate]
+    List<DisponibilidadeDia> findDisponibilidade(Long medicoId, Long clinicId, LocalDate de, LocalDate ate);
+
+    // Grade semanal do médico já dividida em slots
+    GradeSemanal findGrade(Long medicoId, Long clinicId);
+
+    // Próximos horários livres estritamente depois de "aPartirDe"
+    List<LocalDateTime> findProximosHorariosLivres(Long medicoId, Long clinicId, LocalDateTime aPartirDe, int quantidade);
+}
@@ -0,0 +1,116 @@
+package com.multiclinicas.api.services;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.multiclinicas.api.exceptions.BusinessException;
+import com.multiclinicas.api.exceptions.ResourceNotFoundException;
+import com.multiclinicas.api.models.enums.StatusAgendamento;
+import com.multiclinicas.api.repositories.AgendamentoRepository;
+import com.multiclinicas.api.repositories.GradeHorarioRepository;
+import com.multiclinicas.api.repositories.MedicoRepository;
+import com.multiclinicas.api.repositories.projections.HorarioOcupado;
+import com.multiclinicas.api.services.disponibilidade.DisponibilidadeDia;
+import com.multiclinicas.api.services.disponibilidade.GradeSemanal;
+
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class DisponibilidadeServiceImpl implements DisponibilidadeService {
+
+    static final int MAX_DIAS_CONSULTA = 90;
+
+    // Janela usada para sugerir os próximos horários livres
+    static final int DIAS_BUSCA_PROXIMOS = 30;
+
+    private final MedicoRepository medicoRepository;
+    private final GradeHorarioRepository gradeHorarioRepository;
+    private final AgendamentoRepository agendamentoRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<DisponibilidadeDia> findDisponibilidade(Long medicoId, Long clinicId, LocalDate de, LocalDate ate) {
+        validarPeriodo(de, ate);
+
+        // Três consultas no total, independente do tamanho do período
+        GradeSemanal grade = findGrade(medicoId, clinicId);
+
+        Map<LocalDate, List<HorarioOcupado>> ocupadosPorDia = agendamentoRepository
+                .findHorariosOcupados(clinicId, medicoId, de, ate, StatusAgendamento.CANCELADOS).stream()
+                .collect(Collectors.groupingBy(HorarioOcupado::dataConsulta));
+
+        List<DisponibilidadeDia> dias = new ArrayList<>();
+        for (LocalDate data = de; !data.isAfter(ate); data = data.plusDays(1)) {
+            if (!grade.atendeEm(data)) {
+                continue;
+            }
+            BitSet livres = grade.livres(data, ocupadosPorDia.getOrDefault(data, List.of()));
+            dias.add(new DisponibilidadeDia(data, Arrays.asList(grade.horarios(data, livres))));
+        }
+        return dias;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public GradeSemanal findGrade(Long medicoId, Long clinicId) {
+        Integer duracaoConsulta = medicoRepository.findDuracaoConsultaByIdAndClinicaId(medicoId, clinicId)
+                .orElseThrow(() -> new ResourceNotFoundException("Médico não encontrado para esta clínica."));
+
+        return GradeSemanal.compilar(gradeHorarioRepository.findIntervalosByMedicoId(medicoId), duracaoConsulta);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<LocalDateTime> findProximosHorariosLivres(Long medicoId, Long clinicId, LocalDateTime aPartirDe,
+            int quantidade) {
+        GradeSemanal grade = findGrade(medicoId, clinicId);
+        LocalDate de = aPartirDe.toLocalDate();
+        LocalDate ate = de.plusDays(DIAS_BUSCA_PROXIMOS - 1L);
+
+        Map<LocalDate, List<HorarioOcupado>> ocupadosPorDia = agendamentoRepository
+                .findHorariosOcupados(clinicId, medicoId, de, ate, StatusAgendamento.CANCELADOS).stream()
+                .collect(Collectors.groupingBy(HorarioOcupado::dataConsulta));
+
+        List<LocalDateTime> proximos = new ArrayList<>(quantidade);
+        for (LocalDate data = de; !data.isAfter(ate) && proximos.size() < quantidade; data = data.plusDays(1)) {
+            if (!grade.atendeEm(data)) {
+                continue;
+            }
+            BitSet livres = grade.livres(data, ocupadosPorDia.getOrDefault(data, List.of()));
+            for (LocalTime horario : grade.horarios(data, livres)) {
+                LocalDateTime candidato = data.atTime(horario);
+                if (candidato.isAfter(aPartirDe)) {
+                    proximos.add(candidato);
+                    if (proximos.size() == quantidade) {
+                        break;
+                    }
+                }
+            }
+        }
+        return proximos;
+    }
+
+    private void validarPeriodo(LocalDate de, LocalDate ate) {
+        if (de == null || ate == null) {
+            throw new BusinessException("É necessário informar o período (de, ate)");
+        }
+        if (ate.isBefore(de)) {
+            throw new BusinessException("A data final deve ser igual ou posterior à data inicial");
+        }
+        if (ChronoUnit.DAYS.between(de, ate) >= MAX_DIAS_CONSULTA) {
+            throw new BusinessException("O período consultado não pode ultrapassar " + MAX_DIAS_CONSULTA + " dias");
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.multiclinicas.api.services;
 
+import com.multiclinicas.api.config.cache.VersoesCatalogo;
+import com.multiclinicas.api.config.cache.VersoesCatalogo.Catalogo;
 import com.multiclinicas.api.exceptions.BusinessException;
 import com.multiclinicas.api.exceptions.ResourceNotFoundException;
 import com.multiclinicas.api.models.Clinica;
@@ -21,6 +23,8 @@ public class EspecialidadeServiceImpl implements EspecialidadeService {
 
     private final EspecialidadeRepository especialidadeRepository;
     private final ClinicaRepository clinicaRepository;
+    private final VersoesCatalogo versoesCatalogo;
+    private final AutocompleteService autocompleteService;
 
     @Override
     @Transactional(readOnly = true)
@@ -49,7 +53,10 @@ public class EspecialidadeServiceImpl implements EspecialidadeService {
 
         especialidade.setNome(nomeNormalizado);
         especialidade.setClinica(clinica);
-        return especialidadeRepository.save(especialidade);
+        Especialidade salva = especialidadeRepository.save(especialidade);
+        registrarAlteracao(clinicId);
+        autocompleteService.especialidadeAlterada(clinicId, salva);
+        return salva;
     }
 
     @Override
@@ -65,7 +72,10 @@ public class EspecialidadeServiceImpl implements EspecialidadeService {
         }
 
         especialidadeExistente.setNome(nomeNormalizado);
-        return especialidadeRepository.save(especialidadeExistente);
+        Especialidade salva = especialidadeRepository.save(especialidadeExistente);
+        registrarAlteracao(clinicId);
+        autocompleteService.especialidadeAlterada(clinicId, salva);
+        return salva;
     }
 
     @Override
@@ -73,9 +83,16 @@ public class EspecialidadeServiceImpl implements EspecialidadeService {
     public void delete(Long id, Long clinicId) {
         Especialidade especialidade = findByIdAndClinicId(id, clinicId);
         especialidadeRepository.delete(especialidade);
+        registrarAlteracao(clinicId);
+        autocompleteService.especialidadeRemovida(clinicId, id);
     }
 
-    private String normalizarNome(String nome) {
+    // O nome da especialidade também aparece na listagem de médicos
+    private void registrarAlteracao(Long clinicId) {
+        versoesCatalogo.alterado(clinicId, Catalogo.ESPECIALIDADES, Catalogo.MEDICOS);
+    }
+
+    static String normalizarNome(String nome) {
         if (nome == null || nome.isBlank()) {
             return nome;
         }
@@ -4,12 +4,14 @@ import java.util.List;
 import java.util.Set;
 
 import com.multiclinicas.api.models.Medico;
+import com.multiclinicas.api.paginacao.Pagina;
+import com.multiclinicas.api.paginacao.PaginaRequest;
 
 public interface MedicoService {
 	
-	List<Medico> findAllByClinicId(Long clinicId);
+	Pagina<Medico> findAllByClinicId(Long clinicId, PaginaRequest pagina);
 	
-	List<Medico> findAllActiveByClinicId(Long clinicId);
+	Pagina<Medico> findAllActiveByClinicId(Long clinicId, PaginaRequest pagina);
 	
 	Medico findByIdAndClinicId(Long id, Long clinicId);
 	
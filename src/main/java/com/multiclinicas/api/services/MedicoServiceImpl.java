@@ -1,18 +1,23 @@
 package com.multiclinicas.api.services;
 
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
+import com.multiclinicas.api.config.cache.VersoesCatalogo;
+import com.multiclinicas.api.config.cache.VersoesCatalogo.Catalogo;
 import com.multiclinicas.api.exceptions.ResourceConflictException;
 import com.multiclinicas.api.exceptions.ResourceNotFoundException;
 import com.multiclinicas.api.models.Medico;
 import com.multiclinicas.api.models.Clinica;
 import com.multiclinicas.api.models.Especialidade;
+import com.multiclinicas.api.paginacao.Pagina;
+import com.multiclinicas.api.paginacao.PaginaRequest;
 import com.multiclinicas.api.repositories.ClinicaRepository;
 import com.multiclinicas.api.repositories.EspecialidadeRepository;
 import com.multiclinicas.api.repositories.MedicoRepository;
@@ -26,18 +31,24 @@ public class MedicoServiceImpl implements MedicoService {
     private final MedicoRepository medicoRepository;
     private final ClinicaRepository clinicaRepository;
     private final EspecialidadeRepository especialidadeRepository;
+    private final VersoesCatalogo versoesCatalogo;
+    private final AutocompleteService autocompleteService;
     private Medico medicoExistente;
 
     @Override
     @Transactional(readOnly = true)
-    public List<Medico> findAllByClinicId(Long clinicId) {
-        return medicoRepository.findAllByClinicaId(clinicId);
+    public Pagina<Medico> findAllByClinicId(Long clinicId, PaginaRequest pagina) {
+        return carregarPagina(Pagina.de(
+                medicoRepository.findIdsPaginaByClinicaId(clinicId, pagina.aposId(), pagina.limiteConsulta()),
+                pagina, Function.identity()));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<Medico> findAllActiveByClinicId(Long clinicId) {
-        return medicoRepository.findAllByClinicaIdAndAtivoTrue(clinicId);
+    public Pagina<Medico> findAllActiveByClinicId(Long clinicId, PaginaRequest pagina) {
+        return carregarPagina(Pagina.de(
+                medicoRepository.findIdsAtivosPaginaByClinicaId(clinicId, pagina.aposId(), pagina.limiteConsulta()),
+                pagina, Function.identity()));
     }
 
     @Override
@@ -61,7 +72,10 @@ public class MedicoServiceImpl implements MedicoService {
         Set<Especialidade> especialidades = getEspecialidadesByIds(especialidadesIds, clinicId);
         medico.setEspecialidades(especialidades);
 
-        return medicoRepository.save(medico);
+        Medico salvo = medicoRepository.save(medico);
+        versoesCatalogo.alterado(clinicId, Catalogo.MEDICOS);
+        autocompleteService.medicoAlterado(clinicId, salvo);
+        return salvo;
 
     }
 
@@ -80,7 +94,10 @@ public class MedicoServiceImpl implements MedicoService {
         medicoExistente.getEspecialidades().clear();
         medicoExistente.getEspecialidades().addAll(novasEspecialidades);
 
-        return medicoRepository.save(medicoExistente);
+        Medico salvo = medicoRepository.save(medicoExistente);
+        versoesCatalogo.alterado(clinicId, Catalogo.MEDICOS);
+        autocompleteService.medicoAlterado(clinicId, salvo);
+        return salvo;
     }
 
     @Override
@@ -88,15 +105,23 @@ public class MedicoServiceImpl implements MedicoService {
     public void delete(Long id, Long clinicId) {
         Medico medicoExistente = findByIdAndClinicId(id, clinicId);
         medicoRepository.delete(medicoExistente);
+        versoesCatalogo.alterado(clinicId, Catalogo.MEDICOS);
+        autocompleteService.medicoRemovido(clinicId, id);
+    }
+
+    // Segunda consulta da listagem: carrega os médicos da página com os relacionamentos usados no DTO
+    private Pagina<Medico> carregarPagina(Pagina<Long> ids) {
+        List<Medico> medicos = ids.itens().isEmpty()
+                ? List.of()
+                : medicoRepository.findAllComRelacionamentosByIdIn(ids.itens());
+        return new Pagina<>(medicos, ids.proximoCursor());
     }
 
     private Set<Especialidade> getEspecialidadesByIds(Set<Long> ids, Long clinicId) {
         if (ids == null || ids.isEmpty()) {
             return Set.of();
         }
-        return especialidadeRepository.findAllById(ids).stream()
-                .filter(e -> e.getClinica().getId().equals(clinicId))
-                .collect(Collectors.toSet());
+        return new HashSet<>(especialidadeRepository.findByClinicaIdAndIdIn(clinicId, ids));
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.multiclinicas.api.services;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+import com.multiclinicas.api.models.Agendamento;
+import com.multiclinicas.api.models.enums.TipoNotificacao;
+import com.multiclinicas.api.repositories.projections.ConsultaAgendada;
+
+public interface OutboxService {
+
+    void registrar(Agendamento agendamento, TipoNotificacao tipo);
+
+    void registrarLembrete(Agendamento agendamento, LocalDateTime enviarEm);
+
+    int registrarLembretes(Collection<ConsultaAgendada> consultas);
+
+    int processarPendentes();
+}
@@ -0,0 +1,287 @@
+package com.multiclinicas.api.services;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.multiclinicas.api.models.Agendamento;
+import com.multiclinicas.api.models.OutboxEvento;
+import com.multiclinicas.api.models.enums.StatusAgendamento;
+import com.multiclinicas.api.models.enums.StatusOutbox;
+import com.multiclinicas.api.models.enums.TipoNotificacao;
+import com.multiclinicas.api.repositories.AgendamentoRepository;
+import com.multiclinicas.api.repositories.OutboxEventoRepository;
+import com.multiclinicas.api.repositories.projections.ConsultaAgendada;
+import com.multiclinicas.api.services.notificacao.Notificacao;
+import com.multiclinicas.api.services.notificacao.NotificacaoSender;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Outbox transacional das notificações de agendamento.
+ * <p>
+ * {@link #registrar} grava o evento na transação de quem chama (o agendamento), então
+ * a notificação existe se e somente se o agendamento foi confirmado. O envio acontece
+ * depois, em {@link #processarPendentes}, em três passos curtos:
+ * <ol>
+ * <li>reserva um lote com {@code FOR UPDATE SKIP LOCKED} e empurra a próxima tentativa
+ * para {@code agora + reserva}, de modo que outros workers não peguem as mesmas linhas;</li>
+ * <li>envia cada notificação fora de qualquer transação (latência do SMTP não segura
+ * conexões nem locks);</li>
+ * <li>grava o resultado: enviado, descartado, ou nova tentativa com backoff exponencial.</li>
+ * </ol>
+ * Se o processo cair entre os passos, a reserva expira e o evento é reenviado: a entrega é
+ * at-least-once.
+ * <p>
+ * Lembretes levam uma chave única (agendamento, paciente e horário da consulta), então cada
+ * lembrete entra na outbox uma única vez, não importa quantas vezes seja registrado.
+ */
+@Slf4j
+@Service
+public class OutboxServiceImpl implements OutboxService {
+
+    private static final int TAMANHO_MAXIMO_ERRO = 1000;
+
+    private final OutboxEventoRepository outboxEventoRepository;
+    private final AgendamentoRepository agendamentoRepository;
+    private final NotificacaoSender notificacaoSender;
+    private final TransactionTemplate transactionTemplate;
+    private final int tamanhoLote;
+    private final Duration reserva;
+    private final int maxTentativas;
+    private final Duration backoffInicial;
+    private final Duration backoffMaximo;
+    private final Timer tempoEnvio;
+    private final Timer atrasoEntrega;
+    private final Counter enviados;
+    private final Counter retentativas;
+    private final Counter falhas;
+    private final Counter descartados;
+
+    public OutboxServiceImpl(OutboxEventoRepository outboxEventoRepository,
+            AgendamentoRepository agendamentoRepository, NotificacaoSender notificacaoSender,
+            TransactionTemplate transactionTemplate, MeterRegistry meterRegistry,
+            @Value("${notificacoes.outbox.lote:100}") int tamanhoLote,
+            @Value("${notificacoes.outbox.reserva:5m}") Duration reserva,
+            @Value("${notificacoes.outbox.max-tentativas:8}") int maxTentativas,
+            @Value("${notificacoes.outbox.backoff-inicial:30s}") Duration backoffInicial,
+            @Value("${notificacoes.outbox.backoff-maximo:1h}") Duration backoffMaximo) {
+        this.outboxEventoRepository = outboxEventoRepository;
+        this.agendamentoRepository = agendamentoRepository;
+        this.notificacaoSender = notificacaoSender;
+        this.transactionTemplate = transactionTemplate;
+        this.tamanhoLote = tamanhoLote;
+        this.reserva = reserva;
+        this.maxTentativas = maxTentativas;
+        this.backoffInicial = backoffInicial;
+        this.backoffMaximo = backoffMaximo;
+
+        this.tempoEnvio = Timer.builder("notificacoes.outbox.envio").register(meterRegistry);
+        // Da gravação do evento até a entrega: mostra se o worker está acompanhando a demanda
+        this.atrasoEntrega = Timer.builder("notificacoes.outbox.atraso").register(meterRegistry);
+        this.enviados = meterRegistry.counter("notificacoes.outbox.eventos", "resultado", "enviado");
+        this.retentativas = meterRegistry.counter("notificacoes.outbox.eventos", "resultado", "retentativa");
+        this.falhas = meterRegistry.counter("notificacoes.outbox.eventos", "resultado", "falhou");
+        this.descartados = meterRegistry.counter("notificacoes.outbox.eventos", "resultado", "descartado");
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrar(Agendamento agendamento, TipoNotificacao tipo) {
+        outboxEventoRepository.save(novoEvento(agendamento.getClinica().getId(), agendamento.getId(), tipo,
+                LocalDateTime.now(), null));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarLembrete(Agendamento agendamento, LocalDateTime enviarEm) {
+        String chave = chaveLembrete(agendamento.getId(), agendamento.getPaciente().getId(),
+                agendamento.getDataConsulta(), agendamento.getHoraInicio());
+        // Mesmo paciente remarcando o mesmo horário: o lembrete já está na outbox
+        if (outboxEventoRepository.existsByChave(chave)) {
+            return;
+        }
+        outboxEventoRepository.save(novoEvento(agendamento.getClinica().getId(), agendamento.getId(),
+                TipoNotificacao.LEMBRETE, enviarEm, chave));
+    }
+
+    @Override
+    public int registrarLembretes(Collection<ConsultaAgendada> consultas) {
+        Map<String, ConsultaAgendada> porChave = new LinkedHashMap<>();
+        for (ConsultaAgendada consulta : consultas) {
+            porChave.put(chaveLembrete(consulta.id(), consulta.pacienteId(), consulta.dataConsulta(),
+                    consulta.horaInicio()), consulta);
+        }
+        if (porChave.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            return transactionTemplate.execute(status -> inserirLembretes(porChave));
+        } catch (DataIntegrityViolationException e) {
+            // Outra transação gravou alguma das chaves entre a consulta e o INSERT: grava uma a uma
+            int inseridos = 0;
+            for (Map.Entry<String, ConsultaAgendada> entrada : porChave.entrySet()) {
+                try {
+                    inseridos += transactionTemplate.execute(
+                            status -> inserirLembretes(Map.of(entrada.getKey(), entrada.getValue())));
+                } catch (DataIntegrityViolationException duplicado) {
+                    log.debug("Lembrete {} já registrado por outra transação", entrada.getKey());
+                }
+            }
+            return inseridos;
+        }
+    }
+
+    @Override
+    public int processarPendentes() {
+        List<OutboxEvento> reservados = reservarLote();
+        if (reservados.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, Agendamento> agendamentos = agendamentoRepository
+                .findAllComParticipantesByIdIn(reservados.stream().map(OutboxEvento::getAgendamentoId).toList())
+                .stream()
+                .collect(Collectors.toMap(Agendamento::getId, Function.identity()));
+
+        List<Long> idsEnviados = new ArrayList<>();
+        List<Long> idsDescartados = new ArrayList<>();
+        List<Falha> falhasDoLote = new ArrayList<>();
+
+        for (OutboxEvento evento : reservados) {
+            Agendamento agendamento = agendamentos.get(evento.getAgendamentoId());
+            if (agendamento == null || StatusAgendamento.CANCELADOS.contains(agendamento.getStatus())) {
+                idsDescartados.add(evento.getId());
+                continue;
+            }
+            try {
+                Notificacao notificacao = montar(evento, agendamento);
+                tempoEnvio.recordCallable(() -> {
+                    notificacaoSender.enviar(notificacao);
+                    return null;
+                });
+                idsEnviados.add(evento.getId());
+                atrasoEntrega.record(Duration.between(evento.getCreatedAt(), LocalDateTime.now()));
+            } catch (Exception e) {
+                log.warn("Falha ao enviar notificação {} (evento {}, tentativa {}): {}", evento.getTipo(),
+                        evento.getId(), evento.getTentativas() + 1, e.toString());
+                falhasDoLote.add(new Falha(evento, e));
+            }
+        }
+
+        registrarResultados(idsEnviados, idsDescartados, falhasDoLote);
+        return reservados.size();
+    }
+
+    // Espera antes da tentativa seguinte: backoffInicial * 2^(tentativas - 1), limitada ao máximo
+    Duration calcularBackoff(int tentativas) {
+        int expoente = Math.min(Math.max(tentativas - 1, 0), 30);
+        Duration espera = backoffInicial.multipliedBy(1L << expoente);
+        return espera.compareTo(backoffMaximo) > 0 ? backoffMaximo : espera;
+    }
+
+    static String chaveLembrete(Long agendamentoId, Long pacienteId, LocalDate dataConsulta, LocalTime horaInicio) {
+        return TipoNotificacao.LEMBRETE + ":" + agendamentoId + ":" + pacienteId + ":"
+                + dataConsulta.atTime(horaInicio);
+    }
+
+    private int inserirLembretes(Map<String, ConsultaAgendada> porChave) {
+        Set<String> existentes = new HashSet<>(outboxEventoRepository.findChavesExistentes(porChave.keySet()));
+        LocalDateTime agora = LocalDateTime.now();
+        List<OutboxEvento> novos = porChave.entrySet().stream()
+                .filter(entrada -> !existentes.contains(entrada.getKey()))
+                .map(entrada -> novoEvento(entrada.getValue().clinicId(), entrada.getValue().id(),
+                        TipoNotificacao.LEMBRETE, agora, entrada.getKey()))
+                .toList();
+        // Flush aqui para que uma chave duplicada apareça como DataIntegrityViolationException
+        outboxEventoRepository.saveAllAndFlush(novos);
+        return novos.size();
+    }
+
+    private static OutboxEvento novoEvento(Long clinicId, Long agendamentoId, TipoNotificacao tipo,
+            LocalDateTime proximaTentativa, String chave) {
+        OutboxEvento evento = new OutboxEvento();
+        evento.setClinicId(clinicId);
+        evento.setAgendamentoId(agendamentoId);
+        evento.setTipo(tipo);
+        evento.setProximaTentativa(proximaTentativa);
+        evento.setChave(chave);
+        return evento;
+    }
+
+    private List<OutboxEvento> reservarLote() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime agora = LocalDateTime.now();
+            List<OutboxEvento> eventos = outboxEventoRepository.findPendentesParaReservar(agora, tamanhoLote);
+            if (!eventos.isEmpty()) {
+                outboxEventoRepository.reservarAte(eventos.stream().map(OutboxEvento::getId).toList(),
+                        agora.plus(reserva));
+            }
+            return eventos;
+        });
+    }
+
+    private void registrarResultados(List<Long> idsEnviados, List<Long> idsDescartados, List<Falha> falhasDoLote) {
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime agora = LocalDateTime.now();
+            if (!idsEnviados.isEmpty()) {
+                outboxEventoRepository.finalizar(idsEnviados, StatusOutbox.ENVIADO, agora);
+            }
+            if (!idsDescartados.isEmpty()) {
+                outboxEventoRepository.finalizar(idsDescartados, StatusOutbox.DESCARTADO, null);
+            }
+            for (Falha falha : falhasDoLote) {
+                int tentativas = falha.evento().getTentativas() + 1;
+                boolean esgotou = tentativas >= maxTentativas;
+                outboxEventoRepository.registrarFalha(falha.evento().getId(),
+                        esgotou ? StatusOutbox.FALHOU : StatusOutbox.PENDENTE, tentativas,
+                        agora.plus(calcularBackoff(tentativas)), mensagemDeErro(falha.erro()));
+                (esgotou ? falhas : retentativas).increment();
+            }
+        });
+        enviados.increment(idsEnviados.size());
+        descartados.increment(idsDescartados.size());
+    }
+
+    private static Notificacao montar(OutboxEvento evento, Agendamento agendamento) {
+        return new Notificacao(
+                evento.getId(),
+                evento.getTipo(),
+                evento.getClinicId(),
+                agendamento.getClinica().getNomeFantasia(),
+                agendamento.getId(),
+                agendamento.getPaciente().getNome(),
+                agendamento.getPaciente().getEmail(),
+                agendamento.getMedico().getNome(),
+                agendamento.getDataConsulta().atTime(agendamento.getHoraInicio()));
+    }
+
+    private static String mensagemDeErro(Exception e) {
+        String mensagem = e.toString();
+        return mensagem.length() > TAMANHO_MAXIMO_ERRO ? mensagem.substring(0, TAMANHO_MAXIMO_ERRO) : mensagem;
+    }
+
+    private record Falha(OutboxEvento evento, Exception erro) {
+    }
+}
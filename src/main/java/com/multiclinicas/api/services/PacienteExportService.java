@@ -0,0 +1,12 @@
+package com.multiclinicas.api.services;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.multiclinicas.api.services.exportacao.FormatoExportacao;
+
+public interface PacienteExportService {
+
+    /** Escreve todos os pacientes da clínica em {@code out}, em ordem de id. Retorna a quantidade exportada. */
+    long exportar(Long clinicId, FormatoExportacao formato, OutputStream out) throws IOException;
+}
@@ -0,0 +1,114 @@
+package com.multiclinicas.api.services;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.multiclinicas.api.dtos.EnderecoDTO;
+import com.multiclinicas.api.dtos.PacienteDTO;
+import com.multiclinicas.api.services.exportacao.EscritorPacientes;
+import com.multiclinicas.api.services.exportacao.FormatoExportacao;
+
+/**
+ * Exporta os pacientes de uma clínica lendo de um cursor JDBC somente leitura e
+ * forward-only: o driver busca {@code fetchSize} linhas por vez e cada linha é escrita
+ * na saída assim que lida, então o heap usado não depende do tamanho da clínica.
+ * <p>
+ * Roda dentro de uma transação somente leitura porque o driver do PostgreSQL só usa
+ * cursor no servidor com autocommit desligado.
+ */
+@Service
+public class PacienteExportServiceImpl implements PacienteExportService {
+
+    // senha_hash fica de fora da exportação
+    private static final String EXPORT_SQL = "SELECT p.id, p.clinic_id, p.nome, p.email, p.cpf, p.telefone, "
+            + "p.telefone_secundario, e.id AS endereco_id, e.cep, e.logradouro, e.numero, e.complemento, "
+            + "e.bairro, e.cidade, e.estado, e.pais "
+            + "FROM pacientes p LEFT JOIN enderecos e ON e.id = p.endereco_id "
+            + "WHERE p.clinic_id = ? ORDER BY p.id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+
+    public PacienteExportServiceImpl(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+            @Value("${pacientes.export.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportar(Long clinicId, FormatoExportacao formato, OutputStream out) throws IOException {
+        ContadorLinhas contador = new ContadorLinhas(formato.criarEscritor(out, objectMapper));
+        try (EscritorPacientes escritor = contador.escritor) {
+            jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(EXPORT_SQL, ResultSet.TYPE_FORWARD_ONLY,
+                        ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(fetchSize);
+                ps.setLong(1, clinicId);
+                return ps;
+            }, contador);
+        } catch (UncheckedIOException e) {
+            // cliente desconectou ou falha de escrita: aborta a leitura do cursor
+            throw e.getCause();
+        }
+        return contador.total;
+    }
+
+    private static PacienteDTO mapear(ResultSet rs) throws SQLException {
+        long enderecoId = rs.getLong("endereco_id");
+        EnderecoDTO endereco = rs.wasNull() ? null
+                : new EnderecoDTO(
+                        enderecoId,
+                        rs.getString("cep"),
+                        rs.getString("logradouro"),
+                        rs.getString("numero"),
+                        rs.getString("complemento"),
+                        rs.getString("bairro"),
+                        rs.getString("cidade"),
+                        rs.getString("estado"),
+                        rs.getString("pais"));
+
+        return new PacienteDTO(
+                rs.getLong("id"),
+                rs.getLong("clinic_id"),
+                rs.getString("nome"),
+                rs.getString("email"),
+                rs.getString("cpf"),
+                rs.getString("telefone"),
+                rs.getString("telefone_secundario"),
+                endereco);
+    }
+
+    private static final class ContadorLinhas implements RowCallbackHandler {
+
+        private final EscritorPacientes escritor;
+        private long total;
+
+        private ContadorLinhas(EscritorPacientes escritor) {
+            this.escritor = escritor;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            try {
+                escritor.escrever(mapear(rs));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            total++;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.multiclinicas.api.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.multiclinicas.api.dtos.RelatorioImportacaoDTO;
+import com.multiclinicas.api.services.importacao.FormatoImportacao;
+
+public interface PacienteImportService {
+
+    RelatorioImportacaoDTO importar(Long clinicId, FormatoImportacao formato, InputStream in) throws IOException;
+}
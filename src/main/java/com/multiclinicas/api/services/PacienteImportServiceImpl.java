@@ -0,0 +1,184 @@
+package com.multiclinicas.api.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.multiclinicas.api.busca.TextoBusca;
+import com.multiclinicas.api.dtos.ErroImportacaoDTO;
+import com.multiclinicas.api.dtos.PacienteImportDTO;
+import com.multiclinicas.api.dtos.RelatorioImportacaoDTO;
+import com.multiclinicas.api.services.importacao.FormatoImportacao;
+import com.multiclinicas.api.services.importacao.LeitorPacientes;
+import com.multiclinicas.api.services.importacao.LinhaImportacao;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Importação em massa de pacientes. O arquivo é lido e validado registro a registro e
+ * as linhas válidas são gravadas com JDBC em lotes de {@code batchSize}, sem passar pelo
+ * contexto de persistência do Hibernate.
+ * <p>
+ * Os IDs vêm de {@code pacientes_seq} no mesmo esquema pooled-lo do Hibernate: cada
+ * {@code nextval} reserva um bloco do tamanho do incremento da sequência.
+ * <p>
+ * A deduplicação por (clínica, CPF) considera apenas os dígitos do CPF, tanto contra os
+ * pacientes já cadastrados quanto entre as linhas do próprio arquivo.
+ */
+@Service
+public class PacienteImportServiceImpl implements PacienteImportService {
+
+    private static final String INSERT_SQL = "INSERT INTO pacientes "
+            + "(id, clinic_id, nome, email, cpf, telefone, telefone_secundario, nome_busca, cpf_digitos, "
+            + "telefone_digitos) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String PROXIMO_BLOCO_SQL = "SELECT nextval('pacientes_seq')";
+
+    private static final String INCREMENTO_SQL = "SELECT increment FROM information_schema.sequences "
+            + "WHERE sequence_name = 'pacientes_seq'";
+
+    private static final String CPFS_DA_CLINICA_SQL = "SELECT cpf FROM pacientes WHERE clinic_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final int batchSize;
+    private final int maxErros;
+
+    public PacienteImportServiceImpl(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper, Validator validator,
+            @Value("${pacientes.import.batch-size:1000}") int batchSize,
+            @Value("${pacientes.import.max-erros:1000}") int maxErros) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.batchSize = batchSize;
+        this.maxErros = maxErros;
+    }
+
+    @Override
+    @Transactional
+    public RelatorioImportacaoDTO importar(Long clinicId, FormatoImportacao formato, InputStream in)
+            throws IOException {
+        Set<String> cadastrados = carregarCpfs(clinicId);
+        Set<String> vistosNoArquivo = new HashSet<>();
+        List<Object[]> lote = new ArrayList<>(batchSize);
+        Relatorio relatorio = new Relatorio(maxErros);
+        IdsReservados ids = new IdsReservados(jdbcTemplate);
+
+        try (LeitorPacientes leitor = formato.criarLeitor(in, objectMapper)) {
+            LinhaImportacao linha;
+            while ((linha = leitor.proxima()) != null) {
+                relatorio.linhasLidas++;
+                PacienteImportDTO paciente = linha.paciente();
+                if (paciente == null) {
+                    relatorio.rejeitar(linha.numero(), null, linha.erro());
+                    continue;
+                }
+
+                Set<ConstraintViolation<PacienteImportDTO>> violacoes = validator.validate(paciente);
+                if (!violacoes.isEmpty()) {
+                    relatorio.rejeitar(linha.numero(), paciente.cpf(), violacoes.stream()
+                            .map(ConstraintViolation::getMessage)
+                            .sorted()
+                            .collect(Collectors.joining("; ")));
+                    continue;
+                }
+
+                String cpf = TextoBusca.somenteDigitos(paciente.cpf());
+                if (cadastrados.contains(cpf)) {
+                    relatorio.rejeitar(linha.numero(), paciente.cpf(), "CPF já cadastrado nesta clínica");
+                    continue;
+                }
+                if (!vistosNoArquivo.add(cpf)) {
+                    relatorio.rejeitar(linha.numero(), paciente.cpf(), "CPF repetido no arquivo");
+                    continue;
+                }
+
+                lote.add(new Object[] { ids.proximo(), clinicId, paciente.nome(), paciente.email(), paciente.cpf(),
+                        paciente.telefone(), paciente.telefoneSecundario(), TextoBusca.normalizar(paciente.nome()),
+                        cpf, TextoBusca.somenteDigitos(paciente.telefone()) });
+                if (lote.size() == batchSize) {
+                    relatorio.importados += gravar(lote);
+                }
+            }
+        }
+        relatorio.importados += gravar(lote);
+
+        return new RelatorioImportacaoDTO(relatorio.linhasLidas, relatorio.importados,
+                relatorio.rejeitados, relatorio.erros, relatorio.rejeitados > relatorio.erros.size());
+    }
+
+    private int gravar(List<Object[]> lote) {
+        if (lote.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, lote);
+        int gravados = lote.size();
+        lote.clear();
+        return gravados;
+    }
+
+    private Set<String> carregarCpfs(Long clinicId) {
+        Set<String> cpfs = new HashSet<>();
+        jdbcTemplate.query(CPFS_DA_CLINICA_SQL, rs -> {
+            cpfs.add(TextoBusca.somenteDigitos(rs.getString(1)));
+        }, clinicId);
+        return cpfs;
+    }
+
+    // Distribui os IDs de um bloco reservado na sequência antes de pedir o próximo
+    private static final class IdsReservados {
+
+        private final JdbcTemplate jdbcTemplate;
+        private long incremento;
+        private long proximo;
+        private long limite;
+
+        private IdsReservados(JdbcTemplate jdbcTemplate) {
+            this.jdbcTemplate = jdbcTemplate;
+        }
+
+        private long proximo() {
+            if (proximo == limite) {
+                if (incremento == 0) {
+                    incremento = jdbcTemplate.queryForObject(INCREMENTO_SQL, Long.class);
+                }
+                proximo = jdbcTemplate.queryForObject(PROXIMO_BLOCO_SQL, Long.class);
+                limite = proximo + incremento;
+            }
+            return proximo++;
+        }
+    }
+
+    // Acumula o resultado; a lista de erros é limitada para não crescer com o arquivo
+    private static final class Relatorio {
+
+        private final int maxErros;
+        private final List<ErroImportacaoDTO> erros = new ArrayList<>();
+        private long linhasLidas;
+        private long importados;
+        private long rejeitados;
+
+        private Relatorio(int maxErros) {
+            this.maxErros = maxErros;
+        }
+
+        private void rejeitar(long linha, String cpf, String mensagem) {
+            rejeitados++;
+            if (erros.size() < maxErros) {
+                erros.add(new ErroImportacaoDTO(linha, cpf, mensagem));
+            }
+        }
+    }
+}
@@ -1,17 +1,24 @@
 package com.multiclinicas.api.services;
 
-import java.util.List;
-
 import com.multiclinicas.api.models.Paciente;
+import com.multiclinicas.api.paginacao.Pagina;
+import com.multiclinicas.api.paginacao.PaginaRequest;
+import com.multiclinicas.api.repositories.projections.PacienteBusca;
+
+import java.util.List;
 
 public interface PacienteService {
-    List<Paciente> findAll(Long clinicId);
+    Pagina<Paciente> findAll(Long clinicId, PaginaRequest pagina);
 
     Paciente findById(Long id, Long clinicId);
 
+    List<PacienteBusca> buscar(Long clinicId, String termo, Integer limit);
+
     Paciente create(Long clinicId, Paciente paciente);
 
     void delete(Long id, Long clinicId);
 
     Paciente update(Long id, Paciente novosDados, Long clinicId);
+
+    boolean verificarSenha(Long id, Long clinicId, String senha);
 }
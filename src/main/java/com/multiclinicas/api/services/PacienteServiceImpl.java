@@ -1,37 +1,54 @@
 package com.multiclinicas.api.services;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.multiclinicas.api.repositories.ClinicaRepository;
 import com.multiclinicas.api.repositories.PacienteRepository;
 
 import jakarta.transaction.Transactional;
 
+import com.multiclinicas.api.busca.TextoBusca;
+import com.multiclinicas.api.exceptions.BusinessException;
 import com.multiclinicas.api.exceptions.ResourceNotFoundException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
 import com.multiclinicas.api.models.Clinica;
 import com.multiclinicas.api.models.Paciente;
+import com.multiclinicas.api.paginacao.Pagina;
+import com.multiclinicas.api.paginacao.PaginaRequest;
+import com.multiclinicas.api.repositories.projections.PacienteBusca;
 
 @Service
 public class PacienteServiceImpl implements PacienteService {
 
+    static final int BUSCA_TAMANHO_MINIMO = 3;
+    static final int BUSCA_LIMITE_PADRAO = 20;
+    static final int BUSCA_LIMITE_MAXIMO = 50;
+
     private final PacienteRepository pacienteRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final SenhaService senhaService;
     private final ClinicaRepository clinicaRepository;
+    private final TransactionTemplate transactionTemplate;
 
-    public PacienteServiceImpl(PacienteRepository pacienteRepository, PasswordEncoder passwordEncoder,
-            ClinicaRepository clinicaRepository) {
+    public PacienteServiceImpl(PacienteRepository pacienteRepository, SenhaService senhaService,
+            ClinicaRepository clinicaRepository, TransactionTemplate transactionTemplate) {
         this.pacienteRepository = pacienteRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.senhaService = senhaService;
         this.clinicaRepository = clinicaRepository;
+        this.transactionTemplate = transactionTemplate;
     }
 
     @Override
-    public List<Paciente> findAll(Long clinicId) {
-        return pacienteRepository.findAllByClinicaId(clinicId);
+    public Pagina<Paciente> findAll(Long clinicId, PaginaRequest pagina) {
+        return Pagina.de(
+                pacienteRepository.findPaginaByClinicaId(clinicId, pagina.aposId(), pagina.limiteConsulta()),
+                pagina, Paciente::getId);
     }
 
     @Override
@@ -40,12 +57,59 @@ public class PacienteServiceImpl implements PacienteService {
                 .orElseThrow(() -> new ResourceNotFoundException("Paciente não encontrado nesta clínica"));
     }
 
+    /**
+     * Busca da recepção por trecho do nome, do CPF ou do telefone. Sem letras no termo, a busca
+     * é pelos dígitos de CPF e telefone; com letras, pelo nome sem acentos, com os termos na
+     * ordem digitada ("maria silva" encontra "Maria da Silva"). Quem começa com o termo vem
+     * primeiro, em ordem alfabética, e o restante do limite é completado com quem o contém.
+     */
+    @Override
+    public List<PacienteBusca> buscar(Long clinicId, String termo, Integer limit) {
+        int limite = limit != null ? limit : BUSCA_LIMITE_PADRAO;
+        if (limite < 1 || limite > BUSCA_LIMITE_MAXIMO) {
+            throw new BusinessException("O parâmetro limit deve estar entre 1 e " + BUSCA_LIMITE_MAXIMO);
+        }
+        String normalizado = TextoBusca.normalizar(termo);
+        boolean digitos = normalizado != null && normalizado.chars().noneMatch(Character::isLetter);
+        // O trecho só usa os índices de trigramas com uma palavra de 3 caracteres ou mais: "a b c"
+        // viraria '%a%b%c%', sem trigrama algum, e o PostgreSQL leria o índice GIN inteiro
+        boolean curto = normalizado == null || (digitos
+                ? normalizado.replace(" ", "").length() < BUSCA_TAMANHO_MINIMO
+                : Arrays.stream(normalizado.split(" ")).noneMatch(palavra -> palavra.length() >= BUSCA_TAMANHO_MINIMO));
+        if (curto) {
+            throw new BusinessException("Informe ao menos uma palavra com " + BUSCA_TAMANHO_MINIMO
+                    + " letras ou dígitos para buscar");
+        }
+
+        String padrao = digitos ? normalizado.replace(" ", "") : normalizado.replace(' ', '%');
+        String prefixo = padrao + "%";
+        String contem = "%" + padrao + "%";
+        // Intervalo do primeiro termo: as colunas de busca comparam por código de caractere
+        String inicio = digitos || normalizado.indexOf(' ') < 0 ? padrao
+                : normalizado.substring(0, normalizado.indexOf(' '));
+        String fim = inicio.substring(0, inicio.length() - 1) + (char) (inicio.charAt(inicio.length() - 1) + 1);
+
+        List<PacienteBusca> encontrados = new ArrayList<>(digitos
+                ? pacienteRepository.findBuscaPorCpfPrefixo(clinicId, inicio, fim, Limit.of(limite))
+                : pacienteRepository.findBuscaPorNomePrefixo(clinicId, inicio, fim, prefixo, Limit.of(limite)));
+        if (encontrados.size() < limite) {
+            Limit restante = Limit.of(limite - encontrados.size());
+            List<PacienteBusca> contendo = new ArrayList<>(digitos
+                    ? pacienteRepository.findBuscaPorDigitosContendo(clinicId, contem, prefixo, restante)
+                    : pacienteRepository.findBuscaPorNomeContendo(clinicId, contem, prefixo, restante));
+            contendo.sort(Comparator.comparing((PacienteBusca paciente) -> TextoBusca.normalizar(paciente.nome()),
+                    Comparator.nullsLast(Comparator.naturalOrder())).thenComparing(PacienteBusca::id));
+            encontrados.addAll(contendo);
+        }
+        return encontrados;
+    }
+
     @Override
     public Paciente create(Long clinicId, Paciente paciente) {
         Clinica clinica = clinicaRepository.findById(clinicId)
                 .orElseThrow(() -> new ResourceNotFoundException("Clínica não encontrada"));
         paciente.setClinica(clinica);
-        paciente.setSenhaHash(passwordEncoder.encode(paciente.getSenhaHash()));
+        paciente.setSenhaHash(senhaService.gerarHash(paciente.getSenhaHash()));
         return pacienteRepository.save(paciente);
     }
 
@@ -58,22 +122,48 @@ public class PacienteServiceImpl implements PacienteService {
         pacienteRepository.deleteByIdAndClinicaId(id, clinicId);
     }
 
+    // O hash da senha pode esperar segundos na fila do SenhaService: é feito fora de transação,
+    // para não segurar uma conexão do pool, e só a gravação roda numa transação curta
     @Override
-    @Transactional
     public Paciente update(Long id, Paciente novosDados, Long clinicId) {
-
-        Paciente antigo = pacienteRepository.findByIdAndClinicaId(id, clinicId)
-                .orElseThrow(() -> new ResourceNotFoundException("Paciente não encontrado nesta clínica"));
-
-        antigo.setNome(novosDados.getNome());
-        antigo.setEmail(novosDados.getEmail());
-        antigo.setEndereco(novosDados.getEndereco());
-
+        String novoHash = null;
         if (novosDados.getSenhaHash() != null && !novosDados.getSenhaHash().isBlank()) {
-            antigo.setSenhaHash(passwordEncoder.encode(novosDados.getSenhaHash()));
+            if (!pacienteRepository.existsByIdAndClinicaId(id, clinicId)) {
+                throw new ResourceNotFoundException("Paciente não encontrado nesta clínica");
+            }
+            novoHash = senhaService.gerarHash(novosDados.getSenhaHash());
         }
 
-        return antigo;
+        String hash = novoHash;
+        return transactionTemplate.execute(status -> {
+            Paciente antigo = pacienteRepository.findByIdAndClinicaId(id, clinicId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Paciente não encontrado nesta clínica"));
+
+            antigo.setNome(novosDados.getNome());
+            antigo.setEmail(novosDados.getEmail());
+            antigo.setEndereco(novosDados.getEndereco());
+            if (hash != null) {
+                antigo.setSenhaHash(hash);
+            }
+            return antigo;
+        });
+    }
+
+    @Override
+    public boolean verificarSenha(Long id, Long clinicId, String senha) {
+        // Lido no primário (transação de escrita), para não verificar contra o hash defasado de uma réplica
+        String hashAtual = transactionTemplate.execute(status -> pacienteRepository.findByIdAndClinicaId(id, clinicId)
+                .orElseThrow(() -> new ResourceNotFoundException("Paciente não encontrado nesta clínica"))
+                .getSenhaHash());
+
+        SenhaService.Verificacao verificacao = senhaService.verificar(senha, hashAtual);
+        // Hash gerado com custo antigo: regrava com o custo atual aproveitando a senha em claro,
+        // a menos que a senha tenha sido trocada enquanto o hash era verificado
+        if (verificacao.precisaAtualizar()) {
+            transactionTemplate.execute(status -> pacienteRepository.updateSenhaHash(id, clinicId, hashAtual,
+                    verificacao.novoHash()));
+        }
+        return verificacao.valida();
     }
 
 }
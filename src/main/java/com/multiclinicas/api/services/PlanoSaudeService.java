@@ -1,11 +1,11 @@
 package com.multiclinicas.api.services;
 
 import com.multiclinicas.api.models.PlanoSaude;
-
-import java.util.List;
+import com.multiclinicas.api.paginacao.Pagina;
+import com.multiclinicas.api.paginacao.PaginaRequest;
 
 public interface PlanoSaudeService {
-    List<PlanoSaude> findAllByClinicId(Long clinicId);
+    Pagina<PlanoSaude> findAllByClinicId(Long clinicId, PaginaRequest pagina);
 
     PlanoSaude findByIdAndClinicId(Long id, Long clinicId);
 
@@ -1,30 +1,37 @@
 package com.multiclinicas.api.services;
 
+import com.multiclinicas.api.config.cache.VersoesCatalogo;
+import com.multiclinicas.api.config.cache.VersoesCatalogo.Catalogo;
 import com.multiclinicas.api.exceptions.ResourceNotFoundException;
 import com.multiclinicas.api.models.Clinica;
 import com.multiclinicas.api.models.PlanoSaude;
+import com.multiclinicas.api.paginacao.Pagina;
+import com.multiclinicas.api.paginacao.PaginaRequest;
 import com.multiclinicas.api.repositories.ClinicaRepository;
 import com.multiclinicas.api.repositories.PlanoSaudeRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
-
 @Service
 public class PlanoSaudeServiceImpl implements PlanoSaudeService {
 
     private final PlanoSaudeRepository planoSaudeRepository;
     private final ClinicaRepository clinicaRepository;
+    private final VersoesCatalogo versoesCatalogo;
 
-    public PlanoSaudeServiceImpl(PlanoSaudeRepository planoSaudeRepository, ClinicaRepository clinicaRepository) {
+    public PlanoSaudeServiceImpl(PlanoSaudeRepository planoSaudeRepository, ClinicaRepository clinicaRepository,
+            VersoesCatalogo versoesCatalogo) {
         this.planoSaudeRepository = planoSaudeRepository;
         this.clinicaRepository = clinicaRepository;
+        this.versoesCatalogo = versoesCatalogo;
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<PlanoSaude> findAllByClinicId(Long clinicId) {
-        return planoSaudeRepository.findByClinicaId(clinicId);
+    public Pagina<PlanoSaude> findAllByClinicId(Long clinicId, PaginaRequest pagina) {
+        return Pagina.de(
+                planoSaudeRepository.findPaginaByClinicaId(clinicId, pagina.aposId(), pagina.limiteConsulta()),
+                pagina, PlanoSaude::getId);
     }
 
     @Override
@@ -42,7 +49,9 @@ public class PlanoSaudeServiceImpl implements PlanoSaudeService {
                 .orElseThrow(() -> new ResourceNotFoundException("Clínica não encontrada"));
 
         planoSaude.setClinica(clinica);
-        return planoSaudeRepository.save(planoSaude);
+        PlanoSaude salvo = planoSaudeRepository.save(planoSaude);
+        versoesCatalogo.alterado(clinicId, Catalogo.PLANOS_SAUDE);
+        return salvo;
     }
 
     @Override
@@ -53,7 +62,9 @@ public class PlanoSaudeServiceImpl implements PlanoSaudeService {
         planoExistente.setNome(planoSaudeAtualizado.getNome());
         planoExistente.setAtivo(planoSaudeAtualizado.getAtivo());
 
-        return planoSaudeRepository.save(planoExistente);
+        PlanoSaude salvo = planoSaudeRepository.save(planoExistente);
+        versoesCatalogo.alterado(clinicId, Catalogo.PLANOS_SAUDE);
+        return salvo;
     }
 
     @Override
@@ -61,5 +72,6 @@ public class PlanoSaudeServiceImpl implements PlanoSaudeService {
     public void delete(Long id, Long clinicId) {
         PlanoSaude planoExistente = findByIdAndClinicId(id, clinicId);
         planoSaudeRepository.delete(planoExistente);
+        versoesCatalogo.alterado(clinicId, Catalogo.PLANOS_SAUDE);
     }
 }
@@ -0,0 +1,19 @@
+package com.multiclinicas.api.services;
+
+public interface SenhaService {
+
+    String gerarHash(String senha);
+
+    Verificacao verificar(String senha, String hashAtual);
+
+    /**
+     * Resultado da verificação. {@code novoHash} só é preenchido quando a senha confere e
+     * o hash atual foi gerado com um custo menor que o configurado, devendo ser regravado.
+     */
+    record Verificacao(boolean valida, String novoHash) {
+
+        public boolean precisaAtualizar() {
+            return novoHash != null;
+        }
+    }
+}
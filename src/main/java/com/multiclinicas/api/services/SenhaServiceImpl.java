@@ -0,0 +1,159 @@
+package com.multiclinicas.api.services;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import com.multiclinicas.api.exceptions.ServicoSobrecarregadoException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Executa o hash e a verificação de senhas (BCrypt, ~100 ms de CPU cada) num pool próprio
+ * e limitado, para que cadastros em massa não consumam os threads do Tomcat nem todos os
+ * núcleos da máquina.
+ * <p>
+ * A fila também é limitada: quando está cheia a chamada falha na hora com
+ * {@link ServicoSobrecarregadoException} (503) em vez de acumular requisições esperando.
+ * Como a requisição espera o resultado, threads + fila precisam ficar bem abaixo dos threads
+ * do Tomcat: no máximo metade de {@code server.tomcat.threads.max}, senão uma rajada de
+ * cadastros ocupa todos os threads de requisição antes de a fila recusar alguma. Com
+ * {@code seguranca.senha.threads} explícito a aplicação não sobe fora dessa regra; com o tamanho
+ * calculado pelos núcleos, pool e fila são reduzidos até caber. Com threads virtuais a
+ * requisição parada não prende thread do Tomcat e a regra não se aplica.
+ */
+@Slf4j
+@Service
+public class SenhaServiceImpl implements SenhaService, DisposableBean {
+
+    static final String EXECUTOR_NAME = "senha-hash";
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+    private final Timer tempoGerar;
+    private final Timer tempoVerificar;
+    private final Timer tempoFila;
+    private final Counter rejeitadas;
+
+    public SenhaServiceImpl(PasswordEncoder passwordEncoder, MeterRegistry meterRegistry,
+            @Value("${seguranca.senha.threads:0}") int threads,
+            @Value("${seguranca.senha.fila:32}") int capacidadeFila,
+            @Value("${seguranca.senha.timeout:5s}") Duration timeout,
+            @Value("${server.tomcat.threads.max:200}") int threadsTomcat,
+            @Value("${spring.threads.virtual.enabled:false}") boolean threadsVirtuais) {
+        this.passwordEncoder = passwordEncoder;
+        this.timeout = timeout;
+
+        // Por padrão usa metade dos núcleos, deixando o restante para atender requisições
+        int tamanho = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        int limite = threadsTomcat / 2;
+        if (!threadsVirtuais && tamanho + capacidadeFila > limite) {
+            if (threads > 0) {
+                throw new IllegalStateException("seguranca.senha.threads (" + tamanho + ") + seguranca.senha.fila ("
+                        + capacidadeFila + ") deve ficar em no máximo metade de server.tomcat.threads.max ("
+                        + threadsTomcat + ")");
+            }
+            int tamanhoAjustado = Math.max(1, Math.min(tamanho, limite - capacidadeFila));
+            int filaAjustada = Math.max(1, Math.min(capacidadeFila, limite - tamanhoAjustado));
+            log.warn("Pool de hash calculado ({} threads + fila {}) passa da metade de server.tomcat.threads.max ({});"
+                    + " usando {} threads + fila {}", tamanho, capacidadeFila, threadsTomcat, tamanhoAjustado,
+                    filaAjustada);
+            tamanho = tamanhoAjustado;
+            capacidadeFila = filaAjustada;
+        }
+        this.executor = new ThreadPoolExecutor(tamanho, tamanho, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacidadeFila), new ThreadsNomeadas(), new ThreadPoolExecutor.AbortPolicy());
+
+        // executor.queued / executor.active com a tag name=senha-hash
+        new ExecutorServiceMetrics(executor, EXECUTOR_NAME, List.of()).bindTo(meterRegistry);
+        this.tempoGerar = Timer.builder("senha.hash").tag("operacao", "gerar").register(meterRegistry);
+        this.tempoVerificar = Timer.builder("senha.hash").tag("operacao", "verificar").register(meterRegistry);
+        this.tempoFila = Timer.builder("senha.hash.fila").register(meterRegistry);
+        this.rejeitadas = meterRegistry.counter("senha.hash.rejeitadas");
+    }
+
+    @Override
+    public String gerarHash(String senha) {
+        return executar(() -> passwordEncoder.encode(senha), tempoGerar);
+    }
+
+    @Override
+    public Verificacao verificar(String senha, String hashAtual) {
+        return executar(() -> {
+            if (hashAtual == null || !passwordEncoder.matches(senha, hashAtual)) {
+                return new Verificacao(false, null);
+            }
+            // BCrypt: verdadeiro quando o custo do hash gravado é menor que o configurado
+            String novoHash = passwordEncoder.upgradeEncoding(hashAtual) ? passwordEncoder.encode(senha) : null;
+            return new Verificacao(true, novoHash);
+        }, tempoVerificar);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private <T> T executar(Supplier<T> tarefa, Timer tempo) {
+        long enfileiradoEm = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                tempoFila.record(System.nanoTime() - enfileiradoEm, TimeUnit.NANOSECONDS);
+                return tempo.record(tarefa);
+            });
+        } catch (RejectedExecutionException e) {
+            rejeitadas.increment();
+            throw new ServicoSobrecarregadoException(
+                    "Muitas operações de senha em andamento. Tente novamente em instantes.");
+        }
+
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new ServicoSobrecarregadoException(
+                    "Tempo esgotado aguardando a operação de senha. Tente novamente em instantes.");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido aguardando a operação de senha", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new IllegalStateException("Falha na operação de senha", e.getCause());
+        }
+    }
+
+    private static final class ThreadsNomeadas implements ThreadFactory {
+
+        private final AtomicInteger contador = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, EXECUTOR_NAME + "-" + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -1,12 +1,12 @@
 package com.multiclinicas.api.services;
 
-import java.util.List;
-
 import com.multiclinicas.api.models.UsuarioAdmin;
+import com.multiclinicas.api.paginacao.Pagina;
+import com.multiclinicas.api.paginacao.PaginaRequest;
 
 public interface UsuarioAdminService {
     
-    List<UsuarioAdmin> findAllByClinicId(Long clinicId);
+    Pagina<UsuarioAdmin> findAllByClinicId(Long clinicId, PaginaRequest pagina);
     
     UsuarioAdmin findByIdAndClinicId(Long id, Long clinicId);
 
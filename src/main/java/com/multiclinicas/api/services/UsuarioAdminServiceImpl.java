@@ -1,7 +1,5 @@
 package com.multiclinicas.api.services;
 
-import java.util.List;
-
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -9,6 +7,8 @@ import com.multiclinicas.api.exceptions.ResourceNotFoundException;
 import com.multiclinicas.api.models.Clinica;
 import com.multiclinicas.api.models.Endereco;
 import com.multiclinicas.api.models.UsuarioAdmin;
+import com.multiclinicas.api.paginacao.Pagina;
+import com.multiclinicas.api.paginacao.PaginaRequest;
 import com.multiclinicas.api.repositories.ClinicaRepository;
 import com.multiclinicas.api.repositories.UsuarioAdminRepository;
 
@@ -26,8 +26,10 @@ public class UsuarioAdminServiceImpl implements UsuarioAdminService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<UsuarioAdmin> findAllByClinicId(Long clinicId) {
-        return usuarioAdminRepository.findAllByClinicaId(clinicId);
+    public Pagina<UsuarioAdmin> findAllByClinicId(Long clinicId, PaginaRequest pagina) {
+        return Pagina.de(
+                usuarioAdminRepository.findPaginaByClinicaId(clinicId, pagina.aposId(), pagina.limiteConsulta()),
+                pagina, UsuarioAdmin::getId);
     }
 
     @Override
@@ -0,0 +1,13 @@
+package com.multiclinicas.api.services.agenda;
+
+import java.time.LocalTime;
+import java.util.List;
+
+import com.multiclinicas.api.repositories.projections.ConsultaAgenda;
+
+public record AgendaMedico(
+        Long medicoId,
+        String medicoNome,
+        List<ConsultaAgenda> consultas,
+        List<LocalTime> horariosLivres) {
+}
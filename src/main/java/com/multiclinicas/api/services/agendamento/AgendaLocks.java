@@ -0,0 +1,99 @@
+package com.multiclinicas.api.services.agendamento;
+
+import com.multiclinicas.api.exceptions.ResourceConflictException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Serializa escritas na agenda de um médico em um determinado dia.
+ * <p>
+ * Dentro do processo usa um conjunto fixo de locks ("stripes") indexado por
+ * (médico, data), de modo que pacientes disputando o mesmo horário esperam em fila
+ * em vez de colidirem na constraint única de {@code agendamentos}. Entre nós da
+ * aplicação, {@link #bloquearNoBanco(Long, LocalDate)} toma um advisory lock
+ * transacional do PostgreSQL com a mesma chave.
+ */
+@Slf4j
+@Component
+public class AgendaLocks {
+
+    private static final String ADVISORY_LOCK_SQL = "SELECT pg_advisory_xact_lock(?, ?)";
+
+    private final ReentrantLock[] stripes;
+    private final long timeoutMillis;
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+    private volatile Boolean postgres;
+
+    public AgendaLocks(JdbcTemplate jdbcTemplate, DataSource dataSource,
+            @Value("${agendamento.locks.stripes:1024}") int quantidadeStripes,
+            @Value("${agendamento.locks.timeout-ms:5000}") long timeoutMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSource = dataSource;
+        this.timeoutMillis = timeoutMillis;
+        this.stripes = new ReentrantLock[quantidadeStripes];
+        for (int i = 0; i < quantidadeStripes; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Executa {@code acao} segurando o lock local de (médico, data). A ação deve abrir
+     * e confirmar sua própria transação para que o lock só seja liberado após o commit.
+     */
+    public <T> T comLock(Long medicoId, LocalDate data, Supplier<T> acao) {
+        ReentrantLock lock = stripes[Math.floorMod(hash(medicoId, data), stripes.length)];
+        try {
+            if (!lock.tryLock(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new ResourceConflictException("Agenda do médico ocupada no momento. Tente novamente.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResourceConflictException("Agendamento interrompido. Tente novamente.");
+        }
+        try {
+            return acao.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Toma o advisory lock de (médico, data) até o fim da transação corrente.
+     * Em bancos que não são PostgreSQL (ex.: H2 nos testes) não faz nada.
+     */
+    public void bloquearNoBanco(Long medicoId, LocalDate data) {
+        if (!isPostgres()) {
+            return;
+        }
+        jdbcTemplate.query(ADVISORY_LOCK_SQL, rs -> null, medicoId.intValue(), (int) data.toEpochDay());
+    }
+
+    private boolean isPostgres() {
+        if (postgres == null) {
+            try {
+                String produto = JdbcUtils.extractDatabaseMetaData(dataSource,
+                        DatabaseMetaData::getDatabaseProductName);
+                postgres = "PostgreSQL".equalsIgnoreCase(produto);
+            } catch (Exception e) {
+                log.warn("Não foi possível identificar o banco de dados; advisory locks desativados", e);
+                postgres = false;
+            }
+        }
+        return postgres;
+    }
+
+    private static int hash(Long medicoId, LocalDate data) {
+        return 31 * Long.hashCode(medicoId) + Long.hashCode(data.toEpochDay());
+    }
+}
@@ -0,0 +1,248 @@
+package com.multiclinicas.api.services.agendamento;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Mantém as partições mensais de {@code agendamentos} (V7, só no PostgreSQL): cria com
+ * antecedência as dos próximos {@code meses-futuros} meses e, com {@code retencao-meses}
+ * definido, desanexa as mais antigas que isso e as move para o esquema {@value #ESQUEMA_ARQUIVO}
+ * (ou as exclui, com {@code excluir-arquivadas}).
+ * <p>
+ * Cada partição é tratada em sua própria transação curta, com {@code lock_timeout}: se houver
+ * uma transação longa na frente, a etapa desiste e fica para a próxima verificação em vez de
+ * enfileirar as consultas atrás dela.
+ * <ul>
+ * <li>Partição nova: criada solta e anexada. O {@code ATTACH} trava {@code agendamentos} só em
+ * SHARE UPDATE EXCLUSIVE, que não bloqueia leituras e escritas, mas trava por completo e lê a
+ * partição padrão para conferir que nada dela cai no novo intervalo. Os agendamentos do mês que
+ * estavam na padrão passam para a partição nova na mesma transação.</li>
+ * <li>Arquivamento: {@code DETACH PARTITION ... CONCURRENTLY}, fora de transação, que também não
+ * bloqueia leituras e escritas. O PostgreSQL não aceita {@code CONCURRENTLY} quando existe
+ * partição padrão (é o caso da V7); aí o {@code DETACH} comum trava a tabela inteira, mas só
+ * durante a sua própria transação, que não faz mais nada.</li>
+ * </ul>
+ * Entre nós da aplicação, um advisory lock de sessão, na conexão usada para a manutenção, deixa
+ * só um nó fazer a manutenção por vez. Em outros bancos (ex.: H2 nos testes), ou com a tabela
+ * não particionada, não faz nada.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "agendamento.particoes.habilitado", havingValue = "true", matchIfMissing = true)
+public class ParticoesAgendamentos {
+
+    static final String TABELA = "agendamentos";
+    static final String PADRAO = "agendamentos_padrao";
+    static final String ESQUEMA_ARQUIVO = "arquivo";
+
+    // Chave do advisory lock da manutenção ("agen" em ASCII), distinta das chaves (médico, dia)
+    private static final long LOCK = 0x6167656EL;
+    private static final Pattern NOME_MENSAL = Pattern.compile("agendamentos_(\\d{4})_(\\d{2})");
+    private static final DateTimeFormatter SUFIXO = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+    private final int mesesFuturos;
+    private final int retencaoMeses;
+    private final boolean excluirArquivadas;
+    private final Duration lockTimeout;
+    private volatile Boolean particionada;
+
+    public ParticoesAgendamentos(JdbcTemplate jdbcTemplate, DataSource dataSource,
+            @Value("${agendamento.particoes.meses-futuros:12}") int mesesFuturos,
+            @Value("${agendamento.particoes.retencao-meses:0}") int retencaoMeses,
+            @Value("${agendamento.particoes.excluir-arquivadas:false}") boolean excluirArquivadas,
+            @Value("${agendamento.particoes.lock-timeout:5s}") Duration lockTimeout) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSource = dataSource;
+        this.mesesFuturos = mesesFuturos;
+        this.retencaoMeses = retencaoMeses;
+        this.excluirArquivadas = excluirArquivadas;
+        this.lockTimeout = lockTimeout;
+    }
+
+    @Scheduled(fixedDelayString = "${agendamento.particoes.verificacao:6h}")
+    public void manter() {
+        try {
+            manter(LocalDate.now());
+        } catch (RuntimeException e) {
+            log.error("Falha na manutenção das partições de agendamentos", e);
+        }
+    }
+
+    /**
+     * Garante as partições do mês de {@code hoje} até {@code meses-futuros} à frente e arquiva
+     * as anteriores à retenção. Devolve {@code false} se não há o que manter ou se outro nó
+     * está fazendo a manutenção. Uma partição que falha (ex.: {@code lock_timeout}) é registrada
+     * no log e tentada de novo na próxima verificação, sem impedir as demais.
+     */
+    boolean manter(LocalDate hoje) {
+        if (!isParticionada()) {
+            return false;
+        }
+        // Todas as etapas na mesma conexão, que segura o advisory lock entre as transações
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) conexao -> {
+            JdbcTemplate jdbc = new JdbcTemplate(new SingleConnectionDataSource(conexao, true));
+            boolean autoCommit = conexao.getAutoCommit();
+            conexao.setAutoCommit(true);
+            try {
+                if (!Boolean.TRUE.equals(jdbc.queryForObject("SELECT pg_try_advisory_lock(?)", Boolean.class,
+                        LOCK))) {
+                    return false;
+                }
+                try {
+                    manter(conexao, jdbc, hoje);
+                } finally {
+                    jdbc.queryForObject("SELECT pg_advisory_unlock(?)", Boolean.class, LOCK);
+                }
+                return true;
+            } finally {
+                conexao.setAutoCommit(autoCommit);
+            }
+        }));
+    }
+
+    private void manter(Connection conexao, JdbcTemplate jdbc, LocalDate hoje) {
+        List<String> existentes = particoes(jdbc);
+        boolean comPadrao = existentes.contains(PADRAO);
+        YearMonth atual = YearMonth.from(hoje);
+        for (int i = 0; i <= mesesFuturos; i++) {
+            YearMonth mes = atual.plusMonths(i);
+            if (!existentes.contains(nome(mes))) {
+                etapa("criar", nome(mes), () -> emTransacao(conexao, jdbc, () -> criar(jdbc, mes, comPadrao)));
+            }
+        }
+        if (retencaoMeses > 0) {
+            YearMonth limite = atual.minusMonths(retencaoMeses);
+            for (String particao : existentes) {
+                if (mes(particao).filter(mes -> mes.isBefore(limite)).isPresent()) {
+                    etapa("arquivar", particao, () -> arquivar(conexao, jdbc, particao, comPadrao));
+                }
+            }
+        }
+    }
+
+    static String nome(YearMonth mes) {
+        return TABELA + "_" + mes.format(SUFIXO);
+    }
+
+    static Optional<YearMonth> mes(String particao) {
+        Matcher matcher = NOME_MENSAL.matcher(particao);
+        return matcher.matches()
+                ? Optional.of(YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2))))
+                : Optional.empty();
+    }
+
+    List<String> particoes() {
+        return particoes(jdbcTemplate);
+    }
+
+    private static List<String> particoes(JdbcTemplate jdbc) {
+        return jdbc.queryForList("SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+                + "WHERE i.inhparent = to_regclass(?) ORDER BY c.relname", String.class, TABELA);
+    }
+
+    private void criar(JdbcTemplate jdbc, YearMonth mes, boolean comPadrao) {
+        String nome = nome(mes);
+        LocalDate inicio = mes.atDay(1);
+        LocalDate fim = mes.plusMonths(1).atDay(1);
+
+        jdbc.execute("CREATE TABLE " + nome + " (LIKE " + TABELA + " INCLUDING DEFAULTS)");
+        int movidos = comPadrao
+                ? jdbc.update("WITH movidos AS (DELETE FROM " + PADRAO
+                        + " WHERE data_consulta >= ? AND data_consulta < ? RETURNING *) "
+                        + "INSERT INTO " + nome + " SELECT * FROM movidos", inicio, fim)
+                : 0;
+        // Os índices, a chave primária e as FKs da tabela são criados na partição ao anexar
+        jdbc.execute("ALTER TABLE " + TABELA + " ATTACH PARTITION " + nome
+                + " FOR VALUES FROM ('" + inicio + "') TO ('" + fim + "')");
+        log.info("Partição {} criada ({} agendamentos vindos de {})", nome, movidos, PADRAO);
+    }
+
+    private void arquivar(Connection conexao, JdbcTemplate jdbc, String particao, boolean comPadrao)
+            throws SQLException {
+        if (Boolean.TRUE.equals(jdbc.queryForObject("SELECT inhdetachpending FROM pg_inherits "
+                + "WHERE inhrelid = to_regclass(?)", Boolean.class, particao))) {
+            // Um DETACH CONCURRENTLY anterior foi interrompido no meio
+            jdbc.execute("ALTER TABLE " + TABELA + " DETACH PARTITION " + particao + " FINALIZE");
+        } else if (comPadrao) {
+            emTransacao(conexao, jdbc, () -> jdbc.execute("ALTER TABLE " + TABELA + " DETACH PARTITION " + particao));
+        } else {
+            // Não pode rodar dentro de transação: a conexão está em autocommit
+            jdbc.execute("ALTER TABLE " + TABELA + " DETACH PARTITION " + particao + " CONCURRENTLY");
+        }
+        // Daqui em diante a tabela já está solta e ninguém mais a lê pela tabela particionada
+        if (excluirArquivadas) {
+            jdbc.execute("DROP TABLE " + particao);
+            log.info("Partição {} desanexada e excluída", particao);
+        } else {
+            jdbc.execute("ALTER TABLE " + particao + " SET SCHEMA " + ESQUEMA_ARQUIVO);
+            log.info("Partição {} desanexada e movida para o esquema {}", particao, ESQUEMA_ARQUIVO);
+        }
+    }
+
+    private void emTransacao(Connection conexao, JdbcTemplate jdbc, Runnable passos) throws SQLException {
+        conexao.setAutoCommit(false);
+        try {
+            jdbc.execute("SET LOCAL lock_timeout = '" + lockTimeout.toMillis() + "ms'");
+            passos.run();
+            conexao.commit();
+        } catch (RuntimeException e) {
+            conexao.rollback();
+            throw e;
+        } finally {
+            conexao.setAutoCommit(true);
+        }
+    }
+
+    private static void etapa(String operacao, String particao, Etapa etapa) {
+        try {
+            etapa.executar();
+        } catch (SQLException | DataAccessException e) {
+            log.warn("Não foi possível {} a partição {}; nova tentativa na próxima verificação", operacao,
+                    particao, e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Etapa {
+
+        void executar() throws SQLException;
+    }
+
+    private boolean isParticionada() {
+        if (particionada == null) {
+            try {
+                String produto = JdbcUtils.extractDatabaseMetaData(dataSource,
+                        DatabaseMetaData::getDatabaseProductName);
+                particionada = "PostgreSQL".equalsIgnoreCase(produto) && "p".equals(jdbcTemplate.queryForObject(
+                        "SELECT CAST(relkind AS TEXT) FROM pg_class WHERE oid = to_regclass(?)", String.class, TABELA));
+            } catch (Exception e) {
+                log.warn("Não foi possível verificar o particionamento de agendamentos; manutenção desativada", e);
+                particionada = false;
+            }
+        }
+        return particionada;
+    }
+}
@@ -0,0 +1,206 @@
+package com.multiclinicas.api.services.autocomplete;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+import com.multiclinicas.api.busca.TextoBusca;
+
+/**
+ * Índice imutável de prefixos dos nomes de uma clínica. Cada nome entra normalizado
+ * ({@link TextoBusca}) uma vez por palavra: a posição {@code k} aponta para a sugestão
+ * {@code entradas[k]} a partir do caractere {@code inicios[k]}, e as posições ficam ordenadas pelo
+ * texto a partir desse caractere. Assim "sil" encontra "Ana Silva" por busca binária, sem guardar
+ * substrings: além dos nomes, o índice são dois {@code int[]} com uma posição por palavra.
+ * <p>
+ * {@link #com(Sugestao)} e {@link #sem(TipoSugestao, Long)} devolvem um índice novo, copiando os
+ * vetores e inserindo ou removendo só as posições da sugestão alterada. O índice em uso nunca muda,
+ * então a leitura não precisa de lock.
+ */
+public final class IndicePrefixos {
+
+    private final Sugestao[] sugestoes;
+    private final String[] normalizados;
+    private final int[] entradas;
+    private final int[] inicios;
+
+    private IndicePrefixos(Sugestao[] sugestoes, String[] normalizados, int[] entradas, int[] inicios) {
+        this.sugestoes = sugestoes;
+        this.normalizados = normalizados;
+        this.entradas = entradas;
+        this.inicios = inicios;
+    }
+
+    public static IndicePrefixos de(Collection<Sugestao> sugestoes) {
+        Sugestao[] todas = sugestoes.stream()
+                .filter(sugestao -> sugestao.nome() != null)
+                .toArray(Sugestao[]::new);
+        String[] normalizados = new String[todas.length];
+        List<int[]> posicoes = new ArrayList<>();
+        for (int i = 0; i < todas.length; i++) {
+            normalizados[i] = TextoBusca.normalizar(todas[i].nome());
+            for (int inicio : inicioDasPalavras(normalizados[i])) {
+                posicoes.add(new int[] { i, inicio });
+            }
+        }
+        posicoes.sort((a, b) -> comparar(normalizados[a[0]], a[1], normalizados[b[0]], b[1]));
+
+        int[] entradas = new int[posicoes.size()];
+        int[] inicios = new int[posicoes.size()];
+        for (int k = 0; k < entradas.length; k++) {
+            entradas[k] = posicoes.get(k)[0];
+            inicios[k] = posicoes.get(k)[1];
+        }
+        return new IndicePrefixos(todas, normalizados, entradas, inicios);
+    }
+
+    /** Inclui a sugestão ou substitui a de mesmo tipo e id. */
+    public IndicePrefixos com(Sugestao sugestao) {
+        IndicePrefixos base = sem(sugestao.tipo(), sugestao.id());
+        if (sugestao.nome() == null) {
+            return base;
+        }
+        int nova = base.sugestoes.length;
+        Sugestao[] sugestoes = Arrays.copyOf(base.sugestoes, nova + 1);
+        String[] normalizados = Arrays.copyOf(base.normalizados, nova + 1);
+        sugestoes[nova] = sugestao;
+        normalizados[nova] = TextoBusca.normalizar(sugestao.nome());
+
+        int[] palavras = inicioDasPalavras(normalizados[nova]);
+        int[] entradas = new int[base.entradas.length + palavras.length];
+        int[] inicios = new int[entradas.length];
+        // Intercala as posições novas (já em ordem entre si) com as existentes
+        Integer[] novas = Arrays.stream(palavras).boxed()
+                .sorted((a, b) -> comparar(normalizados[nova], a, normalizados[nova], b))
+                .toArray(Integer[]::new);
+        int k = 0;
+        int n = 0;
+        for (int destino = 0; destino < entradas.length; destino++) {
+            boolean usarNova = n < novas.length && (k == base.entradas.length
+                    || comparar(normalizados[nova], novas[n], normalizados[base.entradas[k]], base.inicios[k]) < 0);
+            if (usarNova) {
+                entradas[destino] = nova;
+                inicios[destino] = novas[n++];
+            } else {
+                entradas[destino] = base.entradas[k];
+                inicios[destino] = base.inicios[k++];
+            }
+        }
+        return new IndicePrefixos(sugestoes, normalizados, entradas, inicios);
+    }
+
+    /** Remove a sugestão de mesmo tipo e id, se houver. */
+    public IndicePrefixos sem(TipoSugestao tipo, Long id) {
+        int removida = -1;
+        for (int i = 0; i < sugestoes.length; i++) {
+            if (sugestoes[i].tipo() == tipo && sugestoes[i].id().equals(id)) {
+                removida = i;
+                break;
+            }
+        }
+        if (removida < 0) {
+            return this;
+        }
+
+        Sugestao[] restantes = new Sugestao[sugestoes.length - 1];
+        String[] normalizadosRestantes = new String[restantes.length];
+        System.arraycopy(sugestoes, 0, restantes, 0, removida);
+        System.arraycopy(sugestoes, removida + 1, restantes, removida, restantes.length - removida);
+        System.arraycopy(normalizados, 0, normalizadosRestantes, 0, removida);
+        System.arraycopy(normalizados, removida + 1, normalizadosRestantes, removida, restantes.length - removida);
+
+        int palavras = inicioDasPalavras(normalizados[removida]).length;
+        int[] entradasRestantes = new int[entradas.length - palavras];
+        int[] iniciosRestantes = new int[entradasRestantes.length];
+        int destino = 0;
+        for (int k = 0; k < entradas.length; k++) {
+            if (entradas[k] != removida) {
+                // As sugestões depois da removida descem uma posição
+                entradasRestantes[destino] = entradas[k] > removida ? entradas[k] - 1 : entradas[k];
+                iniciosRestantes[destino++] = inicios[k];
+            }
+        }
+        return new IndicePrefixos(restantes, normalizadosRestantes, entradasRestantes, iniciosRestantes);
+    }
+
+    /**
+     * Sugestões com alguma palavra começando pelo termo (já normalizado). Primeiro as que começam
+     * pelo termo, depois as que o têm no meio do nome, cada grupo em ordem alfabética.
+     */
+    public List<Sugestao> buscar(String termo, int limite) {
+        if (termo.isEmpty() || limite < 1) {
+            return List.of();
+        }
+        List<int[]> encontradas = new ArrayList<>();
+        for (int k = primeiraPosicao(termo); k < entradas.length
+                && normalizados[entradas[k]].startsWith(termo, inicios[k]); k++) {
+            encontradas.add(new int[] { entradas[k], inicios[k] });
+        }
+        encontradas.sort(Comparator.<int[]>comparingInt(posicao -> posicao[1] == 0 ? 0 : 1)
+                .thenComparing(posicao -> normalizados[posicao[0]])
+                .thenComparingInt(posicao -> posicao[0]));
+
+        // Um nome com duas palavras começando pelo termo aparece uma vez só
+        BitSet incluidas = new BitSet(sugestoes.length);
+        List<Sugestao> resultado = new ArrayList<>(Math.min(limite, encontradas.size()));
+        for (int[] posicao : encontradas) {
+            if (resultado.size() == limite) {
+                break;
+            }
+            if (!incluidas.get(posicao[0])) {
+                incluidas.set(posicao[0]);
+                resultado.add(sugestoes[posicao[0]]);
+            }
+        }
+        return resultado;
+    }
+
+    public int tamanho() {
+        return sugestoes.length;
+    }
+
+    // Primeira posição cujo texto é maior ou igual ao termo
+    private int primeiraPosicao(String termo) {
+        int baixo = 0;
+        int alto = entradas.length;
+        while (baixo < alto) {
+            int meio = (baixo + alto) >>> 1;
+            if (comparar(normalizados[entradas[meio]], inicios[meio], termo, 0) < 0) {
+                baixo = meio + 1;
+            } else {
+                alto = meio;
+            }
+        }
+        return baixo;
+    }
+
+    private static int[] inicioDasPalavras(String normalizado) {
+        if (normalizado.isEmpty()) {
+            return new int[0];
+        }
+        int[] inicios = new int[(int) normalizado.chars().filter(c -> c == ' ').count() + 1];
+        int palavra = 1;
+        for (int i = 0; i < normalizado.length(); i++) {
+            if (normalizado.charAt(i) == ' ') {
+                inicios[palavra++] = i + 1;
+            }
+        }
+        return inicios;
+    }
+
+    // Compara a.substring(de) com b.substring(deB) sem criar as substrings
+    private static int comparar(String a, int de, String b, int deB) {
+        int tamanho = Math.min(a.length() - de, b.length() - deB);
+        for (int i = 0; i < tamanho; i++) {
+            char x = a.charAt(de + i);
+            char y = b.charAt(deB + i);
+            if (x != y) {
+                return x - y;
+            }
+        }
+        return (a.length() - de) - (b.length() - deB);
+    }
+}
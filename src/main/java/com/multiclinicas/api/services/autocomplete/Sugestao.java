@@ -0,0 +1,8 @@
+package com.multiclinicas.api.services.autocomplete;
+
+// Um nome do catálogo da clínica oferecido no autocompletar do portal
+public record Sugestao(
+        TipoSugestao tipo,
+        Long id,
+        String nome) {
+}
@@ -0,0 +1,6 @@
+package com.multiclinicas.api.services.autocomplete;
+
+public enum TipoSugestao {
+    MEDICO,
+    ESPECIALIDADE
+}
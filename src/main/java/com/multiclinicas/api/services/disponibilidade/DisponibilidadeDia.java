@@ -0,0 +1,10 @@
+package com.multiclinicas.api.services.disponibilidade;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+public record DisponibilidadeDia(
+        LocalDate data,
+        List<LocalTime> horariosLivres) {
+}
@@ -0,0 +1,157 @@
+package com.multiclinicas.api.services.disponibilidade;
+
+import com.multiclinicas.api.repositories.projections.HorarioOcupado;
+import com.multiclinicas.api.repositories.projections.IntervaloGrade;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.TreeSet;
+
+/**
+ * Grade semanal de um médico pré-compilada em slots.
+ * <p>
+ * Para cada dia da semana guarda os inícios dos slots (minutos desde a meia-noite,
+ * ordenados) e um bitmap-modelo com um bit ligado por slot. A disponibilidade de uma
+ * data é obtida clonando o modelo e removendo os horários ocupados com
+ * {@link BitSet#andNot(BitSet)}, sem criar um objeto por slot.
+ */
+public final class GradeSemanal {
+
+    private static final int DIAS_SEMANA = 7;
+
+    private final int duracaoConsulta;
+    private final int[][] inicios;
+    private final BitSet[] modelos;
+
+    private GradeSemanal(int duracaoConsulta, int[][] inicios) {
+        this.duracaoConsulta = duracaoConsulta;
+        this.inicios = inicios;
+        this.modelos = new BitSet[DIAS_SEMANA];
+        for (int dia = 0; dia < DIAS_SEMANA; dia++) {
+            BitSet modelo = new BitSet(inicios[dia].length);
+            modelo.set(0, inicios[dia].length);
+            modelos[dia] = modelo;
+        }
+    }
+
+    /**
+     * Divide cada intervalo da grade em slots de {@code duracaoConsulta} minutos
+     * (README, regra 2). Slots que não cabem inteiros no intervalo são descartados.
+     */
+    public static GradeSemanal compilar(Collection<IntervaloGrade> intervalos, int duracaoConsulta) {
+        if (duracaoConsulta <= 0) {
+            throw new IllegalArgumentException("Duração da consulta deve ser maior que zero");
+        }
+
+        @SuppressWarnings("unchecked")
+        TreeSet<Integer>[] porDia = new TreeSet[DIAS_SEMANA];
+        for (int dia = 0; dia < DIAS_SEMANA; dia++) {
+            porDia[dia] = new TreeSet<>();
+        }
+
+        for (IntervaloGrade intervalo : intervalos) {
+            int dia = intervalo.diaSemana();
+            int fim = minutos(intervalo.horaFim());
+            for (int inicio = minutos(intervalo.horaInicio()); inicio + duracaoConsulta <= fim; inicio += duracaoConsulta) {
+                porDia[dia].add(inicio);
+            }
+        }
+
+        int[][] inicios = new int[DIAS_SEMANA][];
+        for (int dia = 0; dia < DIAS_SEMANA; dia++) {
+            inicios[dia] = porDia[dia].stream().mapToInt(Integer::intValue).toArray();
+        }
+        return new GradeSemanal(duracaoConsulta, inicios);
+    }
+
+    public int getDuracaoConsulta() {
+        return duracaoConsulta;
+    }
+
+    /** Indica se o médico atende no dia da semana da data. */
+    public boolean atendeEm(LocalDate data) {
+        return inicios[diaSemana(data)].length > 0;
+    }
+
+    /** Bitmap com todos os slots do dia ligados (nova instância a cada chamada). */
+    public BitSet modelo(LocalDate data) {
+        return (BitSet) modelos[diaSemana(data)].clone();
+    }
+
+    /**
+     * Marca em {@code ocupados} todos os slots do dia que se sobrepõem ao intervalo
+     * [{@code inicio}, {@code fim}).
+     */
+    public void marcarOcupado(LocalDate data, LocalTime inicio, LocalTime fim, BitSet ocupados) {
+        int[] slots = inicios[diaSemana(data)];
+        int inicioMin = minutos(inicio);
+        int fimMin = fim != null && fim.isAfter(inicio) ? minutos(fim) : inicioMin + duracaoConsulta;
+
+        // primeiro slot que termina depois do início do agendamento
+        int i = primeiroIndiceMaiorQue(slots, inicioMin - duracaoConsulta);
+        for (; i < slots.length && slots[i] < fimMin; i++) {
+            ocupados.set(i);
+        }
+    }
+
+    /** Calcula os slots livres de uma data descontando os horários ocupados. */
+    public BitSet livres(LocalDate data, Collection<HorarioOcupado> ocupadosNoDia) {
+        BitSet livres = modelo(data);
+        if (ocupadosNoDia.isEmpty() || livres.isEmpty()) {
+            return livres;
+        }
+        BitSet ocupados = new BitSet(livres.length());
+        for (HorarioOcupado ocupado : ocupadosNoDia) {
+            marcarOcupado(data, ocupado.horaInicio(), ocupado.horaFim(), ocupados);
+        }
+        livres.andNot(ocupados);
+        return livres;
+    }
+
+    /** Índice do slot que começa exatamente em {@code hora}, ou -1 se não for um início de slot. */
+    public int indiceDoSlot(LocalDate data, LocalTime hora) {
+        int indice = Arrays.binarySearch(inicios[diaSemana(data)], minutos(hora));
+        return indice >= 0 ? indice : -1;
+    }
+
+    public LocalTime horario(LocalDate data, int indice) {
+        return LocalTime.ofSecondOfDay(inicios[diaSemana(data)][indice] * 60L);
+    }
+
+    /** Converte os bits ligados do bitmap em horários do dia. */
+    public LocalTime[] horarios(LocalDate data, BitSet slots) {
+        int[] dia = inicios[diaSemana(data)];
+        LocalTime[] horarios = new LocalTime[slots.cardinality()];
+        int n = 0;
+        for (int i = slots.nextSetBit(0); i >= 0; i = slots.nextSetBit(i + 1)) {
+            horarios[n++] = LocalTime.ofSecondOfDay(dia[i] * 60L);
+        }
+        return horarios;
+    }
+
+    // 0=Dom, 1=Seg, ... 6=Sab (mesma convenção de GradeHorario.diaSemana)
+    public static int diaSemana(LocalDate data) {
+        return data.getDayOfWeek().getValue() % DIAS_SEMANA;
+    }
+
+    private static int minutos(LocalTime hora) {
+        return hora.getHour() * 60 + hora.getMinute();
+    }
+
+    private static int primeiroIndiceMaiorQue(int[] ordenado, int valor) {
+        int baixo = 0;
+        int alto = ordenado.length;
+        while (baixo < alto) {
+            int meio = (baixo + alto) >>> 1;
+            if (ordenado[meio] <= valor) {
+                baixo = meio + 1;
+            } else {
+                alto = meio;
+            }
+        }
+        return baixo;
+    }
+}
@@ -0,0 +1,75 @@
+package com.multiclinicas.api.services.exportacao;
+
+import com.multiclinicas.api.dtos.EnderecoDTO;
+import com.multiclinicas.api.dtos.PacienteDTO;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+// CSV (RFC 4180) com o endereço achatado em colunas
+class EscritorCsv implements EscritorPacientes {
+
+    static final String CABECALHO = "id,clinicaId,nome,email,cpf,telefone,telefoneSecundario,"
+            + "cep,logradouro,numero,complemento,bairro,cidade,estado,pais";
+
+    private final Writer writer;
+
+    EscritorCsv(OutputStream out) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        try {
+            writer.write(CABECALHO);
+            writer.write("\r\n");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void escrever(PacienteDTO paciente) throws IOException {
+        EnderecoDTO endereco = paciente.endereco();
+        coluna(paciente.id(), true);
+        coluna(paciente.clinicaId(), false);
+        coluna(paciente.nome(), false);
+        coluna(paciente.email(), false);
+        coluna(paciente.cpf(), false);
+        coluna(paciente.telefone(), false);
+        coluna(paciente.telefoneSecundario(), false);
+        coluna(endereco != null ? endereco.cep() : null, false);
+        coluna(endereco != null ? endereco.logradouro() : null, false);
+        coluna(endereco != null ? endereco.numero() : null, false);
+        coluna(endereco != null ? endereco.complemento() : null, false);
+        coluna(endereco != null ? endereco.bairro() : null, false);
+        coluna(endereco != null ? endereco.cidade() : null, false);
+        coluna(endereco != null ? endereco.estado() : null, false);
+        coluna(endereco != null ? endereco.pais() : null, false);
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.flush();
+    }
+
+    private void coluna(Object valor, boolean primeira) throws IOException {
+        if (!primeira) {
+            writer.write(',');
+        }
+        if (valor == null) {
+            return;
+        }
+        String texto = valor.toString();
+        if (texto.indexOf(',') < 0 && texto.indexOf('"') < 0 && texto.indexOf('\n') < 0
+                && texto.indexOf('\r') < 0) {
+            writer.write(texto);
+            return;
+        }
+        writer.write('"');
+        writer.write(texto.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
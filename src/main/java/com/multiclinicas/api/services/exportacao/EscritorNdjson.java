@@ -0,0 +1,42 @@
+package com.multiclinicas.api.services.exportacao;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.multiclinicas.api.dtos.PacienteDTO;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+// Um objeto JSON por linha, com o mesmo formato de GET /pacientes
+class EscritorNdjson implements EscritorPacientes {
+
+    private final JsonGenerator generator;
+    private boolean vazio = true;
+
+    EscritorNdjson(OutputStream out, ObjectMapper objectMapper) {
+        try {
+            this.generator = objectMapper.createGenerator(out)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void escrever(PacienteDTO paciente) throws IOException {
+        generator.writeObject(paciente);
+        vazio = false;
+    }
+
+    @Override
+    public void close() throws IOException {
+        // o separador entre objetos não termina a última linha
+        if (!vazio) {
+            generator.writeRaw('\n');
+        }
+        generator.close();
+    }
+}
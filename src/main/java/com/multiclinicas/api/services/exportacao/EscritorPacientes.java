@@ -0,0 +1,15 @@
+package com.multiclinicas.api.services.exportacao;
+
+import com.multiclinicas.api.dtos.PacienteDTO;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Escreve pacientes um a um no corpo da resposta, sem acumular registros em memória.
+ * {@link #close()} descarrega o buffer mas não fecha o stream de saída.
+ */
+public interface EscritorPacientes extends Closeable {
+
+    void escrever(PacienteDTO paciente) throws IOException;
+}
@@ -0,0 +1,46 @@
+package com.multiclinicas.api.services.exportacao;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.multiclinicas.api.exceptions.BusinessException;
+import org.springframework.http.MediaType;
+
+import java.io.OutputStream;
+import java.util.Locale;
+
+/** Formatos aceitos pela exportação de pacientes ({@code GET /pacientes/export?formato=}). */
+public enum FormatoExportacao {
+
+    NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson"),
+    CSV(MediaType.parseMediaType("text/csv;charset=UTF-8"), "csv");
+
+    private final MediaType mediaType;
+    private final String extensao;
+
+    FormatoExportacao(MediaType mediaType, String extensao) {
+        this.mediaType = mediaType;
+        this.extensao = extensao;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtensao() {
+        return extensao;
+    }
+
+    public static FormatoExportacao of(String formato) {
+        try {
+            return valueOf(formato.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Formato de exportação inválido: " + formato + ". Use ndjson ou csv");
+        }
+    }
+
+    public EscritorPacientes criarEscritor(OutputStream out, ObjectMapper objectMapper) {
+        return switch (this) {
+            case NDJSON -> new EscritorNdjson(out, objectMapper);
+            case CSV -> new EscritorCsv(out);
+        };
+    }
+}
@@ -0,0 +1,27 @@
+package com.multiclinicas.api.services.importacao;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+
+import java.io.InputStream;
+
+/** Formatos aceitos por {@code POST /pacientes/import}, identificados pelo Content-Type. */
+public enum FormatoImportacao {
+
+    CSV,
+    NDJSON;
+
+    public static final String TEXT_CSV = "text/csv";
+    public static final String APPLICATION_NDJSON = "application/x-ndjson";
+
+    public static FormatoImportacao of(MediaType contentType) {
+        return MediaType.parseMediaType(TEXT_CSV).isCompatibleWith(contentType) ? CSV : NDJSON;
+    }
+
+    public LeitorPacientes criarLeitor(InputStream in, ObjectMapper objectMapper) {
+        return switch (this) {
+            case CSV -> new LeitorCsv(in);
+            case NDJSON -> new LeitorNdjson(in, objectMapper);
+        };
+    }
+}
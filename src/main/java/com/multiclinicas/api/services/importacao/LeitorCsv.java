@@ -0,0 +1,148 @@
+package com.multiclinicas.api.services.importacao;
+
+import com.multiclinicas.api.dtos.PacienteImportDTO;
+import com.multiclinicas.api.exceptions.BusinessException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * CSV (RFC 4180) com cabeçalho na primeira linha. As colunas são identificadas pelo
+ * nome, sem diferenciar maiúsculas, e colunas desconhecidas são ignoradas. Campos entre
+ * aspas podem conter vírgulas, aspas duplicadas ({@code ""}) e quebras de linha.
+ */
+class LeitorCsv implements LeitorPacientes {
+
+    private static final String[] COLUNAS_OBRIGATORIAS = { "nome", "cpf" };
+
+    private final BufferedReader reader;
+    private final Map<String, Integer> indices = new HashMap<>();
+    private int quantidadeColunas;
+    private final StringBuilder campo = new StringBuilder();
+    private long numeroLinha = 1;
+    private boolean fim;
+
+    LeitorCsv(InputStream in) {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public LinhaImportacao proxima() throws IOException {
+        if (quantidadeColunas == 0) {
+            lerCabecalho();
+        }
+
+        List<String> campos;
+        long inicio;
+        do {
+            inicio = numeroLinha;
+            campos = lerRegistro();
+            if (campos == null) {
+                return null;
+            }
+        } while (campos.size() == 1 && campos.get(0).isBlank());
+
+        if (campos.size() != quantidadeColunas) {
+            return LinhaImportacao.invalida(inicio, "Quantidade de colunas (" + campos.size()
+                    + ") diferente do cabeçalho (" + quantidadeColunas + ")");
+        }
+
+        return LinhaImportacao.valida(inicio, new PacienteImportDTO(
+                valor(campos, "nome"),
+                valor(campos, "email"),
+                valor(campos, "cpf"),
+                valor(campos, "telefone"),
+                valor(campos, "telefonesecundario")));
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void lerCabecalho() throws IOException {
+        List<String> cabecalho = lerRegistro();
+        if (cabecalho == null) {
+            throw new BusinessException("Arquivo CSV vazio: o cabeçalho é obrigatório");
+        }
+        quantidadeColunas = cabecalho.size();
+        for (int i = 0; i < cabecalho.size(); i++) {
+            // aceita telefoneSecundario e telefone_secundario; remove o BOM que o Excel grava no início
+            String nome = cabecalho.get(i).replace("\uFEFF", "").trim().replace("_", "").toLowerCase(Locale.ROOT);
+            indices.putIfAbsent(nome, i);
+        }
+        for (String obrigatoria : COLUNAS_OBRIGATORIAS) {
+            if (!indices.containsKey(obrigatoria)) {
+                throw new BusinessException("Coluna obrigatória ausente no cabeçalho do CSV: " + obrigatoria);
+            }
+        }
+    }
+
+    private String valor(List<String> campos, String coluna) {
+        Integer indice = indices.get(coluna);
+        if (indice == null || indice >= campos.size()) {
+            return null;
+        }
+        String valor = campos.get(indice).trim();
+        return valor.isEmpty() ? null : valor;
+    }
+
+    // Lê um registro completo (que pode ocupar várias linhas físicas se houver aspas)
+    private List<String> lerRegistro() throws IOException {
+        if (fim) {
+            return null;
+        }
+        List<String> campos = new ArrayList<>();
+        campo.setLength(0);
+        boolean entreAspas = false;
+        boolean leuAlgo = false;
+
+        int c;
+        while ((c = reader.read()) != -1) {
+            leuAlgo = true;
+            char ch = (char) c;
+            if (entreAspas) {
+                if (ch == '"') {
+                    reader.mark(1);
+                    if (reader.read() == '"') {
+                        campo.append('"');
+                    } else {
+                        reader.reset();
+                        entreAspas = false;
+                    }
+                } else {
+                    if (ch == '\n') {
+                        numeroLinha++;
+                    }
+                    campo.append(ch);
+                }
+            } else if (ch == '"') {
+                entreAspas = true;
+            } else if (ch == ',') {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else if (ch == '\n') {
+                numeroLinha++;
+                campos.add(campo.toString());
+                return campos;
+            } else if (ch != '\r') {
+                campo.append(ch);
+            }
+        }
+
+        fim = true;
+        if (!leuAlgo) {
+            return null;
+        }
+        campos.add(campo.toString());
+        return campos;
+    }
+}
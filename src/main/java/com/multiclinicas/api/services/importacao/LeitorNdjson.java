@@ -0,0 +1,50 @@
+package com.multiclinicas.api.services.importacao;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.multiclinicas.api.dtos.PacienteImportDTO;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+// Um objeto JSON por linha; linhas em branco são ignoradas
+class LeitorNdjson implements LeitorPacientes {
+
+    private final BufferedReader reader;
+    private final ObjectReader objectReader;
+    private long numeroLinha;
+
+    LeitorNdjson(InputStream in, ObjectMapper objectMapper) {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        this.objectReader = objectMapper.readerFor(PacienteImportDTO.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    @Override
+    public LinhaImportacao proxima() throws IOException {
+        String linha;
+        do {
+            linha = reader.readLine();
+            if (linha == null) {
+                return null;
+            }
+            numeroLinha++;
+        } while (linha.isBlank());
+
+        try {
+            return LinhaImportacao.valida(numeroLinha, objectReader.readValue(linha));
+        } catch (JsonProcessingException e) {
+            return LinhaImportacao.invalida(numeroLinha, "JSON inválido: " + e.getOriginalMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,11 @@
+package com.multiclinicas.api.services.importacao;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/** Lê o arquivo de importação um registro por vez, sem carregá-lo inteiro em memória. */
+public interface LeitorPacientes extends Closeable {
+
+    /** Próximo registro do arquivo, ou {@code null} ao chegar ao fim. */
+    LinhaImportacao proxima() throws IOException;
+}
@@ -0,0 +1,19 @@
+package com.multiclinicas.api.services.importacao;
+
+import com.multiclinicas.api.dtos.PacienteImportDTO;
+
+/**
+ * Registro lido do arquivo. {@code numero} é a linha física onde o registro começa;
+ * quando a linha não pôde ser interpretada, {@code paciente} é nulo e {@code erro}
+ * descreve o problema.
+ */
+public record LinhaImportacao(long numero, PacienteImportDTO paciente, String erro) {
+
+    static LinhaImportacao valida(long numero, PacienteImportDTO paciente) {
+        return new LinhaImportacao(numero, paciente, null);
+    }
+
+    static LinhaImportacao invalida(long numero, String erro) {
+        return new LinhaImportacao(numero, null, erro);
+    }
+}
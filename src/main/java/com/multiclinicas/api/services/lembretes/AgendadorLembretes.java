@@ -0,0 +1,228 @@
+package com.multiclinicas.api.services.lembretes;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.multiclinicas.api.models.enums.StatusAgendamento;
+import com.multiclinicas.api.repositories.AgendamentoRepository;
+import com.multiclinicas.api.repositories.projections.ConsultaAgendada;
+import com.multiclinicas.api.services.OutboxService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Dispara os lembretes de consulta {@code antecedencia} antes do horário (24h por padrão).
+ * <p>
+ * Só o nó que detém o lease {@value #LEASE} trabalha. Ele mantém em memória uma
+ * {@link RodaTemporal} com os lembretes das próximas {@code horizonte} horas e a reabastece
+ * a cada {@code intervalo}, continuando do cursor (data, hora, id) da última consulta
+ * carregada, pelo índice {@code (status, data_consulta, hora_inicio)}. A cada {@code tick}
+ * a roda avança e os lembretes vencidos viram eventos LEMBRETE na outbox, que o
+ * {@code OutboxWorker} entrega.
+ * <p>
+ * Ao assumir o lease a roda começa vazia e o cursor volta {@code atraso-maximo}, para cobrir
+ * o que o dono anterior possa não ter disparado. Lembretes disparados duas vezes (troca de
+ * dono, ou agendamento que gravou o próprio lembrete) param na chave única da outbox.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "notificacoes.lembretes.habilitado", havingValue = "true", matchIfMissing = true)
+public class AgendadorLembretes implements DisposableBean {
+
+    static final String LEASE = "lembretes";
+
+    // 60 baldes por nível: com tick de 1s a roda alcança 60s, 60min e 60h à frente
+    private static final int SLOTS = 60;
+    private static final int NIVEIS = 3;
+
+    private final AgendamentoRepository agendamentoRepository;
+    private final OutboxService outboxService;
+    private final LeaseLider leaseLider;
+    private final JanelaLembretes janela;
+    private final String dono;
+    private final Duration tick;
+    private final Duration duracaoLease;
+    private final Duration atrasoMaximo;
+    private final int tamanhoLote;
+    private final Counter disparados;
+    private final Timer atraso;
+
+    private final Object trava = new Object();
+    // Nulos enquanto este nó não for o dono do lease
+    private RodaTemporal<ConsultaAgendada> roda;
+    private Cursor cursor;
+
+    public AgendadorLembretes(AgendamentoRepository agendamentoRepository, OutboxService outboxService,
+            LeaseLider leaseLider, JanelaLembretes janela, MeterRegistry meterRegistry,
+            @Value("${notificacoes.lembretes.tick:1s}") Duration tick,
+            @Value("${notificacoes.lembretes.lease:60s}") Duration duracaoLease,
+            @Value("${notificacoes.lembretes.atraso-maximo:15m}") Duration atrasoMaximo,
+            @Value("${notificacoes.lembretes.lote:1000}") int tamanhoLote) {
+        this.agendamentoRepository = agendamentoRepository;
+        this.outboxService = outboxService;
+        this.leaseLider = leaseLider;
+        this.janela = janela;
+        this.tick = tick;
+        this.duracaoLease = duracaoLease;
+        this.atrasoMaximo = atrasoMaximo;
+        this.tamanhoLote = tamanhoLote;
+        this.dono = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID();
+
+        this.disparados = meterRegistry.counter("notificacoes.lembretes.disparados");
+        // Do instante previsto do lembrete até a gravação na outbox
+        this.atraso = Timer.builder("notificacoes.lembretes.atraso").register(meterRegistry);
+        Gauge.builder("notificacoes.lembretes.pendentes", this, AgendadorLembretes::pendentes)
+                .register(meterRegistry);
+        Gauge.builder("notificacoes.lembretes.lider", this, a -> a.isLider() ? 1 : 0).register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${notificacoes.lembretes.intervalo:15s}")
+    public void coordenar() {
+        try {
+            coordenar(LocalDateTime.now());
+        } catch (RuntimeException e) {
+            log.error("Falha ao renovar o lease ou recarregar os lembretes", e);
+        }
+    }
+
+    @Scheduled(fixedRateString = "${notificacoes.lembretes.tick:1s}")
+    public void disparar() {
+        disparar(LocalDateTime.now());
+    }
+
+    @Override
+    public void destroy() {
+        synchronized (trava) {
+            if (roda == null) {
+                return;
+            }
+            roda = null;
+            cursor = null;
+        }
+        leaseLider.liberar(LEASE, dono);
+    }
+
+    /** Renova (ou disputa) o lease e, sendo o dono, carrega os lembretes até o horizonte. */
+    void coordenar(LocalDateTime agora) {
+        boolean lider = leaseLider.adquirir(LEASE, dono, agora, duracaoLease);
+        synchronized (trava) {
+            if (!lider) {
+                if (roda != null) {
+                    log.info("Lease de lembretes perdido; descartando {} lembretes em memória", roda.tamanho());
+                    roda = null;
+                    cursor = null;
+                }
+                return;
+            }
+            if (roda == null) {
+                roda = new RodaTemporal<>(tick.toMillis(), SLOTS, NIVEIS, millis(agora));
+                LocalDateTime inicio = agora.plus(janela.getAntecedencia()).minus(atrasoMaximo);
+                cursor = new Cursor(inicio.toLocalDate(), inicio.toLocalTime(), 0L);
+                log.info("Lease de lembretes adquirido por {}", dono);
+            }
+        }
+        recarregar(agora.plus(janela.getAntecedencia()).plus(janela.getHorizonte()));
+    }
+
+    /** Avança a roda até {@code agora} e grava na outbox os lembretes vencidos. */
+    void disparar(LocalDateTime agora) {
+        List<ConsultaAgendada> vencidos;
+        synchronized (trava) {
+            if (roda == null) {
+                return;
+            }
+            vencidos = roda.avancar(millis(agora));
+        }
+        if (vencidos.isEmpty()) {
+            return;
+        }
+
+        try {
+            disparados.increment(outboxService.registrarLembretes(vencidos));
+            for (ConsultaAgendada consulta : vencidos) {
+                Duration atrasoLembrete = Duration.between(
+                        janela.instanteDoLembrete(consulta.dataConsulta(), consulta.horaInicio()), agora);
+                atraso.record(atrasoLembrete.isNegative() ? Duration.ZERO : atrasoLembrete);
+            }
+        } catch (RuntimeException e) {
+            log.error("Falha ao gravar {} lembretes na outbox; nova tentativa no próximo tick", vencidos.size(), e);
+            synchronized (trava) {
+                if (roda != null) {
+                    vencidos.forEach(consulta -> roda.agendar(millis(agora), consulta));
+                }
+            }
+        }
+    }
+
+    boolean isLider() {
+        synchronized (trava) {
+            return roda != null;
+        }
+    }
+
+    int pendentes() {
+        synchronized (trava) {
+            return roda == null ? 0 : roda.tamanho();
+        }
+    }
+
+    // Carrega em lotes as consultas entre o cursor e o limite; a consulta ao banco fica fora da trava
+    private void recarregar(LocalDateTime limite) {
+        while (true) {
+            Cursor atual;
+            synchronized (trava) {
+                if (roda == null) {
+                    return;
+                }
+                atual = cursor;
+            }
+
+            List<ConsultaAgendada> consultas = agendamentoRepository.findConsultasApos(StatusAgendamento.AGENDADO,
+                    atual.data(), atual.hora(), atual.id(), limite.toLocalDate(), limite.toLocalTime(),
+                    Limit.of(tamanhoLote));
+
+            synchronized (trava) {
+                // O lease mudou de mãos enquanto a consulta rodava
+                if (roda == null || cursor != atual) {
+                    return;
+                }
+                for (ConsultaAgendada consulta : consultas) {
+                    long instante = millis(janela.instanteDoLembrete(consulta.dataConsulta(), consulta.horaInicio()));
+                    if (!roda.agendar(instante, consulta)) {
+                        log.warn("Lembrete do agendamento {} além do alcance da roda; horizonte maior que o suportado",
+                                consulta.id());
+                        return;
+                    }
+                    cursor = new Cursor(consulta.dataConsulta(), consulta.horaInicio(), consulta.id());
+                }
+            }
+            if (consultas.size() < tamanhoLote) {
+                return;
+            }
+        }
+    }
+
+    private static long millis(LocalDateTime dataHora) {
+        return dataHora.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private record Cursor(LocalDate data, LocalTime hora, long id) {
+    }
+}
@@ -0,0 +1,53 @@
+package com.multiclinicas.api.services.lembretes;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+
+/**
+ * Quando o lembrete de uma consulta deve sair e quem é responsável por gravá-lo.
+ * <p>
+ * O {@link AgendadorLembretes} carrega as consultas de forma incremental até
+ * {@code agora + antecedencia + horizonte} e não volta atrás. Uma consulta criada depois
+ * dentro desse trecho já percorrido teria o lembrete perdido, por isso o próprio agendamento
+ * grava o lembrete na outbox ({@link #lembreteNaCriacao}). Nos casos em que os dois gravam,
+ * a chave única da outbox fica com um só.
+ */
+@Getter
+@Component
+public class JanelaLembretes {
+
+    private final Duration antecedencia;
+    private final Duration horizonte;
+
+    public JanelaLembretes(@Value("${notificacoes.lembretes.antecedencia:24h}") Duration antecedencia,
+            @Value("${notificacoes.lembretes.horizonte:2h}") Duration horizonte) {
+        this.antecedencia = antecedencia;
+        this.horizonte = horizonte;
+    }
+
+    public LocalDateTime instanteDoLembrete(LocalDate dataConsulta, LocalTime horaInicio) {
+        return dataConsulta.atTime(horaInicio).minus(antecedencia);
+    }
+
+    /**
+     * Instante do lembrete se ele deve ser gravado junto com o agendamento. Vazio quando o
+     * lembrete fica com o agendador (além do horizonte) ou quando a consulta é em menos de
+     * {@code antecedencia} e a confirmação já cumpre o papel do lembrete.
+     */
+    public Optional<LocalDateTime> lembreteNaCriacao(LocalDate dataConsulta, LocalTime horaInicio,
+            LocalDateTime agora) {
+        LocalDateTime instante = instanteDoLembrete(dataConsulta, horaInicio);
+        if (instante.isBefore(agora) || instante.isAfter(agora.plus(horizonte))) {
+            return Optional.empty();
+        }
+        return Optional.of(instante);
+    }
+}
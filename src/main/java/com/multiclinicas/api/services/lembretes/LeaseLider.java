@@ -0,0 +1,52 @@
+package com.multiclinicas.api.services.lembretes;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Lease por nome na tabela {@code leases}: garante que uma tarefa rode em um único nó por vez.
+ * <p>
+ * Adquirir e renovar são o mesmo {@code UPDATE} condicional, atômico no banco: de dois nós
+ * disputando um lease expirado, só um altera a linha. Os horários vêm do relógio da
+ * aplicação, então a duração do lease deve ser bem maior que a diferença entre os relógios
+ * dos nós.
+ */
+@Component
+@RequiredArgsConstructor
+public class LeaseLider {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Adquire o lease para {@code dono}, ou renova se já for dele, até {@code agora + duracao}.
+     * Devolve {@code false} se outro nó detém um lease ainda válido.
+     */
+    public boolean adquirir(String nome, String dono, LocalDateTime agora, Duration duracao) {
+        Timestamp expiraEm = Timestamp.valueOf(agora.plus(duracao));
+        int alteradas = jdbcTemplate.update("UPDATE leases SET dono = ?, expira_em = ? "
+                + "WHERE nome = ? AND (dono = ? OR dono IS NULL OR expira_em < ?)",
+                dono, expiraEm, nome, dono, Timestamp.valueOf(agora));
+        if (alteradas > 0) {
+            return true;
+        }
+        try {
+            return jdbcTemplate.update("INSERT INTO leases (nome, dono, expira_em) SELECT ?, ?, ? "
+                    + "WHERE NOT EXISTS (SELECT 1 FROM leases WHERE nome = ?)",
+                    nome, dono, expiraEm, nome) > 0;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    /** Libera o lease, se ainda for de {@code dono}, para que outro nó assuma sem esperar expirar. */
+    public void liberar(String nome, String dono) {
+        jdbcTemplate.update("UPDATE leases SET dono = NULL WHERE nome = ? AND dono = ?", nome, dono);
+    }
+}
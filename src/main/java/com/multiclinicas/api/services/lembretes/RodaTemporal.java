@@ -0,0 +1,115 @@
+package com.multiclinicas.api.services.lembretes;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Roda temporal hierárquica (hierarchical timing wheel).
+ * <p>
+ * O nível 0 tem {@code slots} baldes de {@code tick} ms; cada nível seguinte tem baldes do
+ * tamanho de uma volta inteira do nível anterior. Agendar e disparar custam O(1) por item,
+ * independente de quantos lembretes estão na roda: quando o nível 0 completa uma volta, o
+ * balde corrente do nível de cima é redistribuído nos níveis de baixo.
+ * <p>
+ * Os itens de um balde do nível 0 disparam no início do balde, então a precisão é de um
+ * {@code tick}. Não é thread-safe: o chamador sincroniza o acesso.
+ */
+class RodaTemporal<T> {
+
+    private final long tick;
+    private final int slots;
+    private final long[] tickDoNivel;
+    private final List<List<Entrada<T>>> baldes;
+    private final List<T> vencidos = new ArrayList<>();
+    private long agora;
+    private int tamanho;
+
+    RodaTemporal(long tickMillis, int slots, int niveis, long inicioMillis) {
+        if (tickMillis <= 0 || slots < 2 || niveis < 1) {
+            throw new IllegalArgumentException("Configuração inválida da roda temporal");
+        }
+        this.tick = tickMillis;
+        this.slots = slots;
+        this.tickDoNivel = new long[niveis];
+        this.baldes = new ArrayList<>(niveis * slots);
+        long duracao = tickMillis;
+        for (int nivel = 0; nivel < niveis; nivel++) {
+            tickDoNivel[nivel] = duracao;
+            duracao = Math.multiplyExact(duracao, slots);
+            for (int slot = 0; slot < slots; slot++) {
+                baldes.add(new ArrayList<>());
+            }
+        }
+        this.agora = inicioMillis - Math.floorMod(inicioMillis, tickMillis);
+    }
+
+    /**
+     * Agenda {@code item} para {@code instanteMillis}. Instantes já vencidos saem no próximo
+     * {@link #avancar}. Devolve {@code false} se o instante está além do alcance da roda.
+     */
+    boolean agendar(long instanteMillis, T item) {
+        boolean aceito = inserir(new Entrada<>(instanteMillis, item));
+        if (aceito) {
+            tamanho++;
+        }
+        return aceito;
+    }
+
+    /** Avança o relógio da roda até {@code agoraMillis} e devolve os itens que venceram. */
+    List<T> avancar(long agoraMillis) {
+        while (agora + tick <= agoraMillis) {
+            agora += tick;
+            // Níveis de cima primeiro: o que descer pode cair no balde que vence agora
+            for (int nivel = tickDoNivel.length - 1; nivel > 0; nivel--) {
+                if (Math.floorMod(agora, tickDoNivel[nivel]) == 0) {
+                    List<Entrada<T>> balde = balde(nivel, agora);
+                    List<Entrada<T>> redistribuir = new ArrayList<>(balde);
+                    balde.clear();
+                    redistribuir.forEach(this::inserir);
+                }
+            }
+            List<Entrada<T>> atual = balde(0, agora);
+            atual.forEach(entrada -> vencidos.add(entrada.item()));
+            atual.clear();
+        }
+
+        List<T> resultado = new ArrayList<>(vencidos);
+        vencidos.clear();
+        tamanho -= resultado.size();
+        return resultado;
+    }
+
+    int tamanho() {
+        return tamanho;
+    }
+
+    /** Maior instante que pode ser agendado a partir do relógio atual da roda. */
+    long alcance() {
+        int topo = tickDoNivel.length - 1;
+        return agora - Math.floorMod(agora, tickDoNivel[topo]) + tickDoNivel[topo] * slots - 1;
+    }
+
+    private boolean inserir(Entrada<T> entrada) {
+        if (entrada.instante() < agora + tick) {
+            vencidos.add(entrada.item());
+            return true;
+        }
+        for (int nivel = 0; nivel < tickDoNivel.length; nivel++) {
+            long tickNivel = tickDoNivel[nivel];
+            long inicioNivel = agora - Math.floorMod(agora, tickNivel);
+            if (entrada.instante() < inicioNivel + tickNivel * slots) {
+                balde(nivel, entrada.instante()).add(entrada);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private List<Entrada<T>> balde(int nivel, long instante) {
+        int slot = (int) Math.floorMod(Math.floorDiv(instante, tickDoNivel[nivel]), (long) slots);
+        return baldes.get(nivel * slots + slot);
+    }
+
+    private record Entrada<T>(long instante, T item) {
+    }
+}
@@ -0,0 +1,17 @@
+package com.multiclinicas.api.services.notificacao;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Sender padrão enquanto não há provedor de e-mail configurado: apenas registra no log.
+ */
+@Slf4j
+public class LogNotificacaoSender implements NotificacaoSender {
+
+    @Override
+    public void enviar(Notificacao notificacao) {
+        log.info("Notificação {} do agendamento {} para {} <{}> em {}", notificacao.tipo(),
+                notificacao.agendamentoId(), notificacao.pacienteNome(), notificacao.pacienteEmail(),
+                notificacao.dataHora());
+    }
+}
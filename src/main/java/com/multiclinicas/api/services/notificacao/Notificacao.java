@@ -0,0 +1,21 @@
+package com.multiclinicas.api.services.notificacao;
+
+import com.multiclinicas.api.models.enums.TipoNotificacao;
+
+import java.time.LocalDateTime;
+
+/**
+ * Dados enviados ao paciente. {@code eventoId} identifica o evento da outbox e pode ser
+ * usado pelo sender como chave de idempotência, já que a entrega é at-least-once.
+ */
+public record Notificacao(
+        Long eventoId,
+        TipoNotificacao tipo,
+        Long clinicId,
+        String clinicaNome,
+        Long agendamentoId,
+        String pacienteNome,
+        String pacienteEmail,
+        String medicoNome,
+        LocalDateTime dataHora) {
+}
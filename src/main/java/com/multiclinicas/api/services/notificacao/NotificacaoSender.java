@@ -0,0 +1,10 @@
+package com.multiclinicas.api.services.notificacao;
+
+/**
+ * Canal de entrega das notificações (e-mail, SMS...). Uma exceção indica falha e faz o
+ * evento voltar para a fila com backoff.
+ */
+public interface NotificacaoSender {
+
+    void enviar(Notificacao notificacao) throws Exception;
+}
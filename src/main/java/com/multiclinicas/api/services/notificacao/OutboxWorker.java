@@ -0,0 +1,38 @@
+package com.multiclinicas.api.services.notificacao;
+
+import com.multiclinicas.api.services.OutboxService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Consome a outbox periodicamente. Vários nós podem rodar o worker ao mesmo tempo: a
+ * reserva com {@code SKIP LOCKED} divide os eventos entre eles.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "notificacoes.outbox.worker.habilitado", havingValue = "true", matchIfMissing = true)
+public class OutboxWorker {
+
+    private final OutboxService outboxService;
+    private final int tamanhoLote;
+
+    public OutboxWorker(OutboxService outboxService, @Value("${notificacoes.outbox.lote:100}") int tamanhoLote) {
+        this.outboxService = outboxService;
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    @Scheduled(fixedDelayString = "${notificacoes.outbox.worker.intervalo:2s}")
+    public void processar() {
+        try {
+            // Lote cheio indica que há mais pendentes: continua sem esperar o próximo ciclo
+            while (outboxService.processarPendentes() == tamanhoLote) {
+                log.debug("Lote da outbox cheio, buscando o próximo");
+            }
+        } catch (RuntimeException e) {
+            log.error("Falha ao processar a outbox de notificações", e);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package db.migration;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.text.Normalizer;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+/**
+ * Cria as colunas normalizadas da busca de pacientes ({@code nome_busca}, {@code cpf_digitos}
+ * e {@code telefone_digitos}) e as preenche para os pacientes já cadastrados.
+ * <p>
+ * É uma migração Java porque remover acentos em SQL dependeria de {@code unaccent} no
+ * PostgreSQL e de outra solução no H2. A normalização é uma cópia congelada da que o
+ * {@code TextoBusca} fazia quando esta migração foi escrita: uma migração já aplicada não pode
+ * mudar de resultado se a normalização da aplicação mudar depois. Os índices de trigramas ficam
+ * na V11, só no PostgreSQL.
+ */
+public class V10__add_patient_search_columns extends BaseJavaMigration {
+
+    private static final int LOTE = 1000;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+
+        try (Statement st = connection.createStatement()) {
+            st.execute("ALTER TABLE pacientes ADD COLUMN nome_busca VARCHAR(255)");
+            st.execute("ALTER TABLE pacientes ADD COLUMN cpf_digitos VARCHAR(14)");
+            st.execute("ALTER TABLE pacientes ADD COLUMN telefone_digitos VARCHAR(20)");
+        }
+
+        try (Statement st = connection.createStatement();
+                ResultSet rs = st.executeQuery("SELECT id, nome, cpf, telefone FROM pacientes");
+                PreparedStatement update = connection.prepareStatement(
+                        "UPDATE pacientes SET nome_busca = ?, cpf_digitos = ?, telefone_digitos = ? WHERE id = ?")) {
+            int pendentes = 0;
+            while (rs.next()) {
+                update.setString(1, normalizar(rs.getString("nome")));
+                update.setString(2, somenteDigitos(rs.getString("cpf")));
+                update.setString(3, somenteDigitos(rs.getString("telefone")));
+                update.setLong(4, rs.getLong("id"));
+                update.addBatch();
+                if (++pendentes == LOTE) {
+                    update.executeBatch();
+                    pendentes = 0;
+                }
+            }
+            if (pendentes > 0) {
+                update.executeBatch();
+            }
+        }
+    }
+
+    private static String normalizar(String texto) {
+        if (texto == null) {
+            return null;
+        }
+        String semAcentos = Normalizer.normalize(texto, Normalizer.Form.NFD);
+        StringBuilder normalizado = new StringBuilder(semAcentos.length());
+        boolean espaco = false;
+        for (int i = 0; i < semAcentos.length(); i++) {
+            char c = semAcentos.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                if (espaco && !normalizado.isEmpty()) {
+                    normalizado.append(' ');
+                }
+                normalizado.append(Character.toLowerCase(c));
+                espaco = false;
+            } else {
+                espaco = true;
+            }
+        }
+        return normalizado.toString();
+    }
+
+    private static String somenteDigitos(String texto) {
+        if (texto == null) {
+            return null;
+        }
+        StringBuilder digitos = new StringBuilder(texto.length());
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digitos.append(c);
+            }
+        }
+        return digitos.toString();
+    }
+}
@@ -0,0 +1,47 @@
+package db.migration;
+
+import java.sql.Connection;
+import java.sql.Statement;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+/**
+ * A unicidade de (clínica, médico, data, hora de início) passa a valer só para agendamentos não
+ * cancelados. Assim um novo agendamento num horário cancelado é um registro novo, e o cancelado
+ * continua no histórico do paciente (auditoria, faltas).
+ * <p>
+ * É uma migração Java porque cada banco precisa de uma forma diferente. No PostgreSQL é um índice
+ * único parcial. Como {@code existsConflito} e {@code findHorariosOcupados} recebem os status
+ * cancelados como parâmetro, o planejador não consegue provar o predicado do índice parcial. Por
+ * isso um índice comum com as mesmas colunas e o mesmo {@code INCLUDE} da V8 continua atendendo
+ * essas consultas. O H2 não tem índice parcial: a constraint usa uma coluna gerada que fica nula
+ * nos cancelados, e nulos não se repetem numa constraint única.
+ */
+public class V12__ignore_cancelled_in_slot_uniqueness extends BaseJavaMigration {
+
+    private static final String CANCELADOS = "('CANCELADO_PACIENTE', 'CANCELADO_CLINICA')";
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        boolean postgres = connection.getMetaData().getDatabaseProductName().toLowerCase().contains("postgres");
+
+        try (Statement st = connection.createStatement()) {
+            st.execute("ALTER TABLE agendamentos DROP CONSTRAINT uk_agendamentos_medico_data_hora");
+            if (postgres) {
+                st.execute("CREATE INDEX idx_agendamentos_medico_data_hora "
+                        + "ON agendamentos(clinic_id, medico_id, data_consulta, hora_inicio) "
+                        + "INCLUDE (hora_fim, status)");
+                st.execute("CREATE UNIQUE INDEX uk_agendamentos_medico_data_hora "
+                        + "ON agendamentos(clinic_id, medico_id, data_consulta, hora_inicio) "
+                        + "WHERE status NOT IN " + CANCELADOS);
+            } else {
+                st.execute("ALTER TABLE agendamentos ADD COLUMN hora_inicio_ativa TIME GENERATED ALWAYS AS "
+                        + "(CASE WHEN status IN " + CANCELADOS + " THEN NULL ELSE hora_inicio END)");
+                st.execute("ALTER TABLE agendamentos ADD CONSTRAINT uk_agendamentos_medico_data_hora "
+                        + "UNIQUE (clinic_id, medico_id, data_consulta, hora_inicio_ativa)");
+            }
+        }
+    }
+}
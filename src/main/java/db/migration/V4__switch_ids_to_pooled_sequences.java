@@ -0,0 +1,67 @@
+package db.migration;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+/**
+ * Troca as colunas BIGSERIAL/IDENTITY por sequências {@code <tabela>_seq} com incremento
+ * igual ao allocation size do Hibernate (otimizador pooled-lo), o que permite agrupar os
+ * INSERTs em lotes JDBC.
+ * <p>
+ * É uma migração Java porque cada sequência precisa começar acima do maior ID já gravado,
+ * e o valor é calculado aqui em vez de depender de blocos procedurais específicos de cada
+ * banco. O default da coluna passa a usar a nova sequência, então INSERTs feitos fora do
+ * Hibernate continuam gerando IDs que não colidem com os blocos já reservados.
+ */
+public class V4__switch_ids_to_pooled_sequences extends BaseJavaMigration {
+
+    static final String PLACEHOLDER_INCREMENTO = "id-allocation-size";
+    static final int INCREMENTO_PADRAO = 50;
+
+    private static final List<String> TABELAS = List.of(
+            "enderecos", "clinicas", "usuarios_admin", "especialidades", "pacientes",
+            "medicos", "grades_horario", "agendamentos", "planos_saude");
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        String configurado = context.getConfiguration().getPlaceholders().get(PLACEHOLDER_INCREMENTO);
+        int incremento = configurado == null ? INCREMENTO_PADRAO : Integer.parseInt(configurado.trim());
+        if (incremento < 1) {
+            throw new IllegalArgumentException(PLACEHOLDER_INCREMENTO + " deve ser maior que zero");
+        }
+
+        Connection connection = context.getConnection();
+        boolean postgres = connection.getMetaData().getDatabaseProductName().toLowerCase().contains("postgres");
+
+        try (Statement st = connection.createStatement()) {
+            for (String tabela : TABELAS) {
+                String sequencia = tabela + "_seq";
+                long inicio = maiorId(st, tabela) + 1;
+
+                st.execute("CREATE SEQUENCE " + sequencia + " START WITH " + inicio + " INCREMENT BY " + incremento);
+                if (postgres) {
+                    st.execute("ALTER TABLE " + tabela + " ALTER COLUMN id SET DEFAULT nextval('" + sequencia + "')");
+                    st.execute("ALTER SEQUENCE " + sequencia + " OWNED BY " + tabela + ".id");
+                    st.execute("DROP SEQUENCE " + tabela + "_id_seq");
+                } else {
+                    // H2 cria BIGSERIAL como coluna IDENTITY, que não aceita outro default
+                    st.execute("ALTER TABLE " + tabela + " ALTER COLUMN id DROP IDENTITY");
+                    st.execute("ALTER TABLE " + tabela + " ALTER COLUMN id SET DEFAULT NEXT VALUE FOR " + sequencia);
+                }
+            }
+        }
+    }
+
+    private static long maiorId(Statement st, String tabela) throws SQLException {
+        try (ResultSet rs = st.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + tabela)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+-- V3: Índices para paginação por cursor (keyset) nas listagens por clínica
+
+-- =====================================================
+-- 1. ÍNDICES COMPOSTOS (clinic_id, id)
+-- =====================================================
+-- As listagens filtram por clinic_id e ordenam/avançam por id: o índice composto
+-- permite ler cada página direto do índice, sem ordenar a tabela da clínica inteira.
+CREATE INDEX idx_pacientes_clinic_id_id ON pacientes(clinic_id, id);
+CREATE INDEX idx_medicos_clinic_id_id ON medicos(clinic_id, id);
+CREATE INDEX idx_usuarios_clinic_id_id ON usuarios_admin(clinic_id, id);
+CREATE INDEX idx_planos_clinic_id_id ON planos_saude(clinic_id, id);
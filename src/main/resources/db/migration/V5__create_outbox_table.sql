@@ -0,0 +1,28 @@
+-- V5: Outbox transacional para as notificações de agendamento
+
+-- =====================================================
+-- 1. TABELA OUTBOX_EVENTOS
+-- =====================================================
+-- Gravada na mesma transação do agendamento e consumida por um worker em background.
+-- Sem FK para agendamentos: o evento é um registro histórico e não deve impedir
+-- exclusões nem acoplar a tabela à forma como agendamentos é armazenada.
+CREATE SEQUENCE outbox_eventos_seq START WITH 1 INCREMENT BY ${id-allocation-size};
+
+CREATE TABLE outbox_eventos (
+    id BIGINT PRIMARY KEY,
+    clinic_id BIGINT NOT NULL,
+    agendamento_id BIGINT NOT NULL,
+    tipo VARCHAR(20) NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDENTE',
+    tentativas INTEGER NOT NULL DEFAULT 0,
+    proxima_tentativa TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    ultimo_erro VARCHAR(1000),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    enviado_em TIMESTAMP,
+
+    CONSTRAINT fk_outbox_clinic FOREIGN KEY (clinic_id) REFERENCES clinicas(id) ON DELETE CASCADE
+);
+
+-- O worker busca por status e horário da próxima tentativa, em ordem
+CREATE INDEX idx_outbox_status_proxima ON outbox_eventos(status, proxima_tentativa);
+CREATE INDEX idx_outbox_agendamento ON outbox_eventos(agendamento_id);
@@ -0,0 +1,31 @@
+-- V6: Lembretes de consulta (24h antes) e coordenação entre nós
+
+-- =====================================================
+-- 1. ÍNDICE PARA O AGENDADOR DE LEMBRETES
+-- =====================================================
+-- O agendador percorre as consultas agendadas em ordem de data/hora, continuando de onde
+-- parou (keyset), então o filtro por status e a ordenação saem do mesmo índice
+CREATE INDEX idx_agendamentos_status_data_hora ON agendamentos(status, data_consulta, hora_inicio);
+
+-- =====================================================
+-- 2. TABELA LEASES
+-- =====================================================
+-- Um registro por tarefa que só deve rodar em um nó por vez. O dono renova o lease antes
+-- de expirar; se o nó cair, outro assume depois de expira_em.
+CREATE TABLE leases (
+    nome VARCHAR(100) PRIMARY KEY,
+    dono VARCHAR(255),
+    expira_em TIMESTAMP NOT NULL
+);
+
+INSERT INTO leases (nome, dono, expira_em) VALUES ('lembretes', NULL, TIMESTAMP '1970-01-01 00:00:00');
+
+-- =====================================================
+-- 3. CHAVE DE IDEMPOTÊNCIA NA OUTBOX
+-- =====================================================
+-- Identifica o evento de forma determinística (ex.: lembrete de um agendamento, para um
+-- paciente e horário). Mesmo que dois nós disparem o mesmo lembrete durante uma troca de
+-- lease, só uma linha entra na outbox. Confirmações não usam chave (NULL não conflita).
+ALTER TABLE outbox_eventos ADD COLUMN chave VARCHAR(200);
+
+CREATE UNIQUE INDEX uk_outbox_eventos_chave ON outbox_eventos(chave);
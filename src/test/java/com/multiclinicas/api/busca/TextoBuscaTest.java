@@ -0,0 +1,26 @@
+package com.multiclinicas.api.busca;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TextoBuscaTest {
+
+    @Test
+    @DisplayName("Deve remover acentos, pontuação e espaços repetidos e passar para minúsculas")
+    void shouldNormalizeText() {
+        assertThat(TextoBusca.normalizar("  José D'Ávila  ")).isEqualTo("jose d avila");
+        assertThat(TextoBusca.normalizar("CONCEIÇÃO-Müller")).isEqualTo("conceicao muller");
+        assertThat(TextoBusca.normalizar("...")).isEmpty();
+        assertThat(TextoBusca.normalizar(null)).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve manter só os dígitos de CPF e telefone formatados")
+    void shouldKeepOnlyDigits() {
+        assertThat(TextoBusca.somenteDigitos("123.456.789-00")).isEqualTo("12345678900");
+        assertThat(TextoBusca.somenteDigitos("(11) 98765-4321")).isEqualTo("11987654321");
+        assertThat(TextoBusca.somenteDigitos(null)).isNull();
+    }
+}
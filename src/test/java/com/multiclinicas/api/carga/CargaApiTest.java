@@ -0,0 +1,181 @@
+package com.multiclinicas.api.carga;
+
+import com.multiclinicas.api.carga.GeradorCarga.Operacao;
+import com.multiclinicas.api.carga.GeradorCarga.Resultado;
+import com.multiclinicas.api.carga.SemeadorCarga.TenantSemeado;
+import com.multiclinicas.api.repositories.ClinicaRepository;
+import com.multiclinicas.api.repositories.EspecialidadeRepository;
+import com.multiclinicas.api.repositories.MedicoRepository;
+import com.multiclinicas.api.repositories.PacienteRepository;
+import com.multiclinicas.api.repositories.PlanoSaudeRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Teste de carga ponta a ponta: sobe a aplicação contra um PostgreSQL real (Testcontainers),
+ * semeia N clínicas e dispara tráfego misto de leitura e escrita em /medicos, /pacientes,
+ * /especialidades e /planos-saude. Imprime p50/p99/p999 por endpoint e por clínica e grava o
+ * mesmo relatório em {@code target/carga/relatorio-carga-<modo>.json}.
+ * <p>
+ * Fica fora do {@code mvn test}; roda com {@code mvn -Ploadtest test}. O tamanho da carga é
+ * ajustável por propriedades de sistema ({@code -Dcarga.clinicas=20 -Dcarga.duracao=120 ...}).
+ * <p>
+ * {@code -Dcarga.threads=virtuais} (Java 21, {@code -Pjava21}) atende as requisições em threads
+ * virtuais em vez do pool do Tomcat; o pool do Hikari é fixado em {@code carga.pool} nos dois
+ * modos. Se o relatório do outro modo já existir, a comparação entre os dois é impressa.
+ */
+@Tag("loadtest")
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.jpa.show-sql=false", "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+        "notificacoes.lembretes.habilitado=false" })
+class CargaApiTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static final int CLINICAS = Integer.getInteger("carga.clinicas", 10);
+    private static final int MEDICOS = Integer.getInteger("carga.medicos", 50);
+    private static final int PACIENTES = Integer.getInteger("carga.pacientes", 2_000);
+    private static final int PLANOS = Integer.getInteger("carga.planos", 10);
+    private static final int USUARIOS = Integer.getInteger("carga.usuarios", 32);
+    private static final int AQUECIMENTO = Integer.getInteger("carga.aquecimento", 15);
+    private static final int DURACAO = Integer.getInteger("carga.duracao", 60);
+    // Requisições por segundo agendadas (0 = cada usuário envia assim que recebe a resposta)
+    private static final int TAXA = Integer.getInteger("carga.taxa", 0);
+    // "plataforma" (pool do Tomcat) ou "virtuais" (uma thread virtual por requisição)
+    private static final String THREADS = System.getProperty("carga.threads", "plataforma");
+    private static final int POOL = Integer.getInteger("carga.pool", 20);
+
+    @DynamicPropertySource
+    static void modoDeThreads(DynamicPropertyRegistry registry) {
+        registry.add("spring.threads.virtual.enabled", () -> THREADS.equals("virtuais"));
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> POOL);
+        registry.add("spring.datasource.hikari.minimum-idle", () -> POOL);
+    }
+
+    @LocalServerPort
+    private int porta;
+
+    @Autowired
+    private ClinicaRepository clinicaRepository;
+
+    @Autowired
+    private EspecialidadeRepository especialidadeRepository;
+
+    @Autowired
+    private PlanoSaudeRepository planoSaudeRepository;
+
+    @Autowired
+    private MedicoRepository medicoRepository;
+
+    @Autowired
+    private PacienteRepository pacienteRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    // Sufixos únicos para o que as escritas criam durante a carga
+    private final AtomicLong sequencia = new AtomicLong(900_000_000L);
+
+    @Test
+    @DisplayName("Carga mista multi-tenant deve responder sem erros e registrar as latências")
+    void cargaMista() throws Exception {
+        assumeTrue(THREADS.equals("plataforma") || Runtime.version().feature() >= 21,
+                "carga.threads=virtuais exige Java 21");
+        List<TenantSemeado> tenants = new SemeadorCarga(clinicaRepository, especialidadeRepository,
+                planoSaudeRepository, medicoRepository, pacienteRepository, transactionTemplate, passwordEncoder)
+                .semear(CLINICAS, MEDICOS, PACIENTES, PLANOS);
+
+        GeradorCarga gerador = new GeradorCarga("http://localhost:" + porta + "/api", tenants);
+        List<Operacao> operacoes = operacoes(gerador);
+
+        Resultado resultado = gerador.executar(operacoes, USUARIOS, Duration.ofSeconds(AQUECIMENTO),
+                Duration.ofSeconds(DURACAO), TAXA);
+
+        System.out.println("Threads: " + THREADS + ", pool do Hikari: " + POOL);
+        System.out.println(RelatorioCarga.tabela(resultado));
+        Path diretorio = Path.of("target", "carga");
+        Path json = RelatorioCarga.gravarJson(resultado, diretorio, THREADS);
+        System.out.println("Relatório gravado em " + json.toAbsolutePath());
+
+        Path plataforma = diretorio.resolve(RelatorioCarga.arquivo("plataforma"));
+        Path virtuais = diretorio.resolve(RelatorioCarga.arquivo("virtuais"));
+        if (Files.exists(plataforma) && Files.exists(virtuais)) {
+            System.out.println(RelatorioCarga.comparacao(RelatorioCarga.lerJson(plataforma),
+                    RelatorioCarga.lerJson(virtuais)));
+        }
+
+        assertThat(resultado.porOperacao()).hasSize(operacoes.size());
+        assertThat(resultado.porTenant()).hasSize(CLINICAS);
+        assertThat(resultado.erros()).as("erros").isLessThanOrEqualTo(resultado.requisicoes() / 100);
+    }
+
+    // ~85% leitura e ~15% escrita, com as escritas pesadas (BCrypt no cadastro de paciente) incluídas
+    private List<Operacao> operacoes(GeradorCarga http) {
+        return List.of(
+                new Operacao("GET /medicos", 15, (t, r) -> http.get("/medicos?limit=50")),
+                new Operacao("GET /medicos/{id}", 15, (t, r) -> http.get("/medicos/" + sortear(t.medicoIds(), r))),
+                new Operacao("GET /pacientes", 10, (t, r) -> http.get("/pacientes?limit=50")),
+                new Operacao("GET /pacientes/{id}", 20,
+                        (t, r) -> http.get("/pacientes/" + sortear(t.pacienteIds(), r))),
+                new Operacao("GET /especialidades", 15, (t, r) -> http.get("/especialidades")),
+                new Operacao("GET /planos-saude", 10, (t, r) -> http.get("/planos-saude")),
+                new Operacao("POST /pacientes", 5, (t, r) -> http.json("POST", "/pacientes", novoPaciente())),
+                new Operacao("POST /medicos", 2, (t, r) -> http.json("POST", "/medicos", novoMedico(t, r))),
+                new Operacao("POST /especialidades", 3, (t, r) -> http.json("POST", "/especialidades",
+                        "{\"nome\":\"Especialidade " + sequencia.incrementAndGet() + "\"}")),
+                new Operacao("PUT /planos-saude/{id}", 5, (t, r) -> {
+                    int indice = r.nextInt(t.planoIds().size());
+                    return http.json("PUT", "/planos-saude/" + t.planoIds().get(indice),
+                            "{\"nome\":\"Plano " + indice + "\",\"ativo\":" + r.nextBoolean() + "}");
+                }));
+    }
+
+    private String novoPaciente() {
+        long n = sequencia.incrementAndGet();
+        return """
+                {"nome":"Paciente Carga %d","email":"carga%d@email.com","cpf":"%s","telefone":"(11) 98888-0000",
+                 "senhaHash":"senha123","endereco":{"cep":"01001-000","logradouro":"Praça da Sé","numero":"1",
+                 "bairro":"Sé","cidade":"São Paulo","estado":"SP"}}""".formatted(n, n, GeradorCpf.formatado(n));
+    }
+
+    private String novoMedico(TenantSemeado tenant, SplittableRandom random) {
+        long n = sequencia.incrementAndGet();
+        return """
+                {"nome":"Dr(a). Carga %d","cpf":"%s","crm":"CRM-C%d","telefone":"(11) 3333-0000",
+                 "duracaoConsulta":30,"especialidadeIds":[%d]}""".formatted(n, GeradorCpf.formatado(n), n,
+                sortear(tenant.especialidadeIds(), random));
+    }
+
+    private static Long sortear(List<Long> ids, SplittableRandom random) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+}
@@ -0,0 +1,189 @@
+package com.multiclinicas.api.carga;
+
+import com.multiclinicas.api.carga.SemeadorCarga.TenantSemeado;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+
+/**
+ * Gerador de carga HTTP: {@code usuarios} threads, cada uma escolhendo a cada requisição um
+ * tenant e uma operação (sorteada pelo peso) e registrando a latência em histogramas
+ * HdrHistogram por operação e por tenant.
+ * <p>
+ * Com {@code taxa} zero cada usuário dispara a próxima requisição assim que a anterior
+ * responde (modelo fechado). Com {@code taxa} > 0 as requisições seguem uma agenda fixa e a
+ * latência é medida a partir do horário agendado, não do envio: quando o servidor fica lento
+ * a fila que se forma no cliente entra na medição (sem coordinated omission).
+ */
+class GeradorCarga {
+
+    private static final long LATENCIA_MAXIMA_NS = TimeUnit.MINUTES.toNanos(1);
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final String baseUrl;
+    private final List<TenantSemeado> tenants;
+
+    GeradorCarga(String baseUrl, List<TenantSemeado> tenants) {
+        this.baseUrl = baseUrl;
+        this.tenants = tenants;
+    }
+
+    Resultado executar(List<Operacao> operacoes, int usuarios, Duration aquecimento, Duration duracao, double taxa)
+            throws Exception {
+        int pesoTotal = operacoes.stream().mapToInt(Operacao::peso).sum();
+        Map<String, Histogram> porOperacao = new ConcurrentHashMap<>();
+        Map<Long, Histogram> porTenant = new ConcurrentHashMap<>();
+        Map<String, LongAdder> errosPorOperacao = new ConcurrentHashMap<>();
+        Map<Long, LongAdder> errosPorTenant = new ConcurrentHashMap<>();
+
+        long inicio = System.nanoTime();
+        long inicioMedicao = inicio + aquecimento.toNanos();
+        long fim = inicioMedicao + duracao.toNanos();
+        // Intervalo entre requisições de um mesmo usuário no modelo aberto
+        long intervalo = taxa > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) * usuarios / taxa) : 0;
+
+        ExecutorService executor = Executors.newFixedThreadPool(usuarios);
+        List<Future<?>> tarefas = new ArrayList<>();
+        for (int u = 0; u < usuarios; u++) {
+            SplittableRandom random = new SplittableRandom(u);
+            long deslocamento = intervalo * u / usuarios;
+            tarefas.add(executor.submit(() -> {
+                long agendado = inicio + deslocamento;
+                while (true) {
+                    if (intervalo > 0) {
+                        esperarAte(agendado);
+                    }
+                    long enviadoEm = intervalo > 0 ? agendado : System.nanoTime();
+                    if (enviadoEm >= fim) {
+                        return null;
+                    }
+                    TenantSemeado tenant = tenants.get(random.nextInt(tenants.size()));
+                    Operacao operacao = sortear(operacoes, pesoTotal, random);
+
+                    boolean sucesso = enviar(operacao.requisicao().apply(tenant, random)
+                            .header("X-Clinic-ID", tenant.clinicId().toString())
+                            .build());
+                    long latencia = Math.min(System.nanoTime() - enviadoEm, LATENCIA_MAXIMA_NS);
+
+                    if (enviadoEm >= inicioMedicao) {
+                        porOperacao.computeIfAbsent(operacao.nome(), n -> novoHistograma()).recordValue(latencia);
+                        porTenant.computeIfAbsent(tenant.clinicId(), id -> novoHistograma()).recordValue(latencia);
+                        if (!sucesso) {
+                            errosPorOperacao.computeIfAbsent(operacao.nome(), n -> new LongAdder()).increment();
+                            errosPorTenant.computeIfAbsent(tenant.clinicId(), id -> new LongAdder()).increment();
+                        }
+                    }
+                    agendado += intervalo;
+                }
+            }));
+        }
+        for (Future<?> tarefa : tarefas) {
+            tarefa.get();
+        }
+        executor.shutdown();
+
+        double segundos = duracao.toNanos() / 1e9;
+        Map<String, Estatistica> operacoesMedidas = new TreeMap<>();
+        porOperacao.forEach((nome, histograma) -> operacoesMedidas.put(nome,
+                Estatistica.de(histograma, errosPorOperacao.getOrDefault(nome, new LongAdder()).sum(), segundos)));
+        Map<Long, Estatistica> tenantsMedidos = new TreeMap<>();
+        porTenant.forEach((id, histograma) -> tenantsMedidos.put(id,
+                Estatistica.de(histograma, errosPorTenant.getOrDefault(id, new LongAdder()).sum(), segundos)));
+        return new Resultado(usuarios, taxa, duracao.toSeconds(), operacoesMedidas, tenantsMedidos);
+    }
+
+    private boolean enviar(HttpRequest requisicao) {
+        try {
+            HttpResponse<Void> resposta = http.send(requisicao, HttpResponse.BodyHandlers.discarding());
+            return resposta.statusCode() < 400;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    HttpRequest.Builder get(String caminho) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + caminho)).timeout(Duration.ofSeconds(30)).GET();
+    }
+
+    HttpRequest.Builder json(String metodo, String caminho, String corpo) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + caminho))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .method(metodo, HttpRequest.BodyPublishers.ofString(corpo));
+    }
+
+    private static Operacao sortear(List<Operacao> operacoes, int pesoTotal, SplittableRandom random) {
+        int sorteio = random.nextInt(pesoTotal);
+        for (Operacao operacao : operacoes) {
+            sorteio -= operacao.peso();
+            if (sorteio < 0) {
+                return operacao;
+            }
+        }
+        throw new IllegalStateException("Pesos das operações inconsistentes");
+    }
+
+    private static void esperarAte(long instante) throws InterruptedException {
+        long espera = instante - System.nanoTime();
+        if (espera > 0) {
+            TimeUnit.NANOSECONDS.sleep(espera);
+        }
+    }
+
+    private static Histogram novoHistograma() {
+        return new ConcurrentHistogram(LATENCIA_MAXIMA_NS, 3);
+    }
+
+    /** Uma operação da carga mista: nome no relatório, peso no sorteio e como montar a requisição. */
+    record Operacao(String nome, int peso, BiFunction<TenantSemeado, SplittableRandom, HttpRequest.Builder> requisicao) {
+    }
+
+    record Estatistica(long requisicoes, long erros, double vazao, double p50Ms, double p99Ms, double p999Ms,
+            double maxMs) {
+
+        static Estatistica de(Histogram histograma, long erros, double segundos) {
+            return new Estatistica(histograma.getTotalCount(), erros, histograma.getTotalCount() / segundos,
+                    ms(histograma.getValueAtPercentile(50)), ms(histograma.getValueAtPercentile(99)),
+                    ms(histograma.getValueAtPercentile(99.9)), ms(histograma.getMaxValue()));
+        }
+
+        private static double ms(long nanos) {
+            return Math.round(nanos / 10_000.0) / 100.0;
+        }
+    }
+
+    record Resultado(int usuarios, double taxa, long duracaoSegundos, Map<String, Estatistica> porOperacao,
+            Map<Long, Estatistica> porTenant) {
+
+        long requisicoes() {
+            return porOperacao.values().stream().mapToLong(Estatistica::requisicoes).sum();
+        }
+
+        long erros() {
+            return porOperacao.values().stream().mapToLong(Estatistica::erros).sum();
+        }
+    }
+}
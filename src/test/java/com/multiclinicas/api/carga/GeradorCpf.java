@@ -0,0 +1,38 @@
+package com.multiclinicas.api.carga;
+
+// CPFs válidos (dígitos verificadores corretos) e distintos a partir de um número sequencial
+final class GeradorCpf {
+
+    private GeradorCpf() {
+    }
+
+    static String formatado(long sequencial) {
+        String base = String.format("%09d", Math.floorMod(sequencial, 1_000_000_000L));
+        int[] digitos = new int[11];
+        for (int i = 0; i < 9; i++) {
+            digitos[i] = base.charAt(i) - '0';
+        }
+        digitos[9] = verificador(digitos, 9);
+        digitos[10] = verificador(digitos, 10);
+
+        StringBuilder cpf = new StringBuilder(14);
+        for (int i = 0; i < 11; i++) {
+            if (i == 3 || i == 6) {
+                cpf.append('.');
+            } else if (i == 9) {
+                cpf.append('-');
+            }
+            cpf.append(digitos[i]);
+        }
+        return cpf.toString();
+    }
+
+    private static int verificador(int[] digitos, int quantidade) {
+        int soma = 0;
+        for (int i = 0; i < quantidade; i++) {
+            soma += digitos[i] * (quantidade + 1 - i);
+        }
+        int resto = soma % 11;
+        return resto < 2 ? 0 : 11 - resto;
+    }
+}
@@ -0,0 +1,69 @@
+package com.multiclinicas.api.carga;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.multiclinicas.api.carga.GeradorCarga.Estatistica;
+import com.multiclinicas.api.carga.GeradorCarga.Resultado;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+// Tabela legível no console e JSON em target/carga para comparar execuções (ex.: plataforma x virtuais)
+final class RelatorioCarga {
+
+    private RelatorioCarga() {
+    }
+
+    static String tabela(Resultado resultado) {
+        StringBuilder texto = new StringBuilder();
+        texto.append(String.format("%nCarga: %d usuários, %s, %ds medidos, %d requisições, %d erros%n",
+                resultado.usuarios(),
+                resultado.taxa() > 0 ? String.format("%.0f req/s agendadas", resultado.taxa()) : "modelo fechado",
+                resultado.duracaoSegundos(), resultado.requisicoes(), resultado.erros()));
+        secao(texto, "Endpoint", resultado.porOperacao());
+        secao(texto, "Clínica", resultado.porTenant());
+        return texto.toString();
+    }
+
+    static Path gravarJson(Resultado resultado, Path diretorio, String modo) throws IOException {
+        Files.createDirectories(diretorio);
+        Path arquivo = diretorio.resolve(arquivo(modo));
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(arquivo.toFile(), resultado);
+        return arquivo;
+    }
+
+    static Resultado lerJson(Path arquivo) throws IOException {
+        return new ObjectMapper().readValue(arquivo.toFile(), Resultado.class);
+    }
+
+    static String arquivo(String modo) {
+        return "relatorio-carga-" + modo + ".json";
+    }
+
+    // Vazão e p50/p99 por endpoint lado a lado; as duas execuções devem ter usado a mesma carga
+    static String comparacao(Resultado plataforma, Resultado virtuais) {
+        StringBuilder texto = new StringBuilder();
+        texto.append(String.format("%nThreads de plataforma x virtuais (%d x %d usuários)%n", plataforma.usuarios(),
+                virtuais.usuarios()));
+        texto.append(String.format("%-28s %9s %9s %9s %9s %9s %9s%n", "Endpoint", "req/s P", "req/s V",
+                "p50 P", "p50 V", "p99 P", "p99 V"));
+        plataforma.porOperacao().forEach((operacao, p) -> {
+            Estatistica v = virtuais.porOperacao().get(operacao);
+            if (v != null) {
+                texto.append(String.format("%-28s %9.1f %9.1f %9.2f %9.2f %9.2f %9.2f%n", operacao, p.vazao(),
+                        v.vazao(), p.p50Ms(), v.p50Ms(), p.p99Ms(), v.p99Ms()));
+            }
+        });
+        texto.append(String.format("%-28s %9d %9d%n", "Erros", plataforma.erros(), virtuais.erros()));
+        return texto.toString();
+    }
+
+    private static void secao(StringBuilder texto, String titulo, Map<?, Estatistica> linhas) {
+        texto.append(String.format("%n%-28s %9s %7s %9s %9s %9s %9s %9s%n", titulo, "req", "erros", "req/s",
+                "p50 ms", "p99 ms", "p999 ms", "max ms"));
+        linhas.forEach((chave, e) -> texto.append(String.format("%-28s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                chave, e.requisicoes(), e.erros(), e.vazao(), e.p50Ms(), e.p99Ms(), e.p999Ms(), e.maxMs())));
+    }
+}
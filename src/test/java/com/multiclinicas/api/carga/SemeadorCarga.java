@@ -0,0 +1,161 @@
+package com.multiclinicas.api.carga;
+
+import com.multiclinicas.api.models.Clinica;
+import com.multiclinicas.api.models.Endereco;
+import com.multiclinicas.api.models.Especialidade;
+import com.multiclinicas.api.models.Medico;
+import com.multiclinicas.api.models.Paciente;
+import com.multiclinicas.api.models.PlanoSaude;
+import com.multiclinicas.api.repositories.ClinicaRepository;
+import com.multiclinicas.api.repositories.EspecialidadeRepository;
+import com.multiclinicas.api.repositories.MedicoRepository;
+import com.multiclinicas.api.repositories.PacienteRepository;
+import com.multiclinicas.api.repositories.PlanoSaudeRepository;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Popula o banco do teste de carga direto pelos repositórios (INSERTs em lote), sem passar
+ * pela API: a semeadura não entra nas medições e leva segundos mesmo com dezenas de
+ * milhares de pacientes.
+ */
+class SemeadorCarga {
+
+    private static final int TAMANHO_LOTE = 500;
+    private static final String[] ESPECIALIDADES = { "Cardiologia", "Dermatologia", "Ortopedia", "Pediatria",
+            "Ginecologia", "Neurologia", "Oftalmologia", "Psiquiatria", "Urologia", "Endocrinologia",
+            "Gastroenterologia", "Otorrinolaringologia", "Reumatologia", "Pneumologia", "Nefrologia" };
+    private static final String[] NOMES = { "Ana", "Bruno", "Carla", "Diego", "Elisa", "Fábio", "Gabriela",
+            "Heitor", "Isabela", "João", "Larissa", "Marcos", "Natália", "Otávio", "Patrícia", "Rafael" };
+    private static final String[] SOBRENOMES = { "Silva", "Santos", "Oliveira", "Souza", "Rodrigues", "Ferreira",
+            "Alves", "Pereira", "Lima", "Gomes", "Costa", "Ribeiro", "Martins", "Carvalho", "Almeida" };
+
+    private final ClinicaRepository clinicaRepository;
+    private final EspecialidadeRepository especialidadeRepository;
+    private final PlanoSaudeRepository planoSaudeRepository;
+    private final MedicoRepository medicoRepository;
+    private final PacienteRepository pacienteRepository;
+    private final TransactionTemplate transactionTemplate;
+    // Um único hash para todos os pacientes semeados: BCrypt por linha dominaria a semeadura
+    private final String senhaHash;
+    private final Random random = new Random(42);
+
+    SemeadorCarga(ClinicaRepository clinicaRepository, EspecialidadeRepository especialidadeRepository,
+            PlanoSaudeRepository planoSaudeRepository, MedicoRepository medicoRepository,
+            PacienteRepository pacienteRepository, TransactionTemplate transactionTemplate,
+            PasswordEncoder passwordEncoder) {
+        this.clinicaRepository = clinicaRepository;
+        this.especialidadeRepository = especialidadeRepository;
+        this.planoSaudeRepository = planoSaudeRepository;
+        this.medicoRepository = medicoRepository;
+        this.pacienteRepository = pacienteRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.senhaHash = passwordEncoder.encode("senha-carga");
+    }
+
+    List<TenantSemeado> semear(int clinicas, int medicosPorClinica, int pacientesPorClinica, int planosPorClinica) {
+        List<TenantSemeado> tenants = new ArrayList<>(clinicas);
+        for (int c = 0; c < clinicas; c++) {
+            tenants.add(semearClinica(c, medicosPorClinica, pacientesPorClinica, planosPorClinica));
+        }
+        return tenants;
+    }
+
+    private TenantSemeado semearClinica(int indice, int medicos, int pacientes, int planos) {
+        return transactionTemplate.execute(status -> {
+            Clinica clinica = new Clinica();
+            clinica.setNomeFantasia("Clínica Carga " + indice);
+            clinica.setSubdominio("carga-" + indice + "-" + System.nanoTime());
+            clinica = clinicaRepository.save(clinica);
+
+            List<Especialidade> especialidades = new ArrayList<>();
+            for (String nome : ESPECIALIDADES) {
+                especialidades.add(new Especialidade(null, clinica, nome));
+            }
+            especialidades = especialidadeRepository.saveAll(especialidades);
+
+            List<PlanoSaude> listaPlanos = new ArrayList<>();
+            for (int p = 0; p < planos; p++) {
+                PlanoSaude plano = new PlanoSaude();
+                plano.setClinica(clinica);
+                plano.setNome("Plano " + p);
+                listaPlanos.add(plano);
+            }
+            listaPlanos = planoSaudeRepository.saveAll(listaPlanos);
+
+            List<Medico> listaMedicos = new ArrayList<>();
+            for (int m = 0; m < medicos; m++) {
+                Medico medico = new Medico();
+                medico.setClinica(clinica);
+                medico.setNome("Dr(a). " + nomeAleatorio());
+                medico.setCpf(GeradorCpf.formatado(indice * 1_000_000L + m));
+                medico.setCrm("CRM-" + indice + "-" + m);
+                medico.setTelefone("(11) 3000-" + String.format("%04d", m));
+                medico.setAtivo(m % 10 != 0);
+                medico.setEspecialidades(sortear(especialidades, 1 + random.nextInt(3)));
+                listaMedicos.add(medico);
+            }
+            listaMedicos = medicoRepository.saveAll(listaMedicos);
+
+            List<Long> pacienteIds = new ArrayList<>(pacientes);
+            List<Paciente> lote = new ArrayList<>(TAMANHO_LOTE);
+            for (int p = 0; p < pacientes; p++) {
+                lote.add(novoPaciente(clinica, indice, p));
+                if (lote.size() == TAMANHO_LOTE || p == pacientes - 1) {
+                    pacienteRepository.saveAll(lote).forEach(salvo -> pacienteIds.add(salvo.getId()));
+                    pacienteRepository.flush();
+                    lote.clear();
+                }
+            }
+
+            return new TenantSemeado(clinica.getId(),
+                    listaMedicos.stream().map(Medico::getId).toList(),
+                    pacienteIds,
+                    especialidades.stream().map(Especialidade::getId).toList(),
+                    listaPlanos.stream().map(PlanoSaude::getId).toList());
+        });
+    }
+
+    private Paciente novoPaciente(Clinica clinica, int indiceClinica, int indice) {
+        Endereco endereco = new Endereco();
+        endereco.setCep("01001-000");
+        endereco.setLogradouro("Rua " + SOBRENOMES[random.nextInt(SOBRENOMES.length)]);
+        endereco.setNumero(String.valueOf(1 + random.nextInt(2000)));
+        endereco.setBairro("Centro");
+        endereco.setCidade("São Paulo");
+        endereco.setEstado("SP");
+
+        Paciente paciente = new Paciente();
+        paciente.setClinica(clinica);
+        paciente.setNome(nomeAleatorio());
+        paciente.setEmail("paciente" + indice + "@clinica" + indiceClinica + ".com");
+        paciente.setCpf(GeradorCpf.formatado(500_000_000L + indiceClinica * 1_000_000L + indice));
+        paciente.setTelefone("(11) 9" + String.format("%04d-%04d", random.nextInt(10_000), indice % 10_000));
+        paciente.setSenhaHash(senhaHash);
+        paciente.setEndereco(endereco);
+        return paciente;
+    }
+
+    private String nomeAleatorio() {
+        return NOMES[random.nextInt(NOMES.length)] + " " + SOBRENOMES[random.nextInt(SOBRENOMES.length)] + " "
+                + SOBRENOMES[random.nextInt(SOBRENOMES.length)];
+    }
+
+    private Set<Especialidade> sortear(List<Especialidade> especialidades, int quantidade) {
+        Set<Especialidade> sorteadas = new HashSet<>();
+        while (sorteadas.size() < quantidade) {
+            sorteadas.add(especialidades.get(random.nextInt(especialidades.size())));
+        }
+        return sorteadas;
+    }
+
+    record TenantSemeado(Long clinicId, List<Long> medicoIds, List<Long> pacienteIds, List<Long> especialidadeIds,
+            List<Long> planoIds) {
+    }
+}
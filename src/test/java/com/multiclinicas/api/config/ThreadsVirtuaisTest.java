@@ -0,0 +1,95 @@
+package com.multiclinicas.api.config;
+
+import com.multiclinicas.api.models.Clinica;
+import com.multiclinicas.api.models.Especialidade;
+import com.multiclinicas.api.repositories.ClinicaRepository;
+import com.multiclinicas.api.repositories.EspecialidadeRepository;
+import org.apache.tomcat.util.threads.VirtualThreadExecutor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Só roda em Java 21+ (mvn -Pjava21 test): requisições concorrentes de várias clínicas em threads virtuais
+@EnabledForJreRange(min = JRE.JAVA_21)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.threads.virtual.enabled=true", "spring.jpa.show-sql=false", "logging.level.org.hibernate.SQL=WARN" })
+@ActiveProfiles("test")
+class ThreadsVirtuaisTest {
+
+    private static final int CLINICAS = 4;
+    private static final int REQUISICOES = 200;
+
+    @LocalServerPort
+    private int porta;
+
+    @Autowired
+    private ServletWebServerApplicationContext contexto;
+
+    @Autowired
+    private ClinicaRepository clinicaRepository;
+
+    @Autowired
+    private EspecialidadeRepository especialidadeRepository;
+
+    @Test
+    @DisplayName("Deve atender em threads virtuais sem misturar a clínica entre requisições concorrentes")
+    void shouldKeepTenantPerRequestOnVirtualThreads() throws Exception {
+        TomcatWebServer servidor = (TomcatWebServer) contexto.getWebServer();
+        assertThat(servidor.getTomcat().getConnector().getProtocolHandler().getExecutor())
+                .isInstanceOf(VirtualThreadExecutor.class);
+
+        String sufixo = UUID.randomUUID().toString().substring(0, 8);
+        List<Long> clinicas = new ArrayList<>();
+        for (int i = 0; i < CLINICAS; i++) {
+            Clinica clinica = new Clinica();
+            clinica.setNomeFantasia("Clínica Virtual " + i);
+            clinica.setSubdominio("virtual-" + i + "-" + sufixo);
+            clinica = clinicaRepository.save(clinica);
+            Especialidade especialidade = new Especialidade();
+            especialidade.setClinica(clinica);
+            especialidade.setNome("Especialidade da clínica " + clinica.getId());
+            especialidadeRepository.save(especialidade);
+            clinicas.add(clinica.getId());
+        }
+
+        HttpClient http = HttpClient.newHttpClient();
+        List<CompletableFuture<Boolean>> respostas = new ArrayList<>();
+        for (int i = 0; i < REQUISICOES; i++) {
+            Long clinicId = clinicas.get(i % CLINICAS);
+            HttpRequest requisicao = HttpRequest.newBuilder(
+                    URI.create("http://localhost:" + porta + "/api/especialidades"))
+                    .header("X-Clinic-ID", clinicId.toString())
+                    .build();
+            respostas.add(http.sendAsync(requisicao, HttpResponse.BodyHandlers.ofString())
+                    .thenApply(resposta -> resposta.statusCode() == 200
+                            && resposta.body().contains(nome(clinicId))
+                            && clinicas.stream().filter(outra -> !outra.equals(clinicId))
+                                    .noneMatch(outra -> resposta.body().contains(nome(outra)))));
+        }
+
+        assertThat(respostas).allSatisfy(resposta -> assertThat(resposta.get()).isTrue());
+    }
+
+    // Com as aspas do JSON, para que a clínica 1 não case com a 12
+    private static String nome(Long clinicId) {
+        return "\"Especialidade da clínica " + clinicId + "\"";
+    }
+}
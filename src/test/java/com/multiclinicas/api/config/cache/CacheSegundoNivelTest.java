@@ -0,0 +1,155 @@
+package com.multiclinicas.api.config.cache;
+
+import com.multiclinicas.api.exceptions.ResourceNotFoundException;
+import com.multiclinicas.api.models.Clinica;
+import com.multiclinicas.api.models.Especialidade;
+import com.multiclinicas.api.models.PlanoSaude;
+import com.multiclinicas.api.paginacao.PaginaRequest;
+import com.multiclinicas.api.services.ClinicaService;
+import com.multiclinicas.api.services.EspecialidadeService;
+import com.multiclinicas.api.services.PlanoSaudeService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Leituras repetidas saem do cache de segundo nível; toda escrita pelos services aparece na leitura seguinte
+@SpringBootTest(properties = { "spring.jpa.show-sql=false", "logging.level.org.hibernate.SQL=WARN" })
+@ActiveProfiles("test")
+class CacheSegundoNivelTest {
+
+    @Autowired
+    private ClinicaService clinicaService;
+
+    @Autowired
+    private EspecialidadeService especialidadeService;
+
+    @Autowired
+    private PlanoSaudeService planoSaudeService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+    private Long clinicId;
+
+    @BeforeEach
+    void setup() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Clinica clinica = new Clinica();
+        clinica.setNomeFantasia("Clínica Cache");
+        clinica.setSubdominio("cache-" + UUID.randomUUID().toString().substring(0, 8));
+        clinicId = clinicaService.create(clinica).getId();
+    }
+
+    @Test
+    @DisplayName("Deve servir a listagem de especialidades do cache e refletir criação, edição e exclusão")
+    void especialidadesShouldComeFromCacheAndFollowWrites() {
+        Especialidade cardiologia = especialidadeService.create(clinicId, especialidade("cardiologia"));
+        especialidadeService.create(clinicId, especialidade("pediatria"));
+        especialidadeService.findAllByClinicId(clinicId);
+        especialidadeService.findByIdAndClinicId(cardiologia.getId(), clinicId);
+
+        assertThat(comandosSql(() -> especialidadeService.findAllByClinicId(clinicId))).isZero();
+        assertThat(comandosSql(() -> especialidadeService.findByIdAndClinicId(cardiologia.getId(), clinicId)))
+                .isZero();
+
+        especialidadeService.update(cardiologia.getId(), clinicId, especialidade("cardiologia infantil"));
+        assertThat(especialidadeService.findAllByClinicId(clinicId)).extracting(Especialidade::getNome)
+                .containsExactlyInAnyOrder("Cardiologia Infantil", "Pediatria");
+        assertThat(especialidadeService.findByIdAndClinicId(cardiologia.getId(), clinicId).getNome())
+                .isEqualTo("Cardiologia Infantil");
+
+        especialidadeService.create(clinicId, especialidade("dermatologia"));
+        assertThat(especialidadeService.findAllByClinicId(clinicId)).hasSize(3);
+
+        especialidadeService.delete(cardiologia.getId(), clinicId);
+        assertThat(especialidadeService.findAllByClinicId(clinicId)).extracting(Especialidade::getNome)
+                .containsExactlyInAnyOrder("Pediatria", "Dermatologia");
+        assertThatThrownBy(() -> especialidadeService.findByIdAndClinicId(cardiologia.getId(), clinicId))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Deve refletir a edição de plano de saúde no cache de entidade e de consultas")
+    void planosShouldFollowUpdates() {
+        PlanoSaude plano = new PlanoSaude();
+        plano.setNome("Plano Ouro");
+        plano = planoSaudeService.create(clinicId, plano);
+        Long planoId = plano.getId();
+        planoSaudeService.findAllByClinicId(clinicId, PaginaRequest.primeira());
+        planoSaudeService.findByIdAndClinicId(planoId, clinicId);
+
+        assertThat(comandosSql(() -> planoSaudeService.findAllByClinicId(clinicId, PaginaRequest.primeira())))
+                .isZero();
+        assertThat(comandosSql(() -> planoSaudeService.findByIdAndClinicId(planoId, clinicId))).isZero();
+
+        PlanoSaude alteracao = new PlanoSaude();
+        alteracao.setNome("Plano Platina");
+        alteracao.setAtivo(false);
+        planoSaudeService.update(planoId, clinicId, alteracao);
+
+        PlanoSaude lido = planoSaudeService.findByIdAndClinicId(planoId, clinicId);
+        assertThat(lido.getNome()).isEqualTo("Plano Platina");
+        assertThat(lido.getAtivo()).isFalse();
+        assertThat(planoSaudeService.findAllByClinicId(clinicId, PaginaRequest.primeira()).itens())
+                .extracting(PlanoSaude::getNome).containsExactly("Plano Platina");
+    }
+
+    @Test
+    @DisplayName("Deve servir a clínica do cache e refletir a edição")
+    void clinicaShouldFollowUpdates() {
+        clinicaService.findById(clinicId);
+        assertThat(comandosSql(() -> clinicaService.findById(clinicId))).isZero();
+
+        Clinica alteracao = new Clinica();
+        alteracao.setNomeFantasia("Clínica Cache Renomeada");
+        alteracao.setSubdominio(clinicaService.findById(clinicId).getSubdominio());
+        alteracao.setAtivo(false);
+        clinicaService.update(clinicId, alteracao);
+
+        Clinica lida = clinicaService.findById(clinicId);
+        assertThat(lida.getNomeFantasia()).isEqualTo("Clínica Cache Renomeada");
+        assertThat(lida.getAtivo()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve expor a taxa de acerto por região")
+    void shouldExposeHitRatioPerRegion() {
+        especialidadeService.create(clinicId, especialidade("ortopedia"));
+        especialidadeService.findAllByClinicId(clinicId);
+        especialidadeService.findAllByClinicId(clinicId);
+
+        double taxa = meterRegistry.get(CacheHibernateMetricas.TAXA_ACERTO)
+                .tag("regiao", RegioesCache.CONSULTAS_ESPECIALIDADES).gauge().value();
+        assertThat(taxa).isGreaterThan(0).isLessThanOrEqualTo(1);
+        assertThat(meterRegistry.get(CacheHibernateMetricas.TAXA_ACERTO)
+                .tag("regiao", RegioesCache.ESPECIALIDADES).gauge()).isNotNull();
+    }
+
+    private long comandosSql(Runnable leitura) {
+        long antes = statistics.getPrepareStatementCount();
+        leitura.run();
+        return statistics.getPrepareStatementCount() - antes;
+    }
+
+    private static Especialidade especialidade(String nome) {
+        Especialidade especialidade = new Especialidade();
+        especialidade.setNome(nome);
+        return especialidade;
+    }
+}
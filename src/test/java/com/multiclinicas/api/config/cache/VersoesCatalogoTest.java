@@ -0,0 +1,77 @@
+package com.multiclinicas.api.config.cache;
+
+import com.multiclinicas.api.config.cache.VersoesCatalogo.Catalogo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ETag;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VersoesCatalogoTest {
+
+    private VersoesCatalogo versoesCatalogo;
+
+    @BeforeEach
+    void setup() {
+        versoesCatalogo = new VersoesCatalogo(100, Duration.ofMinutes(4), Duration.ofSeconds(30));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve manter a versão até uma alteração no catálogo da própria clínica")
+    void shouldChangeOnlyAlteredCatalogOfClinic() {
+        ETag especialidades = versoesCatalogo.versao(Catalogo.ESPECIALIDADES, 1L);
+        ETag planos = versoesCatalogo.versao(Catalogo.PLANOS_SAUDE, 1L);
+        ETag outraClinica = versoesCatalogo.versao(Catalogo.ESPECIALIDADES, 2L);
+
+        assertThat(versoesCatalogo.versao(Catalogo.ESPECIALIDADES, 1L)).isEqualTo(especialidades);
+        assertThat(outraClinica).isNotEqualTo(especialidades);
+
+        versoesCatalogo.alterado(1L, Catalogo.ESPECIALIDADES);
+
+        assertThat(versoesCatalogo.versao(Catalogo.ESPECIALIDADES, 1L)).isNotEqualTo(especialidades);
+        assertThat(versoesCatalogo.versao(Catalogo.PLANOS_SAUDE, 1L)).isEqualTo(planos);
+        assertThat(versoesCatalogo.versao(Catalogo.ESPECIALIDADES, 2L)).isEqualTo(outraClinica);
+    }
+
+    @Test
+    @DisplayName("Deve trocar a versão de novo no commit, descartando a gerada por leitura concorrente")
+    void shouldChangeAgainAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        versoesCatalogo.alterado(1L, Catalogo.MEDICOS);
+        // Leitura de outra requisição antes do commit: ainda vê o conteúdo antigo
+        ETag antesDoCommit = versoesCatalogo.versao(Catalogo.MEDICOS, 1L);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        assertThat(versoesCatalogo.versao(Catalogo.MEDICOS, 1L)).isNotEqualTo(antesDoCommit);
+    }
+
+    @Test
+    @DisplayName("Deve reconhecer a versão atual no If-None-Match, fraca ou forte, em lista ou curinga")
+    void shouldMatchIfNoneMatch() {
+        ETag versao = versoesCatalogo.versao(Catalogo.PLANOS_SAUDE, 1L);
+        String tag = "\"" + versao.tag() + "\"";
+
+        assertThat(versoesCatalogo.naoModificado(versao.formattedTag(), versao)).isTrue();
+        assertThat(versoesCatalogo.naoModificado(tag, versao)).isTrue();
+        assertThat(versoesCatalogo.naoModificado("\"outra\", " + tag, versao)).isTrue();
+        assertThat(versoesCatalogo.naoModificado("*", versao)).isTrue();
+
+        assertThat(versoesCatalogo.naoModificado(null, versao)).isFalse();
+        assertThat(versoesCatalogo.naoModificado("W/\"outra\"", versao)).isFalse();
+    }
+}
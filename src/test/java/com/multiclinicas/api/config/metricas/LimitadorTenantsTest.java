@@ -0,0 +1,114 @@
+package com.multiclinicas.api.config.metricas;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LimitadorTenantsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final FiltroTagClinica filtroTagClinica = new FiltroTagClinica();
+
+    private final LimitadorTenants limitador = new LimitadorTenants(meterRegistry, filtroTagClinica, 2);
+
+    @BeforeEach
+    void setup() {
+        // Mesmo filtro que o MetricasConfig registra na aplicação
+        meterRegistry.config().meterFilter(filtroTagClinica);
+    }
+
+    @Test
+    @DisplayName("Deve dar série própria às primeiras clínicas e agrupar o excedente em 'outros'")
+    void shouldAdmitUntilFull() {
+        assertThat(limitador.tag(1L)).isEqualTo("1");
+        assertThat(limitador.tag(2L)).isEqualTo("2");
+        assertThat(limitador.tag(3L)).isEqualTo(LimitadorTenants.OUTROS);
+        assertThat(limitador.tag(1L)).isEqualTo("1");
+        assertThat(limitador.tag(null)).isEqualTo(LimitadorTenants.NENHUM);
+    }
+
+    @Test
+    @DisplayName("Deve trocar a clínica de menor volume e remover as séries dela do registro")
+    void shouldKeepTopClinicsAndRemoveEvictedMeters() {
+        limitador.tag(1L);
+        limitador.tag(2L);
+        meterRegistry.timer("tenant.http.requisicoes", "clinicId", "1").record(Duration.ofMillis(1));
+        meterRegistry.timer("tenant.http.requisicoes", "clinicId", "2").record(Duration.ofMillis(1));
+        meterRegistry.timer("jvm.outra", "clinicId", "1").record(Duration.ofMillis(1));
+        for (int i = 0; i < 10; i++) {
+            limitador.tag(2L);
+            limitador.tag(3L);
+        }
+
+        limitador.recalcular();
+
+        assertThat(limitador.monitorados()).isEqualTo(Set.of(2L, 3L));
+        assertThat(limitador.tag(3L)).isEqualTo("3");
+        assertThat(limitador.tag(1L)).isEqualTo(LimitadorTenants.OUTROS);
+        assertThat(meterRegistry.find("tenant.http.requisicoes").tag("clinicId", "1").timer()).isNull();
+        assertThat(meterRegistry.find("tenant.http.requisicoes").tag("clinicId", "2").timer()).isNotNull();
+        // Só as métricas por clínica (tenant.*) são removidas
+        assertThat(meterRegistry.find("jvm.outra").timer()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Deve liberar a vaga de clínica que parou de receber tráfego")
+    void shouldDecayIdleClinics() {
+        limitador.tag(1L);
+        limitador.tag(2L);
+        limitador.recalcular();
+
+        // pontuação cai pela metade a cada janela sem tráfego
+        for (int i = 0; i < 10; i++) {
+            limitador.tag(2L);
+            limitador.recalcular();
+        }
+
+        assertThat(limitador.monitorados()).isEqualTo(Set.of(2L));
+        assertThat(limitador.tag(4L)).isEqualTo("4");
+    }
+
+    @Test
+    @DisplayName("Deve medir a clínica recém-admitida depois de muitas clínicas passarem pelo rodízio")
+    void shouldRecordNewlyAdmittedClinicAfterManyRotations() {
+        // 60 clínicas passam pelas 2 vagas e cada uma chega a ter série própria: bem mais
+        // valores de tag do que o limite
+        for (long clinicId = 1; clinicId <= 60; clinicId++) {
+            for (int i = 0; i < 10; i++) {
+                limitador.tag(clinicId);
+            }
+            limitador.monitorados().forEach(monitorado -> registrar(limitador.tag(monitorado)));
+            limitador.recalcular();
+        }
+
+        assertThat(limitador.monitorados()).contains(60L);
+        registrar(limitador.tag(60L));
+
+        assertThat(meterRegistry.get("tenant.http.requisicoes").tag("clinicId", "60").timer().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.find("tenant.http.requisicoes").tag("clinicId", "1").timer()).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve agrupar em 'outros' a série de clínica que não passou pelo limitador")
+    void shouldMapUnmonitoredClinicToOutros() {
+        limitador.tag(1L);
+
+        registrar("999");
+
+        assertThat(meterRegistry.find("tenant.http.requisicoes").tag("clinicId", "999").timer()).isNull();
+        assertThat(meterRegistry.get("tenant.http.requisicoes").tag("clinicId", LimitadorTenants.OUTROS).timer()
+                .count()).isEqualTo(1);
+    }
+
+    private void registrar(String clinicId) {
+        meterRegistry.timer("tenant.http.requisicoes", "clinicId", clinicId).record(Duration.ofMillis(1));
+    }
+}
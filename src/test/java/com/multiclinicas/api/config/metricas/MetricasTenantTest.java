@@ -0,0 +1,82 @@
+package com.multiclinicas.api.config.metricas;
+
+import com.multiclinicas.api.models.Clinica;
+import com.multiclinicas.api.repositories.ClinicaRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Requisições reais pela cadeia do MVC, conferindo as séries tenant.http.* e a exposição no Prometheus
+@SpringBootTest(properties = { "spring.jpa.show-sql=false", "logging.level.org.hibernate.SQL=WARN" })
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+class MetricasTenantTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ClinicaRepository clinicaRepository;
+
+    private String clinicId;
+
+    @BeforeEach
+    void setup() {
+        Clinica clinica = new Clinica();
+        clinica.setNomeFantasia("Clínica Métricas");
+        clinica.setSubdominio("metricas-" + UUID.randomUUID().toString().substring(0, 8));
+        clinicId = clinicaRepository.save(clinica).getId().toString();
+    }
+
+    @Test
+    @DisplayName("Deve medir latência, comandos JDBC, tempo do Hibernate e do TenantInterceptor por clínica")
+    void shouldRecordPerTenantMetrics() throws Exception {
+        mockMvc.perform(get("/especialidades").header("X-Clinic-ID", clinicId)).andExpect(status().isOk());
+        mockMvc.perform(get("/especialidades").header("X-Clinic-ID", clinicId)).andExpect(status().isOk());
+
+        String[] tags = { "clinicId", clinicId, "controller", "EspecialidadeController", "metodo", "findAll",
+                "resultado", "SUCCESS" };
+        assertThat(meterRegistry.get(MetricasInterceptor.REQUISICOES).tags(tags).timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get(MetricasInterceptor.CONSULTAS_JDBC).tags(tags).summary().totalAmount())
+                .isGreaterThanOrEqualTo(2);
+        assertThat(meterRegistry.get(MetricasInterceptor.HIBERNATE).tags(tags).timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get(MetricasInterceptor.INTERCEPTOR).tags(tags).timer().count()).isEqualTo(2);
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("tenant_http_requisicoes_seconds_count{clinicId=\""
+                        + clinicId + "\",controller=\"EspecialidadeController\"")));
+    }
+
+    @Test
+    @DisplayName("Deve registrar requisição com clínica inexistente sem criar série para o id informado")
+    void shouldTagUnknownClinicAsNenhum() throws Exception {
+        mockMvc.perform(get("/especialidades").header("X-Clinic-ID", "987654321"))
+                .andExpect(status().isNotFound());
+
+        assertThat(meterRegistry.get(MetricasInterceptor.REQUISICOES)
+                .tags("clinicId", LimitadorTenants.NENHUM, "resultado", "CLIENT_ERROR").timer().count())
+                .isGreaterThanOrEqualTo(1);
+        assertThat(meterRegistry.find(MetricasInterceptor.REQUISICOES).tag("clinicId", "987654321").timer())
+                .isNull();
+    }
+}
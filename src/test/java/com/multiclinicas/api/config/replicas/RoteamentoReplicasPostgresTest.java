@@ -0,0 +1,111 @@
+package com.multiclinicas.api.config.replicas;
+
+import com.multiclinicas.api.models.Clinica;
+import com.multiclinicas.api.repositories.ClinicaRepository;
+import com.multiclinicas.api.services.ClinicaService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Roteamento com duas instâncias PostgreSQL independentes (sem replicação entre elas): o que é
+ * gravado só existe no primário, então uma leitura que devolve a linha veio do primário e uma
+ * que não devolve veio da réplica. O mesmo arranjo serve para testar à mão com dois Postgres
+ * locais (README, seção 7.9).
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = { "spring.jpa.show-sql=false", "logging.level.org.hibernate.SQL=WARN",
+        "notificacoes.lembretes.habilitado=false", "notificacoes.outbox.worker.habilitado=false",
+        "banco.replicas.habilitado=true", "banco.replicas.verificacao=1h" })
+class RoteamentoReplicasPostgresTest {
+
+    @Container
+    static PostgreSQLContainer<?> primario = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Container
+    static PostgreSQLContainer<?> replica = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void bancos(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", primario::getJdbcUrl);
+        registry.add("spring.datasource.username", primario::getUsername);
+        registry.add("spring.datasource.password", primario::getPassword);
+        registry.add("banco.replicas.urls", replica::getJdbcUrl);
+        registry.add("banco.replicas.usuario", replica::getUsername);
+        registry.add("banco.replicas.senha", replica::getPassword);
+    }
+
+    // A réplica precisa do mesmo esquema; numa replicação real ele viria do primário
+    @BeforeAll
+    static void migrarReplica() {
+        Flyway.configure()
+                .dataSource(replica.getJdbcUrl(), replica.getUsername(), replica.getPassword())
+                .locations("classpath:db/migration", "classpath:db/vendor/postgresql")
+                .placeholders(Map.of("id-allocation-size", "50"))
+                .load()
+                .migrate();
+    }
+
+    @Autowired
+    private ClinicaService clinicaService;
+
+    @Autowired
+    private ClinicaRepository clinicaRepository;
+
+    @Autowired
+    private MonitorReplicas monitorReplicas;
+
+    @Autowired
+    private HealthIndicator replicasHealthIndicator;
+
+    @Test
+    @DisplayName("Deve ler da réplica, voltar ao primário após escrita e quando a réplica cai")
+    void shouldRouteBetweenTwoPostgresInstances() throws Exception {
+        monitorReplicas.verificar();
+        assertThat(replicasHealthIndicator.health().getDetails().get("replica-1").toString())
+                .contains("disponivel=true", "atrasoSegundos=0.0");
+
+        long clinicasNaReplica = emNovaThread(clinicaRepository::count);
+
+        // Escrita seguida de leitura na mesma thread: a leitura fica no primário
+        long lidasAposEscrita = emNovaThread(() -> {
+            Clinica clinica = new Clinica();
+            clinica.setNomeFantasia("Clínica Primário");
+            clinica.setSubdominio("primario-replicas");
+            clinicaService.create(clinica);
+            return clinicaRepository.count();
+        });
+        assertThat(lidasAposEscrita).isEqualTo(1);
+
+        // Sem escrita recente a leitura vai para a réplica, que não recebeu a clínica
+        long lidasSemEscrita = emNovaThread(clinicaRepository::count);
+        assertThat(lidasSemEscrita).isEqualTo(clinicasNaReplica).isZero();
+
+        // Réplica fora do ar: sai do rodízio e a leitura segue no primário
+        replica.stop();
+        monitorReplicas.verificar();
+        assertThat(replicasHealthIndicator.health().getDetails().get("replica-1").toString())
+                .contains("disponivel=false");
+        long lidasSemReplica = emNovaThread(clinicaRepository::count);
+        assertThat(lidasSemReplica).isEqualTo(1);
+    }
+
+    private static <T> T emNovaThread(Supplier<T> tarefa) throws Exception {
+        return CompletableFuture.supplyAsync(tarefa, comando -> new Thread(comando).start()).get();
+    }
+}
@@ -0,0 +1,176 @@
+package com.multiclinicas.api.config.replicas;
+
+import com.multiclinicas.api.config.tenant.TenantContext;
+import com.multiclinicas.api.models.Clinica;
+import com.multiclinicas.api.models.Especialidade;
+import com.multiclinicas.api.repositories.ClinicaRepository;
+import com.multiclinicas.api.services.ClinicaService;
+import com.multiclinicas.api.services.EspecialidadeService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// A "réplica-1" é o mesmo H2 do primário em outro pool (as rotas são conferidas pelas métricas);
+// a "réplica-2" não existe e deve ficar fora do rodízio
+@SpringBootTest(properties = { "spring.jpa.show-sql=false", "logging.level.org.hibernate.SQL=WARN",
+        "banco.replicas.habilitado=true",
+        "banco.replicas.urls=jdbc:h2:mem:testdb;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH,"
+                + "jdbc:h2:tcp://localhost:1/indisponivel",
+        "banco.replicas.timeout=1s", "banco.replicas.verificacao=1h" })
+@ActiveProfiles("test")
+class RoteamentoReplicasTest {
+
+    @Autowired
+    private ClinicaService clinicaService;
+
+    @Autowired
+    private EspecialidadeService especialidadeService;
+
+    @Autowired
+    private ClinicaRepository clinicaRepository;
+
+    @Autowired
+    private MonitorReplicas monitorReplicas;
+
+    @Autowired
+    private HealthIndicator replicasHealthIndicator;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setup() {
+        monitorReplicas.verificar();
+    }
+
+    @Test
+    @DisplayName("Deve enviar transações readOnly para a réplica disponível e escritas para o primário")
+    void shouldRouteReadsToReplicaAndWritesToPrimary() throws Exception {
+        double leituras = conexoes("replica-1", "leitura");
+        double escritas = conexoes(RoteadorDataSource.PRIMARIO, "escrita");
+
+        emNovaThread(clinicaRepository::count);
+        assertThat(conexoes("replica-1", "leitura")).isEqualTo(leituras + 1);
+
+        emNovaThread(this::novaClinica);
+        assertThat(conexoes(RoteadorDataSource.PRIMARIO, "escrita")).isGreaterThan(escritas);
+        assertThat(conexoes("replica-2", "leitura")).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve manter no primário as leituras logo após uma escrita da mesma requisição ou da mesma clínica")
+    void shouldKeepReadsOnPrimaryAfterWrite() throws Exception {
+        double recentes = conexoes(RoteadorDataSource.PRIMARIO, "escrita-recente");
+        double leituras = conexoes("replica-1", "leitura");
+
+        Long clinicId = emNovaThread(() -> emRequisicao(() -> {
+            Long id = novaClinica();
+            clinicaRepository.count();
+            return id;
+        }));
+        assertThat(conexoes(RoteadorDataSource.PRIMARIO, "escrita-recente")).isEqualTo(recentes + 1);
+
+        Long outraClinica = emNovaThread(this::novaClinica);
+        emNovaThread(() -> TenantContext.executarComo(clinicId, () -> {
+            Especialidade especialidade = new Especialidade();
+            especialidade.setNome("Cardiologia");
+            return especialidadeService.create(clinicId, especialidade);
+        }));
+
+        emNovaThread(() -> TenantContext.executarComo(clinicId, clinicaRepository::count));
+        assertThat(conexoes(RoteadorDataSource.PRIMARIO, "escrita-recente")).isEqualTo(recentes + 2);
+
+        emNovaThread(() -> TenantContext.executarComo(outraClinica, clinicaRepository::count));
+        assertThat(conexoes("replica-1", "leitura")).isEqualTo(leituras + 1);
+    }
+
+    @Test
+    @DisplayName("Não deve levar a escrita de uma requisição para a próxima requisição atendida pela mesma thread")
+    void shouldNotKeepNextRequestOnPrimaryAfterWriteOnSameThread() throws Exception {
+        Long clinicId = emNovaThread(this::novaClinica);
+        Long outraClinica = emNovaThread(this::novaClinica);
+        double recentes = conexoes(RoteadorDataSource.PRIMARIO, "escrita-recente");
+        double leituras = conexoes("replica-1", "leitura");
+
+        emNovaThread(() -> {
+            emRequisicao(() -> TenantContext.executarComo(clinicId, () -> {
+                Especialidade especialidade = new Especialidade();
+                especialidade.setNome("Pediatria");
+                return especialidadeService.create(clinicId, especialidade);
+            }));
+            return emRequisicao(() -> TenantContext.executarComo(outraClinica, clinicaRepository::count));
+        });
+
+        assertThat(conexoes(RoteadorDataSource.PRIMARIO, "escrita-recente")).isEqualTo(recentes);
+        assertThat(conexoes("replica-1", "leitura")).isEqualTo(leituras + 1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    @DisplayName("Deve tirar do rodízio a réplica fora do ar e expor saúde e atraso de cada réplica")
+    void shouldReportReplicaHealthAndLag() {
+        Health saude = replicasHealthIndicator.health();
+
+        assertThat(saude.getStatus()).isEqualTo(Status.UP);
+        assertThat((Map<String, Object>) saude.getDetails().get("replica-1"))
+                .containsEntry("disponivel", true)
+                .containsEntry("atrasoSegundos", 0.0);
+        assertThat((Map<String, Object>) saude.getDetails().get("replica-2"))
+                .containsEntry("disponivel", false)
+                .containsKey("erro");
+
+        assertThat(meterRegistry.get(MonitorReplicas.DISPONIVEL).tag("replica", "replica-1").gauge().value())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get(MonitorReplicas.DISPONIVEL).tag("replica", "replica-2").gauge().value())
+                .isZero();
+        assertThat(meterRegistry.get("hikaricp.connections.max").tag("pool", "replica-1").gauge()).isNotNull();
+    }
+
+    private Long novaClinica() {
+        Clinica clinica = new Clinica();
+        clinica.setNomeFantasia("Clínica Réplica");
+        clinica.setSubdominio("replica-" + UUID.randomUUID().toString().substring(0, 8));
+        return clinicaService.create(clinica).getId();
+    }
+
+    private double conexoes(String rota, String motivo) {
+        Counter contador = meterRegistry.find(RoteadorDataSource.CONEXOES).tags("rota", rota, "motivo", motivo)
+                .counter();
+        return contador == null ? 0 : contador.count();
+    }
+
+    // Como o RequestContextFilter faz para cada requisição HTTP
+    private static <T> T emRequisicao(Supplier<T> tarefa) {
+        ServletRequestAttributes requisicao = new ServletRequestAttributes(new MockHttpServletRequest());
+        RequestContextHolder.setRequestAttributes(requisicao);
+        try {
+            return tarefa.get();
+        } finally {
+            requisicao.requestCompleted();
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    // Thread nova a cada chamada: sem escrita recente herdada de outro passo do teste
+    private static <T> T emNovaThread(Supplier<T> tarefa) throws Exception {
+        return CompletableFuture.supplyAsync(tarefa, comando -> new Thread(comando).start()).get();
+    }
+}
@@ -1,7 +1,6 @@
 package com.multiclinicas.api.config.tenant;
 
 import com.multiclinicas.api.exceptions.ResourceNotFoundException;
-import com.multiclinicas.api.repositories.ClinicaRepository;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.junit.jupiter.api.AfterEach;
@@ -11,14 +10,18 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.Optional;
+import java.util.Set;
+
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class TenantInterceptorTest {
 
     @Mock
-    private ClinicaRepository clinicaRepository;
+    private TenantRegistry tenantRegistry;
 
     @Mock
     private HttpServletRequest request;
@@ -37,7 +40,7 @@ class TenantInterceptorTest {
     @Test
     void preHandle_ShouldReturnTrue_WhenHeaderIsValidAndClinicExists() {
         when(request.getHeader("X-Clinic-ID")).thenReturn("1");
-        when(clinicaRepository.existsById(1L)).thenReturn(true);
+        when(tenantRegistry.exists(1L)).thenReturn(true);
 
         boolean result = tenantInterceptor.preHandle(request, response, new Object());
 
@@ -72,9 +75,55 @@ class TenantInterceptorTest {
     @Test
     void preHandle_ShouldThrowException_WhenClinicDoesNotExist() {
         when(request.getHeader("X-Clinic-ID")).thenReturn("999");
-        when(clinicaRepository.existsById(999L)).thenReturn(false);
+        when(tenantRegistry.exists(999L)).thenReturn(false);
 
         assertThrows(ResourceNotFoundException.class,
                 () -> tenantInterceptor.preHandle(request, response, new Object()));
     }
+
+    @Test
+    void preHandle_ShouldResolveClinicFromSubdomain_WithoutHeader() {
+        TenantInterceptor porDominio = new TenantInterceptor(tenantRegistry, "sistema.com", Set.of("www", "api"));
+        when(request.getServerName()).thenReturn("Clinica-Vida.Sistema.com");
+        when(tenantRegistry.clinicIdPorSubdominio("clinica-vida")).thenReturn(Optional.of(7L));
+        when(tenantRegistry.exists(7L)).thenReturn(true);
+
+        assertTrue(porDominio.preHandle(request, response, new Object()));
+        assertEquals(7L, TenantContext.getClinicId());
+    }
+
+    @Test
+    void preHandle_ShouldThrowException_WhenSubdomainIsUnknown() {
+        TenantInterceptor porDominio = new TenantInterceptor(tenantRegistry, "sistema.com", Set.of("www", "api"));
+        when(request.getServerName()).thenReturn("inexistente.sistema.com");
+        when(tenantRegistry.clinicIdPorSubdominio("inexistente")).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> porDominio.preHandle(request, response, new Object()));
+    }
+
+    @Test
+    void preHandle_ShouldThrowException_WhenHeaderDiffersFromSubdomain() {
+        TenantInterceptor porDominio = new TenantInterceptor(tenantRegistry, "sistema.com", Set.of("www", "api"));
+        when(request.getServerName()).thenReturn("clinica-vida.sistema.com");
+        when(request.getHeader("X-Clinic-ID")).thenReturn("8");
+        when(tenantRegistry.clinicIdPorSubdominio("clinica-vida")).thenReturn(Optional.of(7L));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> porDominio.preHandle(request, response, new Object()));
+    }
+
+    @Test
+    void preHandle_ShouldFallBackToHeader_OnReservedSubdomainOrOtherHost() {
+        TenantInterceptor porDominio = new TenantInterceptor(tenantRegistry, "sistema.com", Set.of("www", "api"));
+        when(request.getHeader("X-Clinic-ID")).thenReturn("1");
+        when(tenantRegistry.exists(1L)).thenReturn(true);
+
+        for (String host : new String[] { "api.sistema.com", "sistema.com", "localhost", "outrosistema.com" }) {
+            when(request.getServerName()).thenReturn(host);
+            assertTrue(porDominio.preHandle(request, response, new Object()), host);
+            assertEquals(1L, TenantContext.getClinicId());
+        }
+        verify(tenantRegistry, never()).clinicIdPorSubdominio(any());
+    }
 }
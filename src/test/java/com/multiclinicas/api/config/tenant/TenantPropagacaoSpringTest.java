@@ -0,0 +1,92 @@
+package com.multiclinicas.api.config.tenant;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Executores configurados pelo Spring Boot: a clínica chega às tarefas pelo TaskDecorator
+@SpringBootTest(properties = { "spring.jpa.show-sql=false", "logging.level.org.hibernate.SQL=WARN" })
+@ActiveProfiles("test")
+class TenantPropagacaoSpringTest {
+
+    @Autowired
+    private TarefaAssincrona tarefaAssincrona;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private AsyncTaskExecutor applicationTaskExecutor;
+
+    @Autowired
+    private TaskScheduler taskScheduler;
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    @DisplayName("Deve levar a clínica para métodos @Async e para o applicationTaskExecutor")
+    void asyncShouldSeeCallerTenant() throws Exception {
+        TenantContext.setClinicId(7L);
+
+        assertThat(tarefaAssincrona.clinicaAtual().get(5, TimeUnit.SECONDS)).isEqualTo(7L);
+        assertThat(applicationTaskExecutor.submit(TenantContext::getClinicId).get(5, TimeUnit.SECONDS))
+                .isEqualTo(7L);
+
+        TenantContext.clear();
+        assertThat(tarefaAssincrona.clinicaAtual().get(5, TimeUnit.SECONDS)).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve levar a clínica propagada para o taskScheduler sem deixá-la na thread depois")
+    void schedulerShouldSeePropagatedTenantWithoutLeaking() throws Exception {
+        TenantContext.setClinicId(8L);
+        CompletableFuture<Long> comClinica = new CompletableFuture<>();
+        taskScheduler.schedule(TenantContext.propagar(() -> {
+            comClinica.complete(TenantContext.getClinicId());
+        }), Instant.now());
+        assertThat(comClinica.get(5, TimeUnit.SECONDS)).isEqualTo(8L);
+
+        // Como num @Scheduled, registrado sem clínica: nenhuma tarefa anterior deixa a sua na thread
+        TenantContext.clear();
+        for (int i = 0; i < 10; i++) {
+            CompletableFuture<Long> semClinica = new CompletableFuture<>();
+            taskScheduler.schedule(() -> {
+                semClinica.complete(TenantContext.getClinicId());
+            }, Instant.now());
+            assertThat(semClinica.get(5, TimeUnit.SECONDS)).isNull();
+        }
+    }
+
+    @TestConfiguration
+    static class Configuracao {
+
+        @Bean
+        TarefaAssincrona tarefaAssincrona() {
+            return new TarefaAssincrona();
+        }
+    }
+
+    static class TarefaAssincrona {
+
+        @Async
+        public CompletableFuture<Long> clinicaAtual() {
+            return CompletableFuture.completedFuture(TenantContext.getClinicId());
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.multiclinicas.api.config.tenant;
+
+import com.multiclinicas.api.config.ExecucaoAssincronaConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TenantPropagacaoTest {
+
+    // Mais clínicas submetendo do que threads no pool, para que cada thread troque de clínica várias vezes
+    private static final int SUBMISSORES = 8;
+    private static final int TAREFAS_POR_SUBMISSOR = 300;
+    private static final int THREADS = 2;
+
+    private final List<AutoCloseable> recursos = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws Exception {
+        TenantContext.clear();
+        for (AutoCloseable recurso : recursos) {
+            recurso.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve entregar a cada tarefa do executor a clínica de quem a submeteu, sem vazar entre tarefas")
+    void decoratorShouldIsolateTenantsUnderConcurrency() throws Exception {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(THREADS);
+        executor.setMaxPoolSize(THREADS);
+        executor.setTaskDecorator(new ExecucaoAssincronaConfig().taskDecorator());
+        executor.initialize();
+        recursos.add(executor::shutdown);
+
+        AtomicInteger divergencias = new AtomicInteger();
+        // Submissor 0 não tem clínica: suas tarefas precisam ver null mesmo depois de outras clínicas
+        submeterEmParalelo(clinicId -> executor.submit(() -> {
+            if (!Objects.equals(TenantContext.getClinicId(), clinicId)) {
+                divergencias.incrementAndGet();
+            }
+        }));
+
+        assertThat(divergencias).hasValue(0);
+        assertThat(executor.submit(TenantContext::getClinicId).get(5, TimeUnit.SECONDS)).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve propagar a clínica para CompletableFuture e limpar a thread do pool ao final")
+    void propagarShouldCarryTenantIntoCompletableFuture() throws Exception {
+        ForkJoinPool pool = new ForkJoinPool(THREADS);
+        recursos.add(pool::shutdown);
+
+        AtomicInteger divergencias = new AtomicInteger();
+        submeterEmParalelo(clinicId -> CompletableFuture
+                .supplyAsync(TenantContext.propagar(TenantContext::getClinicId), pool)
+                .thenAccept(visto -> {
+                    if (!Objects.equals(visto, clinicId)) {
+                        divergencias.incrementAndGet();
+                    }
+                }));
+
+        assertThat(divergencias).hasValue(0);
+        // Sem propagar, a thread do pool não deve trazer clínica de nenhuma tarefa anterior
+        for (int i = 0; i < THREADS * 10; i++) {
+            assertThat(CompletableFuture.supplyAsync(TenantContext::getClinicId, pool).get(5, TimeUnit.SECONDS))
+                    .isNull();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve restaurar a clínica anterior depois de executar como outra clínica")
+    void executarComoShouldRestorePreviousTenant() {
+        TenantContext.setClinicId(1L);
+
+        Long dentro = TenantContext.executarComo(2L, TenantContext::getClinicId);
+        Long semClinica = TenantContext.executarComo(null, TenantContext::getClinicId);
+
+        assertThat(dentro).isEqualTo(2L);
+        assertThat(semClinica).isNull();
+        assertThat(TenantContext.getClinicId()).isEqualTo(1L);
+    }
+
+    private interface Submissao {
+        Future<?> submeter(Long clinicId) throws Exception;
+    }
+
+    // Cada submissor roda numa thread própria com sua clínica e todos começam juntos
+    private void submeterEmParalelo(Submissao submissao) throws Exception {
+        CountDownLatch largada = new CountDownLatch(1);
+        List<CompletableFuture<List<Future<?>>>> submissores = new ArrayList<>();
+        for (int s = 0; s < SUBMISSORES; s++) {
+            Long clinicId = s == 0 ? null : (long) s;
+            submissores.add(CompletableFuture.supplyAsync(() -> {
+                List<Future<?>> tarefas = new ArrayList<>();
+                TenantContext.executarComo(clinicId, () -> {
+                    try {
+                        largada.await();
+                        for (int i = 0; i < TAREFAS_POR_SUBMISSOR; i++) {
+                            tarefas.add(submissao.submeter(clinicId));
+                        }
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                    return null;
+                });
+                return tarefas;
+            }, runnable -> new Thread(runnable).start()));
+        }
+        largada.countDown();
+        for (CompletableFuture<List<Future<?>>> submissor : submissores) {
+            for (Future<?> tarefa : submissor.get(30, TimeUnit.SECONDS)) {
+                tarefa.get(30, TimeUnit.SECONDS);
+            }
+        }
+    }
+}
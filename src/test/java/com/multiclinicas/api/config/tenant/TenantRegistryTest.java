@@ -0,0 +1,106 @@
+package com.multiclinicas.api.config.tenant;
+
+import com.multiclinicas.api.repositories.ClinicaRepository;
+import com.multiclinicas.api.repositories.projections.SubdominioClinica;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TenantRegistryTest {
+
+    @Mock
+    private ClinicaRepository clinicaRepository;
+
+    private TenantRegistry tenantRegistry;
+
+    @BeforeEach
+    void setup() {
+        tenantRegistry = new TenantRegistry(clinicaRepository, 100, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void exists_ShouldHitDatabaseOnlyOnce_WhenClinicIsCached() {
+        when(clinicaRepository.findAtivoById(1L)).thenReturn(Optional.of(true));
+
+        assertTrue(tenantRegistry.exists(1L));
+        assertTrue(tenantRegistry.exists(1L));
+        assertTrue(tenantRegistry.isAtivo(1L));
+
+        verify(clinicaRepository, times(1)).findAtivoById(1L);
+    }
+
+    @Test
+    void exists_ShouldCacheUnknownClinic() {
+        when(clinicaRepository.findAtivoById(999L)).thenReturn(Optional.empty());
+
+        assertFalse(tenantRegistry.exists(999L));
+        assertFalse(tenantRegistry.exists(999L));
+        assertFalse(tenantRegistry.isAtivo(999L));
+
+        verify(clinicaRepository, times(1)).findAtivoById(999L);
+    }
+
+    @Test
+    void invalidate_ShouldReloadClinicOnNextLookup() {
+        when(clinicaRepository.findAtivoById(1L))
+                .thenReturn(Optional.of(true))
+                .thenReturn(Optional.of(false));
+
+        assertTrue(tenantRegistry.isAtivo(1L));
+        tenantRegistry.invalidate(1L);
+        assertFalse(tenantRegistry.isAtivo(1L));
+
+        verify(clinicaRepository, times(2)).findAtivoById(1L);
+    }
+
+    @Test
+    void bindTo_ShouldExposeHitAndMissCounts() {
+        when(clinicaRepository.findAtivoById(1L)).thenReturn(Optional.of(true));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        tenantRegistry.bindTo(meterRegistry);
+
+        tenantRegistry.exists(1L);
+        tenantRegistry.exists(1L);
+
+        assertEquals(1.0, meterRegistry.get("cache.gets")
+                .tag("cache", TenantRegistry.CACHE_NAME).tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets")
+                .tag("cache", TenantRegistry.CACHE_NAME).tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void clinicIdPorSubdominio_ShouldLoadMapOnceAndIgnoreCase() {
+        when(clinicaRepository.findSubdominios()).thenReturn(List.of(
+                new SubdominioClinica("clinica-vida", 1L), new SubdominioClinica("Saude-Total", 2L)));
+
+        assertEquals(Optional.of(1L), tenantRegistry.clinicIdPorSubdominio("clinica-vida"));
+        assertEquals(Optional.of(2L), tenantRegistry.clinicIdPorSubdominio("saude-total"));
+        assertEquals(Optional.empty(), tenantRegistry.clinicIdPorSubdominio("outra"));
+
+        verify(clinicaRepository, times(1)).findSubdominios();
+    }
+
+    @Test
+    void invalidate_ShouldSwapSubdomainMap() {
+        when(clinicaRepository.findSubdominios())
+                .thenReturn(List.of(new SubdominioClinica("clinica-vida", 1L)))
+                .thenReturn(List.of(new SubdominioClinica("vida-nova", 1L)));
+
+        assertEquals(Optional.of(1L), tenantRegistry.clinicIdPorSubdominio("clinica-vida"));
+        tenantRegistry.invalidate(1L);
+
+        assertEquals(Optional.empty(), tenantRegistry.clinicIdPorSubdominio("clinica-vida"));
+        assertEquals(Optional.of(1L), tenantRegistry.clinicIdPorSubdominio("vida-nova"));
+    }
+}
@@ -0,0 +1,86 @@
+package com.multiclinicas.api.config.tenant;
+
+import com.multiclinicas.api.models.Clinica;
+import com.multiclinicas.api.models.Especialidade;
+import com.multiclinicas.api.services.ClinicaService;
+import com.multiclinicas.api.services.EspecialidadeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Clínica resolvida pelo Host, com o mapa de subdomínios trocado a cada escrita pelo ClinicaService
+@SpringBootTest(properties = { "spring.jpa.show-sql=false", "logging.level.org.hibernate.SQL=WARN",
+        "tenant.dominio=sistema.com" })
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TenantSubdominioTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ClinicaService clinicaService;
+
+    @Autowired
+    private EspecialidadeService especialidadeService;
+
+    private Clinica clinica;
+
+    @BeforeEach
+    void setup() {
+        clinica = new Clinica();
+        clinica.setNomeFantasia("Clínica Vida");
+        clinica.setSubdominio("vida-" + UUID.randomUUID().toString().substring(0, 8));
+        clinica = clinicaService.create(clinica);
+
+        Especialidade especialidade = new Especialidade();
+        especialidade.setNome("Cardiologia");
+        especialidadeService.create(clinica.getId(), especialidade);
+    }
+
+    @Test
+    @DisplayName("Deve resolver a clínica pelo subdomínio sem o header X-Clinic-ID")
+    void shouldResolveClinicFromHost() throws Exception {
+        mockMvc.perform(get("http://" + clinica.getSubdominio() + ".sistema.com/especialidades"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].nome", contains("Cardiologia")));
+
+        mockMvc.perform(get("http://inexistente.sistema.com/especialidades"))
+                .andExpect(status().isNotFound());
+
+        // Fora do domínio base, continua valendo o header
+        mockMvc.perform(get("/especialidades").header("X-Clinic-ID", clinica.getId()))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Deve passar a atender pelo novo subdomínio logo após a alteração da clínica")
+    void shouldSwapMapOnClinicUpdate() throws Exception {
+        String antigo = clinica.getSubdominio();
+        mockMvc.perform(get("http://" + antigo + ".sistema.com/especialidades"))
+                .andExpect(status().isOk());
+
+        Clinica alteracao = new Clinica();
+        alteracao.setNomeFantasia(clinica.getNomeFantasia());
+        alteracao.setSubdominio(antigo + "-nova");
+        clinicaService.update(clinica.getId(), alteracao);
+
+        mockMvc.perform(get("http://" + antigo + ".sistema.com/especialidades"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("http://" + antigo + "-nova.sistema.com/especialidades"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].nome", contains("Cardiologia")));
+    }
+}
@@ -0,0 +1,85 @@
+package com.multiclinicas.api.controllers;
+
+import com.multiclinicas.api.config.WebConfig;
+import com.multiclinicas.api.config.tenant.TenantInterceptor;
+import com.multiclinicas.api.config.tenant.TenantRegistry;
+import com.multiclinicas.api.exceptions.ResourceNotFoundException;
+import com.multiclinicas.api.mappers.AgendaMapper;
+import com.multiclinicas.api.models.enums.StatusAgendamento;
+import com.multiclinicas.api.models.enums.TipoPagamento;
+import com.multiclinicas.api.repositories.projections.ConsultaAgenda;
+import com.multiclinicas.api.services.AgendaService;
+import com.multiclinicas.api.services.agenda.AgendaMedico;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(AgendaController.class)
+@AutoConfigureMockMvc(addFilters = false)
+@Import({ WebConfig.class, TenantInterceptor.class, AgendaMapper.class })
+class AgendaControllerTest {
+
+    private static final Long CLINIC_ID = 1L;
+    private static final LocalDate DATA = LocalDate.of(2030, 1, 7);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private AgendaService agendaService;
+
+    @MockitoBean
+    private TenantRegistry tenantRegistry;
+
+    @BeforeEach
+    void setup() {
+        when(tenantRegistry.exists(CLINIC_ID)).thenReturn(true);
+    }
+
+    @Test
+    @DisplayName("Deve retornar a agenda do dia com consultas e horários livres por médico")
+    void shouldReturnDayAgenda() throws Exception {
+        ConsultaAgenda consulta = new ConsultaAgenda(7L, 10L, "Dr. House", LocalTime.of(9, 0), LocalTime.of(9, 30),
+                StatusAgendamento.AGENDADO, 5L, "João", TipoPagamento.CONVENIO, "Unimed");
+        when(agendaService.findAgenda(CLINIC_ID, DATA, 10L)).thenReturn(List.of(
+                new AgendaMedico(10L, "Dr. House", List.of(consulta), List.of(LocalTime.of(9, 30)))));
+
+        mockMvc.perform(get("/agenda").header("X-Clinic-ID", CLINIC_ID)
+                .param("data", DATA.toString())
+                .param("medicoId", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data").value("2030-01-07"))
+                .andExpect(jsonPath("$.medicos[0].medicoNome").value("Dr. House"))
+                .andExpect(jsonPath("$.medicos[0].consultas[0].pacienteNome").value("João"))
+                .andExpect(jsonPath("$.medicos[0].consultas[0].planoSaudeNome").value("Unimed"))
+                .andExpect(jsonPath("$.medicos[0].consultas[0].status").value("AGENDADO"))
+                .andExpect(jsonPath("$.medicos[0].horariosLivres[0]").value("09:30:00"));
+    }
+
+    @Test
+    @DisplayName("Deve retornar 404 quando o médico não é da clínica")
+    void shouldReturn404WhenDoctorNotFound() throws Exception {
+        when(agendaService.findAgenda(CLINIC_ID, DATA, 99L))
+                .thenThrow(new ResourceNotFoundException("Médico não encontrado para esta clínica."));
+
+        mockMvc.perform(get("/agenda").header("X-Clinic-ID", CLINIC_ID)
+                .param("data", DATA.toString())
+                .param("medicoId", "99"))
+                .andExpect(status().isNotFound());
+    }
+}
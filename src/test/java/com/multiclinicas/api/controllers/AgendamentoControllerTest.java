@@ -0,0 +1,120 @@
+package com.multiclinicas.api.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.multiclinicas.api.config.WebConfig;
+import com.multiclinicas.api.config.tenant.TenantInterceptor;
+import com.multiclinicas.api.config.tenant.TenantRegistry;
+import com.multiclinicas.api.dtos.AgendamentoCreateDTO;
+import com.multiclinicas.api.dtos.AgendamentoDTO;
+import com.multiclinicas.api.exceptions.HorarioIndisponivelException;
+import com.multiclinicas.api.mappers.AgendamentoMapper;
+import com.multiclinicas.api.models.Agendamento;
+import com.multiclinicas.api.models.enums.StatusAgendamento;
+import com.multiclinicas.api.models.enums.TipoPagamento;
+import com.multiclinicas.api.services.AgendamentoService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(AgendamentoController.class)
+@AutoConfigureMockMvc(addFilters = false)
+@Import({ WebConfig.class, TenantInterceptor.class })
+class AgendamentoControllerTest {
+
+    private static final Long CLINIC_ID = 1L;
+    private static final LocalDate DATA = LocalDate.of(2030, 1, 7);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoBean
+    private AgendamentoService agendamentoService;
+
+    @MockitoBean
+    private AgendamentoMapper agendamentoMapper;
+
+    @MockitoBean
+    private TenantRegistry tenantRegistry;
+
+    private AgendamentoCreateDTO createDTO;
+    private Agendamento agendamento;
+
+    @BeforeEach
+    void setup() {
+        when(tenantRegistry.exists(CLINIC_ID)).thenReturn(true);
+
+        createDTO = new AgendamentoCreateDTO(5L, 10L, DATA, LocalTime.of(9, 0), TipoPagamento.PARTICULAR, null, null);
+        agendamento = new Agendamento();
+        agendamento.setDataConsulta(DATA);
+        agendamento.setHoraInicio(LocalTime.of(9, 0));
+        when(agendamentoMapper.toEntity(any(AgendamentoCreateDTO.class))).thenReturn(agendamento);
+    }
+
+    @Test
+    @DisplayName("Deve criar agendamento e retornar 201")
+    void shouldCreateAgendamento() throws Exception {
+        AgendamentoDTO dto = new AgendamentoDTO(1L, CLINIC_ID, 5L, 10L, DATA, LocalTime.of(9, 0),
+                LocalTime.of(9, 30), StatusAgendamento.AGENDADO, TipoPagamento.PARTICULAR, null, null, null);
+        when(agendamentoService.create(eq(CLINIC_ID), eq(5L), eq(10L), eq(null), any(Agendamento.class)))
+                .thenReturn(agendamento);
+        when(agendamentoMapper.toDTO(agendamento)).thenReturn(dto);
+
+        mockMvc.perform(post("/agendamentos")
+                .header("X-Clinic-ID", CLINIC_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(createDTO)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(1))
+                .andExpect(jsonPath("$.status").value("AGENDADO"));
+    }
+
+    @Test
+    @DisplayName("Deve retornar 409 com os próximos horários livres quando o horário está ocupado")
+    void shouldReturn409WithNextFreeSlots() throws Exception {
+        when(agendamentoService.create(eq(CLINIC_ID), eq(5L), eq(10L), eq(null), any(Agendamento.class)))
+                .thenThrow(new HorarioIndisponivelException("Horário indisponível para este médico.",
+                        List.of(LocalDateTime.of(DATA, LocalTime.of(9, 30)))));
+
+        mockMvc.perform(post("/agendamentos")
+                .header("X-Clinic-ID", CLINIC_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(createDTO)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value("Resource Conflict"))
+                .andExpect(jsonPath("$.proximosHorariosLivres[0]").value("2030-01-07T09:30:00"));
+    }
+
+    @Test
+    @DisplayName("Deve retornar 400 quando campos obrigatórios estão ausentes")
+    void shouldReturn400WhenRequiredFieldsMissing() throws Exception {
+        AgendamentoCreateDTO invalido = new AgendamentoCreateDTO(null, 10L, DATA, null, null, null, null);
+
+        mockMvc.perform(post("/agendamentos")
+                .header("X-Clinic-ID", CLINIC_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(invalido)))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,69 @@
+package com.multiclinicas.api.controllers;
+
+import com.multiclinicas.api.config.WebConfig;
+import com.multiclinicas.api.config.tenant.TenantInterceptor;
+import com.multiclinicas.api.config.tenant.TenantRegistry;
+import com.multiclinicas.api.mappers.AutocompleteMapper;
+import com.multiclinicas.api.services.AutocompleteService;
+import com.multiclinicas.api.services.autocomplete.Sugestao;
+import com.multiclinicas.api.services.autocomplete.TipoSugestao;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(AutocompleteController.class)
+@AutoConfigureMockMvc(addFilters = false)
+@Import({ WebConfig.class, TenantInterceptor.class, AutocompleteMapper.class })
+class AutocompleteControllerTest {
+
+    private static final Long CLINIC_ID = 1L;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private AutocompleteService autocompleteService;
+
+    @MockitoBean
+    private TenantRegistry tenantRegistry;
+
+    @BeforeEach
+    void setup() {
+        when(tenantRegistry.exists(CLINIC_ID)).thenReturn(true);
+    }
+
+    @Test
+    @DisplayName("Deve retornar as sugestões de médicos e especialidades da clínica")
+    void shouldReturnSuggestions() throws Exception {
+        when(autocompleteService.sugerir(CLINIC_ID, "card", null)).thenReturn(List.of(
+                new Sugestao(TipoSugestao.ESPECIALIDADE, 10L, "Cardiologia"),
+                new Sugestao(TipoSugestao.MEDICO, 2L, "Ana Cardoso")));
+
+        mockMvc.perform(get("/autocomplete").header("X-Clinic-ID", CLINIC_ID).param("q", "card"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].tipo").value("ESPECIALIDADE"))
+                .andExpect(jsonPath("$[0].nome").value("Cardiologia"))
+                .andExpect(jsonPath("$[1].tipo").value("MEDICO"))
+                .andExpect(jsonPath("$[1].id").value(2));
+    }
+
+    @Test
+    @DisplayName("Deve retornar 400 quando o termo não é informado")
+    void shouldReturn400WhenTermIsMissing() throws Exception {
+        mockMvc.perform(get("/autocomplete").header("X-Clinic-ID", CLINIC_ID))
+                .andExpect(status().isBadRequest());
+    }
+}
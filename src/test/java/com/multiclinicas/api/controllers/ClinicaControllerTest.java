@@ -3,12 +3,12 @@ package com.multiclinicas.api.controllers;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.multiclinicas.api.config.WebConfig;
 import com.multiclinicas.api.config.tenant.TenantInterceptor;
+import com.multiclinicas.api.config.tenant.TenantRegistry;
 import com.multiclinicas.api.dtos.ClinicaCreateDTO;
 import com.multiclinicas.api.dtos.ClinicaDTO;
 import com.multiclinicas.api.exceptions.ResourceNotFoundException;
 import com.multiclinicas.api.mappers.ClinicaMapper;
 import com.multiclinicas.api.models.Clinica;
-import com.multiclinicas.api.repositories.ClinicaRepository;
 import com.multiclinicas.api.services.ClinicaService;
 import org.junit.jupiter.api.BeforeEach;
 import org.springframework.context.annotation.Import;
@@ -49,13 +49,13 @@ class ClinicaControllerTest {
     private ClinicaMapper clinicaMapper;
 
     @MockitoBean
-    private ClinicaRepository clinicaRepository;
+    private TenantRegistry tenantRegistry;
 
     @BeforeEach
     void setup() {
         // Necessário para o TenantInterceptor, mesmo que excluído, para garantir que o
         // contexto suba
-        when(clinicaRepository.existsById(any())).thenReturn(true);
+        when(tenantRegistry.exists(any())).thenReturn(true);
     }
 
     @Test
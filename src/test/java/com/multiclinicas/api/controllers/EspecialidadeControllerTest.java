@@ -2,8 +2,11 @@ package com.multiclinicas.api.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.multiclinicas.api.config.WebConfig;
+import com.multiclinicas.api.config.cache.VersoesCatalogo;
+import com.multiclinicas.api.config.cache.VersoesCatalogo.Catalogo;
 import com.multiclinicas.api.config.tenant.TenantContext;
 import com.multiclinicas.api.config.tenant.TenantInterceptor;
+import com.multiclinicas.api.config.tenant.TenantRegistry;
 import com.multiclinicas.api.dtos.EspecialidadeCreateDTO;
 import com.multiclinicas.api.dtos.EspecialidadeDTO;
 import com.multiclinicas.api.exceptions.BusinessException;
@@ -11,7 +14,6 @@ import com.multiclinicas.api.exceptions.ResourceNotFoundException;
 import com.multiclinicas.api.mappers.EspecialidadeMapper;
 import com.multiclinicas.api.models.Clinica;
 import com.multiclinicas.api.models.Especialidade;
-import com.multiclinicas.api.repositories.ClinicaRepository;
 import com.multiclinicas.api.services.EspecialidadeService;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -38,7 +40,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 @WebMvcTest(controllers = EspecialidadeController.class)
 @AutoConfigureMockMvc(addFilters = false)
-@Import({ WebConfig.class, TenantInterceptor.class })
+@Import({ WebConfig.class, TenantInterceptor.class, VersoesCatalogo.class })
 class EspecialidadeControllerTest {
 
     @Autowired
@@ -54,7 +56,10 @@ class EspecialidadeControllerTest {
     private EspecialidadeMapper especialidadeMapper;
 
     @MockitoBean
-    private ClinicaRepository clinicaRepository;
+    private TenantRegistry tenantRegistry;
+
+    @Autowired
+    private VersoesCatalogo versoesCatalogo;
 
     private Especialidade especialidade;
     private EspecialidadeDTO especialidadeDTO;
@@ -68,7 +73,7 @@ class EspecialidadeControllerTest {
         clinicaId = 1L;
         especialidadeId = 1L;
 
-        when(clinicaRepository.existsById(clinicaId)).thenReturn(true);
+        when(tenantRegistry.exists(clinicaId)).thenReturn(true);
 
         TenantContext.setClinicId(clinicaId);
 
@@ -429,4 +434,48 @@ class EspecialidadeControllerTest {
         verify(especialidadeMapper, times(1)).toEntity(dtoComAcentos);
         verify(especialidadeService, times(1)).create(clinicaId, novaEspecialidade);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("GET /especialidades - Deve responder 304 sem consultar o service quando a versão não mudou")
+    void deveResponderNaoModificadoComVersaoAtual() throws Exception {
+        when(especialidadeService.findAllByClinicId(clinicaId)).thenReturn(List.of(especialidade));
+        when(especialidadeMapper.toDTO(especialidade)).thenReturn(especialidadeDTO);
+
+        String etag = mockMvc.perform(get("/especialidades")
+                        .header("X-Clinic-ID", clinicaId))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", containsString("max-age=30")))
+                .andExpect(header().string("Vary", containsString("X-Clinic-ID")))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/especialidades")
+                        .header("X-Clinic-ID", clinicaId)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+
+        verify(especialidadeService, times(1)).findAllByClinicId(clinicaId);
+        verify(especialidadeMapper, times(1)).toDTO(any(Especialidade.class));
+    }
+
+    @Test
+    @DisplayName("GET /especialidades - Deve responder 200 com nova ETag depois de uma alteração no catálogo")
+    void deveResponderComNovaVersaoAposAlteracao() throws Exception {
+        when(especialidadeService.findAllByClinicId(clinicaId)).thenReturn(List.of(especialidade));
+        when(especialidadeMapper.toDTO(especialidade)).thenReturn(especialidadeDTO);
+
+        String etag = mockMvc.perform(get("/especialidades")
+                        .header("X-Clinic-ID", clinicaId))
+                .andReturn().getResponse().getHeader("ETag");
+
+        versoesCatalogo.alterado(clinicaId, Catalogo.ESPECIALIDADES);
+
+        mockMvc.perform(get("/especialidades")
+                        .header("X-Clinic-ID", clinicaId)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)))
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+}
@@ -11,6 +11,8 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
@@ -28,18 +30,25 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.multiclinicas.api.config.WebConfig;
+import com.multiclinicas.api.config.cache.VersoesCatalogo;
 import com.multiclinicas.api.config.tenant.TenantInterceptor;
+import com.multiclinicas.api.config.tenant.TenantRegistry;
 import com.multiclinicas.api.dtos.MedicoCreateDTO;
 import com.multiclinicas.api.dtos.MedicoDTO;
 import com.multiclinicas.api.exceptions.ResourceNotFoundException;
+import com.multiclinicas.api.dtos.DisponibilidadeDTO;
+import com.multiclinicas.api.mappers.DisponibilidadeMapper;
 import com.multiclinicas.api.mappers.MedicoMapper;
 import com.multiclinicas.api.models.Medico;
-import com.multiclinicas.api.repositories.ClinicaRepository;
+import com.multiclinicas.api.paginacao.Pagina;
+import com.multiclinicas.api.paginacao.PaginaRequest;
+import com.multiclinicas.api.services.DisponibilidadeService;
 import com.multiclinicas.api.services.MedicoService;
+import com.multiclinicas.api.services.disponibilidade.DisponibilidadeDia;
 
 @WebMvcTest(MedicoController.class)
 @AutoConfigureMockMvc(addFilters = false)
-@Import({ WebConfig.class, TenantInterceptor.class })
+@Import({ WebConfig.class, TenantInterceptor.class, VersoesCatalogo.class })
 class MedicoControllerTest {
 
         @Autowired
@@ -55,7 +64,13 @@ class MedicoControllerTest {
         private MedicoMapper medicoMapper;
 
         @MockitoBean
-        private ClinicaRepository clinicaRepository;
+        private TenantRegistry tenantRegistry;
+
+        @MockitoBean
+        private DisponibilidadeService disponibilidadeService;
+
+        @MockitoBean
+        private DisponibilidadeMapper disponibilidadeMapper;
 
         private final Long clinicId = 1L;
         private Medico medico;
@@ -64,7 +79,7 @@ class MedicoControllerTest {
 
         @BeforeEach
         void setup() {
-                when(clinicaRepository.existsById(clinicId)).thenReturn(true);
+                when(tenantRegistry.exists(clinicId)).thenReturn(true);
 
                 medico = new Medico();
                 medico.setId(1L);
@@ -87,7 +102,8 @@ class MedicoControllerTest {
         @Test
         @DisplayName("Deve retornar lista de médicos da clínica")
         void shouldReturnListOfMedicosForClinic() throws Exception {
-                when(medicoService.findAllByClinicId(clinicId)).thenReturn(List.of(medico));
+                when(medicoService.findAllByClinicId(clinicId, PaginaRequest.primeira()))
+                                .thenReturn(new Pagina<>(List.of(medico), null));
                 when(medicoMapper.toDTO(medico)).thenReturn(medicoDTO);
 
                 mockMvc.perform(get("/medicos")
@@ -175,4 +191,31 @@ class MedicoControllerTest {
                                 .andExpect(status().isNotFound());
         }
 
-}
\ No newline at end of file
+        @Test
+        @DisplayName("Deve retornar a disponibilidade do médico no período")
+        void shouldReturnDisponibilidade() throws Exception {
+                LocalDate data = LocalDate.of(2025, 1, 6);
+                DisponibilidadeDia dia = new DisponibilidadeDia(data, List.of(LocalTime.of(8, 0)));
+                when(disponibilidadeService.findDisponibilidade(1L, clinicId, data, data.plusDays(1)))
+                                .thenReturn(List.of(dia));
+                when(disponibilidadeMapper.toDTO(dia))
+                                .thenReturn(new DisponibilidadeDTO(data, List.of(LocalTime.of(8, 0))));
+
+                mockMvc.perform(get("/medicos/{id}/disponibilidade", 1L)
+                                .header("X-Clinic-ID", clinicId)
+                                .param("de", "2025-01-06")
+                                .param("ate", "2025-01-07"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$[0].data").value("2025-01-06"))
+                                .andExpect(jsonPath("$[0].horarios[0]").value("08:00:00"));
+        }
+
+        @Test
+        @DisplayName("Deve retornar 400 quando o período não é informado")
+        void shouldReturn400WhenPeriodMissing() throws Exception {
+                mockMvc.perform(get("/medicos/{id}/disponibilidade", 1L)
+                                .header("X-Clinic-ID", clinicId))
+                                .andExpect(status().isBadRequest());
+        }
+
+}
@@ -4,17 +4,27 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.multiclinicas.api.config.WebConfig;
 import com.multiclinicas.api.config.tenant.TenantContext;
 import com.multiclinicas.api.config.tenant.TenantInterceptor;
+import com.multiclinicas.api.config.tenant.TenantRegistry;
 import com.multiclinicas.api.dtos.CreateEnderecoDTO;
 import com.multiclinicas.api.dtos.EnderecoDTO;
+import com.multiclinicas.api.dtos.ErroImportacaoDTO;
+import com.multiclinicas.api.dtos.PacienteBuscaDTO;
 import com.multiclinicas.api.dtos.PacienteCreateDTO;
 import com.multiclinicas.api.dtos.PacienteDTO;
+import com.multiclinicas.api.dtos.RelatorioImportacaoDTO;
 import com.multiclinicas.api.exceptions.ResourceNotFoundException;
 import com.multiclinicas.api.mappers.PacienteMapper;
 import com.multiclinicas.api.models.Clinica;
 import com.multiclinicas.api.models.Paciente;
-import com.multiclinicas.api.repositories.ClinicaRepository;
+import com.multiclinicas.api.paginacao.Pagina;
+import com.multiclinicas.api.paginacao.PaginaRequest;
+import com.multiclinicas.api.repositories.projections.PacienteBusca;
 import com.multiclinicas.api.services.ClinicaService;
+import com.multiclinicas.api.services.PacienteExportService;
+import com.multiclinicas.api.services.PacienteImportService;
 import com.multiclinicas.api.services.PacienteService;
+import com.multiclinicas.api.services.exportacao.FormatoExportacao;
+import com.multiclinicas.api.services.importacao.FormatoImportacao;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -25,15 +35,22 @@ import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -58,7 +75,13 @@ class PacienteControllerTest {
         private ClinicaService clinicaService;
 
         @MockitoBean
-        private ClinicaRepository clinicaRepository;
+        private TenantRegistry tenantRegistry;
+
+        @MockitoBean
+        private PacienteExportService pacienteExportService;
+
+        @MockitoBean
+        private PacienteImportService pacienteImportService;
 
         private PacienteCreateDTO pacienteCreateDTO;
         private PacienteDTO pacienteDTO;
@@ -70,7 +93,7 @@ class PacienteControllerTest {
         void setup() {
                 TenantContext.setClinicId(CLINIC_ID);
 
-                when(clinicaRepository.existsById(any())).thenReturn(true);
+                when(tenantRegistry.exists(any())).thenReturn(true);
 
                 CreateEnderecoDTO enderecoCreate = new CreateEnderecoDTO(
                                 "00000-000", "rua 3", "1", "casa", "Centro", "Recife", "PE", "brasil");
@@ -106,7 +129,8 @@ class PacienteControllerTest {
         @Test
         @DisplayName("Deve retornar lista de pacientes")
         void shouldReturnListOfPacientes() throws Exception {
-                when(pacienteService.findAll(CLINIC_ID)).thenReturn(List.of(paciente));
+                when(pacienteService.findAll(CLINIC_ID, PaginaRequest.primeira()))
+                                .thenReturn(new Pagina<>(List.of(paciente), null));
                 when(pacienteMapper.toDto(paciente)).thenReturn(pacienteDTO);
 
                 mockMvc.perform(
@@ -114,10 +138,147 @@ class PacienteControllerTest {
                                                 .header("X-Clinic-ID", CLINIC_ID))
                                 .andDo(print())
                                 .andExpect(status().isOk())
+                                .andExpect(header().doesNotExist(Pagina.HEADER_PROXIMO_CURSOR))
                                 .andExpect(jsonPath("$[0].id").value(1L))
                                 .andExpect(jsonPath("$[0].nome").value("João Silva"));
         }
 
+        @Test
+        @DisplayName("Deve buscar pacientes por trecho do nome, CPF ou telefone")
+        void shouldSearchPacientes() throws Exception {
+                PacienteBusca encontrado = new PacienteBusca(1L, "João Silva", "123.456.789-00", "11999999999");
+                when(pacienteService.buscar(CLINIC_ID, "joão", 10)).thenReturn(List.of(encontrado));
+                when(pacienteMapper.toBuscaDto(encontrado)).thenReturn(
+                                new PacienteBuscaDTO(1L, "João Silva", "123.456.789-00", "11999999999"));
+
+                mockMvc.perform(
+                                get("/pacientes/search")
+                                                .header("X-Clinic-ID", CLINIC_ID)
+                                                .param("q", "joão")
+                                                .param("limit", "10"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$[0].id").value(1L))
+                                .andExpect(jsonPath("$[0].nome").value("João Silva"))
+                                .andExpect(jsonPath("$[0].cpf").value("123.456.789-00"));
+        }
+
+        @Test
+        @DisplayName("Deve retornar 400 quando a busca não informa o termo")
+        void shouldReturn400WhenSearchTermIsMissing() throws Exception {
+                mockMvc.perform(
+                                get("/pacientes/search")
+                                                .header("X-Clinic-ID", CLINIC_ID))
+                                .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("Deve repassar limit/after e devolver o cursor da próxima página no header")
+        void shouldReturnNextCursorHeaderWhenMorePagesExist() throws Exception {
+                Paciente outro = new Paciente();
+                outro.setId(2L);
+                Pagina<Paciente> primeiraPagina = Pagina.de(List.of(paciente, outro), new PaginaRequest(0L, 1),
+                                Paciente::getId);
+
+                when(pacienteService.findAll(CLINIC_ID, new PaginaRequest(0L, 1))).thenReturn(primeiraPagina);
+                when(pacienteMapper.toDto(paciente)).thenReturn(pacienteDTO);
+
+                String cursor = mockMvc.perform(get("/pacientes")
+                                .param("limit", "1")
+                                .header("X-Clinic-ID", CLINIC_ID))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.length()").value(1))
+                                .andExpect(header().exists(Pagina.HEADER_PROXIMO_CURSOR))
+                                .andReturn().getResponse().getHeader(Pagina.HEADER_PROXIMO_CURSOR);
+
+                when(pacienteService.findAll(CLINIC_ID, new PaginaRequest(1L, 1)))
+                                .thenReturn(new Pagina<>(List.of(), null));
+
+                mockMvc.perform(get("/pacientes")
+                                .param("limit", "1")
+                                .param("after", cursor)
+                                .header("X-Clinic-ID", CLINIC_ID))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.length()").value(0))
+                                .andExpect(header().doesNotExist(Pagina.HEADER_PROXIMO_CURSOR));
+        }
+
+        @Test
+        @DisplayName("Deve retornar 400 para limit fora do intervalo ou cursor inválido")
+        void shouldReturn400WhenPaginationParamsAreInvalid() throws Exception {
+                mockMvc.perform(get("/pacientes")
+                                .param("limit", String.valueOf(PaginaRequest.LIMITE_MAXIMO + 1))
+                                .header("X-Clinic-ID", CLINIC_ID))
+                                .andExpect(status().isBadRequest());
+
+                mockMvc.perform(get("/pacientes")
+                                .param("after", "nao-e-um-cursor")
+                                .header("X-Clinic-ID", CLINIC_ID))
+                                .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("Deve exportar pacientes em CSV via streaming")
+        void shouldStreamCsvExport() throws Exception {
+                doAnswer(invocation -> {
+                        OutputStream out = invocation.getArgument(2);
+                        out.write("id,nome\r\n1,João Silva\r\n".getBytes(StandardCharsets.UTF_8));
+                        return 1L;
+                }).when(pacienteExportService).exportar(eq(CLINIC_ID), eq(FormatoExportacao.CSV), any());
+
+                MvcResult resultado = mockMvc.perform(get("/pacientes/export")
+                                .param("formato", "csv")
+                                .header("X-Clinic-ID", CLINIC_ID))
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+
+                mockMvc.perform(asyncDispatch(resultado))
+                                .andExpect(status().isOk())
+                                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                                .andExpect(header().string("Content-Disposition",
+                                                "attachment; filename=\"pacientes.csv\""))
+                                .andExpect(content().string("id,nome\r\n1,João Silva\r\n"));
+        }
+
+        @Test
+        @DisplayName("Deve retornar 400 para formato de exportação desconhecido")
+        void shouldReturn400ForUnknownExportFormat() throws Exception {
+                mockMvc.perform(get("/pacientes/export")
+                                .param("formato", "xlsx")
+                                .header("X-Clinic-ID", CLINIC_ID))
+                                .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("Deve importar pacientes em CSV e devolver o relatório por linha")
+        void shouldImportCsvAndReturnReport() throws Exception {
+                RelatorioImportacaoDTO relatorio = new RelatorioImportacaoDTO(2, 1, 1,
+                                List.of(new ErroImportacaoDTO(3, "123", "CPF deve ter entre 11 e 14 caracteres")),
+                                false);
+                when(pacienteImportService.importar(eq(CLINIC_ID), eq(FormatoImportacao.CSV), any()))
+                                .thenReturn(relatorio);
+
+                mockMvc.perform(post("/pacientes/import")
+                                .header("X-Clinic-ID", CLINIC_ID)
+                                .contentType("text/csv")
+                                .content("nome,email,cpf,telefone\n"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.importados").value(1))
+                                .andExpect(jsonPath("$.rejeitados").value(1))
+                                .andExpect(jsonPath("$.erros[0].linha").value(3))
+                                .andExpect(jsonPath("$.erros[0].mensagem")
+                                                .value("CPF deve ter entre 11 e 14 caracteres"));
+        }
+
+        @Test
+        @DisplayName("Deve retornar 415 ao importar formato não suportado")
+        void shouldReturn415ForUnsupportedImportFormat() throws Exception {
+                mockMvc.perform(post("/pacientes/import")
+                                .header("X-Clinic-ID", CLINIC_ID)
+                                .contentType(MediaType.APPLICATION_XML)
+                                .content("<pacientes/>"))
+                                .andExpect(status().isUnsupportedMediaType());
+        }
+
         @Test
         @DisplayName("Deve retornar paciente por ID")
         void shouldReturnPacienteById() throws Exception {
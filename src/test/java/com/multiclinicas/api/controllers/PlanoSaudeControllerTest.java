@@ -6,8 +6,9 @@ import com.multiclinicas.api.dtos.PlanoSaudeDTO;
 import com.multiclinicas.api.mappers.PlanoSaudeMapper;
 import com.multiclinicas.api.models.PlanoSaude;
 import com.multiclinicas.api.config.WebConfig;
+import com.multiclinicas.api.config.cache.VersoesCatalogo;
 import com.multiclinicas.api.config.tenant.TenantInterceptor;
-import com.multiclinicas.api.repositories.ClinicaRepository;
+import com.multiclinicas.api.config.tenant.TenantRegistry;
 import com.multiclinicas.api.services.PlanoSaudeService;
 import org.junit.jupiter.api.BeforeEach;
 import org.springframework.context.annotation.Import;
@@ -29,7 +30,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 @WebMvcTest(PlanoSaudeController.class)
 @AutoConfigureMockMvc(addFilters = false)
-@Import({ WebConfig.class, TenantInterceptor.class })
+@Import({ WebConfig.class, TenantInterceptor.class, VersoesCatalogo.class })
 class PlanoSaudeControllerTest {
 
     @Autowired
@@ -45,11 +46,11 @@ class PlanoSaudeControllerTest {
     private PlanoSaudeMapper planoSaudeMapper;
 
     @MockitoBean
-    private ClinicaRepository clinicaRepository;
+    private TenantRegistry tenantRegistry;
 
     @BeforeEach
     void setup() {
-        when(clinicaRepository.existsById(1L)).thenReturn(true);
+        when(tenantRegistry.exists(1L)).thenReturn(true);
     }
 
     @Test
@@ -27,6 +27,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.multiclinicas.api.config.WebConfig;
 import com.multiclinicas.api.config.tenant.TenantInterceptor;
+import com.multiclinicas.api.config.tenant.TenantRegistry;
 import com.multiclinicas.api.dtos.CreateEnderecoDTO;
 import com.multiclinicas.api.dtos.EnderecoDTO;
 import com.multiclinicas.api.dtos.UsuarioAdminCreateDTO;
@@ -36,7 +37,8 @@ import com.multiclinicas.api.mappers.UsuarioAdminMapper;
 import com.multiclinicas.api.models.Endereco;
 import com.multiclinicas.api.models.UsuarioAdmin;
 import com.multiclinicas.api.models.enums.Role;
-import com.multiclinicas.api.repositories.ClinicaRepository;
+import com.multiclinicas.api.paginacao.Pagina;
+import com.multiclinicas.api.paginacao.PaginaRequest;
 import com.multiclinicas.api.services.UsuarioAdminService;
 
 @WebMvcTest(UsuarioAdminController.class)
@@ -57,7 +59,7 @@ class UsuarioAdminControllerTest {
     private UsuarioAdminMapper usuarioAdminMapper;
 
     @MockitoBean
-    private ClinicaRepository clinicaRepository;
+    private TenantRegistry tenantRegistry;
 
     private final Long clinicId = 1L;
     private UsuarioAdmin usuarioAdmin;
@@ -67,7 +69,7 @@ class UsuarioAdminControllerTest {
 
     @BeforeEach
     void setup() {
-        when(clinicaRepository.existsById(clinicId)).thenReturn(true);
+        when(tenantRegistry.exists(clinicId)).thenReturn(true);
 
         Endereco endereco = new Endereco(1L, "12345-678", "Rua Teste", "123", null, "Bairro Teste", "Cidade Teste",
                 "TS", "Brasil");
@@ -100,7 +102,8 @@ class UsuarioAdminControllerTest {
     @Test
     @DisplayName("Deve retornar lista de usuários admin para uma clínica")
     void shouldReturnListOfAdminsForClinic() throws Exception {
-        when(usuarioAdminService.findAllByClinicId(clinicId)).thenReturn(List.of(usuarioAdmin));
+        when(usuarioAdminService.findAllByClinicId(clinicId, PaginaRequest.primeira()))
+                .thenReturn(new Pagina<>(List.of(usuarioAdmin), null));
         when(usuarioAdminMapper.toDTO(any(UsuarioAdmin.class))).thenReturn(usuarioAdminDTO);
 
         mockMvc.perform(get("/usuario-admin")
@@ -0,0 +1,176 @@
+package com.multiclinicas.api.repositories;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Confere pelo {@code EXPLAIN} que as consultas quentes dos repositórios usam os índices da V8,
+ * da V9 e da V12 em vez de ler a tabela inteira. O SQL reproduz o que o Hibernate gera para cada
+ * método, com valores literais; onde o planejador pode escolher entre dois índices equivalentes,
+ * os nomes vêm separados por {@code |}. A massa de dados é grande o bastante para a varredura sequencial não compensar, e o
+ * {@code ANALYZE} roda antes, então o planejador decide com estatísticas reais.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = { "spring.jpa.show-sql=false", "logging.level.org.hibernate.SQL=WARN",
+        "notificacoes.lembretes.habilitado=false", "notificacoes.outbox.worker.habilitado=false" })
+class IndicesConsultasPostgresTest {
+
+    private static final int CLINICAS = 100;
+    private static final int MEDICOS_POR_CLINICA = 30;
+    private static final LocalDate HOJE = LocalDate.now();
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void banco(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // A massa é semeada uma vez para todas as consultas
+    private static boolean semeado;
+    private static long clinicId;
+    private static long medicoId;
+
+    @BeforeEach
+    void semear() {
+        if (semeado) {
+            return;
+        }
+        jdbcTemplate.update("INSERT INTO clinicas (nome_fantasia, subdominio) "
+                + "SELECT 'Clínica ' || g, 'clinica-' || g FROM generate_series(1, ?) g", CLINICAS);
+        jdbcTemplate.update("INSERT INTO medicos (clinic_id, nome, crm, ativo) "
+                + "SELECT c.id, 'Médico ' || g, 'CRM' || g, g % 5 <> 0 FROM clinicas c, generate_series(1, ?) g",
+                MEDICOS_POR_CLINICA);
+        jdbcTemplate.update("INSERT INTO pacientes (clinic_id, nome, cpf) "
+                + "SELECT c.id, 'Paciente ' || g, lpad(g::text, 11, '0') FROM clinicas c, generate_series(1, 200) g");
+        jdbcTemplate.update("INSERT INTO especialidades (clinic_id, nome) "
+                + "SELECT c.id, 'Especialidade ' || g FROM clinicas c, generate_series(1, 30) g");
+        jdbcTemplate.update("INSERT INTO planos_saude (clinic_id, nome, ativo) "
+                + "SELECT c.id, 'Plano ' || g, g % 3 <> 0 FROM clinicas c, generate_series(1, 30) g");
+        jdbcTemplate.update("INSERT INTO grades_horario (medico_id, dia_semana, hora_inicio, hora_fim) "
+                + "SELECT m.id, d, TIME '08:00', TIME '17:00' FROM medicos m, generate_series(1, 5) d");
+        // 40 consultas por médico nos próximos 20 dias, uma em cada cinco cancelada
+        jdbcTemplate.update("INSERT INTO agendamentos (clinic_id, paciente_id, medico_id, data_consulta, "
+                + "hora_inicio, hora_fim, status) "
+                + "SELECT m.clinic_id, p.id, m.id, CURRENT_DATE + g % 20, "
+                + "TIME '08:00' + (g / 20) * INTERVAL '30 minutes', TIME '08:30' + (g / 20) * INTERVAL '30 minutes', "
+                + "CASE WHEN g % 5 = 0 THEN 'CANCELADO_PACIENTE' ELSE 'AGENDADO' END "
+                + "FROM medicos m "
+                + "JOIN (SELECT clinic_id, MIN(id) AS id FROM pacientes GROUP BY clinic_id) p ON p.clinic_id = m.clinic_id, "
+                + "generate_series(0, 39) g");
+        // Outbox quase toda enviada, com poucos eventos pendentes
+        jdbcTemplate.update("INSERT INTO outbox_eventos (id, clinic_id, agendamento_id, tipo, status, proxima_tentativa) "
+                + "SELECT nextval('outbox_eventos_seq'), a.clinic_id, a.id, 'CONFIRMACAO', "
+                + "CASE WHEN a.id % 100 = 0 THEN 'PENDENTE' ELSE 'ENVIADO' END, "
+                + "CURRENT_TIMESTAMP - INTERVAL '1 hour' FROM agendamentos a");
+        jdbcTemplate.execute("ANALYZE");
+
+        clinicId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM clinicas", Long.class);
+        medicoId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM medicos WHERE clinic_id = ?", Long.class,
+                clinicId);
+        semeado = true;
+    }
+
+    static Stream<Arguments> consultas() {
+        String livres = "('CANCELADO_PACIENTE', 'CANCELADO_CLINICA')";
+        return Stream.of(
+                Arguments.of("AgendamentoRepository.existsConflito",
+                        "SELECT COUNT(*) FROM agendamentos WHERE clinic_id = :clinica AND medico_id = :medico "
+                                + "AND data_consulta = DATE '" + HOJE + "' AND hora_inicio < TIME '10:00' "
+                                + "AND hora_fim > TIME '09:30' AND status NOT IN " + livres,
+                        "idx_agendamentos_medico_data_hora|uk_agendamentos_medico_data_hora"),
+                Arguments.of("AgendamentoRepository.findHorariosOcupados",
+                        "SELECT medico_id, data_consulta, hora_inicio, hora_fim FROM agendamentos "
+                                + "WHERE clinic_id = :clinica AND medico_id = :medico AND data_consulta "
+                                + "BETWEEN DATE '" + HOJE + "' AND DATE '" + HOJE.plusDays(13) + "' "
+                                + "AND status NOT IN " + livres,
+                        "idx_agendamentos_medico_data_hora|uk_agendamentos_medico_data_hora"),
+                Arguments.of("AgendamentoRepository.findConsultasApos",
+                        "SELECT id, clinic_id, paciente_id, data_consulta, hora_inicio FROM agendamentos "
+                                + "WHERE status = 'AGENDADO' AND data_consulta BETWEEN DATE '" + HOJE + "' AND DATE '"
+                                + HOJE.plusDays(1) + "' AND (data_consulta > DATE '" + HOJE + "' OR (data_consulta = "
+                                + "DATE '" + HOJE + "' AND (hora_inicio > TIME '10:00' OR (hora_inicio = TIME '10:00' "
+                                + "AND id > 0)))) AND (data_consulta < DATE '" + HOJE.plusDays(1) + "' OR "
+                                + "(data_consulta = DATE '" + HOJE.plusDays(1) + "' AND hora_inicio <= TIME '10:00')) "
+                                + "ORDER BY data_consulta, hora_inicio, id LIMIT 1000",
+                        "idx_agendamentos_status_data_hora"),
+                Arguments.of("AgendamentoRepository.findAgendaDia",
+                        "SELECT a.id, m.id, m.nome, a.hora_inicio, a.hora_fim, a.status, p.id, p.nome, "
+                                + "a.tipo_pagamento, pl.nome FROM agendamentos a "
+                                + "JOIN medicos m ON m.id = a.medico_id JOIN pacientes p ON p.id = a.paciente_id "
+                                + "LEFT JOIN planos_saude pl ON pl.id = a.plano_saude_id "
+                                + "WHERE a.clinic_id = :clinica AND a.data_consulta = DATE '" + HOJE + "' "
+                                + "ORDER BY m.nome, m.id, a.hora_inicio",
+                        "idx_agendamentos_clinic_data_medico_hora"),
+                Arguments.of("MedicoRepository.findIdsAtivosPaginaByClinicaId",
+                        "SELECT id FROM medicos WHERE clinic_id = :clinica AND ativo = true AND id > 0 "
+                                + "ORDER BY id LIMIT 20",
+                        "idx_medicos_ativos_clinic_id_id"),
+                Arguments.of("PlanoSaudeRepository.findByClinicaIdAndAtivoTrue",
+                        "SELECT * FROM planos_saude WHERE clinic_id = :clinica AND ativo = true",
+                        "idx_planos_ativos_clinic_id"),
+                Arguments.of("EspecialidadeRepository.existsByNomeIgnoreCaseAndClinicaId",
+                        "SELECT COUNT(*) FROM especialidades WHERE clinic_id = :clinica "
+                                + "AND LOWER(nome) = LOWER('Especialidade 7')",
+                        "idx_especialidades_clinic_nome_lower"),
+                Arguments.of("GradeHorarioRepository.findIntervalosByMedicoId",
+                        "SELECT dia_semana, hora_inicio, hora_fim FROM grades_horario WHERE medico_id = :medico",
+                        "idx_grades_medico_id"),
+                Arguments.of("PacienteRepository.findPaginaByClinicaId",
+                        "SELECT * FROM pacientes WHERE clinic_id = :clinica AND id > 0 ORDER BY id LIMIT 20",
+                        "idx_pacientes_clinic_id_id"),
+                Arguments.of("OutboxEventoRepository.findPendentesParaReservar",
+                        "SELECT * FROM outbox_eventos WHERE status = 'PENDENTE' "
+                                + "AND proxima_tentativa <= CURRENT_TIMESTAMP ORDER BY proxima_tentativa, id "
+                                + "LIMIT 100 FOR UPDATE SKIP LOCKED",
+                        "idx_outbox_pendentes"));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("consultas")
+    @DisplayName("Deve responder a consulta quente pelo índice, sem varredura sequencial")
+    void shouldUseIndexForHotQuery(String consulta, String sql, String indice) {
+        String plano = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql
+                .replace(":clinica", String.valueOf(clinicId))
+                .replace(":medico", String.valueOf(medicoId)), String.class));
+
+        assertThat(plano).as(consulta).doesNotContain("Seq Scan");
+        // Com os status literais, o índice único parcial da V12 também serve
+        assertThat(Arrays.stream(indice.split("\\|")).flatMap(nome -> indiceENasParticoes(nome).stream()))
+                .as(consulta).anyMatch(plano::contains);
+    }
+
+    // Em agendamentos o plano cita o índice de cada partição, criado a partir do índice da tabela
+    private List<String> indiceENasParticoes(String indice) {
+        List<String> nomes = new ArrayList<>(jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+                        + "WHERE i.inhparent = to_regclass(?)", String.class, indice));
+        nomes.add(indice);
+        return nomes;
+    }
+}
@@ -0,0 +1,149 @@
+package com.multiclinicas.api.repositories;
+
+import com.multiclinicas.api.models.Agendamento;
+import com.multiclinicas.api.models.Clinica;
+import com.multiclinicas.api.models.GradeHorario;
+import com.multiclinicas.api.models.Medico;
+import com.multiclinicas.api.models.Paciente;
+import com.multiclinicas.api.models.enums.StatusAgendamento;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.enhanced.PooledLoOptimizer;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Compara as idas ao banco ao inserir grades e agendamentos com e sem lotes JDBC
+@SpringBootTest(properties = { "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false", "logging.level.org.hibernate.SQL=WARN" })
+@ActiveProfiles("test")
+class InsercaoEmLoteTest {
+
+    private static final int REGISTROS = 200;
+    private static final int TAMANHO_LOTE = 50;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ClinicaRepository clinicaRepository;
+
+    @Autowired
+    private MedicoRepository medicoRepository;
+
+    @Autowired
+    private PacienteRepository pacienteRepository;
+
+    private Clinica clinica;
+    private Medico medico;
+    private Paciente paciente;
+
+    @BeforeEach
+    void setup() {
+        String sufixo = UUID.randomUUID().toString().substring(0, 8);
+
+        clinica = new Clinica();
+        clinica.setNomeFantasia("Clínica Lotes");
+        clinica.setSubdominio("lotes-" + sufixo);
+        clinica = clinicaRepository.save(clinica);
+
+        medico = new Medico();
+        medico.setClinica(clinica);
+        medico.setNome("Dr. Lote");
+        medico.setCrm("CRM-" + sufixo);
+        medico = medicoRepository.save(medico);
+
+        paciente = new Paciente();
+        paciente.setClinica(clinica);
+        paciente.setNome("Paciente Lote");
+        paciente.setCpf(sufixo);
+        paciente = pacienteRepository.save(paciente);
+    }
+
+    @Test
+    @DisplayName("Cada entidade deve usar sua própria sequência com otimizador pooled-lo")
+    void entitiesShouldUsePooledLoSequences() {
+        assertSequencia(GradeHorario.class, "grades_horario_seq");
+        assertSequencia(Agendamento.class, "agendamentos_seq");
+        assertSequencia(Paciente.class, "pacientes_seq");
+        assertSequencia(Medico.class, "medicos_seq");
+    }
+
+    @Test
+    @DisplayName("Inserir grades e agendamentos deve agrupar os INSERTs em lotes JDBC")
+    void insertsShouldBeBatched() {
+        long semLote = inserirContandoComandos(1, 0);
+        long comLote = inserirContandoComandos(TAMANHO_LOTE, 1);
+
+        // grades + agendamentos em lotes de 50, mais uma chamada de sequência por bloco de 50 IDs
+        long esperadoComLote = 2L * REGISTROS / TAMANHO_LOTE * 2;
+        assertThat(comLote).isLessThanOrEqualTo(esperadoComLote);
+        assertThat(semLote).isGreaterThanOrEqualTo(2L * REGISTROS);
+    }
+
+    // Retorna a quantidade de comandos JDBC preparados para inserir REGISTROS grades e agendamentos
+    private long inserirContandoComandos(int tamanhoLote, int rodada) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        statistics.clear();
+        transactionTemplate.executeWithoutResult(status -> {
+            EntityManager em = EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory);
+            em.unwrap(Session.class).setJdbcBatchSize(tamanhoLote);
+            Medico referencia = em.getReference(Medico.class, medico.getId());
+            LocalDate inicio = LocalDate.of(2030, 1, 1).plusYears(rodada);
+
+            for (int i = 0; i < REGISTROS; i++) {
+                GradeHorario grade = new GradeHorario();
+                grade.setMedico(referencia);
+                grade.setDiaSemana(i % 7);
+                grade.setHoraInicio(LocalTime.of(8, 0));
+                grade.setHoraFim(LocalTime.of(12, 0));
+                em.persist(grade);
+
+                Agendamento agendamento = new Agendamento();
+                agendamento.setClinica(clinica);
+                agendamento.setMedico(referencia);
+                agendamento.setPaciente(paciente);
+                agendamento.setDataConsulta(inicio.plusDays(i));
+                agendamento.setHoraInicio(LocalTime.of(9, 0));
+                agendamento.setHoraFim(LocalTime.of(9, 30));
+                agendamento.setStatus(StatusAgendamento.AGENDADO);
+                em.persist(agendamento);
+            }
+        });
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void assertSequencia(Class<?> entidade, String sequencia) {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        Object generator = sessionFactory.getMappingMetamodel().getEntityDescriptor(entidade).getGenerator();
+
+        assertThat(generator).isInstanceOf(SequenceStyleGenerator.class);
+        SequenceStyleGenerator sequenceGenerator = (SequenceStyleGenerator) generator;
+        assertThat(sequenceGenerator.getDatabaseStructure().getPhysicalName().getObjectName().getText())
+                .isEqualToIgnoringCase(sequencia);
+        assertThat(sequenceGenerator.getOptimizer()).isInstanceOf(PooledLoOptimizer.class);
+        assertThat(sequenceGenerator.getOptimizer().getIncrementSize()).isEqualTo(TAMANHO_LOTE);
+    }
+}
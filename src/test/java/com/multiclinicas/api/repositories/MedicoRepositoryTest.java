@@ -0,0 +1,148 @@
+package com.multiclinicas.api.repositories;
+
+import com.multiclinicas.api.dtos.MedicoDTO;
+import com.multiclinicas.api.mappers.MedicoMapper;
+import com.multiclinicas.api.models.Clinica;
+import com.multiclinicas.api.models.Endereco;
+import com.multiclinicas.api.models.Especialidade;
+import com.multiclinicas.api.models.Medico;
+import com.multiclinicas.api.paginacao.Pagina;
+import com.multiclinicas.api.paginacao.PaginaRequest;
+import com.multiclinicas.api.services.MedicoService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BiFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Mede a quantidade de SQL emitido pelas listagens de médicos usando as estatísticas do Hibernate
+@SpringBootTest(properties = { "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false", "logging.level.org.hibernate.SQL=WARN" })
+@ActiveProfiles("test")
+class MedicoRepositoryTest {
+
+    private static final int MEDICOS = 40;
+    private static final long MAX_CONSULTAS = 2;
+
+    @Autowired
+    private MedicoService medicoService;
+
+    @Autowired
+    private MedicoMapper medicoMapper;
+
+    @Autowired
+    private ClinicaRepository clinicaRepository;
+
+    @Autowired
+    private EspecialidadeRepository especialidadeRepository;
+
+    @Autowired
+    private MedicoRepository medicoRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Long clinicId;
+
+    @BeforeEach
+    void setup() {
+        String sufixo = UUID.randomUUID().toString().substring(0, 8);
+
+        Clinica clinica = new Clinica();
+        clinica.setNomeFantasia("Clínica Estatísticas");
+        clinica.setSubdominio("estatisticas-" + sufixo);
+        clinica = clinicaRepository.save(clinica);
+        clinicId = clinica.getId();
+
+        Especialidade cardiologia = novaEspecialidade(clinica, "Cardiologia");
+        Especialidade pediatria = novaEspecialidade(clinica, "Pediatria");
+
+        for (int i = 0; i < MEDICOS; i++) {
+            Endereco endereco = new Endereco();
+            endereco.setCidade("Recife");
+            endereco.setEstado("PE");
+
+            Medico medico = new Medico();
+            medico.setClinica(clinica);
+            medico.setNome("Médico " + i);
+            medico.setCrm("CRM-" + sufixo + "-" + i);
+            medico.setAtivo(i % 2 == 0);
+            medico.setEndereco(endereco);
+            medico.setEspecialidades(Set.of(cardiologia, pediatria));
+            medicoRepository.save(medico);
+        }
+    }
+
+    @Test
+    @DisplayName("Listagem de médicos deve usar quantidade fixa de consultas, independente do total")
+    void findAllShouldNotIssueQueryPerMedico() {
+        Pagina<MedicoDTO> pagina = listarContando(medicoService::findAllByClinicId, PaginaRequest.primeira());
+
+        assertThat(pagina.itens()).hasSize(MEDICOS);
+        assertThat(pagina.itens()).allSatisfy(dto -> assertThat(dto.especialidades()).hasSize(2));
+    }
+
+    @Test
+    @DisplayName("Listagem de médicos ativos deve usar quantidade fixa de consultas, independente do total")
+    void findAllActiveShouldNotIssueQueryPerMedico() {
+        Pagina<MedicoDTO> pagina = listarContando(medicoService::findAllActiveByClinicId, PaginaRequest.primeira());
+
+        assertThat(pagina.itens()).hasSize(MEDICOS / 2);
+        assertThat(pagina.itens()).allSatisfy(dto -> assertThat(dto.especialidades()).hasSize(2));
+    }
+
+    @Test
+    @DisplayName("Percorrer as páginas pelo cursor deve devolver cada médico uma única vez, em ordem de id")
+    void cursorShouldWalkAllMedicosOnce() {
+        List<Long> ids = new ArrayList<>();
+        PaginaRequest request = PaginaRequest.of(7, null);
+        Pagina<MedicoDTO> pagina;
+        do {
+            pagina = listarContando(medicoService::findAllByClinicId, request);
+            assertThat(pagina.itens()).hasSizeLessThanOrEqualTo(7);
+            pagina.itens().forEach(dto -> ids.add(dto.id()));
+            request = PaginaRequest.of(7, pagina.proximoCursor());
+        } while (pagina.temProxima());
+
+        assertThat(ids).hasSize(MEDICOS).doesNotHaveDuplicates().isSorted();
+    }
+
+    // Executa a listagem e o mapeamento numa mesma sessão, como faz o open-in-view no controller
+    private Pagina<MedicoDTO> listarContando(BiFunction<Long, PaginaRequest, Pagina<Medico>> listagem,
+            PaginaRequest request) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+
+        statistics.clear();
+        Pagina<MedicoDTO> pagina = transactionTemplate.execute(status -> listagem.apply(clinicId, request)
+                .map(medicoMapper::toDTO));
+
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(MAX_CONSULTAS);
+        return pagina;
+    }
+
+    private Especialidade novaEspecialidade(Clinica clinica, String nome) {
+        Especialidade especialidade = new Especialidade();
+        especialidade.setClinica(clinica);
+        especialidade.setNome(nome);
+        return especialidadeRepository.save(especialidade);
+    }
+}
@@ -0,0 +1,121 @@
+package com.multiclinicas.api.repositories;
+
+import com.multiclinicas.api.services.PacienteService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Busca de pacientes numa clínica com 1 milhão de pacientes (V11, só PostgreSQL). Cada termo
+ * cobre um caminho: prefixo comum e raro pelo btree, trecho comum e raro pelos trigramas, e
+ * dígitos de CPF e telefone. Confere o plano de cada consulta e a mediana abaixo de 10 ms.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = { "spring.jpa.show-sql=false", "logging.level.org.hibernate.SQL=WARN",
+        "notificacoes.lembretes.habilitado=false", "notificacoes.outbox.worker.habilitado=false" })
+class PacienteBuscaPostgresTest {
+
+    private static final int PACIENTES = 1_000_000;
+    private static final int AQUECIMENTO = 20;
+    private static final int MEDICOES = 50;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void banco(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private PacienteService pacienteService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // A massa é semeada uma vez para todos os termos
+    private static boolean semeado;
+    private static long clinicId;
+
+    @BeforeEach
+    void semear() {
+        if (semeado) {
+            return;
+        }
+        clinicId = jdbcTemplate.queryForObject("INSERT INTO clinicas (nome_fantasia, subdominio) "
+                + "VALUES ('Clínica Grande', 'grande') RETURNING id", Long.class);
+        jdbcTemplate.update("INSERT INTO clinicas (nome_fantasia, subdominio) VALUES ('Clínica Pequena', 'pequena')");
+        // Nome, sobrenome comum e um sobrenome raro tirado do md5; as colunas de busca já normalizadas
+        jdbcTemplate.update("INSERT INTO pacientes (clinic_id, nome, cpf, telefone, nome_busca, cpf_digitos, "
+                + "telefone_digitos) "
+                + "SELECT ?, initcap(nome), lpad(g::text, 11, '0'), telefone, nome, lpad(g::text, 11, '0'), telefone "
+                + "FROM (SELECT g, (ARRAY['ana','maria','jose','joao','antonio','francisca','carlos','paulo',"
+                + "'lucia','pedro'])[1 + g % 10] || ' ' || (ARRAY['silva','santos','oliveira','souza','rodrigues',"
+                + "'ferreira','alves','pereira','lima','gomes','costa','ribeiro','martins','carvalho','almeida',"
+                + "'lopes','soares','fernandes','vieira','barbosa'])[1 + (g / 10) % 20] || ' ' "
+                + "|| substr(md5(g::text), 1, 8) AS nome, "
+                + "'11' || lpad((g::bigint * 7919 % 1000000000)::text, 9, '0') AS telefone "
+                + "FROM generate_series(1, ?) g) p", clinicId, PACIENTES);
+        jdbcTemplate.execute("ANALYZE pacientes");
+        semeado = true;
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @CsvSource({
+            "prefixo comum, maria",
+            "prefixo com dois termos, jose silva",
+            "trecho comum, silva",
+            "trecho raro, c4ca4238",
+            "cpf, 000001234",
+            "telefone, 98765" })
+    @DisplayName("Deve buscar entre 1 milhão de pacientes em menos de 10 ms (mediana, já aquecido)")
+    void shouldSearchLargeClinicUnderTenMillis(String caso, String termo) {
+        assertThat(pacienteService.buscar(clinicId, termo, null)).as(caso).isNotEmpty();
+        for (int i = 0; i < AQUECIMENTO; i++) {
+            pacienteService.buscar(clinicId, termo, null);
+        }
+
+        long[] tempos = new long[MEDICOES];
+        for (int i = 0; i < MEDICOES; i++) {
+            long inicio = System.nanoTime();
+            pacienteService.buscar(clinicId, termo, null);
+            tempos[i] = System.nanoTime() - inicio;
+        }
+        Arrays.sort(tempos);
+
+        assertThat(tempos[MEDICOES / 2] / 1_000_000.0).as(caso).isLessThan(10.0);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @CsvSource(delimiter = '|', quoteCharacter = '"', value = {
+            "nome por prefixo | nome_busca >= 'maria' AND nome_busca < 'marib' AND nome_busca LIKE 'maria%' "
+                    + "ORDER BY nome_busca, id | idx_pacientes_clinic_nome_busca",
+            "nome por trecho raro | nome_busca LIKE '%c4ca4238%' AND nome_busca NOT LIKE 'c4ca4238%' "
+                    + "| idx_pacientes_nome_busca_trgm",
+            "cpf por prefixo | cpf_digitos >= '000001234' AND cpf_digitos < '000001235' ORDER BY cpf_digitos, id "
+                    + "| idx_pacientes_clinic_cpf_digitos",
+            "dígitos por trecho | (cpf_digitos LIKE '%98765%' OR telefone_digitos LIKE '%98765%') "
+                    + "AND COALESCE(cpf_digitos, '') NOT LIKE '98765%' | idx_pacientes_telefone_digitos_trgm" })
+    @DisplayName("Deve responder a busca pelo índice da V11, sem varredura sequencial")
+    void shouldUseSearchIndexes(String caso, String condicao, String indice) {
+        String plano = String.join("\n", jdbcTemplate.queryForList("EXPLAIN SELECT id, nome, cpf, telefone "
+                + "FROM pacientes WHERE clinic_id = " + clinicId + " AND " + condicao + " LIMIT 20", String.class));
+
+        assertThat(plano).as(caso).doesNotContain("Seq Scan").contains(indice);
+    }
+}
@@ -0,0 +1,100 @@
+package com.multiclinicas.api.repositories;
+
+import com.multiclinicas.api.models.Clinica;
+import com.multiclinicas.api.models.Paciente;
+import com.multiclinicas.api.repositories.projections.PacienteBusca;
+import com.multiclinicas.api.services.PacienteService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Busca da recepção ponta a ponta no H2: colunas normalizadas gravadas pela entidade e consultas
+@SpringBootTest(properties = { "spring.jpa.show-sql=false", "logging.level.org.hibernate.SQL=WARN" })
+@ActiveProfiles("test")
+class PacienteBuscaTest {
+
+    @Autowired
+    private PacienteService pacienteService;
+
+    @Autowired
+    private PacienteRepository pacienteRepository;
+
+    @Autowired
+    private ClinicaRepository clinicaRepository;
+
+    private Clinica clinica;
+    private Clinica outraClinica;
+
+    @BeforeEach
+    void setup() {
+        clinica = criarClinica();
+        outraClinica = criarClinica();
+    }
+
+    @Test
+    @DisplayName("Deve encontrar pelo nome sem acentos, com quem começa pelo termo antes de quem o contém")
+    void shouldRankPrefixMatchesFirst() {
+        Paciente ana = salvar(clinica, "Ana Conceição", "111.111.111-11", "(11) 3333-0001");
+        Paciente conceicao = salvar(clinica, "Conceição Souza", "222.222.222-22", "(11) 3333-0002");
+        salvar(clinica, "Pedro Alves", "333.333.333-33", "(11) 3333-0003");
+        salvar(outraClinica, "Conceição Lima", "444.444.444-44", "(11) 3333-0004");
+
+        assertThat(pacienteService.buscar(clinica.getId(), "CONCEICAO", null))
+                .extracting(PacienteBusca::id)
+                .containsExactly(conceicao.getId(), ana.getId());
+    }
+
+    @Test
+    @DisplayName("Deve encontrar por trecho do CPF ou do telefone digitado com ou sem formatação")
+    void shouldFindByCpfOrPhoneDigits() {
+        Paciente porCpf = salvar(clinica, "Bruno Costa", "987.654.000-00", "(21) 90000-1111");
+        Paciente porTelefone = salvar(clinica, "Carla Dias", "123.123.123-12", "(21) 98765-4321");
+
+        assertThat(pacienteService.buscar(clinica.getId(), "987.654", null))
+                .extracting(PacienteBusca::id)
+                .containsExactly(porCpf.getId(), porTelefone.getId());
+        assertThat(pacienteService.buscar(clinica.getId(), "4321", null))
+                .extracting(PacienteBusca::id)
+                .containsExactly(porTelefone.getId());
+    }
+
+    @Test
+    @DisplayName("Deve atualizar o nome normalizado quando o paciente é renomeado")
+    void shouldRenormalizeOnUpdate() {
+        Paciente paciente = salvar(clinica, "Zé Ninguém", "555.555.555-55", null);
+        assertThat(pacienteRepository.findById(paciente.getId()).orElseThrow().getNomeBusca())
+                .isEqualTo("ze ninguem");
+
+        Paciente novos = new Paciente();
+        novos.setNome("José Éverton");
+        pacienteService.update(paciente.getId(), novos, clinica.getId());
+
+        assertThat(pacienteService.buscar(clinica.getId(), "everton", null))
+                .extracting(PacienteBusca::nome)
+                .containsExactly("José Éverton");
+        assertThat(pacienteService.buscar(clinica.getId(), "ninguem", null)).isEmpty();
+    }
+
+    private Clinica criarClinica() {
+        Clinica nova = new Clinica();
+        nova.setNomeFantasia("Clínica Busca");
+        nova.setSubdominio("busca-" + UUID.randomUUID().toString().substring(0, 8));
+        return clinicaRepository.save(nova);
+    }
+
+    private Paciente salvar(Clinica dona, String nome, String cpf, String telefone) {
+        Paciente paciente = new Paciente();
+        paciente.setClinica(dona);
+        paciente.setNome(nome);
+        paciente.setCpf(cpf);
+        paciente.setTelefone(telefone);
+        return pacienteRepository.save(paciente);
+    }
+}
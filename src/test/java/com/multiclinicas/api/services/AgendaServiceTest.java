@@ -0,0 +1,100 @@
+package com.multiclinicas.api.services;
+
+import com.multiclinicas.api.exceptions.ResourceNotFoundException;
+import com.multiclinicas.api.models.enums.StatusAgendamento;
+import com.multiclinicas.api.models.enums.TipoPagamento;
+import com.multiclinicas.api.repositories.AgendamentoRepository;
+import com.multiclinicas.api.repositories.MedicoRepository;
+import com.multiclinicas.api.repositories.projections.ConsultaAgenda;
+import com.multiclinicas.api.repositories.projections.GradeMedicoDia;
+import com.multiclinicas.api.services.agenda.AgendaMedico;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AgendaServiceTest {
+
+    private static final Long CLINIC_ID = 1L;
+    private static final Long MEDICO_ID = 10L;
+    private static final LocalDate SEGUNDA = LocalDate.of(2025, 1, 6);
+
+    @Mock
+    private AgendamentoRepository agendamentoRepository;
+
+    @Mock
+    private MedicoRepository medicoRepository;
+
+    @InjectMocks
+    private AgendaServiceImpl agendaService;
+
+    @Test
+    @DisplayName("Deve montar a agenda do médico com as consultas e os horários livres da grade")
+    void shouldBuildDoctorAgendaWithFreeSlots() {
+        when(medicoRepository.findGradeDoDiaByIdAndClinicaId(MEDICO_ID, CLINIC_ID, 1)).thenReturn(List.of(
+                grade(MEDICO_ID, "Dr. House", true, LocalTime.of(8, 0), LocalTime.of(10, 0)),
+                grade(MEDICO_ID, "Dr. House", true, LocalTime.of(14, 0), LocalTime.of(15, 0))));
+        when(agendamentoRepository.findAgendaDiaDoMedico(CLINIC_ID, MEDICO_ID, SEGUNDA)).thenReturn(List.of(
+                consulta(1L, MEDICO_ID, LocalTime.of(8, 0), StatusAgendamento.AGENDADO),
+                consulta(2L, MEDICO_ID, LocalTime.of(9, 0), StatusAgendamento.CANCELADO_PACIENTE)));
+
+        List<AgendaMedico> agenda = agendaService.findAgenda(CLINIC_ID, SEGUNDA, MEDICO_ID);
+
+        assertThat(agenda).hasSize(1);
+        assertThat(agenda.get(0).medicoNome()).isEqualTo("Dr. House");
+        assertThat(agenda.get(0).consultas()).extracting(ConsultaAgenda::id).containsExactly(1L, 2L);
+        // Consulta cancelada aparece na agenda, mas não ocupa o horário
+        assertThat(agenda.get(0).horariosLivres()).containsExactly(LocalTime.of(8, 30), LocalTime.of(9, 0),
+                LocalTime.of(9, 30), LocalTime.of(14, 0), LocalTime.of(14, 30));
+    }
+
+    @Test
+    @DisplayName("Deve deixar de fora da agenda da clínica quem não atende nem tem consultas no dia")
+    void shouldSkipDoctorsWithoutScheduleOrAppointments() {
+        when(medicoRepository.findGradesDoDiaByClinicaId(CLINIC_ID, 1)).thenReturn(List.of(
+                grade(MEDICO_ID, "Dr. House", true, LocalTime.of(8, 0), LocalTime.of(9, 0)),
+                grade(11L, "Dra. Cuddy", true, null, null),
+                grade(12L, "Dr. Wilson", false, LocalTime.of(8, 0), LocalTime.of(9, 0)),
+                grade(13L, "Dr. Foreman", true, null, null)));
+        when(agendamentoRepository.findAgendaDia(CLINIC_ID, SEGUNDA)).thenReturn(List.of(
+                consulta(1L, 13L, LocalTime.of(10, 0), StatusAgendamento.REALIZADO)));
+
+        List<AgendaMedico> agenda = agendaService.findAgenda(CLINIC_ID, SEGUNDA, null);
+
+        assertThat(agenda).extracting(AgendaMedico::medicoId).containsExactly(MEDICO_ID, 13L);
+        assertThat(agenda.get(0).horariosLivres()).containsExactly(LocalTime.of(8, 0), LocalTime.of(8, 30));
+        assertThat(agenda.get(1).horariosLivres()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção quando o médico não é da clínica")
+    void shouldThrowWhenDoctorNotInClinic() {
+        when(medicoRepository.findGradeDoDiaByIdAndClinicaId(MEDICO_ID, CLINIC_ID, 1)).thenReturn(List.of());
+
+        assertThatThrownBy(() -> agendaService.findAgenda(CLINIC_ID, SEGUNDA, MEDICO_ID))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verify(agendamentoRepository, never()).findAgendaDiaDoMedico(CLINIC_ID, MEDICO_ID, SEGUNDA);
+    }
+
+    private static GradeMedicoDia grade(Long medicoId, String nome, boolean ativo, LocalTime inicio, LocalTime fim) {
+        return new GradeMedicoDia(medicoId, nome, ativo, 30, inicio, fim);
+    }
+
+    private static ConsultaAgenda consulta(Long id, Long medicoId, LocalTime inicio, StatusAgendamento status) {
+        return new ConsultaAgenda(id, medicoId, "Médico", inicio, inicio.plusMinutes(30), status, 5L, "João",
+                TipoPagamento.PARTICULAR, null);
+    }
+}
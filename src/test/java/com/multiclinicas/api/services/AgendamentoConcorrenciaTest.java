@@ -0,0 +1,196 @@
+package com.multiclinicas.api.services;
+
+import com.multiclinicas.api.exceptions.HorarioIndisponivelException;
+import com.multiclinicas.api.models.Agendamento;
+import com.multiclinicas.api.models.Clinica;
+import com.multiclinicas.api.models.GradeHorario;
+import com.multiclinicas.api.models.Medico;
+import com.multiclinicas.api.models.Paciente;
+import com.multiclinicas.api.models.enums.StatusAgendamento;
+import com.multiclinicas.api.repositories.AgendamentoRepository;
+import com.multiclinicas.api.repositories.ClinicaRepository;
+import com.multiclinicas.api.repositories.GradeHorarioRepository;
+import com.multiclinicas.api.repositories.MedicoRepository;
+import com.multiclinicas.api.repositories.OutboxEventoRepository;
+import com.multiclinicas.api.repositories.PacienteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Log de SQL desligado: milhares de tentativas gerariam dezenas de milhares de linhas
+@SpringBootTest(properties = { "spring.jpa.show-sql=false", "logging.level.org.hibernate.SQL=WARN" })
+@ActiveProfiles("test")
+class AgendamentoConcorrenciaTest {
+
+    private static final int TENTATIVAS = 1000;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private AgendamentoService agendamentoService;
+
+    @Autowired
+    private AgendamentoRepository agendamentoRepository;
+
+    @Autowired
+    private ClinicaRepository clinicaRepository;
+
+    @Autowired
+    private MedicoRepository medicoRepository;
+
+    @Autowired
+    private PacienteRepository pacienteRepository;
+
+    @Autowired
+    private GradeHorarioRepository gradeHorarioRepository;
+
+    @Autowired
+    private OutboxEventoRepository outboxEventoRepository;
+
+    private Clinica clinica;
+    private Medico medico;
+    private List<Paciente> pacientes;
+    private LocalDate segunda;
+
+    @BeforeEach
+    void setup() {
+        String sufixo = UUID.randomUUID().toString().substring(0, 8);
+
+        clinica = new Clinica();
+        clinica.setNomeFantasia("Clínica Concorrência");
+        clinica.setSubdominio("concorrencia-" + sufixo);
+        clinica = clinicaRepository.save(clinica);
+
+        medico = new Medico();
+        medico.setClinica(clinica);
+        medico.setNome("Dra. Popular");
+        medico.setCrm("CRM-" + sufixo);
+        medico.setDuracaoConsulta(30);
+        medico = medicoRepository.save(medico);
+
+        GradeHorario grade = new GradeHorario();
+        grade.setMedico(medico);
+        grade.setDiaSemana(1);
+        grade.setHoraInicio(LocalTime.of(8, 0));
+        grade.setHoraFim(LocalTime.of(12, 0));
+        gradeHorarioRepository.save(grade);
+
+        pacientes = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Paciente paciente = new Paciente();
+            paciente.setClinica(clinica);
+            paciente.setNome("Paciente " + i);
+            paciente.setCpf(String.format("%011d", i));
+            pacientes.add(pacienteRepository.save(paciente));
+        }
+
+        segunda = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+    }
+
+    @Test
+    @DisplayName("Deve aceitar exatamente um agendamento quando milhares disputam o mesmo horário")
+    void shouldBookSlotExactlyOnceUnderContention() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch largada = new CountDownLatch(1);
+        AtomicInteger sucessos = new AtomicInteger();
+        AtomicInteger conflitos = new AtomicInteger();
+        AtomicInteger conflitosComSugestao = new AtomicInteger();
+        AtomicReference<Agendamento> vencedor = new AtomicReference<>();
+        List<Future<?>> tarefas = new ArrayList<>();
+
+        for (int i = 0; i < TENTATIVAS; i++) {
+            Long pacienteId = pacientes.get(i % pacientes.size()).getId();
+            tarefas.add(executor.submit(() -> {
+                largada.await();
+                Agendamento agendamento = new Agendamento();
+                agendamento.setDataConsulta(segunda);
+                agendamento.setHoraInicio(LocalTime.of(9, 0));
+                try {
+                    vencedor.set(agendamentoService.create(clinica.getId(), pacienteId, medico.getId(), null,
+                            agendamento));
+                    sucessos.incrementAndGet();
+                } catch (HorarioIndisponivelException e) {
+                    conflitos.incrementAndGet();
+                    if (!e.getProximosHorariosLivres().isEmpty()) {
+                        conflitosComSugestao.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        largada.countDown();
+        for (Future<?> tarefa : tarefas) {
+            // propaga qualquer exceção inesperada (ex.: violação de constraint não tratada)
+            tarefa.get(2, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        assertThat(sucessos.get()).isEqualTo(1);
+        assertThat(conflitos.get()).isEqualTo(TENTATIVAS - 1);
+        assertThat(conflitosComSugestao.get()).isEqualTo(TENTATIVAS - 1);
+        assertThat(agendamentoRepository.findHorariosOcupados(clinica.getId(), medico.getId(), segunda, segunda,
+                StatusAgendamento.CANCELADOS)).hasSize(1);
+
+        // só a transação vencedora grava a confirmação na outbox
+        assertThat(outboxEventoRepository.findByAgendamentoId(vencedor.get().getId())).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Deve gravar um registro novo no horário cancelado e manter o cancelado no histórico")
+    void shouldKeepCancelledAgendamentoWhenSlotIsRebooked() {
+        Agendamento primeiro = new Agendamento();
+        primeiro.setDataConsulta(segunda);
+        primeiro.setHoraInicio(LocalTime.of(10, 0));
+        primeiro.setObservacoes("Primeira consulta");
+        primeiro = agendamentoService.create(clinica.getId(), pacientes.get(0).getId(), medico.getId(), null,
+                primeiro);
+        primeiro.setStatus(StatusAgendamento.CANCELADO_PACIENTE);
+        agendamentoRepository.save(primeiro);
+
+        Agendamento segundo = new Agendamento();
+        segundo.setDataConsulta(segunda);
+        segundo.setHoraInicio(LocalTime.of(10, 0));
+        segundo = agendamentoService.create(clinica.getId(), pacientes.get(1).getId(), medico.getId(), null,
+                segundo);
+
+        assertThat(segundo.getId()).isNotEqualTo(primeiro.getId());
+        Agendamento cancelado = agendamentoService.findByIdAndClinicId(primeiro.getId(), clinica.getId());
+        assertThat(cancelado.getStatus()).isEqualTo(StatusAgendamento.CANCELADO_PACIENTE);
+        assertThat(cancelado.getPaciente().getId()).isEqualTo(pacientes.get(0).getId());
+        assertThat(cancelado.getObservacoes()).isEqualTo("Primeira consulta");
+
+        // A constraint continua barrando dois agendamentos ativos no horário
+        Agendamento duplicado = new Agendamento();
+        duplicado.setClinica(clinica);
+        duplicado.setMedico(medico);
+        duplicado.setPaciente(pacientes.get(2));
+        duplicado.setDataConsulta(segunda);
+        duplicado.setHoraInicio(LocalTime.of(10, 0));
+        duplicado.setHoraFim(LocalTime.of(10, 30));
+        duplicado.setStatus(StatusAgendamento.AGENDADO);
+        assertThatThrownBy(() -> agendamentoRepository.saveAndFlush(duplicado))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+}
@@ -0,0 +1,201 @@
+package com.multiclinicas.api.services;
+
+import com.multiclinicas.api.exceptions.BusinessException;
+import com.multiclinicas.api.exceptions.HorarioIndisponivelException;
+import com.multiclinicas.api.exceptions.ResourceNotFoundException;
+import com.multiclinicas.api.models.Agendamento;
+import com.multiclinicas.api.models.Medico;
+import com.multiclinicas.api.models.enums.StatusAgendamento;
+import com.multiclinicas.api.models.enums.TipoNotificacao;
+import com.multiclinicas.api.models.enums.TipoPagamento;
+import com.multiclinicas.api.repositories.AgendamentoRepository;
+import com.multiclinicas.api.repositories.ClinicaRepository;
+import com.multiclinicas.api.repositories.MedicoRepository;
+import com.multiclinicas.api.repositories.PacienteRepository;
+import com.multiclinicas.api.repositories.PlanoSaudeRepository;
+import com.multiclinicas.api.repositories.projections.IntervaloGrade;
+import com.multiclinicas.api.services.agendamento.AgendaLocks;
+import com.multiclinicas.api.services.disponibilidade.GradeSemanal;
+import com.multiclinicas.api.services.lembretes.JanelaLembretes;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class AgendamentoServiceTest {
+
+    private static final Long CLINIC_ID = 1L;
+    private static final Long PACIENTE_ID = 5L;
+    private static final Long MEDICO_ID = 10L;
+    private static final LocalDate SEGUNDA = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+
+    @Mock
+    private AgendamentoRepository agendamentoRepository;
+
+    @Mock
+    private ClinicaRepository clinicaRepository;
+
+    @Mock
+    private PacienteRepository pacienteRepository;
+
+    @Mock
+    private MedicoRepository medicoRepository;
+
+    @Mock
+    private PlanoSaudeRepository planoSaudeRepository;
+
+    @Mock
+    private DisponibilidadeService disponibilidadeService;
+
+    @Mock
+    private AgendaLocks agendaLocks;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private JanelaLembretes janelaLembretes;
+
+    @InjectMocks
+    private AgendamentoServiceImpl agendamentoService;
+
+    private Agendamento novo;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setup() {
+        Medico medico = new Medico();
+        medico.setId(MEDICO_ID);
+        medico.setAtivo(true);
+
+        when(pacienteRepository.existsByIdAndClinicaId(PACIENTE_ID, CLINIC_ID)).thenReturn(true);
+        when(medicoRepository.findByIdAndClinicaId(MEDICO_ID, CLINIC_ID)).thenReturn(medico);
+        when(disponibilidadeService.findGrade(MEDICO_ID, CLINIC_ID)).thenReturn(GradeSemanal.compilar(
+                List.of(new IntervaloGrade(1, LocalTime.of(8, 0), LocalTime.of(12, 0))), 30));
+        when(agendaLocks.comLock(eq(MEDICO_ID), eq(SEGUNDA), any()))
+                .thenAnswer(inv -> ((Supplier<Object>) inv.getArgument(2)).get());
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(inv -> ((TransactionCallback<Object>) inv.getArgument(0)).doInTransaction(null));
+        when(agendamentoRepository.saveAndFlush(any(Agendamento.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        novo = new Agendamento();
+        novo.setDataConsulta(SEGUNDA);
+        novo.setHoraInicio(LocalTime.of(9, 0));
+    }
+
+    @Test
+    @DisplayName("Deve agendar horário livre calculando o término pela duração da consulta")
+    void shouldCreateAgendamento() {
+        Agendamento result = agendamentoService.create(CLINIC_ID, PACIENTE_ID, MEDICO_ID, null, novo);
+
+        assertThat(result.getHoraFim()).isEqualTo(LocalTime.of(9, 30));
+        assertThat(result.getStatus()).isEqualTo(StatusAgendamento.AGENDADO);
+        assertThat(result.getTipoPagamento()).isEqualTo(TipoPagamento.PARTICULAR);
+        verify(agendaLocks).bloquearNoBanco(MEDICO_ID, SEGUNDA);
+        verify(agendamentoRepository).saveAndFlush(any(Agendamento.class));
+        verify(outboxService).registrar(result, TipoNotificacao.CONFIRMACAO);
+        verify(outboxService, never()).registrarLembrete(any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve gravar o lembrete junto quando ele cai no trecho já carregado pelo agendador")
+    void shouldRegisterReminderInsideHorizon() {
+        LocalDateTime lembrete = SEGUNDA.atTime(9, 0).minusHours(24);
+        when(janelaLembretes.lembreteNaCriacao(eq(SEGUNDA), eq(LocalTime.of(9, 0)), any()))
+                .thenReturn(Optional.of(lembrete));
+
+        Agendamento result = agendamentoService.create(CLINIC_ID, PACIENTE_ID, MEDICO_ID, null, novo);
+
+        verify(outboxService).registrarLembrete(result, lembrete);
+    }
+
+    @Test
+    @DisplayName("Deve lançar 409 com sugestões quando o horário já está ocupado")
+    void shouldThrowConflictWithSuggestions() {
+        when(agendamentoRepository.existsConflito(eq(CLINIC_ID), eq(MEDICO_ID), eq(SEGUNDA), any(), any(), any()))
+                .thenReturn(true);
+        List<LocalDateTime> sugestoes = List.of(SEGUNDA.atTime(9, 30), SEGUNDA.atTime(10, 0));
+        when(disponibilidadeService.findProximosHorariosLivres(MEDICO_ID, CLINIC_ID, SEGUNDA.atTime(9, 0),
+                AgendamentoServiceImpl.QUANTIDADE_SUGESTOES)).thenReturn(sugestoes);
+
+        assertThatThrownBy(() -> agendamentoService.create(CLINIC_ID, PACIENTE_ID, MEDICO_ID, null, novo))
+                .isInstanceOf(HorarioIndisponivelException.class)
+                .satisfies(e -> assertThat(((HorarioIndisponivelException) e).getProximosHorariosLivres())
+                        .isEqualTo(sugestoes));
+
+        verify(agendamentoRepository, never()).saveAndFlush(any());
+        verifyNoInteractions(outboxService);
+    }
+
+    @Test
+    @DisplayName("Deve criar um registro novo mesmo quando há agendamento cancelado no horário")
+    void shouldInsertNewRowOverCancelledAgendamento() {
+        novo.setId(77L);
+        novo.setStatus(StatusAgendamento.CANCELADO_PACIENTE);
+
+        Agendamento result = agendamentoService.create(CLINIC_ID, PACIENTE_ID, MEDICO_ID, null, novo);
+
+        // O objeto recebido só fornece os dados: nada dele (id, status) é gravado por cima
+        assertThat(result).isNotSameAs(novo);
+        assertThat(result.getId()).isNull();
+        assertThat(result.getStatus()).isEqualTo(StatusAgendamento.AGENDADO);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar horário fora da grade do médico")
+    void shouldRejectSlotOutsideGrade() {
+        novo.setHoraInicio(LocalTime.of(9, 10));
+
+        assertThatThrownBy(() -> agendamentoService.create(CLINIC_ID, PACIENTE_ID, MEDICO_ID, null, novo))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("fora da grade");
+
+        verifyNoInteractions(agendaLocks);
+    }
+
+    @Test
+    @DisplayName("Deve exigir plano de saúde em agendamentos por convênio")
+    void shouldRequirePlanoForConvenio() {
+        novo.setTipoPagamento(TipoPagamento.CONVENIO);
+
+        assertThatThrownBy(() -> agendamentoService.create(CLINIC_ID, PACIENTE_ID, MEDICO_ID, null, novo))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("Plano de saúde é obrigatório");
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção quando o paciente não pertence à clínica")
+    void shouldThrowWhenPacienteNotFound() {
+        when(pacienteRepository.existsByIdAndClinicaId(PACIENTE_ID, CLINIC_ID)).thenReturn(false);
+
+        assertThatThrownBy(() -> agendamentoService.create(CLINIC_ID, PACIENTE_ID, MEDICO_ID, null, novo))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+}
@@ -0,0 +1,120 @@
+package com.multiclinicas.api.services;
+
+import com.multiclinicas.api.exceptions.BusinessException;
+import com.multiclinicas.api.models.Especialidade;
+import com.multiclinicas.api.models.Medico;
+import com.multiclinicas.api.repositories.EspecialidadeRepository;
+import com.multiclinicas.api.repositories.MedicoRepository;
+import com.multiclinicas.api.repositories.projections.NomeCatalogo;
+import com.multiclinicas.api.services.autocomplete.Sugestao;
+import com.multiclinicas.api.services.autocomplete.TipoSugestao;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AutocompleteServiceTest {
+
+    private static final Long CLINIC_ID = 1L;
+
+    @Mock
+    private MedicoRepository medicoRepository;
+
+    @Mock
+    private EspecialidadeRepository especialidadeRepository;
+
+    private AutocompleteServiceImpl autocompleteService;
+
+    @BeforeEach
+    void setup() {
+        autocompleteService = new AutocompleteServiceImpl(medicoRepository, especialidadeRepository, 100,
+                Duration.ofMinutes(10));
+    }
+
+    @Test
+    @DisplayName("Deve montar o índice da clínica uma vez e responder as buscas seguintes da memória")
+    void shouldBuildIndexOnceAndServeFromMemory() {
+        stubCatalogo();
+
+        assertThat(autocompleteService.sugerir(CLINIC_ID, "Card", null))
+                .containsExactly(new Sugestao(TipoSugestao.ESPECIALIDADE, 10L, "Cardiologia"));
+        assertThat(autocompleteService.sugerir(CLINIC_ID, "hou", null))
+                .containsExactly(new Sugestao(TipoSugestao.MEDICO, 1L, "Dr. House"));
+
+        verify(medicoRepository, times(1)).findNomesAtivosByClinicaId(CLINIC_ID);
+        verify(especialidadeRepository, times(1)).findByClinicaId(CLINIC_ID);
+    }
+
+    @Test
+    @DisplayName("Deve aplicar criação, renomeação, inativação e exclusão ao índice já montado")
+    void shouldApplyWritesToLoadedIndex() {
+        stubCatalogo();
+        autocompleteService.sugerir(CLINIC_ID, "dr", null);
+
+        Medico wilson = medico(2L, "Dr. Wilson", true);
+        autocompleteService.medicoAlterado(CLINIC_ID, wilson);
+        assertThat(autocompleteService.sugerir(CLINIC_ID, "dr", null)).extracting(Sugestao::nome)
+                .containsExactly("Dr. House", "Dr. Wilson");
+
+        autocompleteService.medicoAlterado(CLINIC_ID, medico(1L, "Dr. House", false));
+        autocompleteService.medicoRemovido(CLINIC_ID, 2L);
+        assertThat(autocompleteService.sugerir(CLINIC_ID, "dr", null)).isEmpty();
+
+        Especialidade pediatria = new Especialidade();
+        pediatria.setId(10L);
+        pediatria.setNome("Pediatria");
+        autocompleteService.especialidadeAlterada(CLINIC_ID, pediatria);
+        assertThat(autocompleteService.sugerir(CLINIC_ID, "card", null)).isEmpty();
+        assertThat(autocompleteService.sugerir(CLINIC_ID, "ped", null)).extracting(Sugestao::id)
+                .containsExactly(10L);
+        verify(medicoRepository, times(1)).findNomesAtivosByClinicaId(CLINIC_ID);
+    }
+
+    @Test
+    @DisplayName("Não deve montar o índice por causa de uma escrita nem para termo vazio")
+    void shouldNotBuildIndexForWritesOrBlankTerm() {
+        autocompleteService.medicoAlterado(CLINIC_ID, medico(1L, "Dr. House", true));
+
+        assertThat(autocompleteService.sugerir(CLINIC_ID, " - ", null)).isEmpty();
+        verifyNoInteractions(medicoRepository, especialidadeRepository);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar limite fora do intervalo permitido")
+    void shouldRejectInvalidLimit() {
+        assertThatThrownBy(() -> autocompleteService.sugerir(CLINIC_ID, "card", 0))
+                .isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> autocompleteService.sugerir(CLINIC_ID, "card", 51))
+                .isInstanceOf(BusinessException.class);
+    }
+
+    private void stubCatalogo() {
+        Especialidade cardiologia = new Especialidade();
+        cardiologia.setId(10L);
+        cardiologia.setNome("Cardiologia");
+        when(medicoRepository.findNomesAtivosByClinicaId(CLINIC_ID))
+                .thenReturn(List.of(new NomeCatalogo(1L, "Dr. House")));
+        when(especialidadeRepository.findByClinicaId(CLINIC_ID)).thenReturn(List.of(cardiologia));
+    }
+
+    private static Medico medico(Long id, String nome, boolean ativo) {
+        Medico medico = new Medico();
+        medico.setId(id);
+        medico.setNome(nome);
+        medico.setAtivo(ativo);
+        return medico;
+    }
+}
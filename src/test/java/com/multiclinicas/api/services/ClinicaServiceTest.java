@@ -1,5 +1,7 @@
 package com.multiclinicas.api.services;
 
+import com.multiclinicas.api.config.cache.VersoesCatalogo;
+import com.multiclinicas.api.config.tenant.TenantRegistry;
 import com.multiclinicas.api.exceptions.BusinessException;
 import com.multiclinicas.api.exceptions.ResourceConflictException;
 import com.multiclinicas.api.exceptions.ResourceNotFoundException;
@@ -26,6 +28,12 @@ class ClinicaServiceTest {
     @Mock
     private ClinicaRepository clinicaRepository;
 
+    @Mock
+    private TenantRegistry tenantRegistry;
+
+    @Mock
+    private VersoesCatalogo versoesCatalogo;
+
     @InjectMocks
     private ClinicaServiceImpl clinicaService;
 
@@ -99,6 +107,7 @@ class ClinicaServiceTest {
         assertThat(result).isNotNull();
         verify(clinicaRepository).existsBySubdominio("clinica-teste");
         verify(clinicaRepository).save(clinica);
+        verify(tenantRegistry).invalidate(clinica.getId());
     }
 
     @Test
@@ -143,6 +152,7 @@ class ClinicaServiceTest {
         assertThat(result.getNomeFantasia()).isEqualTo("Nome Novo");
         assertThat(result.getSubdominio()).isEqualTo("sub-novo");
         verify(clinicaRepository).save(clinicaExistente);
+        verify(tenantRegistry).invalidate(id);
     }
 
     @Test
@@ -180,6 +190,7 @@ class ClinicaServiceTest {
 
         // Then
         verify(clinicaRepository).deleteById(id);
+        verify(tenantRegistry).invalidate(id);
     }
 
     @Test
@@ -194,5 +205,6 @@ class ClinicaServiceTest {
                 .isInstanceOf(ResourceNotFoundException.class);
 
         verify(clinicaRepository, never()).deleteById(any());
+        verify(tenantRegistry, never()).invalidate(any());
     }
 }
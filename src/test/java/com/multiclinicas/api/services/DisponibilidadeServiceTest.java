@@ -0,0 +1,92 @@
+package com.multiclinicas.api.services;
+
+import com.multiclinicas.api.exceptions.BusinessException;
+import com.multiclinicas.api.exceptions.ResourceNotFoundException;
+import com.multiclinicas.api.repositories.AgendamentoRepository;
+import com.multiclinicas.api.repositories.GradeHorarioRepository;
+import com.multiclinicas.api.repositories.MedicoRepository;
+import com.multiclinicas.api.repositories.projections.HorarioOcupado;
+import com.multiclinicas.api.repositories.projections.IntervaloGrade;
+import com.multiclinicas.api.services.disponibilidade.DisponibilidadeDia;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DisponibilidadeServiceTest {
+
+    private static final Long CLINIC_ID = 1L;
+    private static final Long MEDICO_ID = 10L;
+    private static final LocalDate SEGUNDA = LocalDate.of(2025, 1, 6);
+
+    @Mock
+    private MedicoRepository medicoRepository;
+
+    @Mock
+    private GradeHorarioRepository gradeHorarioRepository;
+
+    @Mock
+    private AgendamentoRepository agendamentoRepository;
+
+    @InjectMocks
+    private DisponibilidadeServiceImpl disponibilidadeService;
+
+    @Test
+    @DisplayName("Deve retornar apenas os dias de atendimento com os horários livres")
+    void shouldReturnFreeSlotsForWorkingDays() {
+        when(medicoRepository.findDuracaoConsultaByIdAndClinicaId(MEDICO_ID, CLINIC_ID)).thenReturn(Optional.of(60));
+        when(gradeHorarioRepository.findIntervalosByMedicoId(MEDICO_ID)).thenReturn(List.of(
+                new IntervaloGrade(1, LocalTime.of(8, 0), LocalTime.of(10, 0)),
+                new IntervaloGrade(3, LocalTime.of(14, 0), LocalTime.of(15, 0))));
+        when(agendamentoRepository.findHorariosOcupados(eq(CLINIC_ID), eq(MEDICO_ID), any(), any(), any()))
+                .thenReturn(List.of(new HorarioOcupado(MEDICO_ID, SEGUNDA, LocalTime.of(8, 0), LocalTime.of(9, 0))));
+
+        List<DisponibilidadeDia> dias = disponibilidadeService.findDisponibilidade(
+                MEDICO_ID, CLINIC_ID, SEGUNDA, SEGUNDA.plusDays(6));
+
+        assertThat(dias).hasSize(2);
+        assertThat(dias.get(0).data()).isEqualTo(SEGUNDA);
+        assertThat(dias.get(0).horariosLivres()).containsExactly(LocalTime.of(9, 0));
+        assertThat(dias.get(1).data()).isEqualTo(SEGUNDA.plusDays(2));
+        assertThat(dias.get(1).horariosLivres()).containsExactly(LocalTime.of(14, 0));
+        verify(agendamentoRepository, times(1))
+                .findHorariosOcupados(eq(CLINIC_ID), eq(MEDICO_ID), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção quando o médico não pertence à clínica")
+    void shouldThrowWhenMedicoNotFound() {
+        when(medicoRepository.findDuracaoConsultaByIdAndClinicaId(MEDICO_ID, CLINIC_ID)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> disponibilidadeService.findDisponibilidade(MEDICO_ID, CLINIC_ID, SEGUNDA, SEGUNDA))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar período invertido ou maior que o limite")
+    void shouldRejectInvalidPeriod() {
+        assertThatThrownBy(() -> disponibilidadeService.findDisponibilidade(
+                MEDICO_ID, CLINIC_ID, SEGUNDA, SEGUNDA.minusDays(1)))
+                .isInstanceOf(BusinessException.class);
+
+        assertThatThrownBy(() -> disponibilidadeService.findDisponibilidade(
+                MEDICO_ID, CLINIC_ID, SEGUNDA, SEGUNDA.plusDays(DisponibilidadeServiceImpl.MAX_DIAS_CONSULTA)))
+                .isInstanceOf(BusinessException.class);
+
+        verify(medicoRepository, never()).findDuracaoConsultaByIdAndClinicaId(anyLong(), anyLong());
+    }
+}
@@ -1,5 +1,6 @@
 package com.multiclinicas.api.services;
 
+import com.multiclinicas.api.config.cache.VersoesCatalogo;
 import com.multiclinicas.api.exceptions.BusinessException;
 import com.multiclinicas.api.exceptions.ResourceNotFoundException;
 import com.multiclinicas.api.models.Clinica;
@@ -21,6 +22,7 @@ import java.util.Set;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,6 +36,12 @@ class EspecialidadeServiceTest {
     @Mock
     private ClinicaRepository clinicaRepository;
 
+    @Mock
+    private VersoesCatalogo versoesCatalogo;
+
+    @Mock
+    private AutocompleteService autocompleteService;
+
     @InjectMocks
     private EspecialidadeServiceImpl especialidadeService;
 
@@ -124,6 +132,7 @@ class EspecialidadeServiceTest {
         verify(clinicaRepository).findById(CLINIC_ID);
         verify(especialidadeRepository).existsByNomeIgnoreCaseAndClinicaId("Cardiologia", CLINIC_ID);
         verify(especialidadeRepository).save(any(Especialidade.class));
+        verify(autocompleteService).especialidadeAlterada(eq(CLINIC_ID), any(Especialidade.class));
     }
 
     @Test
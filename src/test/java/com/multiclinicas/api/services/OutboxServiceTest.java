@@ -0,0 +1,304 @@
+package com.multiclinicas.api.services;
+
+import com.multiclinicas.api.models.Agendamento;
+import com.multiclinicas.api.models.Clinica;
+import com.multiclinicas.api.models.Medico;
+import com.multiclinicas.api.models.OutboxEvento;
+import com.multiclinicas.api.models.Paciente;
+import com.multiclinicas.api.models.enums.StatusAgendamento;
+import com.multiclinicas.api.models.enums.StatusOutbox;
+import com.multiclinicas.api.models.enums.TipoNotificacao;
+import com.multiclinicas.api.repositories.AgendamentoRepository;
+import com.multiclinicas.api.repositories.ClinicaRepository;
+import com.multiclinicas.api.repositories.MedicoRepository;
+import com.multiclinicas.api.repositories.OutboxEventoRepository;
+import com.multiclinicas.api.repositories.PacienteRepository;
+import com.multiclinicas.api.services.notificacao.Notificacao;
+import com.multiclinicas.api.services.notificacao.NotificacaoSender;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Backoff zerado para que as retentativas fiquem disponíveis imediatamente
+@SpringBootTest(properties = { "notificacoes.outbox.lote=10", "notificacoes.outbox.max-tentativas=3",
+        "notificacoes.outbox.backoff-inicial=0s", "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN" })
+@ActiveProfiles("test")
+class OutboxServiceTest {
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private OutboxEventoRepository outboxEventoRepository;
+
+    @Autowired
+    private AgendamentoRepository agendamentoRepository;
+
+    @Autowired
+    private ClinicaRepository clinicaRepository;
+
+    @Autowired
+    private MedicoRepository medicoRepository;
+
+    @Autowired
+    private PacienteRepository pacienteRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private SenderFalso sender;
+
+    private Clinica clinica;
+    private Medico medico;
+    private Paciente paciente;
+
+    @BeforeEach
+    void setup() {
+        // Eventos de outros testes não podem ser consumidos por este
+        drenar();
+        sender.limpar();
+
+        String sufixo = UUID.randomUUID().toString().substring(0, 8);
+        clinica = new Clinica();
+        clinica.setNomeFantasia("Clínica Outbox");
+        clinica.setSubdominio("outbox-" + sufixo);
+        clinica = clinicaRepository.save(clinica);
+
+        medico = new Medico();
+        medico.setClinica(clinica);
+        medico.setNome("Dra. Notifica");
+        medico.setCrm("CRM-" + sufixo);
+        medico = medicoRepository.save(medico);
+
+        paciente = new Paciente();
+        paciente.setClinica(clinica);
+        paciente.setNome("Paciente Outbox");
+        paciente.setEmail("paciente@email.com");
+        paciente.setCpf(sufixo);
+        paciente = pacienteRepository.save(paciente);
+    }
+
+    @Test
+    @DisplayName("Deve enviar a confirmação gravada na transação do agendamento")
+    void shouldSendConfirmation() {
+        Agendamento agendamento = agendarComConfirmacao(LocalDate.of(2031, 3, 10));
+
+        assertThat(outboxService.processarPendentes()).isEqualTo(1);
+
+        assertThat(sender.enviadas).singleElement().satisfies(n -> {
+            assertThat(n.tipo()).isEqualTo(TipoNotificacao.CONFIRMACAO);
+            assertThat(n.pacienteEmail()).isEqualTo("paciente@email.com");
+            assertThat(n.medicoNome()).isEqualTo("Dra. Notifica");
+            assertThat(n.clinicaNome()).isEqualTo("Clínica Outbox");
+            assertThat(n.dataHora()).isEqualTo(LocalDateTime.of(2031, 3, 10, 9, 0));
+        });
+        OutboxEvento evento = outboxEventoRepository.findByAgendamentoId(agendamento.getId()).get(0);
+        assertThat(evento.getStatus()).isEqualTo(StatusOutbox.ENVIADO);
+        assertThat(evento.getEnviadoEm()).isNotNull();
+        assertThat(outboxService.processarPendentes()).isZero();
+    }
+
+    @Test
+    @DisplayName("Não deve gravar evento se a transação do agendamento for desfeita")
+    void shouldNotRegisterWhenTransactionRollsBack() {
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> {
+            Agendamento agendamento = agendamentoRepository.save(novoAgendamento(LocalDate.of(2031, 3, 11)));
+            outboxService.registrar(agendamento, TipoNotificacao.CONFIRMACAO);
+            throw new IllegalStateException("falha depois de gravar");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(outboxService.processarPendentes()).isZero();
+        assertThat(sender.enviadas).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve exigir transação ativa para registrar o evento")
+    void shouldRequireTransaction() {
+        Agendamento agendamento = agendamentoRepository.save(novoAgendamento(LocalDate.of(2031, 3, 12)));
+
+        assertThatThrownBy(() -> outboxService.registrar(agendamento, TipoNotificacao.CONFIRMACAO))
+                .isInstanceOf(IllegalTransactionStateException.class);
+    }
+
+    @Test
+    @DisplayName("Deve retentar com backoff e marcar como falha ao esgotar as tentativas")
+    void shouldRetryAndGiveUp() {
+        Agendamento agendamento = agendarComConfirmacao(LocalDate.of(2031, 3, 13));
+        sender.falhasRestantes.set(10);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(outboxService.processarPendentes()).isEqualTo(1);
+        }
+
+        OutboxEvento evento = outboxEventoRepository.findByAgendamentoId(agendamento.getId()).get(0);
+        assertThat(evento.getStatus()).isEqualTo(StatusOutbox.FALHOU);
+        assertThat(evento.getTentativas()).isEqualTo(3);
+        assertThat(evento.getUltimoErro()).contains("SMTP indisponível");
+        assertThat(outboxService.processarPendentes()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve entregar após falha temporária do sender")
+    void shouldDeliverAfterTransientFailure() {
+        Agendamento agendamento = agendarComConfirmacao(LocalDate.of(2031, 3, 14));
+        sender.falhasRestantes.set(1);
+
+        outboxService.processarPendentes();
+        OutboxEvento pendente = outboxEventoRepository.findByAgendamentoId(agendamento.getId()).get(0);
+        assertThat(pendente.getStatus()).isEqualTo(StatusOutbox.PENDENTE);
+        assertThat(pendente.getTentativas()).isEqualTo(1);
+
+        outboxService.processarPendentes();
+        assertThat(outboxEventoRepository.findByAgendamentoId(agendamento.getId()).get(0).getStatus())
+                .isEqualTo(StatusOutbox.ENVIADO);
+        assertThat(sender.enviadas).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Deve descartar a notificação de agendamento cancelado antes do envio")
+    void shouldDiscardCancelledAgendamento() {
+        Agendamento agendamento = agendarComConfirmacao(LocalDate.of(2031, 3, 17));
+        agendamento.setStatus(StatusAgendamento.CANCELADO_PACIENTE);
+        agendamentoRepository.save(agendamento);
+
+        outboxService.processarPendentes();
+
+        assertThat(sender.enviadas).isEmpty();
+        assertThat(outboxEventoRepository.findByAgendamentoId(agendamento.getId()).get(0).getStatus())
+                .isEqualTo(StatusOutbox.DESCARTADO);
+    }
+
+    @Test
+    @DisplayName("Workers concorrentes não devem reservar o mesmo evento")
+    void concurrentWorkersShouldNotClaimSameEvent() throws Exception {
+        int total = 60;
+        for (int i = 0; i < total; i++) {
+            agendarComConfirmacao(LocalDate.of(2032, 1, 1).plusDays(i));
+        }
+
+        int workers = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<?>> tarefas = new ArrayList<>();
+        for (int w = 0; w < workers; w++) {
+            tarefas.add(executor.submit(() -> {
+                largada.await();
+                while (outboxService.processarPendentes() > 0) {
+                    // drena até não sobrar nada pendente
+                }
+                return null;
+            }));
+        }
+        largada.countDown();
+        for (Future<?> tarefa : tarefas) {
+            tarefa.get(1, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        assertThat(sender.enviadas).hasSize(total);
+        assertThat(sender.enviosPorEvento.values()).allMatch(envios -> envios.get() == 1);
+    }
+
+    @Test
+    @DisplayName("Backoff deve dobrar a cada tentativa até o limite configurado")
+    void backoffShouldGrowExponentiallyUpToMaximum() {
+        OutboxServiceImpl servico = new OutboxServiceImpl(null, null, null, null, new SimpleMeterRegistry(), 10,
+                Duration.ofMinutes(5), 8, Duration.ofSeconds(30), Duration.ofHours(1));
+
+        assertThat(servico.calcularBackoff(1)).isEqualTo(Duration.ofSeconds(30));
+        assertThat(servico.calcularBackoff(2)).isEqualTo(Duration.ofMinutes(1));
+        assertThat(servico.calcularBackoff(4)).isEqualTo(Duration.ofMinutes(4));
+        assertThat(servico.calcularBackoff(8)).isEqualTo(Duration.ofHours(1));
+        assertThat(servico.calcularBackoff(100)).isEqualTo(Duration.ofHours(1));
+    }
+
+    private Agendamento agendarComConfirmacao(LocalDate data) {
+        return transactionTemplate.execute(status -> {
+            Agendamento agendamento = agendamentoRepository.save(novoAgendamento(data));
+            outboxService.registrar(agendamento, TipoNotificacao.CONFIRMACAO);
+            return agendamento;
+        });
+    }
+
+    private Agendamento novoAgendamento(LocalDate data) {
+        Agendamento agendamento = new Agendamento();
+        agendamento.setClinica(clinica);
+        agendamento.setMedico(medico);
+        agendamento.setPaciente(paciente);
+        agendamento.setDataConsulta(data);
+        agendamento.setHoraInicio(LocalTime.of(9, 0));
+        agendamento.setHoraFim(LocalTime.of(9, 30));
+        agendamento.setStatus(StatusAgendamento.AGENDADO);
+        return agendamento;
+    }
+
+    private void drenar() {
+        while (outboxService.processarPendentes() > 0) {
+            // descarta o que sobrou de outros testes
+        }
+    }
+
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        @Primary
+        SenderFalso senderFalso() {
+            return new SenderFalso();
+        }
+    }
+
+    // Guarda as notificações em memória e pode falhar um número configurável de vezes
+    static class SenderFalso implements NotificacaoSender {
+
+        final List<Notificacao> enviadas = new CopyOnWriteArrayList<>();
+        final Map<Long, AtomicInteger> enviosPorEvento = new ConcurrentHashMap<>();
+        final AtomicInteger falhasRestantes = new AtomicInteger();
+
+        @Override
+        public void enviar(Notificacao notificacao) {
+            if (falhasRestantes.getAndUpdate(n -> Math.max(n - 1, 0)) > 0) {
+                throw new IllegalStateException("SMTP indisponível");
+            }
+            enviadas.add(notificacao);
+            enviosPorEvento.computeIfAbsent(notificacao.eventoId(), id -> new AtomicInteger()).incrementAndGet();
+        }
+
+        void limpar() {
+            enviadas.clear();
+            enviosPorEvento.clear();
+            falhasRestantes.set(0);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.multiclinicas.api.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.multiclinicas.api.models.Clinica;
+import com.multiclinicas.api.models.Endereco;
+import com.multiclinicas.api.models.Paciente;
+import com.multiclinicas.api.repositories.ClinicaRepository;
+import com.multiclinicas.api.repositories.PacienteRepository;
+import com.multiclinicas.api.services.exportacao.FormatoExportacao;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// fetch-size pequeno para que a leitura atravesse vários lotes do cursor
+@SpringBootTest(properties = "pacientes.export.fetch-size=2")
+@ActiveProfiles("test")
+class PacienteExportServiceTest {
+
+    @Autowired
+    private PacienteExportService pacienteExportService;
+
+    @Autowired
+    private ClinicaRepository clinicaRepository;
+
+    @Autowired
+    private PacienteRepository pacienteRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Long clinicId;
+
+    @BeforeEach
+    void setup() {
+        clinicId = novaClinica().getId();
+        Clinica clinica = clinicaRepository.getReferenceById(clinicId);
+
+        Endereco endereco = new Endereco();
+        endereco.setCidade("Recife");
+        endereco.setEstado("PE");
+        salvarPaciente(clinica, "Ana, \"Aninha\" Souza", "00000000001", endereco);
+        salvarPaciente(clinica, "Bruno Lima", "00000000002", null);
+        salvarPaciente(clinica, "Carla Dias", "00000000003", null);
+
+        // paciente de outra clínica não pode aparecer na exportação
+        salvarPaciente(novaClinica(), "Outro Tenant", "00000000004", null);
+    }
+
+    @Test
+    @DisplayName("Deve exportar os pacientes da clínica em CSV com escape de aspas e vírgulas")
+    void shouldExportCsv() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long total = pacienteExportService.exportar(clinicId, FormatoExportacao.CSV, out);
+
+        String[] linhas = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertThat(total).isEqualTo(3);
+        assertThat(linhas).hasSize(4);
+        assertThat(linhas[0]).startsWith("id,clinicaId,nome,email,cpf");
+        assertThat(linhas[1]).contains("\"Ana, \"\"Aninha\"\" Souza\"").contains("Recife,PE,Brasil");
+        assertThat(linhas[2]).contains("Bruno Lima");
+        assertThat(linhas[3]).contains("Carla Dias");
+    }
+
+    @Test
+    @DisplayName("Deve exportar um objeto JSON por linha em NDJSON, sem dados sensíveis")
+    void shouldExportNdjson() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long total = pacienteExportService.exportar(clinicId, FormatoExportacao.NDJSON, out);
+
+        String conteudo = out.toString(StandardCharsets.UTF_8);
+        String[] linhas = conteudo.split("\n");
+        assertThat(total).isEqualTo(3);
+        assertThat(conteudo).endsWith("\n").doesNotContain("hash-secreto").doesNotContain("Outro Tenant");
+        assertThat(linhas).hasSize(3);
+
+        JsonNode primeiro = objectMapper.readTree(linhas[0]);
+        assertThat(primeiro.get("clinicaId").asLong()).isEqualTo(clinicId);
+        assertThat(primeiro.get("nome").asText()).isEqualTo("Ana, \"Aninha\" Souza");
+        assertThat(primeiro.get("endereco").get("cidade").asText()).isEqualTo("Recife");
+        assertThat(objectMapper.readTree(linhas[1]).get("endereco").isNull()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Deve gerar saída vazia em NDJSON quando a clínica não tem pacientes")
+    void shouldExportNothingForEmptyClinic() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long total = pacienteExportService.exportar(novaClinica().getId(), FormatoExportacao.NDJSON, out);
+
+        assertThat(total).isZero();
+        assertThat(out.size()).isZero();
+    }
+
+    private Clinica novaClinica() {
+        Clinica clinica = new Clinica();
+        clinica.setNomeFantasia("Clínica Exportação");
+        clinica.setSubdominio("export-" + UUID.randomUUID().toString().substring(0, 8));
+        return clinicaRepository.save(clinica);
+    }
+
+    private void salvarPaciente(Clinica clinica, String nome, String cpf, Endereco endereco) {
+        Paciente paciente = new Paciente();
+        paciente.setClinica(clinica);
+        paciente.setNome(nome);
+        paciente.setCpf(cpf);
+        paciente.setSenhaHash("hash-secreto");
+        paciente.setEndereco(endereco);
+        pacienteRepository.save(paciente);
+    }
+}
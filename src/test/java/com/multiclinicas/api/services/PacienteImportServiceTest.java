@@ -0,0 +1,138 @@
+package com.multiclinicas.api.services;
+
+import com.multiclinicas.api.dtos.ErroImportacaoDTO;
+import com.multiclinicas.api.dtos.RelatorioImportacaoDTO;
+import com.multiclinicas.api.exceptions.BusinessException;
+import com.multiclinicas.api.models.Clinica;
+import com.multiclinicas.api.models.Paciente;
+import com.multiclinicas.api.repositories.ClinicaRepository;
+import com.multiclinicas.api.repositories.PacienteRepository;
+import com.multiclinicas.api.services.importacao.FormatoImportacao;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Lotes pequenos para exercitar vários batchUpdate e o lote final parcial
+@SpringBootTest(properties = { "pacientes.import.batch-size=7", "pacientes.import.max-erros=5",
+        "spring.jpa.show-sql=false", "logging.level.org.hibernate.SQL=WARN" })
+@ActiveProfiles("test")
+class PacienteImportServiceTest {
+
+    @Autowired
+    private PacienteImportService pacienteImportService;
+
+    @Autowired
+    private ClinicaRepository clinicaRepository;
+
+    @Autowired
+    private PacienteRepository pacienteRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long clinicId;
+
+    @BeforeEach
+    void setup() {
+        Clinica clinica = new Clinica();
+        clinica.setNomeFantasia("Clínica Importação");
+        clinica.setSubdominio("import-" + UUID.randomUUID().toString().substring(0, 8));
+        clinica = clinicaRepository.save(clinica);
+        clinicId = clinica.getId();
+
+        Paciente existente = new Paciente();
+        existente.setClinica(clinica);
+        existente.setNome("Já Cadastrado");
+        existente.setCpf("111.111.111-11");
+        pacienteRepository.save(existente);
+    }
+
+    @Test
+    @DisplayName("Deve importar linhas válidas do CSV e relatar erros por linha")
+    void shouldImportCsvAndReportErrorsPerLine() throws Exception {
+        String csv = "nome,email,cpf,telefone,telefone_secundario\r\n"
+                + "Ana Souza,ana@email.com,222.222.222-22,81999990000,\r\n"
+                + "\"Lima, Bruno \"\"Bob\"\"\",bruno@email.com,33333333333,81999990001,81333330000\r\n"
+                + ",sem-nome@email.com,44444444444,81999990002,\r\n"
+                + "Carla,email-invalido,55555555555,81999990003,\r\n"
+                + "Duplicada no Banco,dup@email.com,11111111111,81999990004,\r\n"
+                + "Repetida no Arquivo,rep@email.com,222.222.222-22,81999990005,\r\n"
+                + "Colunas a Menos,x@email.com\r\n"
+                + "\"Endereço\nem duas linhas\",ok@email.com,66666666666,81999990006,\r\n";
+
+        RelatorioImportacaoDTO relatorio = importar(FormatoImportacao.CSV, csv);
+
+        assertThat(relatorio.linhasLidas()).isEqualTo(8);
+        assertThat(relatorio.importados()).isEqualTo(3);
+        assertThat(relatorio.rejeitados()).isEqualTo(5);
+        assertThat(relatorio.errosTruncados()).isFalse();
+        assertThat(relatorio.erros()).extracting(ErroImportacaoDTO::linha).containsExactly(4L, 5L, 6L, 7L, 8L);
+        assertThat(relatorio.erros()).extracting(ErroImportacaoDTO::mensagem).containsExactly(
+                "Nome é obrigatório",
+                "Email inválido",
+                "CPF já cadastrado nesta clínica",
+                "CPF repetido no arquivo",
+                "Quantidade de colunas (2) diferente do cabeçalho (5)");
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT nome FROM pacientes WHERE clinic_id = ? AND cpf = '33333333333'", String.class, clinicId))
+                .isEqualTo("Lima, Bruno \"Bob\"");
+        assertThat(contarPacientes()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Deve importar NDJSON em vários lotes e limitar a lista de erros")
+    void shouldImportNdjsonInBatches() throws Exception {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 30; i++) {
+            ndjson.append(String.format(
+                    "{\"nome\":\"Paciente %d\",\"email\":\"p%d@email.com\",\"cpf\":\"%011d\",\"telefone\":\"8199999%04d\"}%n",
+                    i, i, 90000000000L + i, i));
+        }
+        ndjson.append("\n");
+        for (int i = 0; i < 8; i++) {
+            ndjson.append("{json quebrado\n");
+        }
+
+        RelatorioImportacaoDTO relatorio = importar(FormatoImportacao.NDJSON, ndjson.toString());
+
+        assertThat(relatorio.linhasLidas()).isEqualTo(38);
+        assertThat(relatorio.importados()).isEqualTo(30);
+        assertThat(relatorio.rejeitados()).isEqualTo(8);
+        assertThat(relatorio.erros()).hasSize(5);
+        assertThat(relatorio.errosTruncados()).isTrue();
+        assertThat(relatorio.erros().get(0).linha()).isEqualTo(32L);
+        assertThat(relatorio.erros().get(0).mensagem()).startsWith("JSON inválido");
+        assertThat(contarPacientes()).isEqualTo(31);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar CSV sem as colunas obrigatórias no cabeçalho")
+    void shouldRejectCsvWithoutRequiredColumns() {
+        assertThatThrownBy(() -> importar(FormatoImportacao.CSV, "nome,email\nAna,ana@email.com\n"))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("cpf");
+    }
+
+    private RelatorioImportacaoDTO importar(FormatoImportacao formato, String conteudo) throws Exception {
+        InputStream in = new ByteArrayInputStream(conteudo.getBytes(StandardCharsets.UTF_8));
+        return pacienteImportService.importar(clinicId, formato, in);
+    }
+
+    private Integer contarPacientes() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM pacientes WHERE clinic_id = ?", Integer.class,
+                clinicId);
+    }
+}
@@ -1,18 +1,24 @@
 package com.multiclinicas.api.services;
 
+import com.multiclinicas.api.exceptions.BusinessException;
 import com.multiclinicas.api.exceptions.ResourceNotFoundException;
 import com.multiclinicas.api.models.Clinica;
 import com.multiclinicas.api.models.Endereco;
 import com.multiclinicas.api.models.Paciente;
+import com.multiclinicas.api.paginacao.Pagina;
+import com.multiclinicas.api.paginacao.PaginaRequest;
 import com.multiclinicas.api.repositories.ClinicaRepository;
 import com.multiclinicas.api.repositories.PacienteRepository;
+import com.multiclinicas.api.repositories.projections.PacienteBusca;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
 import java.util.Optional;
@@ -34,11 +40,17 @@ class PacienteServiceTest {
     private ClinicaRepository clinicaRepository;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private SenhaService senhaService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
 
     @InjectMocks
     private PacienteServiceImpl pacienteService;
 
+    // Marca quando o callback do TransactionTemplate está rodando
+    private boolean emTransacao;
+
     @Test
     @DisplayName("Deve retornar todos os pacientes")
     void shouldReturnAllPacientes() {
@@ -47,13 +59,33 @@ class PacienteServiceTest {
         Paciente p2 = new Paciente();
         p2.setId(2L);
 
-        when(pacienteRepository.findAllByClinicaId(CLINIC_ID))
+        PaginaRequest pagina = PaginaRequest.primeira();
+        when(pacienteRepository.findPaginaByClinicaId(CLINIC_ID, 0L, pagina.limiteConsulta()))
+                .thenReturn(List.of(p1, p2));
+
+        Pagina<Paciente> result = pacienteService.findAll(CLINIC_ID, pagina);
+
+        assertThat(result.itens()).hasSize(2);
+        assertThat(result.temProxima()).isFalse();
+        verify(pacienteRepository).findPaginaByClinicaId(CLINIC_ID, 0L, pagina.limiteConsulta());
+    }
+
+    @Test
+    @DisplayName("Deve buscar um registro a mais para indicar a próxima página")
+    void shouldReturnNextCursorWhenRepositoryReturnsExtraRow() {
+        Paciente p1 = new Paciente();
+        p1.setId(1L);
+        Paciente p2 = new Paciente();
+        p2.setId(2L);
+
+        PaginaRequest pagina = new PaginaRequest(0L, 1);
+        when(pacienteRepository.findPaginaByClinicaId(CLINIC_ID, 0L, Limit.of(2)))
                 .thenReturn(List.of(p1, p2));
 
-        List<Paciente> result = pacienteService.findAll(CLINIC_ID);
+        Pagina<Paciente> result = pacienteService.findAll(CLINIC_ID, pagina);
 
-        assertThat(result).hasSize(2);
-        verify(pacienteRepository).findAllByClinicaId(CLINIC_ID);
+        assertThat(result.itens()).containsExactly(p1);
+        assertThat(PaginaRequest.of(1, result.proximoCursor()).aposId()).isEqualTo(1L);
     }
 
     @Test
@@ -96,7 +128,7 @@ class PacienteServiceTest {
         clinica.setId(CLINIC_ID);
 
         when(clinicaRepository.findById(CLINIC_ID)).thenReturn(Optional.of(clinica));
-        when(passwordEncoder.encode("123456")).thenReturn("hashed_123456");
+        when(senhaService.gerarHash("123456")).thenReturn("hashed_123456");
         when(pacienteRepository.save(any(Paciente.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         Paciente result = pacienteService.create(CLINIC_ID, paciente);
@@ -106,7 +138,7 @@ class PacienteServiceTest {
         assertThat(result.getClinica()).isEqualTo(clinica);
 
         verify(clinicaRepository).findById(CLINIC_ID);
-        verify(passwordEncoder).encode("123456");
+        verify(senhaService).gerarHash("123456");
         verify(pacienteRepository).save(paciente);
     }
 
@@ -141,11 +173,16 @@ class PacienteServiceTest {
         novoEndereco.setCidade("Nova Cidade");
         novosDados.setEndereco(novoEndereco);
 
+        stubTransacao();
+        when(pacienteRepository.existsByIdAndClinicaId(id, CLINIC_ID)).thenReturn(true);
         when(pacienteRepository.findByIdAndClinicaId(id, CLINIC_ID))
                 .thenReturn(Optional.of(antigo));
 
-        when(passwordEncoder.encode("novaSenha"))
-                .thenReturn("hashed_novaSenha");
+        // O hash espera na fila do SenhaService sem segurar conexão do banco
+        when(senhaService.gerarHash("novaSenha")).thenAnswer(inv -> {
+            assertThat(emTransacao).isFalse();
+            return "hashed_novaSenha";
+        });
 
         Paciente result = pacienteService.update(id, novosDados, CLINIC_ID);
 
@@ -154,16 +191,53 @@ class PacienteServiceTest {
         assertThat(result.getSenhaHash()).isEqualTo("hashed_novaSenha");
         assertThat(result.getEndereco().getCidade()).isEqualTo("Nova Cidade");
 
-        verify(passwordEncoder).encode("novaSenha");
+        verify(senhaService).gerarHash("novaSenha");
         verify(pacienteRepository).findByIdAndClinicaId(id, CLINIC_ID);
     }
 
+    @Test
+    @DisplayName("Deve verificar fora da transação e regravar o hash gerado com custo antigo")
+    void shouldUpgradeHashWhenVerifyingPassword() {
+        Paciente paciente = new Paciente();
+        paciente.setSenhaHash("hash_custo_antigo");
+
+        stubTransacao();
+        when(pacienteRepository.findByIdAndClinicaId(1L, CLINIC_ID)).thenReturn(Optional.of(paciente));
+        when(senhaService.verificar("123456", "hash_custo_antigo")).thenAnswer(inv -> {
+            assertThat(emTransacao).isFalse();
+            return new SenhaService.Verificacao(true, "hash_custo_novo");
+        });
+
+        boolean valida = pacienteService.verificarSenha(1L, CLINIC_ID, "123456");
+
+        assertThat(valida).isTrue();
+        verify(pacienteRepository).updateSenhaHash(1L, CLINIC_ID, "hash_custo_antigo", "hash_custo_novo");
+        verify(transactionTemplate, times(2)).execute(any());
+    }
+
+    @Test
+    @DisplayName("Não deve alterar o hash quando a senha não confere")
+    void shouldKeepHashWhenPasswordDoesNotMatch() {
+        Paciente paciente = new Paciente();
+        paciente.setSenhaHash("hash_atual");
+
+        stubTransacao();
+        when(pacienteRepository.findByIdAndClinicaId(1L, CLINIC_ID)).thenReturn(Optional.of(paciente));
+        when(senhaService.verificar("errada", "hash_atual")).thenReturn(new SenhaService.Verificacao(false, null));
+
+        boolean valida = pacienteService.verificarSenha(1L, CLINIC_ID, "errada");
+
+        assertThat(valida).isFalse();
+        verify(pacienteRepository, never()).updateSenhaHash(any(), any(), any(), any());
+    }
+
     @Test
     @DisplayName("Deve lançar exceção ao atualizar paciente inexistente")
     void shouldThrowExceptionWhenUpdatingNonExistentPaciente() {
         Long id = 1L;
         Paciente novosDados = new Paciente();
 
+        stubTransacao();
         when(pacienteRepository.findByIdAndClinicaId(id, CLINIC_ID))
                 .thenReturn(Optional.empty());
 
@@ -171,6 +245,19 @@ class PacienteServiceTest {
                 .isInstanceOf(ResourceNotFoundException.class);
     }
 
+    @Test
+    @DisplayName("Não deve gerar hash ao trocar a senha de paciente inexistente")
+    void shouldNotHashPasswordWhenUpdatingNonExistentPaciente() {
+        Paciente novosDados = new Paciente();
+        novosDados.setSenhaHash("novaSenha");
+
+        when(pacienteRepository.existsByIdAndClinicaId(1L, CLINIC_ID)).thenReturn(false);
+
+        assertThatThrownBy(() -> pacienteService.update(1L, novosDados, CLINIC_ID))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verifyNoInteractions(senhaService, transactionTemplate);
+    }
+
     @Test
     @DisplayName("Deve deletar paciente com sucesso")
     void shouldDeletePacienteSuccessfully() {
@@ -195,4 +282,67 @@ class PacienteServiceTest {
 
         verify(pacienteRepository, never()).deleteByIdAndClinicaId(any(), any());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Deve buscar por nome sem acentos e completar os prefixos com quem contém o termo")
+    void shouldSearchByNormalizedNamePrefixThenContains() {
+        PacienteBusca maria = new PacienteBusca(1L, "Maria da Silva", null, null);
+        PacienteBusca ana = new PacienteBusca(2L, "Ana Maria Silva", null, null);
+        when(pacienteRepository.findBuscaPorNomePrefixo(CLINIC_ID, "maria", "marib", "maria%silva%", Limit.of(5)))
+                .thenReturn(List.of(maria));
+        when(pacienteRepository.findBuscaPorNomeContendo(CLINIC_ID, "%maria%silva%", "maria%silva%", Limit.of(4)))
+                .thenReturn(List.of(ana));
+
+        List<PacienteBusca> result = pacienteService.buscar(CLINIC_ID, "  MARÍA   Silva", 5);
+
+        assertThat(result).containsExactly(maria, ana);
+    }
+
+    @Test
+    @DisplayName("Não deve completar a busca quando os prefixos já preenchem o limite")
+    void shouldNotSearchContainsWhenPrefixFillsLimit() {
+        PacienteBusca joao = new PacienteBusca(1L, "João", null, null);
+        when(pacienteRepository.findBuscaPorNomePrefixo(CLINIC_ID, "joa", "job", "joa%", Limit.of(1))).thenReturn(List.of(joao));
+
+        assertThat(pacienteService.buscar(CLINIC_ID, "joã", 1)).containsExactly(joao);
+        verify(pacienteRepository, never()).findBuscaPorNomeContendo(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve buscar pelos dígitos de CPF e telefone quando o termo não tem letras")
+    void shouldSearchByDigitsWhenTermHasNoLetters() {
+        when(pacienteRepository.findBuscaPorCpfPrefixo(CLINIC_ID, "123456", "123457", Limit.of(20))).thenReturn(List.of());
+        when(pacienteRepository.findBuscaPorDigitosContendo(CLINIC_ID, "%123456%", "123456%", Limit.of(20)))
+                .thenReturn(List.of());
+
+        assertThat(pacienteService.buscar(CLINIC_ID, "123.456", null)).isEmpty();
+        verify(pacienteRepository).findBuscaPorDigitosContendo(CLINIC_ID, "%123456%", "123456%", Limit.of(20));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar busca sem uma palavra de ao menos três letras ou dígitos")
+    void shouldRejectShortSearchTerm() {
+        assertThatThrownBy(() -> pacienteService.buscar(CLINIC_ID, " a-b ", null))
+                .isInstanceOf(BusinessException.class);
+        // Palavras curtas não formam trigramas: o trecho leria o índice GIN inteiro
+        assertThatThrownBy(() -> pacienteService.buscar(CLINIC_ID, "a b c", null))
+                .isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> pacienteService.buscar(CLINIC_ID, "jo da si", null))
+                .isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> pacienteService.buscar(CLINIC_ID, "silva", 51))
+                .isInstanceOf(BusinessException.class);
+        verifyNoInteractions(pacienteRepository);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubTransacao() {
+        when(transactionTemplate.execute(any())).thenAnswer(inv -> {
+            emTransacao = true;
+            try {
+                return ((TransactionCallback<Object>) inv.getArgument(0)).doInTransaction(null);
+            } finally {
+                emTransacao = false;
+            }
+        });
+    }
+}
@@ -1,8 +1,10 @@
 package com.multiclinicas.api.services;
 
+import com.multiclinicas.api.config.cache.VersoesCatalogo;
 import com.multiclinicas.api.exceptions.ResourceNotFoundException;
 import com.multiclinicas.api.models.Clinica;
 import com.multiclinicas.api.models.PlanoSaude;
+import com.multiclinicas.api.paginacao.PaginaRequest;
 import com.multiclinicas.api.repositories.ClinicaRepository;
 import com.multiclinicas.api.repositories.PlanoSaudeRepository;
 import org.junit.jupiter.api.DisplayName;
@@ -28,6 +30,9 @@ class PlanoSaudeServiceTest {
     @Mock
     private ClinicaRepository clinicaRepository;
 
+    @Mock
+    private VersoesCatalogo versoesCatalogo;
+
     @InjectMocks
     private PlanoSaudeServiceImpl planoSaudeService;
 
@@ -40,16 +45,18 @@ class PlanoSaudeServiceTest {
         plano.setId(1L);
         plano.setNome("Unimed");
 
-        when(planoSaudeRepository.findByClinicaId(clinicId)).thenReturn(List.of(plano));
+        PaginaRequest pagina = PaginaRequest.primeira();
+        when(planoSaudeRepository.findPaginaByClinicaId(clinicId, 0L, pagina.limiteConsulta()))
+                .thenReturn(List.of(plano));
 
         // When
-        List<PlanoSaude> result = planoSaudeService.findAllByClinicId(clinicId);
+        List<PlanoSaude> result = planoSaudeService.findAllByClinicId(clinicId, pagina).itens();
 
         // Then
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals("Unimed", result.get(0).getNome());
-        verify(planoSaudeRepository, times(1)).findByClinicaId(clinicId);
+        verify(planoSaudeRepository, times(1)).findPaginaByClinicaId(clinicId, 0L, pagina.limiteConsulta());
     }
 
     @Test
@@ -0,0 +1,128 @@
+package com.multiclinicas.api.services;
+
+import com.multiclinicas.api.exceptions.ServicoSobrecarregadoException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SenhaServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private SenhaServiceImpl senhaService;
+
+    @AfterEach
+    void tearDown() {
+        if (senhaService != null) {
+            senhaService.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve gerar hash fora do thread da requisição e registrar a latência")
+    void shouldHashOnDedicatedPool() {
+        senhaService = new SenhaServiceImpl(new BCryptPasswordEncoder(4), meterRegistry, 1, 4, Duration.ofSeconds(5), 200, false);
+
+        String hash = senhaService.gerarHash("123456");
+
+        assertThat(new BCryptPasswordEncoder(4).matches("123456", hash)).isTrue();
+        assertThat(meterRegistry.get("senha.hash").tag("operacao", "gerar").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("senha.hash.fila").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve devolver novo hash quando a senha confere e o custo gravado é menor que o configurado")
+    void shouldUpgradeWeakerHash() {
+        senhaService = new SenhaServiceImpl(new BCryptPasswordEncoder(5), meterRegistry, 1, 4, Duration.ofSeconds(5), 200, false);
+        String hashAntigo = new BCryptPasswordEncoder(4).encode("123456");
+
+        SenhaService.Verificacao verificacao = senhaService.verificar("123456", hashAntigo);
+
+        assertThat(verificacao.valida()).isTrue();
+        assertThat(verificacao.precisaAtualizar()).isTrue();
+        assertThat(verificacao.novoHash()).startsWith("$2a$05$");
+        assertThat(senhaService.verificar("123456", verificacao.novoHash()).precisaAtualizar()).isFalse();
+        assertThat(senhaService.verificar("errada", hashAntigo))
+                .isEqualTo(new SenhaService.Verificacao(false, null));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar na hora quando a fila de hash está cheia")
+    void shouldRejectWhenQueueIsFull() throws Exception {
+        CountDownLatch liberar = new CountDownLatch(1);
+        PasswordEncoder lento = mock(PasswordEncoder.class);
+        when(lento.encode(anyString())).thenAnswer(invocation -> {
+            liberar.await(5, TimeUnit.SECONDS);
+            return "hash";
+        });
+        senhaService = new SenhaServiceImpl(lento, meterRegistry, 1, 1, Duration.ofSeconds(5), 200, false);
+
+        // uma tarefa em execução e outra ocupando a única vaga da fila
+        CompletableFuture<String> emExecucao = CompletableFuture.supplyAsync(() -> senhaService.gerarHash("a"));
+        aguardarGauge("executor.active", 1);
+        CompletableFuture<String> naFila = CompletableFuture.supplyAsync(() -> senhaService.gerarHash("b"));
+        aguardarGauge("executor.queued", 1);
+
+        assertThatThrownBy(() -> senhaService.gerarHash("c"))
+                .isInstanceOf(ServicoSobrecarregadoException.class);
+        assertThat(meterRegistry.get("senha.hash.rejeitadas").counter().count()).isEqualTo(1);
+
+        liberar.countDown();
+        assertThat(emExecucao.get(5, TimeUnit.SECONDS)).isEqualTo("hash");
+        assertThat(naFila.get(5, TimeUnit.SECONDS)).isEqualTo("hash");
+    }
+
+    @Test
+    @DisplayName("Não deve subir com threads explícito + fila acima da metade dos threads do Tomcat")
+    void shouldRejectQueueLargerThanHalfOfTomcatThreads() {
+        assertThatThrownBy(() -> new SenhaServiceImpl(new BCryptPasswordEncoder(4), meterRegistry, 2, 99,
+                Duration.ofSeconds(5), 200, false))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("server.tomcat.threads.max");
+    }
+
+    @Test
+    @DisplayName("Deve reduzir pool e fila calculados para caber na metade dos threads do Tomcat")
+    void shouldClampDerivedPoolToHalfOfTomcatThreads() {
+        senhaService = new SenhaServiceImpl(new BCryptPasswordEncoder(4), meterRegistry, 0, 32,
+                Duration.ofSeconds(5), 4, false);
+
+        assertThat(meterRegistry.get("executor.pool.max").tag("name", SenhaServiceImpl.EXECUTOR_NAME).gauge().value())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("executor.queue.remaining").tag("name", SenhaServiceImpl.EXECUTOR_NAME).gauge()
+                .value()).isEqualTo(1);
+        assertThat(new BCryptPasswordEncoder(4).matches("123456", senhaService.gerarHash("123456"))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Não deve aplicar o limite dos threads do Tomcat com threads virtuais")
+    void shouldSkipTomcatRuleWithVirtualThreads() {
+        senhaService = new SenhaServiceImpl(new BCryptPasswordEncoder(4), meterRegistry, 2, 99,
+                Duration.ofSeconds(5), 200, true);
+
+        assertThat(meterRegistry.get("executor.queue.remaining").tag("name", SenhaServiceImpl.EXECUTOR_NAME).gauge()
+                .value()).isEqualTo(99);
+    }
+
+    private void aguardarGauge(String nome, double esperado) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get(nome).tag("name", SenhaServiceImpl.EXECUTOR_NAME).gauge().value() != esperado) {
+            assertThat(System.nanoTime()).as("aguardando " + nome).isLessThan(limite);
+            Thread.sleep(5);
+        }
+    }
+}
@@ -25,6 +25,7 @@ import com.multiclinicas.api.models.Clinica;
 import com.multiclinicas.api.models.Endereco;
 import com.multiclinicas.api.models.UsuarioAdmin;
 import com.multiclinicas.api.models.enums.Role;
+import com.multiclinicas.api.paginacao.PaginaRequest;
 import com.multiclinicas.api.repositories.ClinicaRepository;
 import com.multiclinicas.api.repositories.UsuarioAdminRepository;
 
@@ -68,15 +69,17 @@ class UsuarioAdminServiceTest {
     @Test
     @DisplayName("Deve retornar lista de usuários admin por ID da clínica")
     void shouldFindAllByClinicId() {
-        when(usuarioAdminRepository.findAllByClinicaId(clinicId)).thenReturn(List.of(usuarioAdmin));
+        PaginaRequest pagina = PaginaRequest.primeira();
+        when(usuarioAdminRepository.findPaginaByClinicaId(clinicId, 0L, pagina.limiteConsulta()))
+                .thenReturn(List.of(usuarioAdmin));
 
-        List<UsuarioAdmin> result = usuarioAdminService.findAllByClinicId(clinicId);
+        List<UsuarioAdmin> result = usuarioAdminService.findAllByClinicId(clinicId, pagina).itens();
 
         assertNotNull(result);
         assertFalse(result.isEmpty());
         assertEquals(1, result.size());
         assertEquals(userId, result.get(0).getId());
-        verify(usuarioAdminRepository).findAllByClinicaId(clinicId);
+        verify(usuarioAdminRepository).findPaginaByClinicaId(clinicId, 0L, pagina.limiteConsulta());
     }
 
     @Test
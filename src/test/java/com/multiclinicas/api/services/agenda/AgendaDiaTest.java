@@ -0,0 +1,192 @@
+package com.multiclinicas.api.services.agenda;
+
+import com.multiclinicas.api.models.Agendamento;
+import com.multiclinicas.api.models.Clinica;
+import com.multiclinicas.api.models.GradeHorario;
+import com.multiclinicas.api.models.Medico;
+import com.multiclinicas.api.models.Paciente;
+import com.multiclinicas.api.models.PlanoSaude;
+import com.multiclinicas.api.models.enums.StatusAgendamento;
+import com.multiclinicas.api.models.enums.TipoPagamento;
+import com.multiclinicas.api.repositories.AgendamentoRepository;
+import com.multiclinicas.api.repositories.ClinicaRepository;
+import com.multiclinicas.api.repositories.GradeHorarioRepository;
+import com.multiclinicas.api.repositories.MedicoRepository;
+import com.multiclinicas.api.repositories.PacienteRepository;
+import com.multiclinicas.api.repositories.PlanoSaudeRepository;
+import com.multiclinicas.api.services.AgendaService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Dia cheio de uma clínica: 10 médicos com 20 consultas cada, das 08:00 às 18:00
+@SpringBootTest(properties = { "spring.jpa.show-sql=false", "logging.level.org.hibernate.SQL=WARN",
+        "spring.jpa.properties.hibernate.generate_statistics=true" })
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AgendaDiaTest {
+
+    private static final int MEDICOS = 10;
+    private static final int CONSULTAS_POR_MEDICO = 20;
+    private static final int AQUECIMENTO = 20;
+    private static final int MEDICOES = 50;
+    // Uma segunda-feira, longe dos dados dos outros testes
+    private static final LocalDate DATA = LocalDate.of(2031, 3, 3);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AgendaService agendaService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ClinicaRepository clinicaRepository;
+
+    @Autowired
+    private MedicoRepository medicoRepository;
+
+    @Autowired
+    private GradeHorarioRepository gradeHorarioRepository;
+
+    @Autowired
+    private PacienteRepository pacienteRepository;
+
+    @Autowired
+    private PlanoSaudeRepository planoSaudeRepository;
+
+    @Autowired
+    private AgendamentoRepository agendamentoRepository;
+
+    private Clinica clinica;
+
+    @BeforeEach
+    void setup() {
+        String sufixo = UUID.randomUUID().toString().substring(0, 8);
+
+        clinica = new Clinica();
+        clinica.setNomeFantasia("Clínica Agenda");
+        clinica.setSubdominio("agenda-" + sufixo);
+        clinica = clinicaRepository.save(clinica);
+
+        PlanoSaude plano = new PlanoSaude();
+        plano.setClinica(clinica);
+        plano.setNome("Plano Agenda");
+        plano = planoSaudeRepository.save(plano);
+
+        List<Agendamento> agendamentos = new ArrayList<>();
+        for (int m = 0; m < MEDICOS; m++) {
+            Medico medico = new Medico();
+            medico.setClinica(clinica);
+            medico.setNome("Dr. Agenda " + m);
+            medico.setCrm("CRM-" + sufixo + "-" + m);
+            medico = medicoRepository.save(medico);
+
+            GradeHorario grade = new GradeHorario();
+            grade.setMedico(medico);
+            grade.setDiaSemana(1);
+            grade.setHoraInicio(LocalTime.of(8, 0));
+            grade.setHoraFim(LocalTime.of(18, 0));
+            gradeHorarioRepository.save(grade);
+
+            for (int c = 0; c < CONSULTAS_POR_MEDICO; c++) {
+                Paciente paciente = new Paciente();
+                paciente.setClinica(clinica);
+                paciente.setNome("Paciente " + m + "-" + c);
+                paciente.setCpf(sufixo + m + "-" + c);
+                paciente = pacienteRepository.save(paciente);
+
+                LocalTime inicio = LocalTime.of(8, 0).plusMinutes(30L * c);
+                Agendamento agendamento = new Agendamento();
+                agendamento.setClinica(clinica);
+                agendamento.setMedico(medico);
+                agendamento.setPaciente(paciente);
+                agendamento.setDataConsulta(DATA);
+                agendamento.setHoraInicio(inicio);
+                agendamento.setHoraFim(inicio.plusMinutes(30));
+                // A primeira consulta de cada médico foi cancelada e volta a ser um horário livre
+                agendamento.setStatus(c == 0 ? StatusAgendamento.CANCELADO_PACIENTE : StatusAgendamento.AGENDADO);
+                if (c % 2 == 1) {
+                    agendamento.setTipoPagamento(TipoPagamento.CONVENIO);
+                    agendamento.setPlanoSaude(plano);
+                    agendamento.setTokenAutorizacao("TOKEN-" + c);
+                }
+                agendamentos.add(agendamento);
+            }
+        }
+        agendamentoRepository.saveAll(agendamentos);
+    }
+
+    @Test
+    @DisplayName("Deve montar a agenda do dia com duas consultas SQL, sem carregar entidades")
+    void shouldBuildDayAgendaWithTwoQueries() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<AgendaMedico> agenda = agendaService.findAgenda(clinica.getId(), DATA, null);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(agenda).hasSize(MEDICOS);
+        assertThat(agenda).allSatisfy(medico -> {
+            assertThat(medico.consultas()).hasSize(CONSULTAS_POR_MEDICO);
+            assertThat(medico.horariosLivres()).containsExactly(LocalTime.of(8, 0));
+        });
+    }
+
+    // Tempo de relógio varia com a carga da máquina: fora do mvn test, roda com mvn -Ploadtest test
+    @Test
+    @Tag("loadtest")
+    @DisplayName("Deve montar a agenda de 200 consultas em menos de 20 ms (mediana, já aquecido)")
+    void shouldBuildFullDayUnderTwentyMillis() {
+        for (int i = 0; i < AQUECIMENTO; i++) {
+            agendaService.findAgenda(clinica.getId(), DATA, null);
+        }
+
+        // Mede consultas, transação e cálculo dos horários livres; a cadeia do MockMvc sozinha
+        // varia demais entre máquinas para entrar no orçamento
+        long[] tempos = new long[MEDICOES];
+        for (int i = 0; i < MEDICOES; i++) {
+            long inicio = System.nanoTime();
+            agendaService.findAgenda(clinica.getId(), DATA, null);
+            tempos[i] = System.nanoTime() - inicio;
+        }
+        Arrays.sort(tempos);
+
+        assertThat(tempos[MEDICOES / 2] / 1_000_000.0).isLessThan(20.0);
+    }
+
+    @Test
+    @DisplayName("Deve responder GET /agenda com todos os médicos do dia")
+    void shouldAnswerAgendaEndpoint() throws Exception {
+        mockMvc.perform(get("/agenda").header("X-Clinic-ID", clinica.getId()).param("data", DATA.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data").value(DATA.toString()))
+                .andExpect(jsonPath("$.medicos.length()").value(MEDICOS))
+                .andExpect(jsonPath("$.medicos[0].consultas.length()").value(CONSULTAS_POR_MEDICO))
+                .andExpect(jsonPath("$.medicos[0].horariosLivres[0]").value("08:00:00"));
+    }
+}
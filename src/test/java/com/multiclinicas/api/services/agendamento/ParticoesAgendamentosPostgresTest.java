@@ -0,0 +1,160 @@
+package com.multiclinicas.api.services.agendamento;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Particionamento só existe no PostgreSQL (V7 em db/vendor/postgresql)
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = { "spring.jpa.show-sql=false", "logging.level.org.hibernate.SQL=WARN",
+        "notificacoes.lembretes.habilitado=false", "notificacoes.outbox.worker.habilitado=false" })
+class ParticoesAgendamentosPostgresTest {
+
+    private static final Pattern PARTICAO = Pattern.compile("agendamentos_(\\d{4}_\\d{2}|padrao)");
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void banco(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private ParticoesAgendamentos particoesAgendamentos;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    @DisplayName("Deve criar as partições dos próximos meses e ler só as partições do período consultado")
+    void shouldPruneAgendaQueriesToMonthPartitions() {
+        LocalDate hoje = LocalDate.now();
+        particoesAgendamentos.manter(hoje);
+
+        assertThat(particoesAgendamentos.particoes()).contains(
+                ParticoesAgendamentos.nome(YearMonth.from(hoje)),
+                ParticoesAgendamentos.nome(YearMonth.from(hoje).plusMonths(12)),
+                ParticoesAgendamentos.PADRAO);
+
+        // Conflito de horário: um dia
+        assertThat(particoesLidas("SELECT COUNT(*) FROM agendamentos WHERE clinic_id = 1 AND medico_id = 1 "
+                + "AND data_consulta = DATE '" + hoje + "' AND hora_inicio < TIME '10:00' "
+                + "AND hora_fim > TIME '09:00' AND status NOT IN ('CANCELADO')"))
+                .containsExactly(ParticoesAgendamentos.nome(YearMonth.from(hoje)));
+
+        // Disponibilidade: alguns dias, no máximo dois meses
+        LocalDate fimDoMes = YearMonth.from(hoje).atEndOfMonth();
+        assertThat(particoesLidas("SELECT medico_id, data_consulta, hora_inicio, hora_fim FROM agendamentos "
+                + "WHERE clinic_id = 1 AND medico_id = 1 "
+                + "AND data_consulta BETWEEN DATE '" + fimDoMes.minusDays(3) + "' AND DATE '" + fimDoMes.plusDays(3)
+                + "'"))
+                .containsExactly(ParticoesAgendamentos.nome(YearMonth.from(hoje)),
+                        ParticoesAgendamentos.nome(YearMonth.from(hoje).plusMonths(1)));
+    }
+
+    @Test
+    @DisplayName("Deve mover para a partição nova os agendamentos do mês que estavam na partição padrão")
+    void shouldMoveRowsFromDefaultPartition() {
+        YearMonth distante = YearMonth.now().plusMonths(30);
+        inserirSemChavesEstrangeiras(distante.atDay(10));
+        assertThat(contar(ParticoesAgendamentos.PADRAO)).isEqualTo(1);
+
+        particoesAgendamentos.manter(distante.minusMonths(1).atDay(1));
+
+        assertThat(contar(ParticoesAgendamentos.PADRAO)).isZero();
+        assertThat(contar(ParticoesAgendamentos.nome(distante))).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM pg_indexes WHERE tablename = ?", Integer.class,
+                ParticoesAgendamentos.nome(distante))).isGreaterThanOrEqualTo(9);
+    }
+
+    @Test
+    @DisplayName("Deve desanexar para o esquema de arquivo as partições anteriores à retenção")
+    void shouldArchivePartitionsOlderThanRetention() {
+        jdbcTemplate.execute("CREATE TABLE agendamentos_2000_01 PARTITION OF agendamentos "
+                + "FOR VALUES FROM ('2000-01-01') TO ('2000-02-01')");
+        ParticoesAgendamentos comRetencao = new ParticoesAgendamentos(jdbcTemplate, dataSource, 0, 12, false,
+                Duration.ofSeconds(5));
+
+        comRetencao.manter(LocalDate.now());
+
+        assertThat(particoesAgendamentos.particoes()).doesNotContain("agendamentos_2000_01")
+                .contains(ParticoesAgendamentos.nome(YearMonth.now()));
+        assertThat(jdbcTemplate.queryForObject("SELECT to_regclass('arquivo.agendamentos_2000_01') IS NOT NULL",
+                Boolean.class)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Sem partição padrão, deve arquivar com DETACH CONCURRENTLY sem deixar desanexação pendente")
+    void shouldDetachConcurrentlyWithoutDefaultPartition() {
+        jdbcTemplate.execute("CREATE TABLE agendamentos_2000_02 PARTITION OF agendamentos "
+                + "FOR VALUES FROM ('2000-02-01') TO ('2000-03-01')");
+        ParticoesAgendamentos comRetencao = new ParticoesAgendamentos(jdbcTemplate, dataSource, 0, 12, true,
+                Duration.ofSeconds(5));
+        // CONCURRENTLY não é aceito com partição padrão: ela sai durante o teste e volta no fim
+        jdbcTemplate.execute("ALTER TABLE agendamentos DETACH PARTITION " + ParticoesAgendamentos.PADRAO);
+        try {
+            comRetencao.manter(LocalDate.now());
+        } finally {
+            jdbcTemplate.execute("ALTER TABLE agendamentos ATTACH PARTITION " + ParticoesAgendamentos.PADRAO
+                    + " DEFAULT");
+        }
+
+        assertThat(particoesAgendamentos.particoes()).doesNotContain("agendamentos_2000_02");
+        assertThat(jdbcTemplate.queryForObject("SELECT to_regclass('agendamentos_2000_02') IS NULL",
+                Boolean.class)).isTrue();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM pg_inherits WHERE inhdetachpending",
+                Integer.class)).isZero();
+    }
+
+    private List<String> particoesLidas(String sql) {
+        return jdbcTemplate.queryForList("EXPLAIN " + sql, String.class).stream()
+                .map(PARTICAO::matcher)
+                .filter(Matcher::find)
+                .map(Matcher::group)
+                .distinct()
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    private int contar(String tabela) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + tabela, Integer.class);
+    }
+
+    // Só o roteamento por data interessa aqui: dispensa montar clínica, paciente e médico
+    private void inserirSemChavesEstrangeiras(LocalDate data) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("SET LOCAL session_replication_role = replica");
+            jdbcTemplate.update("INSERT INTO agendamentos (clinic_id, paciente_id, medico_id, data_consulta, "
+                    + "hora_inicio, hora_fim, status) VALUES (1, 1, 1, ?, TIME '09:00', TIME '09:30', 'AGENDADO')",
+                    data);
+        });
+    }
+}
@@ -0,0 +1,82 @@
+package com.multiclinicas.api.services.autocomplete;
+
+import com.multiclinicas.api.models.Clinica;
+import com.multiclinicas.api.models.Especialidade;
+import com.multiclinicas.api.models.Medico;
+import com.multiclinicas.api.repositories.ClinicaRepository;
+import com.multiclinicas.api.services.AutocompleteService;
+import com.multiclinicas.api.services.EspecialidadeService;
+import com.multiclinicas.api.services.MedicoService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+// Escritas pelos services chegam ao índice após o commit, e as buscas não vão ao banco
+@SpringBootTest(properties = { "spring.jpa.show-sql=false", "logging.level.org.hibernate.SQL=WARN",
+        "spring.jpa.properties.hibernate.generate_statistics=true" })
+@ActiveProfiles("test")
+class AutocompleteTest {
+
+    @Autowired
+    private AutocompleteService autocompleteService;
+
+    @Autowired
+    private MedicoService medicoService;
+
+    @Autowired
+    private EspecialidadeService especialidadeService;
+
+    @Autowired
+    private ClinicaRepository clinicaRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long clinicId;
+
+    @BeforeEach
+    void setup() {
+        Clinica clinica = new Clinica();
+        clinica.setNomeFantasia("Clínica Autocompletar");
+        clinica.setSubdominio("autocompletar-" + UUID.randomUUID().toString().substring(0, 8));
+        clinicId = clinicaRepository.save(clinica).getId();
+    }
+
+    @Test
+    @DisplayName("Deve refletir as escritas de médicos e especialidades sem consultar o banco na busca")
+    void shouldReflectWritesWithoutQueryingOnSearch() {
+        Especialidade cardiologia = new Especialidade();
+        cardiologia.setNome("cardiologia");
+        cardiologia = especialidadeService.create(clinicId, cardiologia);
+        assertThat(autocompleteService.sugerir(clinicId, "card", null)).extracting(Sugestao::nome)
+                .containsExactly("Cardiologia");
+
+        Medico medico = new Medico();
+        medico.setNome("Dra. Ana Cárdenas");
+        medico.setCrm("CRM-" + UUID.randomUUID().toString().substring(0, 8));
+        Long medicoId = medicoService.create(clinicId, medico, Set.of(cardiologia.getId())).getId();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        assertThat(autocompleteService.sugerir(clinicId, "CARD", null)).extracting(Sugestao::tipo, Sugestao::id)
+                .containsExactly(tuple(TipoSugestao.ESPECIALIDADE, cardiologia.getId()),
+                        tuple(TipoSugestao.MEDICO, medicoId));
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        especialidadeService.delete(cardiologia.getId(), clinicId);
+        assertThat(autocompleteService.sugerir(clinicId, "card", null)).extracting(Sugestao::tipo)
+                .containsExactly(TipoSugestao.MEDICO);
+    }
+}
@@ -0,0 +1,84 @@
+package com.multiclinicas.api.services.autocomplete;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IndicePrefixosTest {
+
+    private static final Sugestao HOUSE = new Sugestao(TipoSugestao.MEDICO, 1L, "Dr. Gregory House");
+    private static final Sugestao CARDIOLOGIA = new Sugestao(TipoSugestao.ESPECIALIDADE, 1L, "Cardiologia");
+    private static final Sugestao CARDOSO = new Sugestao(TipoSugestao.MEDICO, 2L, "Ana Cardoso Cárdenas");
+    private static final Sugestao CIRURGIA = new Sugestao(TipoSugestao.ESPECIALIDADE, 2L, "Cirurgia Cardíaca");
+
+    @Test
+    @DisplayName("Deve sugerir por prefixo de qualquer palavra, com quem começa pelo termo primeiro")
+    void shouldSuggestByWordPrefixRankingNameStartFirst() {
+        IndicePrefixos indice = IndicePrefixos.de(List.of(HOUSE, CARDIOLOGIA, CARDOSO, CIRURGIA));
+
+        assertThat(indice.buscar("card", 10)).containsExactly(CARDIOLOGIA, CARDOSO, CIRURGIA);
+        assertThat(indice.buscar("hou", 10)).containsExactly(HOUSE);
+        assertThat(indice.buscar("dr greg", 10)).containsExactly(HOUSE);
+        assertThat(indice.buscar("card", 2)).containsExactly(CARDIOLOGIA, CARDOSO);
+        assertThat(indice.buscar("xyz", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve sugerir uma vez só o nome com duas palavras que começam pelo termo")
+    void shouldNotRepeatSuggestionMatchingTwoWords() {
+        IndicePrefixos indice = IndicePrefixos.de(List.of(CARDOSO));
+
+        // "cardoso" e "cardenas" (sem acento) começam por "car"
+        assertThat(indice.buscar("car", 10)).containsExactly(CARDOSO);
+    }
+
+    @Test
+    @DisplayName("Deve incluir, substituir e remover sugestões sem remontar o índice")
+    void shouldUpdateIncrementally() {
+        IndicePrefixos indice = IndicePrefixos.de(List.of(HOUSE, CARDIOLOGIA));
+
+        Sugestao renomeado = new Sugestao(TipoSugestao.MEDICO, 1L, "Dr. James Wilson");
+        IndicePrefixos alterado = indice.com(renomeado).com(CIRURGIA).sem(TipoSugestao.ESPECIALIDADE, 1L);
+
+        assertThat(alterado.tamanho()).isEqualTo(2);
+        assertThat(alterado.buscar("hou", 10)).isEmpty();
+        assertThat(alterado.buscar("wil", 10)).containsExactly(renomeado);
+        assertThat(alterado.buscar("c", 10)).containsExactly(CIRURGIA);
+        // O índice anterior continua valendo para quem já o estava lendo
+        assertThat(indice.buscar("hou", 10)).containsExactly(HOUSE);
+    }
+
+    @Test
+    @DisplayName("Alterações sucessivas devem dar o mesmo resultado que montar o índice do zero")
+    void incrementalUpdatesShouldMatchFullRebuild() {
+        String[] palavras = { "ana", "antonio", "maria", "mario", "silva", "silveira", "souza", "sá", "jose", "joão" };
+        Random random = new Random(42);
+        List<Sugestao> atuais = new ArrayList<>();
+        IndicePrefixos indice = IndicePrefixos.de(List.of());
+
+        for (int i = 0; i < 500; i++) {
+            long id = random.nextInt(40);
+            TipoSugestao tipo = random.nextBoolean() ? TipoSugestao.MEDICO : TipoSugestao.ESPECIALIDADE;
+            atuais.removeIf(sugestao -> sugestao.tipo() == tipo && sugestao.id() == id);
+            if (random.nextInt(4) == 0) {
+                indice = indice.sem(tipo, id);
+            } else {
+                Sugestao sugestao = new Sugestao(tipo, id, palavras[random.nextInt(palavras.length)] + " "
+                        + palavras[random.nextInt(palavras.length)]);
+                atuais.add(sugestao);
+                indice = indice.com(sugestao);
+            }
+        }
+
+        IndicePrefixos remontado = IndicePrefixos.de(atuais);
+        assertThat(indice.tamanho()).isEqualTo(atuais.size());
+        for (String termo : List.of("a", "an", "mar", "maria s", "s", "sil", "sa", "jo", "joao", "z")) {
+            assertThat(indice.buscar(termo, 100)).as(termo).isEqualTo(remontado.buscar(termo, 100));
+        }
+    }
+}
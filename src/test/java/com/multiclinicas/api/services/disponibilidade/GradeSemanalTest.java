@@ -0,0 +1,90 @@
+package com.multiclinicas.api.services.disponibilidade;
+
+import com.multiclinicas.api.repositories.projections.HorarioOcupado;
+import com.multiclinicas.api.repositories.projections.IntervaloGrade;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GradeSemanalTest {
+
+    // 2025-01-06 é uma segunda-feira (diaSemana = 1)
+    private static final LocalDate SEGUNDA = LocalDate.of(2025, 1, 6);
+    private static final LocalDate DOMINGO = LocalDate.of(2025, 1, 5);
+
+    private static LocalTime h(String hora) {
+        return LocalTime.parse(hora);
+    }
+
+    @Test
+    @DisplayName("Deve dividir a grade em slots da duração da consulta")
+    void shouldSplitGradeIntoSlots() {
+        GradeSemanal grade = GradeSemanal.compilar(
+                List.of(new IntervaloGrade(1, h("08:00"), h("10:00"))), 30);
+
+        BitSet livres = grade.livres(SEGUNDA, List.of());
+
+        assertThat(grade.horarios(SEGUNDA, livres))
+                .containsExactly(h("08:00"), h("08:30"), h("09:00"), h("09:30"));
+        assertThat(grade.atendeEm(DOMINGO)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve descartar slot que não cabe inteiro no intervalo")
+    void shouldDiscardIncompleteSlot() {
+        GradeSemanal grade = GradeSemanal.compilar(
+                List.of(new IntervaloGrade(1, h("08:00"), h("09:10"))), 30);
+
+        assertThat(grade.horarios(SEGUNDA, grade.modelo(SEGUNDA)))
+                .containsExactly(h("08:00"), h("08:30"));
+    }
+
+    @Test
+    @DisplayName("Deve unir múltiplos intervalos do mesmo dia em ordem")
+    void shouldMergeIntervalsOfSameDay() {
+        GradeSemanal grade = GradeSemanal.compilar(List.of(
+                new IntervaloGrade(1, h("14:00"), h("15:00")),
+                new IntervaloGrade(1, h("08:00"), h("09:00"))), 30);
+
+        assertThat(grade.horarios(SEGUNDA, grade.modelo(SEGUNDA)))
+                .containsExactly(h("08:00"), h("08:30"), h("14:00"), h("14:30"));
+    }
+
+    @Test
+    @DisplayName("Deve remover slots ocupados, inclusive sobreposições parciais")
+    void shouldRemoveOccupiedSlots() {
+        GradeSemanal grade = GradeSemanal.compilar(
+                List.of(new IntervaloGrade(1, h("08:00"), h("10:00"))), 30);
+
+        BitSet livres = grade.livres(SEGUNDA, List.of(
+                new HorarioOcupado(1L, SEGUNDA, h("08:00"), h("08:30")),
+                new HorarioOcupado(1L, SEGUNDA, h("09:15"), h("09:45"))));
+
+        assertThat(grade.horarios(SEGUNDA, livres)).containsExactly(h("08:30"));
+    }
+
+    @Test
+    @DisplayName("Deve localizar o índice apenas de inícios de slot válidos")
+    void shouldFindSlotIndex() {
+        GradeSemanal grade = GradeSemanal.compilar(
+                List.of(new IntervaloGrade(1, h("08:00"), h("10:00"))), 30);
+
+        assertThat(grade.indiceDoSlot(SEGUNDA, h("09:00"))).isEqualTo(2);
+        assertThat(grade.indiceDoSlot(SEGUNDA, h("09:10"))).isEqualTo(-1);
+        assertThat(grade.horario(SEGUNDA, 2)).isEqualTo(h("09:00"));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar duração de consulta inválida")
+    void shouldRejectInvalidDuration() {
+        assertThatThrownBy(() -> GradeSemanal.compilar(List.of(), 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,222 @@
+package com.multiclinicas.api.services.lembretes;
+
+import com.multiclinicas.api.models.Agendamento;
+import com.multiclinicas.api.models.Clinica;
+import com.multiclinicas.api.models.Medico;
+import com.multiclinicas.api.models.OutboxEvento;
+import com.multiclinicas.api.models.Paciente;
+import com.multiclinicas.api.models.enums.StatusAgendamento;
+import com.multiclinicas.api.models.enums.TipoNotificacao;
+import com.multiclinicas.api.repositories.AgendamentoRepository;
+import com.multiclinicas.api.repositories.ClinicaRepository;
+import com.multiclinicas.api.repositories.MedicoRepository;
+import com.multiclinicas.api.repositories.OutboxEventoRepository;
+import com.multiclinicas.api.repositories.PacienteRepository;
+import com.multiclinicas.api.services.OutboxService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = { "spring.jpa.show-sql=false", "logging.level.org.hibernate.SQL=WARN" })
+@ActiveProfiles("test")
+class AgendadorLembretesTest {
+
+    private static final Duration LEASE = Duration.ofSeconds(60);
+
+    @Autowired
+    private AgendamentoRepository agendamentoRepository;
+
+    @Autowired
+    private OutboxEventoRepository outboxEventoRepository;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private LeaseLider leaseLider;
+
+    @Autowired
+    private JanelaLembretes janelaLembretes;
+
+    @Autowired
+    private ClinicaRepository clinicaRepository;
+
+    @Autowired
+    private MedicoRepository medicoRepository;
+
+    @Autowired
+    private PacienteRepository pacienteRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Clinica clinica;
+    private Medico medico;
+    private Paciente paciente;
+    // Cada teste usa um dia próprio, longe das consultas criadas pelos demais testes
+    private LocalDate dia;
+
+    @BeforeEach
+    void setup() {
+        jdbcTemplate.update("UPDATE leases SET dono = NULL, expira_em = TIMESTAMP '1970-01-01 00:00:00' "
+                + "WHERE nome = ?", AgendadorLembretes.LEASE);
+
+        String sufixo = UUID.randomUUID().toString().substring(0, 8);
+        clinica = new Clinica();
+        clinica.setNomeFantasia("Clínica Lembretes");
+        clinica.setSubdominio("lembretes-" + sufixo);
+        clinica = clinicaRepository.save(clinica);
+
+        medico = new Medico();
+        medico.setClinica(clinica);
+        medico.setNome("Dr. Lembra");
+        medico.setCrm("CRM-" + sufixo);
+        medico = medicoRepository.save(medico);
+
+        paciente = new Paciente();
+        paciente.setClinica(clinica);
+        paciente.setNome("Paciente Lembrete");
+        paciente.setEmail("lembrete@email.com");
+        paciente.setCpf(sufixo);
+        paciente = pacienteRepository.save(paciente);
+
+        dia = LocalDate.of(2045, 1, 1).plusDays(Math.floorMod(sufixo.hashCode(), 3_000));
+    }
+
+    @Test
+    @DisplayName("Deve disparar o lembrete 24h antes com precisão de segundos")
+    void shouldFireReminderOnTime() {
+        Agendamento agendamento = agendar(LocalTime.of(9, 0));
+        AgendadorLembretes agendador = novoAgendador();
+        LocalDateTime agora = dia.minusDays(1).atTime(8, 0);
+
+        agendador.coordenar(agora);
+        assertThat(agendador.isLider()).isTrue();
+        assertThat(agendador.pendentes()).isEqualTo(1);
+
+        agendador.disparar(dia.minusDays(1).atTime(8, 59, 58));
+        assertThat(lembretes(agendamento)).isEmpty();
+
+        agendador.disparar(dia.minusDays(1).atTime(9, 0));
+        assertThat(lembretes(agendamento)).singleElement().satisfies(evento -> {
+            assertThat(evento.getChave()).isNotNull();
+            assertThat(evento.getProximaTentativa()).isBeforeOrEqualTo(LocalDateTime.now());
+        });
+        assertThat(agendador.pendentes()).isZero();
+    }
+
+    @Test
+    @DisplayName("Só o dono do lease deve carregar lembretes; outro nó assume quando ele expira")
+    void onlyLeaseOwnerShouldWork() {
+        AgendadorLembretes primeiro = novoAgendador();
+        AgendadorLembretes segundo = novoAgendador();
+        LocalDateTime agora = dia.minusDays(1).atTime(8, 0);
+
+        primeiro.coordenar(agora);
+        segundo.coordenar(agora.plusSeconds(10));
+        assertThat(primeiro.isLider()).isTrue();
+        assertThat(segundo.isLider()).isFalse();
+
+        // o primeiro parou de renovar
+        segundo.coordenar(agora.plus(LEASE).plusSeconds(1));
+        primeiro.coordenar(agora.plus(LEASE).plusSeconds(2));
+        assertThat(segundo.isLider()).isTrue();
+        assertThat(primeiro.isLider()).isFalse();
+
+        // liberar no desligamento entrega o lease na hora
+        segundo.destroy();
+        primeiro.coordenar(agora.plus(LEASE).plusSeconds(3));
+        assertThat(primeiro.isLider()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Cada lembrete deve entrar na outbox uma única vez, mesmo com troca de dono")
+    void shouldRegisterEachReminderOnce() {
+        Agendamento agendamento = agendar(LocalTime.of(10, 0));
+        LocalDateTime disparo = dia.minusDays(1).atTime(10, 0);
+        AgendadorLembretes primeiro = novoAgendador();
+        AgendadorLembretes segundo = novoAgendador();
+
+        primeiro.coordenar(disparo.minusSeconds(50));
+        primeiro.disparar(disparo);
+        // o primeiro cai logo depois de disparar; o segundo assume, volta atraso-maximo e dispara de novo
+        LocalDateTime assuncao = disparo.minusSeconds(50).plus(LEASE).plusSeconds(1);
+        segundo.coordenar(assuncao);
+        assertThat(segundo.pendentes()).isEqualTo(1);
+        segundo.disparar(assuncao);
+
+        assertThat(lembretes(agendamento)).hasSize(1);
+
+        // o agendamento também pode gravar o próprio lembrete: continua um só
+        transactionTemplate.executeWithoutResult(status -> outboxService.registrarLembrete(
+                agendamentoRepository.findById(agendamento.getId()).orElseThrow(), disparo));
+        assertThat(lembretes(agendamento)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Deve recarregar de forma incremental a partir do cursor, ignorando cancelados")
+    void shouldRefillIncrementally() {
+        Agendamento primeira = agendar(LocalTime.of(8, 0));
+        Agendamento cancelada = agendar(LocalTime.of(8, 30));
+        cancelada.setStatus(StatusAgendamento.CANCELADO_CLINICA);
+        agendamentoRepository.save(cancelada);
+        AgendadorLembretes agendador = novoAgendador();
+        LocalDateTime agora = dia.minusDays(1).atTime(7, 0);
+
+        agendador.coordenar(agora);
+        assertThat(agendador.pendentes()).isEqualTo(1);
+
+        // fora do horizonte (2h) na primeira carga, entra quando a janela avança
+        Agendamento depois = agendar(LocalTime.of(9, 30));
+        agendador.coordenar(agora.plusSeconds(15));
+        assertThat(agendador.pendentes()).isEqualTo(1);
+        agendador.coordenar(agora.plusMinutes(31));
+        assertThat(agendador.pendentes()).isEqualTo(2);
+
+        agendador.disparar(dia.minusDays(1).atTime(9, 30));
+        assertThat(lembretes(primeira)).hasSize(1);
+        assertThat(lembretes(depois)).hasSize(1);
+        assertThat(lembretes(cancelada)).isEmpty();
+    }
+
+    private AgendadorLembretes novoAgendador() {
+        return new AgendadorLembretes(agendamentoRepository, outboxService, leaseLider, janelaLembretes,
+                new SimpleMeterRegistry(), Duration.ofSeconds(1), LEASE, Duration.ofMinutes(15), 1000);
+    }
+
+    private List<OutboxEvento> lembretes(Agendamento agendamento) {
+        return outboxEventoRepository.findByAgendamentoId(agendamento.getId()).stream()
+                .filter(evento -> evento.getTipo() == TipoNotificacao.LEMBRETE)
+                .toList();
+    }
+
+    private Agendamento agendar(LocalTime hora) {
+        Agendamento agendamento = new Agendamento();
+        agendamento.setClinica(clinica);
+        agendamento.setMedico(medico);
+        agendamento.setPaciente(paciente);
+        agendamento.setDataConsulta(dia);
+        agendamento.setHoraInicio(hora);
+        agendamento.setHoraFim(hora.plusMinutes(30));
+        agendamento.setStatus(StatusAgendamento.AGENDADO);
+        return agendamentoRepository.save(agendamento);
+    }
+}
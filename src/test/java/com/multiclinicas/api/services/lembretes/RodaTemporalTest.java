@@ -0,0 +1,72 @@
+package com.multiclinicas.api.services.lembretes;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RodaTemporalTest {
+
+    private static final long SEGUNDO = 1_000;
+    private static final long INICIO = 1_700_000_000_000L;
+
+    @Test
+    @DisplayName("Deve disparar cada item no tick do seu instante")
+    void shouldFireOnItsTick() {
+        RodaTemporal<String> roda = new RodaTemporal<>(SEGUNDO, 60, 3, INICIO);
+        roda.agendar(INICIO + 5 * SEGUNDO, "5s");
+        roda.agendar(INICIO + 5 * SEGUNDO + 400, "5.4s");
+        roda.agendar(INICIO + 90 * SEGUNDO, "90s");
+
+        assertThat(roda.avancar(INICIO + 4 * SEGUNDO + 999)).isEmpty();
+        assertThat(roda.avancar(INICIO + 5 * SEGUNDO)).containsExactly("5s", "5.4s");
+        assertThat(roda.avancar(INICIO + 89 * SEGUNDO)).isEmpty();
+        assertThat(roda.tamanho()).isEqualTo(1);
+        assertThat(roda.avancar(INICIO + 90 * SEGUNDO)).containsExactly("90s");
+        assertThat(roda.tamanho()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve descer itens dos níveis superiores sem perder a precisão de um tick")
+    void shouldCascadeFromUpperLevels() {
+        RodaTemporal<Long> roda = new RodaTemporal<>(SEGUNDO, 60, 3, INICIO);
+        Random random = new Random(42);
+        List<Long> instantes = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            // até 30h à frente: passa pelos três níveis
+            long instante = INICIO + (long) (random.nextDouble() * 30 * 3_600 * SEGUNDO);
+            instantes.add(instante);
+            assertThat(roda.agendar(instante, instante)).isTrue();
+        }
+
+        List<Long> disparados = new ArrayList<>();
+        for (long agora = INICIO; agora <= INICIO + 31 * 3_600 * SEGUNDO; agora += 7 * SEGUNDO) {
+            for (Long instante : roda.avancar(agora)) {
+                // no máximo um tick antes do instante; depois, só o intervalo entre os avanços
+                assertThat(instante).isLessThan(agora + SEGUNDO);
+                assertThat(agora - instante).isLessThan(7 * SEGUNDO);
+                disparados.add(instante);
+            }
+        }
+
+        assertThat(disparados).containsExactlyInAnyOrderElementsOf(instantes);
+        assertThat(roda.tamanho()).isZero();
+    }
+
+    @Test
+    @DisplayName("Itens vencidos saem no próximo avanço e além do alcance são recusados")
+    void shouldHandleOverdueAndOutOfRange() {
+        RodaTemporal<String> roda = new RodaTemporal<>(SEGUNDO, 60, 2, INICIO);
+
+        assertThat(roda.agendar(INICIO - 10 * SEGUNDO, "atrasado")).isTrue();
+        assertThat(roda.agendar(roda.alcance() + 1, "longe")).isFalse();
+        assertThat(roda.agendar(roda.alcance(), "limite")).isTrue();
+
+        assertThat(roda.avancar(INICIO)).containsExactly("atrasado");
+        assertThat(roda.avancar(INICIO + 3_600 * SEGUNDO)).containsExactly("limite");
+    }
+}